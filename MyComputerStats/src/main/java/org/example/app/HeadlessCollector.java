@@ -0,0 +1,178 @@
+package org.example.app;
+
+import org.example.core.settings.AppSettings;
+import org.example.core.settings.SettingsManager;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.SnapshotListener;
+import org.example.monitoring.export.ExportServer;
+import org.example.monitoring.recording.SessionRecorder;
+import org.example.monitoring.sink.LogSnapshotSink;
+import org.example.monitoring.sink.SnapshotSink;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * collector daemon without any javafx classes
+ * usage: --headless [--interval=seconds] [--sink=console] [--sink=file:path] [--sink=record] [--metrics-port=port]
+ */
+public class HeadlessCollector {
+
+    private final List<SnapshotSink> sinks = new ArrayList<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private double intervalSeconds;
+    private int metricsPort = -1;
+
+    public static void main(String[] args) {
+        HeadlessCollector collector = new HeadlessCollector();
+        try {
+            collector.configure(args);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("[headless] " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        collector.run();
+    }
+
+    private void configure(String[] args) throws IOException {
+        AppSettings settings = SettingsManager.getInstance().getSettings();
+        intervalSeconds = settings.getCpuRefreshInterval();
+
+        for (String arg : args) {
+            if (arg.equals("--headless")) {
+                continue;
+            } else if (arg.startsWith("--interval=")) {
+                intervalSeconds = parseInterval(arg.substring("--interval=".length()));
+            } else if (arg.startsWith("--metrics-port=")) {
+                metricsPort = parsePort(arg.substring("--metrics-port=".length()));
+            } else if (arg.startsWith("--sink=")) {
+                sinks.add(createSink(arg.substring("--sink=".length())));
+            } else {
+                throw new IllegalArgumentException("unknown argument: " + arg);
+            }
+        }
+
+        if (sinks.isEmpty()) {
+            sinks.add(new LogSnapshotSink(System.out));
+        }
+    }
+
+    private SnapshotSink createSink(String spec) throws IOException {
+        if (spec.equals("console")) {
+            return new LogSnapshotSink(System.out);
+        }
+        if (spec.startsWith("file:")) {
+            return new LogSnapshotSink(spec.substring("file:".length()));
+        }
+        if (spec.equals("record")) {
+            // format, compression and rotation come from the settings file
+            SessionRecorder recorder = new SessionRecorder(SettingsManager.getInstance().getSettings());
+            recorder.start();
+            return recorder;
+        }
+        throw new IllegalArgumentException("unknown sink: " + spec);
+    }
+
+    private double parseInterval(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad interval: " + value);
+        }
+    }
+
+    private int parsePort(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad port: " + value);
+        }
+    }
+
+    private void run() {
+        SamplingScheduler sampler = SamplingScheduler.getInstance();
+        ExportServer exportServer = new ExportServer(sampler);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            exportServer.stop();
+            sampler.shutdown();
+            for (SnapshotSink sink : sinks) {
+                sink.close();
+            }
+            System.out.printf("[headless] stopped | peak rss: %s%n", formatKb(readStatusKb("VmHWM:")));
+            stopped.countDown();
+        }, "HeadlessShutdown"));
+
+        sampler.addListener(new StartupReporter(sampler));
+        for (SnapshotSink sink : sinks) {
+            sampler.addLiveListener(sink);
+        }
+        sampler.start(intervalSeconds);
+
+        if (metricsPort > 0) {
+            try {
+                exportServer.start(metricsPort);
+            } catch (IOException e) {
+                System.err.println("[headless] metrics endpoint failed: " + e.getMessage());
+            }
+        }
+
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // logs time-to-first-snapshot and resident memory once, then unregisters itself
+    private static class StartupReporter implements SnapshotListener {
+        private final SamplingScheduler sampler;
+
+        StartupReporter(SamplingScheduler sampler) {
+            this.sampler = sampler;
+        }
+
+        @Override
+        public void onSnapshot(SystemSnapshot snapshot) {
+            sampler.removeListener(this);
+
+            long startupMs = ProcessHandle.current().info().startInstant()
+                    .map(start -> snapshot.getTimestamp() - start.toEpochMilli())
+                    .orElse(-1L);
+            Runtime rt = Runtime.getRuntime();
+            long heapUsedKb = (rt.totalMemory() - rt.freeMemory()) / 1024;
+
+            System.out.printf("[headless] first snapshot after %d ms | rss: %s | heap: %s%n",
+                    startupMs, formatKb(readStatusKb("VmRSS:")), formatKb(heapUsedKb));
+        }
+    }
+
+    // linux only, returns -1 elsewhere
+    private static long readStatusKb(String key) {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(key)) {
+                    String value = line.substring(key.length()).trim();
+                    return Long.parseLong(value.split("\\s+")[0]);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // fall through
+        }
+        return -1;
+    }
+
+    private static String formatKb(long kb) {
+        return kb < 0 ? "N/A" : String.format("%.1f MB", kb / 1024.0);
+    }
+}
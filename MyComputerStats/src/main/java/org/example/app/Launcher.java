@@ -2,6 +2,13 @@ package org.example.app;
 
 public class Launcher {
     public static void main(String[] args) {
+        // checked before MainApp is touched so headless never loads javafx
+        for (String arg : args) {
+            if (arg.equals("--headless")) {
+                HeadlessCollector.main(args);
+                return;
+            }
+        }
         MainApp.main(args);
     }
 }
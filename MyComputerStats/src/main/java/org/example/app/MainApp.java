@@ -10,10 +10,15 @@ import org.example.ui.MainLayoutController;
 import org.example.core.settings.AppSettings;
 import org.example.core.settings.SettingsManager;
 import org.example.core.settings.SettingsChangeListener;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.export.ExportServer;
+
+import java.io.IOException;
 
 public class MainApp extends Application {
 
     private MainLayoutController mainController;
+    private ExportServer exportServer;
 
     @Override
     public void start(Stage primaryStage) throws Exception {
@@ -29,6 +34,12 @@ public class MainApp extends Application {
             }
         }));
 
+        AppSettings settings = SettingsManager.getInstance().getSettings();
+        SamplingScheduler sampler = SamplingScheduler.getInstance();
+        sampler.start(settings.getCpuRefreshInterval());
+        exportServer = new ExportServer(sampler);
+        applyExportSettings(settings);
+
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/ui/fxml/main_layout.fxml"));
         Parent root = loader.load();
         mainController = loader.getController();
@@ -36,7 +47,6 @@ public class MainApp extends Application {
         Scene scene = new Scene(root, 1200, 800);
         scene.getStylesheets().add(getClass().getResource("/ui/css/main.css").toExternalForm());
 
-        AppSettings settings = SettingsManager.getInstance().getSettings();
         primaryStage.setAlwaysOnTop(settings.isAlwaysOnTop());
 
         primaryStage.setTitle("MyComputerStats - System Monitor");
@@ -46,16 +56,34 @@ public class MainApp extends Application {
             if (mainController != null) {
                 mainController.shutdown();
             }
+            exportServer.stop();
+            sampler.shutdown();
             Platform.exit();
         });
 
         SettingsChangeListener.getInstance().addListener(newSettings -> {
             primaryStage.setAlwaysOnTop(newSettings.isAlwaysOnTop());
+            sampler.setInterval(newSettings.getCpuRefreshInterval());
+            applyExportSettings(newSettings);
         });
 
         primaryStage.show();
     }
 
+    private void applyExportSettings(AppSettings settings) {
+        boolean portChanged = exportServer.isRunning() && exportServer.getPort() != settings.getMetricsPort();
+        if (!settings.isMetricsEnabled() || portChanged) {
+            exportServer.stop();
+        }
+        if (settings.isMetricsEnabled()) {
+            try {
+                exportServer.start(settings.getMetricsPort());
+            } catch (IOException e) {
+                System.err.println("Failed to start metrics endpoint: " + e.getMessage());
+            }
+        }
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,166 @@
+package org.example.core.container;
+
+import java.util.Comparator;
+
+/**
+ * one cgroup v2 group: cpu use and throttling, memory against its limit,
+ * memory events and io. counters are totals since the group was created,
+ * rates are per second over the last refresh
+ */
+public class CgroupInfo {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * most throttled first: share of periods throttled, then throttled time
+     */
+    public static final Comparator<CgroupInfo> BY_THROTTLING = Comparator
+            .comparingDouble(CgroupInfo::getThrottledRatio)
+            .thenComparingDouble(CgroupInfo::getThrottledRate)
+            .reversed();
+
+    /**
+     * least headroom first, groups without a memory limit go last
+     */
+    public static final Comparator<CgroupInfo> BY_HEADROOM = Comparator
+            .comparingDouble(CgroupInfo::getHeadroomRatio)
+            .thenComparingLong(CgroupInfo::getHeadroomBytes);
+
+    private final String path;
+
+    private final long cpuUsageUs;
+    private final double cpuRate;
+    private final long nrPeriods;
+    private final long nrThrottled;
+    private final long throttledUs;
+    private final double throttledRatio;
+    private final double throttledRate;
+
+    private final long memoryCurrent;
+    private final long memoryMax;
+    private final long memoryHighEvents;
+    private final long memoryMaxEvents;
+    private final long oomKills;
+
+    private final long ioReadBytes;
+    private final long ioWriteBytes;
+    private final double ioReadRate;
+    private final double ioWriteRate;
+
+    public CgroupInfo(String path, long cpuUsageUs, double cpuRate,
+            long nrPeriods, long nrThrottled, long throttledUs, double throttledRatio, double throttledRate,
+            long memoryCurrent, long memoryMax, long memoryHighEvents, long memoryMaxEvents, long oomKills,
+            long ioReadBytes, long ioWriteBytes, double ioReadRate, double ioWriteRate) {
+        this.path = path;
+        this.cpuUsageUs = cpuUsageUs;
+        this.cpuRate = cpuRate;
+        this.nrPeriods = nrPeriods;
+        this.nrThrottled = nrThrottled;
+        this.throttledUs = throttledUs;
+        this.throttledRatio = throttledRatio;
+        this.throttledRate = throttledRate;
+        this.memoryCurrent = memoryCurrent;
+        this.memoryMax = memoryMax;
+        this.memoryHighEvents = memoryHighEvents;
+        this.memoryMaxEvents = memoryMaxEvents;
+        this.oomKills = oomKills;
+        this.ioReadBytes = ioReadBytes;
+        this.ioWriteBytes = ioWriteBytes;
+        this.ioReadRate = ioReadRate;
+        this.ioWriteRate = ioWriteRate;
+    }
+
+    // relative to the cgroup root, "/" for the root itself
+    public String getPath() {
+        return path;
+    }
+
+    public String getName() {
+        int slash = path.lastIndexOf('/');
+        return slash >= 0 && slash < path.length() - 1 ? path.substring(slash + 1) : path;
+    }
+
+    public long getCpuUsageUs() {
+        return cpuUsageUs;
+    }
+
+    // cores in use over the last refresh
+    public double getCpuRate() {
+        return cpuRate;
+    }
+
+    public long getNrPeriods() {
+        return nrPeriods;
+    }
+
+    public long getNrThrottled() {
+        return nrThrottled;
+    }
+
+    public long getThrottledUs() {
+        return throttledUs;
+    }
+
+    // share of enforcement periods that hit the quota in the last refresh, 0..1
+    public double getThrottledRatio() {
+        return throttledRatio;
+    }
+
+    // seconds throttled per second
+    public double getThrottledRate() {
+        return throttledRate;
+    }
+
+    public long getMemoryCurrent() {
+        return memoryCurrent;
+    }
+
+    // UNLIMITED when memory.max is "max"
+    public long getMemoryMax() {
+        return memoryMax;
+    }
+
+    public boolean hasMemoryLimit() {
+        return memoryMax != UNLIMITED;
+    }
+
+    public long getHeadroomBytes() {
+        return hasMemoryLimit() ? Math.max(0, memoryMax - memoryCurrent) : UNLIMITED;
+    }
+
+    // 0..1 of the limit still free, 1 without a limit
+    public double getHeadroomRatio() {
+        if (!hasMemoryLimit() || memoryMax <= 0) {
+            return 1.0;
+        }
+        return getHeadroomBytes() / (double) memoryMax;
+    }
+
+    public long getMemoryHighEvents() {
+        return memoryHighEvents;
+    }
+
+    public long getMemoryMaxEvents() {
+        return memoryMaxEvents;
+    }
+
+    public long getOomKills() {
+        return oomKills;
+    }
+
+    public long getIoReadBytes() {
+        return ioReadBytes;
+    }
+
+    public long getIoWriteBytes() {
+        return ioWriteBytes;
+    }
+
+    public double getIoReadRate() {
+        return ioReadRate;
+    }
+
+    public double getIoWriteRate() {
+        return ioWriteRate;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.core.cpu;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * load, clock and temperature of one core type (P or E)
+ * loads and clocks average over the cluster's threads, temperature is
+ * the hottest core, readings of 0 are left out
+ */
+public class CpuClusterStats {
+
+    private final String type;
+    private final int threads;
+    private final double load;
+    private final double frequency;
+    private final double temperature;
+
+    public CpuClusterStats(String type, int threads, double load, double frequency, double temperature) {
+        this.type = type;
+        this.threads = threads;
+        this.load = load;
+        this.frequency = frequency;
+        this.temperature = temperature;
+    }
+
+    /**
+     * one entry per core type, in the order the types first appear
+     */
+    public static List<CpuClusterStats> of(CpuInfo info) {
+        String[] types = info.getCoreTypes();
+        double[] loads = info.getPerCoreLoads();
+        double[] freqs = info.getPerCoreFrequencies();
+        double[] temps = info.getPerCoreTemperatures();
+
+        List<CpuClusterStats> result = new ArrayList<>(2);
+        List<String> seen = new ArrayList<>(2);
+        for (String type : types) {
+            if (type == null || seen.contains(type)) {
+                continue;
+            }
+            seen.add(type);
+
+            int threads = 0;
+            double loadSum = 0;
+            double freqSum = 0;
+            int freqCount = 0;
+            double maxTemp = 0;
+            for (int i = 0; i < types.length; i++) {
+                if (!type.equals(types[i])) {
+                    continue;
+                }
+                threads++;
+                if (i < loads.length) {
+                    loadSum += loads[i];
+                }
+                if (i < freqs.length && freqs[i] > 0) {
+                    freqSum += freqs[i];
+                    freqCount++;
+                }
+                if (i < temps.length) {
+                    maxTemp = Math.max(maxTemp, temps[i]);
+                }
+            }
+            result.add(new CpuClusterStats(type, threads, loadSum / threads,
+                    freqCount > 0 ? freqSum / freqCount : 0, maxTemp));
+        }
+        return result;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // 0..1
+    public double getLoad() {
+        return load;
+    }
+
+    // ghz
+    public double getFrequency() {
+        return frequency;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+}
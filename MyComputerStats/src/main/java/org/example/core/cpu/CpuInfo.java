@@ -158,6 +158,10 @@ public class CpuInfo {
 
     private final double[] perCoreVoltages;
     private final double[] perCoreMaxTemps;
+    // one flat array instead of an object per core, core * CpuLoadState.COUNT + state
+    private final double[] perCoreStates;
+    // shared, built once by the service
+    private final CpuTopology topology;
 
     public CpuInfo(String brand, String model, int physicalCores, int logicalCores,
             double currentClockSpeed, double maxClockSpeed, double loadPercentage,
@@ -184,6 +188,29 @@ public class CpuInfo {
             double[] perCoreLoads, double temperature, double[] perCoreTemperatures,
             double[] perCoreFrequencies, double averageTemperature, String temperatureSource,
             String[] coreTypes, double[] perCoreVoltages, double[] perCoreMaxTemps) {
+        this(brand, model, physicalCores, logicalCores, currentClockSpeed, maxClockSpeed,
+                loadPercentage, perCoreLoads, temperature, perCoreTemperatures,
+                perCoreFrequencies, averageTemperature, temperatureSource, coreTypes, perCoreVoltages,
+                perCoreMaxTemps, null);
+    }
+
+    public CpuInfo(String brand, String model, int physicalCores, int logicalCores,
+            double currentClockSpeed, double maxClockSpeed, double loadPercentage,
+            double[] perCoreLoads, double temperature, double[] perCoreTemperatures,
+            double[] perCoreFrequencies, double averageTemperature, String temperatureSource,
+            String[] coreTypes, double[] perCoreVoltages, double[] perCoreMaxTemps, double[] perCoreStates) {
+        this(brand, model, physicalCores, logicalCores, currentClockSpeed, maxClockSpeed,
+                loadPercentage, perCoreLoads, temperature, perCoreTemperatures,
+                perCoreFrequencies, averageTemperature, temperatureSource, coreTypes, perCoreVoltages,
+                perCoreMaxTemps, perCoreStates, null);
+    }
+
+    public CpuInfo(String brand, String model, int physicalCores, int logicalCores,
+            double currentClockSpeed, double maxClockSpeed, double loadPercentage,
+            double[] perCoreLoads, double temperature, double[] perCoreTemperatures,
+            double[] perCoreFrequencies, double averageTemperature, String temperatureSource,
+            String[] coreTypes, double[] perCoreVoltages, double[] perCoreMaxTemps, double[] perCoreStates,
+            CpuTopology topology) {
         this.brand = brand != null ? brand : "Unknown";
         this.model = model != null ? model : "Unknown";
         this.physicalCores = Math.max(1, physicalCores);
@@ -200,6 +227,10 @@ public class CpuInfo {
         this.coreTypes = coreTypes != null ? coreTypes : new String[0];
         this.perCoreVoltages = perCoreVoltages != null ? perCoreVoltages : new double[0];
         this.perCoreMaxTemps = perCoreMaxTemps != null ? perCoreMaxTemps : new double[0];
+        this.perCoreStates = perCoreStates != null ? perCoreStates : new double[0];
+        this.topology = topology != null && topology.getLogicalCount() == this.logicalCores
+                ? topology
+                : CpuTopology.identity(this.logicalCores);
     }
 
     public double[] getPerCoreVoltages() {
@@ -209,4 +240,37 @@ public class CpuInfo {
     public double[] getPerCoreMaxTemps() {
         return perCoreMaxTemps;
     }
+
+    public double[] getPerCoreStates() {
+        return perCoreStates;
+    }
+
+    public CpuTopology getTopology() {
+        return topology;
+    }
+
+    public boolean hasLoadStates() {
+        return perCoreStates.length > 0;
+    }
+
+    /**
+     * share of the last interval the core spent in the state, 0..1
+     */
+    public double getCoreStateFraction(int core, CpuLoadState state) {
+        int i = core * CpuLoadState.COUNT + state.ordinal();
+        return i < perCoreStates.length ? perCoreStates[i] : 0.0;
+    }
+
+    // cores weigh the same, so the package share is the mean
+    public double getStateFraction(CpuLoadState state) {
+        int cores = perCoreStates.length / CpuLoadState.COUNT;
+        if (cores == 0) {
+            return 0.0;
+        }
+        double sum = 0;
+        for (int core = 0; core < cores; core++) {
+            sum += perCoreStates[core * CpuLoadState.COUNT + state.ordinal()];
+        }
+        return sum / cores;
+    }
 }
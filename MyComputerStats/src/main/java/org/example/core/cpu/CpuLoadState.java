@@ -0,0 +1,28 @@
+package org.example.core.cpu;
+
+/**
+ * where a core's time went, in the order of oshi's TickType
+ * and of the columns in CpuTickEngine
+ */
+public enum CpuLoadState {
+    USER("User"),
+    NICE("Nice"),
+    SYSTEM("System"),
+    IDLE("Idle"),
+    IOWAIT("IO Wait"),
+    IRQ("IRQ"),
+    SOFTIRQ("SoftIRQ"),
+    STEAL("Steal");
+
+    public static final int COUNT = values().length;
+
+    private final String label;
+
+    CpuLoadState(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
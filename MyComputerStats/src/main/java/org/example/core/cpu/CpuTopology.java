@@ -0,0 +1,187 @@
+package org.example.core.cpu;
+
+import java.util.Arrays;
+
+/**
+ * which physical core, package and numa node each logical cpu belongs to
+ * built once at startup, logical index i is the i-th entry of the per-core
+ * arrays in CpuInfo. physical cores are numbered densely in package order,
+ * so sensors that report one value per physical core index straight in
+ */
+public class CpuTopology {
+
+    private final int[] physicalOf;
+    private final int[] packageOf;
+    private final int[] nodeOf;
+    private final int physicalCount;
+    private final int packageCount;
+    private final int nodeCount;
+
+    public CpuTopology(int[] physicalOf, int[] packageOf, int[] nodeOf) {
+        if (physicalOf.length != packageOf.length || physicalOf.length != nodeOf.length) {
+            throw new IllegalArgumentException("topology arrays differ in length");
+        }
+        this.physicalOf = physicalOf;
+        this.packageOf = packageOf;
+        this.nodeOf = nodeOf;
+        this.physicalCount = countOf(physicalOf);
+        this.packageCount = countOf(packageOf);
+        this.nodeCount = countOf(nodeOf);
+    }
+
+    /**
+     * every logical cpu its own core, for recordings that carry no topology
+     */
+    public static CpuTopology identity(int logicalCount) {
+        int[] physical = new int[logicalCount];
+        for (int i = 0; i < logicalCount; i++) {
+            physical[i] = i;
+        }
+        return new CpuTopology(physical, new int[logicalCount], new int[logicalCount]);
+    }
+
+    public int getLogicalCount() {
+        return physicalOf.length;
+    }
+
+    public int getPhysicalCount() {
+        return physicalCount;
+    }
+
+    public int getPackageCount() {
+        return packageCount;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getPhysicalCore(int logical) {
+        return physicalOf[logical];
+    }
+
+    public int getPackage(int logical) {
+        return packageOf[logical];
+    }
+
+    public int getNode(int logical) {
+        return nodeOf[logical];
+    }
+
+    public int[] getPhysicalMapping() {
+        return physicalOf.clone();
+    }
+
+    public int[] getPackageMapping() {
+        return packageOf.clone();
+    }
+
+    public int[] getNodeMapping() {
+        return nodeOf.clone();
+    }
+
+    public boolean hasSmt() {
+        return physicalCount < physicalOf.length;
+    }
+
+    /**
+     * spreads one value per physical core onto the logical cpus,
+     * arrays that are already logical-sized are copied as they are
+     */
+    public double[] toLogical(double[] perPhysical) {
+        double[] result = new double[physicalOf.length];
+        if (perPhysical.length == physicalOf.length) {
+            System.arraycopy(perPhysical, 0, result, 0, result.length);
+            return result;
+        }
+        for (int i = 0; i < result.length; i++) {
+            int core = physicalOf[i];
+            result[i] = core < perPhysical.length ? perPhysical[core] : 0;
+        }
+        return result;
+    }
+
+    public String[] toLogical(String[] perPhysical) {
+        String[] result = new String[physicalOf.length];
+        for (int i = 0; i < result.length; i++) {
+            int core = perPhysical.length == physicalOf.length ? i : physicalOf[i];
+            result[i] = core < perPhysical.length ? perPhysical[core] : "?";
+        }
+        return result;
+    }
+
+    public double[] byPhysicalCore(double[] perLogical, Aggregate aggregate) {
+        return aggregate(perLogical, physicalOf, physicalCount, aggregate);
+    }
+
+    public double[] byPackage(double[] perLogical, Aggregate aggregate) {
+        return aggregate(perLogical, packageOf, packageCount, aggregate);
+    }
+
+    public double[] byNode(double[] perLogical, Aggregate aggregate) {
+        return aggregate(perLogical, nodeOf, nodeCount, aggregate);
+    }
+
+    public String describe() {
+        return String.format("%d package%s • %d node%s • %d core%s • %d thread%s",
+                packageCount, packageCount == 1 ? "" : "s",
+                nodeCount, nodeCount == 1 ? "" : "s",
+                physicalCount, physicalCount == 1 ? "" : "s",
+                physicalOf.length, physicalOf.length == 1 ? "" : "s");
+    }
+
+    /**
+     * how siblings combine: loads average, temps and clocks take the max
+     * so a shared sensor is not diluted. values of 0 count as no reading
+     */
+    public enum Aggregate {
+        MEAN, MAX
+    }
+
+    private static double[] aggregate(double[] values, int[] groupOf, int groups, Aggregate aggregate) {
+        double[] result = new double[groups];
+        int[] counts = new int[groups];
+        for (int i = 0; i < Math.min(values.length, groupOf.length); i++) {
+            double v = values[i];
+            if (Double.isNaN(v) || (aggregate == Aggregate.MAX && v <= 0)) {
+                continue;
+            }
+            int g = groupOf[i];
+            if (aggregate == Aggregate.MAX) {
+                result[g] = Math.max(result[g], v);
+            } else {
+                result[g] += v;
+            }
+            counts[g]++;
+        }
+        if (aggregate == Aggregate.MEAN) {
+            for (int g = 0; g < groups; g++) {
+                result[g] = counts[g] > 0 ? result[g] / counts[g] : 0;
+            }
+        }
+        return result;
+    }
+
+    private static int countOf(int[] mapping) {
+        int max = -1;
+        for (int v : mapping) {
+            max = Math.max(max, v);
+        }
+        return max + 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof CpuTopology)) {
+            return false;
+        }
+        CpuTopology other = (CpuTopology) o;
+        return Arrays.equals(physicalOf, other.physicalOf) && Arrays.equals(packageOf, other.packageOf)
+                && Arrays.equals(nodeOf, other.nodeOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(physicalOf) * 31 + Arrays.hashCode(packageOf);
+    }
+}
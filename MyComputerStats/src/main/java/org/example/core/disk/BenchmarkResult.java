@@ -0,0 +1,101 @@
+package org.example.core.disk;
+
+/**
+ * outcome of one benchmark pass, e.g. 4K random reads at queue depth 32
+ * latencies are per request in microseconds
+ */
+public class BenchmarkResult {
+
+    private final String name;
+    private final boolean write;
+    private final boolean random;
+    private final int blockSize;
+    private final int queueDepth;
+    private final long operations;
+    private final double bytesPerSec;
+    private final double iops;
+    private final double meanUs;
+    private final double p50Us;
+    private final double p99Us;
+    private final double maxUs;
+    private final long[] histogram;
+    private final boolean direct;
+
+    public BenchmarkResult(String name, boolean write, boolean random, int blockSize, int queueDepth,
+            long operations, double bytesPerSec, double iops, double meanUs, double p50Us, double p99Us,
+            double maxUs, long[] histogram, boolean direct) {
+        this.name = name;
+        this.write = write;
+        this.random = random;
+        this.blockSize = blockSize;
+        this.queueDepth = queueDepth;
+        this.operations = operations;
+        this.bytesPerSec = bytesPerSec;
+        this.iops = iops;
+        this.meanUs = meanUs;
+        this.p50Us = p50Us;
+        this.p99Us = p99Us;
+        this.maxUs = maxUs;
+        this.histogram = histogram;
+        this.direct = direct;
+    }
+
+    // "SEQ1M Q8 read"
+    public String getName() {
+        return name;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    public boolean isRandom() {
+        return random;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public double getBytesPerSec() {
+        return bytesPerSec;
+    }
+
+    public double getIops() {
+        return iops;
+    }
+
+    public double getMeanUs() {
+        return meanUs;
+    }
+
+    public double getP50Us() {
+        return p50Us;
+    }
+
+    public double getP99Us() {
+        return p99Us;
+    }
+
+    public double getMaxUs() {
+        return maxUs;
+    }
+
+    // request counts in log-spaced bins from the fastest to the slowest request
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    // false when the filesystem refused O_DIRECT, reads may then come from the page cache
+    public boolean isDirect() {
+        return direct;
+    }
+}
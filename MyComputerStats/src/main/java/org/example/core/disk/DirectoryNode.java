@@ -0,0 +1,77 @@
+package org.example.core.disk;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * one directory of a space scan with the sizes below it
+ * own* counts only the files directly inside, the totals include every
+ * subdirectory. children are sorted largest first
+ */
+public class DirectoryNode {
+
+    private final String path;
+    private final String name;
+    private final long modifiedMicros;
+    private final long ownBytes;
+    private final long ownFiles;
+    private final long totalBytes;
+    private final long totalFiles;
+    private final List<DirectoryNode> children;
+
+    public DirectoryNode(String path, String name, long modifiedMicros, long ownBytes, long ownFiles,
+            List<DirectoryNode> children) {
+        this.path = path;
+        this.name = name;
+        this.modifiedMicros = modifiedMicros;
+        this.ownBytes = ownBytes;
+        this.ownFiles = ownFiles;
+        this.children = children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+
+        long bytes = ownBytes;
+        long files = ownFiles;
+        for (DirectoryNode child : this.children) {
+            bytes += child.totalBytes;
+            files += child.totalFiles;
+        }
+        this.totalBytes = bytes;
+        this.totalFiles = files;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // directory mtime when it was listed, changes when entries are added, removed or renamed
+    public long getModifiedMicros() {
+        return modifiedMicros;
+    }
+
+    public long getOwnBytes() {
+        return ownBytes;
+    }
+
+    public long getOwnFiles() {
+        return ownFiles;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getTotalFiles() {
+        return totalFiles;
+    }
+
+    public List<DirectoryNode> getChildren() {
+        return children;
+    }
+
+    public boolean hasChildren() {
+        return !children.isEmpty();
+    }
+}
@@ -11,9 +11,18 @@ public class DiskInfo {
     private final double usagePercent;
     private final String type;
     private final String mountPoint;
+    private final String options;
+    private final long totalInodes;
+    private final long freeInodes;
 
     public DiskInfo(String name, String model, long totalBytes, long usedBytes, long freeBytes,
             double usagePercent, String type, String mountPoint) {
+        this(name, model, totalBytes, usedBytes, freeBytes, usagePercent, type, mountPoint, null, 0, 0);
+    }
+
+    public DiskInfo(String name, String model, long totalBytes, long usedBytes, long freeBytes,
+            double usagePercent, String type, String mountPoint, String options, long totalInodes,
+            long freeInodes) {
         this.name = name;
         this.model = model;
         this.totalBytes = totalBytes;
@@ -22,6 +31,9 @@ public class DiskInfo {
         this.usagePercent = usagePercent;
         this.type = type;
         this.mountPoint = mountPoint;
+        this.options = options;
+        this.totalInodes = totalInodes;
+        this.freeInodes = freeInodes;
     }
 
     public String getName() {
@@ -56,6 +68,32 @@ public class DiskInfo {
         return mountPoint;
     }
 
+    // mount options such as "rw,noatime", null when unknown
+    public String getOptions() {
+        return options;
+    }
+
+    // 0 on filesystems without a fixed inode table (btrfs, zfs, fat) or when unknown
+    public long getTotalInodes() {
+        return totalInodes;
+    }
+
+    public long getFreeInodes() {
+        return freeInodes;
+    }
+
+    public long getUsedInodes() {
+        return Math.max(0, totalInodes - freeInodes);
+    }
+
+    public boolean hasInodes() {
+        return totalInodes > 0;
+    }
+
+    public double getInodeUsagePercent() {
+        return totalInodes > 0 ? getUsedInodes() * 100.0 / totalInodes : 0;
+    }
+
     public String getFormattedTotal() {
         return formatBytes(totalBytes);
     }
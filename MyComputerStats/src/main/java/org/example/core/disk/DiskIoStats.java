@@ -0,0 +1,70 @@
+package org.example.core.disk;
+
+/**
+ * io activity of one physical drive over the last sample interval
+ */
+public class DiskIoStats {
+
+    private final String name;
+    private final String model;
+    private final double readBytesPerSec;
+    private final double writeBytesPerSec;
+    private final double readIops;
+    private final double writeIops;
+    private final double queueLength;
+    private final double latencyMs;
+    private final double utilization;
+
+    public DiskIoStats(String name, String model, double readBytesPerSec, double writeBytesPerSec,
+            double readIops, double writeIops, double queueLength, double latencyMs, double utilization) {
+        this.name = name;
+        this.model = model;
+        this.readBytesPerSec = readBytesPerSec;
+        this.writeBytesPerSec = writeBytesPerSec;
+        this.readIops = readIops;
+        this.writeIops = writeIops;
+        this.queueLength = queueLength;
+        this.latencyMs = latencyMs;
+        this.utilization = utilization;
+    }
+
+    // kernel device name, e.g. "sda" or "nvme0n1"
+    public String getName() {
+        return name;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public double getReadBytesPerSec() {
+        return readBytesPerSec;
+    }
+
+    public double getWriteBytesPerSec() {
+        return writeBytesPerSec;
+    }
+
+    public double getReadIops() {
+        return readIops;
+    }
+
+    public double getWriteIops() {
+        return writeIops;
+    }
+
+    // average requests in flight over the interval
+    public double getQueueLength() {
+        return queueLength;
+    }
+
+    // average time per completed request, reads and writes together
+    public double getLatencyMs() {
+        return latencyMs;
+    }
+
+    // share of the interval the drive was busy, 0..1
+    public double getUtilization() {
+        return utilization;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.core.disk;
+
+/**
+ * where a mount's used space is heading
+ * growth comes from a fading least-squares fit over the recent hours,
+ * the time to full divides the current free space by it
+ */
+public class SpaceForecast {
+
+    private final String mountPoint;
+    private final double growthBytesPerHour;
+    private final double hoursToFull;
+    private final double spanHours;
+    private final double change24h;
+    private final boolean ready;
+    private final double inodeGrowthPerHour;
+    private final double inodeHoursToFull;
+
+    public SpaceForecast(String mountPoint, double growthBytesPerHour, double hoursToFull, double spanHours,
+            double change24h, boolean ready, double inodeGrowthPerHour, double inodeHoursToFull) {
+        this.mountPoint = mountPoint;
+        this.growthBytesPerHour = growthBytesPerHour;
+        this.hoursToFull = hoursToFull;
+        this.spanHours = spanHours;
+        this.change24h = change24h;
+        this.ready = ready;
+        this.inodeGrowthPerHour = inodeGrowthPerHour;
+        this.inodeHoursToFull = inodeHoursToFull;
+    }
+
+    public String getMountPoint() {
+        return mountPoint;
+    }
+
+    // negative while space is being freed
+    public double getGrowthBytesPerHour() {
+        return growthBytesPerHour;
+    }
+
+    // infinite when usage is flat or shrinking
+    public double getHoursToFull() {
+        return hoursToFull;
+    }
+
+    public boolean isFilling() {
+        return !Double.isInfinite(hoursToFull);
+    }
+
+    // how much history the current fit covers
+    public double getSpanHours() {
+        return spanHours;
+    }
+
+    // used bytes now minus a day ago from the rollups, NaN until a day has been seen
+    public double getChange24h() {
+        return change24h;
+    }
+
+    // inodes used per hour, 0 on filesystems without an inode count
+    public double getInodeGrowthPerHour() {
+        return inodeGrowthPerHour;
+    }
+
+    // infinite when inodes are flat, shrinking, not counted or the inode fit is too young
+    public double getInodeHoursToFull() {
+        return inodeHoursToFull;
+    }
+
+    // inodes run out before the bytes do
+    public boolean isInodeBound() {
+        return inodeHoursToFull < hoursToFull;
+    }
+
+    // false while there is too little history for the numbers to mean much
+    public boolean isReady() {
+        return ready;
+    }
+}
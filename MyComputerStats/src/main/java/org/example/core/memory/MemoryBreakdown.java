@@ -0,0 +1,116 @@
+package org.example.core.memory;
+
+/**
+ * where the used memory sits, from /proc/meminfo
+ * everything is bytes except the huge page counts. some figures overlap:
+ * shmem is part of cached, dirty/writeback/mapped are part of cache or anon
+ * and thp is part of anon, the getters for the stacked view take that out
+ */
+public class MemoryBreakdown {
+
+    private final long cached;
+    private final long buffers;
+    private final long shmem;
+    private final long slabReclaimable;
+    private final long slabUnreclaimable;
+    private final long dirty;
+    private final long writeback;
+    private final long anon;
+    private final long mapped;
+    private final long hugePagesTotal;
+    private final long hugePagesFree;
+    private final long hugePageSize;
+    private final long anonHugePages;
+
+    public MemoryBreakdown(long cached, long buffers, long shmem,
+            long slabReclaimable, long slabUnreclaimable,
+            long dirty, long writeback, long anon, long mapped,
+            long hugePagesTotal, long hugePagesFree, long hugePageSize, long anonHugePages) {
+        this.cached = cached;
+        this.buffers = buffers;
+        this.shmem = shmem;
+        this.slabReclaimable = slabReclaimable;
+        this.slabUnreclaimable = slabUnreclaimable;
+        this.dirty = dirty;
+        this.writeback = writeback;
+        this.anon = anon;
+        this.mapped = mapped;
+        this.hugePagesTotal = hugePagesTotal;
+        this.hugePagesFree = hugePagesFree;
+        this.hugePageSize = hugePageSize;
+        this.anonHugePages = anonHugePages;
+    }
+
+    public long getCached() {
+        return cached;
+    }
+
+    public long getBuffers() {
+        return buffers;
+    }
+
+    public long getShmem() {
+        return shmem;
+    }
+
+    public long getSlabReclaimable() {
+        return slabReclaimable;
+    }
+
+    public long getSlabUnreclaimable() {
+        return slabUnreclaimable;
+    }
+
+    public long getSlab() {
+        return slabReclaimable + slabUnreclaimable;
+    }
+
+    public long getDirty() {
+        return dirty;
+    }
+
+    public long getWriteback() {
+        return writeback;
+    }
+
+    public long getAnon() {
+        return anon;
+    }
+
+    public long getMapped() {
+        return mapped;
+    }
+
+    // counts, not bytes
+    public long getHugePagesTotal() {
+        return hugePagesTotal;
+    }
+
+    public long getHugePagesFree() {
+        return hugePagesFree;
+    }
+
+    public long getHugePageSize() {
+        return hugePageSize;
+    }
+
+    // the reserved hugetlb pool, used or not
+    public long getHugePagesBytes() {
+        return hugePagesTotal * hugePageSize;
+    }
+
+    // transparent huge pages backing anonymous memory
+    public long getAnonHugePages() {
+        return anonHugePages;
+    }
+
+    // ---- disjoint parts for stacking ----
+
+    public long getPageCacheOnly() {
+        return Math.max(0, cached - shmem);
+    }
+
+    public long getAnonSmallPages() {
+        return Math.max(0, anon - anonHugePages);
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.core.memory;
+
+/**
+ * memory of one numa node plus its allocation counters
+ * counters are pages since boot as the kernel reports them, rates are
+ * pages per second over the last sample. cpu load is the mean load of the
+ * node's logical cpus, negative when the node has no cpus (memory only)
+ */
+public class NumaNodeInfo {
+
+    private final int id;
+    private final long totalBytes;
+    private final long freeBytes;
+    private final long usedBytes;
+
+    private final long hits;
+    private final long misses;
+    private final long foreign;
+    private final long localNode;
+    private final long otherNode;
+
+    private final double hitRate;
+    private final double missRate;
+    private final double foreignRate;
+
+    private final int cpuCount;
+    private final double cpuLoad;
+
+    public NumaNodeInfo(int id, long totalBytes, long freeBytes, long usedBytes,
+            long hits, long misses, long foreign, long localNode, long otherNode,
+            double hitRate, double missRate, double foreignRate,
+            int cpuCount, double cpuLoad) {
+        this.id = id;
+        this.totalBytes = totalBytes;
+        this.freeBytes = freeBytes;
+        this.usedBytes = usedBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.foreign = foreign;
+        this.localNode = localNode;
+        this.otherNode = otherNode;
+        this.hitRate = hitRate;
+        this.missRate = missRate;
+        this.foreignRate = foreignRate;
+        this.cpuCount = cpuCount;
+        this.cpuLoad = cpuLoad;
+    }
+
+    /**
+     * same node with the cpu load filled in
+     */
+    public NumaNodeInfo withCpuLoad(double load) {
+        return new NumaNodeInfo(id, totalBytes, freeBytes, usedBytes, hits, misses, foreign,
+                localNode, otherNode, hitRate, missRate, foreignRate, cpuCount, load);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getFreeBytes() {
+        return freeBytes;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public double getUsagePercent() {
+        return totalBytes > 0 ? (usedBytes * 100.0) / totalBytes : 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getForeign() {
+        return foreign;
+    }
+
+    public long getLocalNode() {
+        return localNode;
+    }
+
+    public long getOtherNode() {
+        return otherNode;
+    }
+
+    // share of allocations by this node's cpus that stayed local, 0..1
+    public double getLocalRatio() {
+        long total = localNode + otherNode;
+        return total > 0 ? localNode / (double) total : 1.0;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public double getMissRate() {
+        return missRate;
+    }
+
+    public double getForeignRate() {
+        return foreignRate;
+    }
+
+    public int getCpuCount() {
+        return cpuCount;
+    }
+
+    public boolean hasCpus() {
+        return cpuCount > 0;
+    }
+
+    // 0..1, negative when unknown
+    public double getCpuLoad() {
+        return cpuLoad;
+    }
+}
@@ -1,5 +1,8 @@
 package org.example.core.memory;
 
+import java.util.Collections;
+import java.util.List;
+
 public class RamInfo {
 
     private final long totalBytes;
@@ -12,9 +15,30 @@ public class RamInfo {
     private final String memoryType;
     private final long memorySpeed;
 
+    // empty unless numa sampling is switched on
+    private final List<NumaNodeInfo> numaNodes;
+
+    // null where /proc/meminfo is not available
+    private final MemoryBreakdown breakdown;
+
     public RamInfo(long totalBytes, long availableBytes, long usedBytes,
             long swapTotalBytes, long swapUsedBytes,
             String memoryType, long memorySpeed) {
+        this(totalBytes, availableBytes, usedBytes, swapTotalBytes, swapUsedBytes, memoryType, memorySpeed,
+                Collections.emptyList());
+    }
+
+    public RamInfo(long totalBytes, long availableBytes, long usedBytes,
+            long swapTotalBytes, long swapUsedBytes,
+            String memoryType, long memorySpeed, List<NumaNodeInfo> numaNodes) {
+        this(totalBytes, availableBytes, usedBytes, swapTotalBytes, swapUsedBytes, memoryType, memorySpeed,
+                numaNodes, null);
+    }
+
+    public RamInfo(long totalBytes, long availableBytes, long usedBytes,
+            long swapTotalBytes, long swapUsedBytes,
+            String memoryType, long memorySpeed, List<NumaNodeInfo> numaNodes,
+            MemoryBreakdown breakdown) {
         this.totalBytes = totalBytes;
         this.availableBytes = availableBytes;
         this.usedBytes = usedBytes;
@@ -22,6 +46,8 @@ public class RamInfo {
         this.swapUsedBytes = swapUsedBytes;
         this.memoryType = memoryType;
         this.memorySpeed = memorySpeed;
+        this.numaNodes = numaNodes != null ? numaNodes : Collections.emptyList();
+        this.breakdown = breakdown;
     }
 
     public long getTotalBytes() {
@@ -64,6 +90,18 @@ public class RamInfo {
         return memorySpeed;
     }
 
+    public List<NumaNodeInfo> getNumaNodes() {
+        return numaNodes;
+    }
+
+    public MemoryBreakdown getBreakdown() {
+        return breakdown;
+    }
+
+    public boolean hasBreakdown() {
+        return breakdown != null;
+    }
+
     public String getFormattedTotal() {
         return formatBytes(totalBytes);
     }
@@ -0,0 +1,134 @@
+package org.example.core.network;
+
+/**
+ * one network interface over the last sample interval
+ * rates are per second, the totals are the raw counters
+ */
+public class NetworkInterfaceStats {
+
+    private final String name;
+    private final String displayName;
+    private final String macAddress;
+    private final String addresses;
+    private final long speedBitsPerSec;
+    private final boolean up;
+    private final double rxBytesPerSec;
+    private final double txBytesPerSec;
+    private final double rxPacketsPerSec;
+    private final double txPacketsPerSec;
+    private final double rxErrorsPerSec;
+    private final double txErrorsPerSec;
+    private final double rxDropsPerSec;
+    private final long rxTotalBytes;
+    private final long txTotalBytes;
+    private final long rxErrors;
+    private final long txErrors;
+    private final long rxDrops;
+
+    public NetworkInterfaceStats(String name, String displayName, String macAddress, String addresses,
+            long speedBitsPerSec, boolean up, double rxBytesPerSec, double txBytesPerSec, double rxPacketsPerSec,
+            double txPacketsPerSec, double rxErrorsPerSec, double txErrorsPerSec, double rxDropsPerSec,
+            long rxTotalBytes, long txTotalBytes, long rxErrors, long txErrors, long rxDrops) {
+        this.name = name;
+        this.displayName = displayName;
+        this.macAddress = macAddress;
+        this.addresses = addresses;
+        this.speedBitsPerSec = speedBitsPerSec;
+        this.up = up;
+        this.rxBytesPerSec = rxBytesPerSec;
+        this.txBytesPerSec = txBytesPerSec;
+        this.rxPacketsPerSec = rxPacketsPerSec;
+        this.txPacketsPerSec = txPacketsPerSec;
+        this.rxErrorsPerSec = rxErrorsPerSec;
+        this.txErrorsPerSec = txErrorsPerSec;
+        this.rxDropsPerSec = rxDropsPerSec;
+        this.rxTotalBytes = rxTotalBytes;
+        this.txTotalBytes = txTotalBytes;
+        this.rxErrors = rxErrors;
+        this.txErrors = txErrors;
+        this.rxDrops = rxDrops;
+    }
+
+    // os name, e.g. "eth0" or "en0"
+    public String getName() {
+        return name;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getMacAddress() {
+        return macAddress;
+    }
+
+    // ipv4 and ipv6 addresses, comma separated, empty when none
+    public String getAddresses() {
+        return addresses;
+    }
+
+    // link speed, 0 when the driver does not report one
+    public long getSpeedBitsPerSec() {
+        return speedBitsPerSec;
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    public double getRxBytesPerSec() {
+        return rxBytesPerSec;
+    }
+
+    public double getTxBytesPerSec() {
+        return txBytesPerSec;
+    }
+
+    public double getRxPacketsPerSec() {
+        return rxPacketsPerSec;
+    }
+
+    public double getTxPacketsPerSec() {
+        return txPacketsPerSec;
+    }
+
+    public double getRxErrorsPerSec() {
+        return rxErrorsPerSec;
+    }
+
+    public double getTxErrorsPerSec() {
+        return txErrorsPerSec;
+    }
+
+    public double getRxDropsPerSec() {
+        return rxDropsPerSec;
+    }
+
+    public long getRxTotalBytes() {
+        return rxTotalBytes;
+    }
+
+    public long getTxTotalBytes() {
+        return txTotalBytes;
+    }
+
+    public long getRxErrors() {
+        return rxErrors;
+    }
+
+    public long getTxErrors() {
+        return txErrors;
+    }
+
+    public long getRxDrops() {
+        return rxDrops;
+    }
+
+    // busier direction against the link speed, 0..1, -1 when the speed is unknown
+    public double getLinkUtilization() {
+        if (speedBitsPerSec <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, Math.max(rxBytesPerSec, txBytesPerSec) * 8 / speedBitsPerSec);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.core.pressure;
+
+/**
+ * pressure stall information for one resource (cpu, memory or io)
+ * "some" is the share of time at least one task was stalled, "full" the
+ * share all non-idle tasks were. the averages are the kernel's, in percent,
+ * the rates come from total stall time over our own sampling interval, 0..1.
+ * cpu full is only reported by newer kernels and reads 0 otherwise
+ */
+public class PressureStall {
+
+    private final double someAvg10;
+    private final double someAvg60;
+    private final double someAvg300;
+    private final long someTotalUs;
+    private final double someRate;
+
+    private final double fullAvg10;
+    private final double fullAvg60;
+    private final double fullAvg300;
+    private final long fullTotalUs;
+    private final double fullRate;
+
+    public PressureStall(double someAvg10, double someAvg60, double someAvg300, long someTotalUs, double someRate,
+            double fullAvg10, double fullAvg60, double fullAvg300, long fullTotalUs, double fullRate) {
+        this.someAvg10 = someAvg10;
+        this.someAvg60 = someAvg60;
+        this.someAvg300 = someAvg300;
+        this.someTotalUs = someTotalUs;
+        this.someRate = someRate;
+        this.fullAvg10 = fullAvg10;
+        this.fullAvg60 = fullAvg60;
+        this.fullAvg300 = fullAvg300;
+        this.fullTotalUs = fullTotalUs;
+        this.fullRate = fullRate;
+    }
+
+    public double getSomeAvg10() {
+        return someAvg10;
+    }
+
+    public double getSomeAvg60() {
+        return someAvg60;
+    }
+
+    public double getSomeAvg300() {
+        return someAvg300;
+    }
+
+    public long getSomeTotalUs() {
+        return someTotalUs;
+    }
+
+    public double getSomeRate() {
+        return someRate;
+    }
+
+    public double getFullAvg10() {
+        return fullAvg10;
+    }
+
+    public double getFullAvg60() {
+        return fullAvg60;
+    }
+
+    public double getFullAvg300() {
+        return fullAvg300;
+    }
+
+    public long getFullTotalUs() {
+        return fullTotalUs;
+    }
+
+    public double getFullRate() {
+        return fullRate;
+    }
+
+    // "some 3.2% · full 0.0%" from our own interval
+    public String describeRates() {
+        return String.format("some %.1f%% · full %.1f%%", someRate * 100, fullRate * 100);
+    }
+
+    // the kernel's averages, two lines for a tooltip
+    public String describeAverages() {
+        return String.format("some  10s %.2f%%  1m %.2f%%  5m %.2f%%%nfull  10s %.2f%%  1m %.2f%%  5m %.2f%%",
+                someAvg10, someAvg60, someAvg300, fullAvg10, fullAvg60, fullAvg300);
+    }
+}
@@ -16,6 +16,17 @@ public class AppSettings {
     // Window settings
     private boolean alwaysOnTop = false;
 
+    // Remote export
+    private boolean metricsEnabled = false;
+    private int metricsPort = 9464;
+
+    // Session recording
+    private String recordingFormat = "JSONL";
+    private boolean recordingGzip = true;
+    private String recordingDirectory = "recordings";
+    private int recordingRotateMb = 64;
+    private int recordingRotateMinutes = 60;
+
     // Getters and Setters
     public double getCpuRefreshInterval() {
         return cpuRefreshInterval;
@@ -64,5 +75,61 @@ public class AppSettings {
     public void setAlwaysOnTop(boolean alwaysOnTop) {
         this.alwaysOnTop = alwaysOnTop;
     }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
+    public String getRecordingFormat() {
+        return recordingFormat;
+    }
+
+    public void setRecordingFormat(String recordingFormat) {
+        this.recordingFormat = recordingFormat;
+    }
+
+    public boolean isRecordingGzip() {
+        return recordingGzip;
+    }
+
+    public void setRecordingGzip(boolean recordingGzip) {
+        this.recordingGzip = recordingGzip;
+    }
+
+    public String getRecordingDirectory() {
+        return recordingDirectory;
+    }
+
+    public void setRecordingDirectory(String recordingDirectory) {
+        this.recordingDirectory = recordingDirectory;
+    }
+
+    public int getRecordingRotateMb() {
+        return recordingRotateMb;
+    }
+
+    public void setRecordingRotateMb(int recordingRotateMb) {
+        this.recordingRotateMb = recordingRotateMb;
+    }
+
+    public int getRecordingRotateMinutes() {
+        return recordingRotateMinutes;
+    }
+
+    public void setRecordingRotateMinutes(int recordingRotateMinutes) {
+        this.recordingRotateMinutes = recordingRotateMinutes;
+    }
 }
 
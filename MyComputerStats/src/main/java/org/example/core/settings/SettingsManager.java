@@ -47,6 +47,13 @@ public class SettingsManager {
         settings.setTemperatureUnit(getString("display.temperature.unit", "Celsius"));
         settings.setTheme(getString("theme", "Dark"));
         settings.setAlwaysOnTop(getBoolean("window.always.on.top", false));
+        settings.setMetricsEnabled(getBoolean("export.metrics.enabled", false));
+        settings.setMetricsPort(getInt("export.metrics.port", 9464));
+        settings.setRecordingFormat(getString("recording.format", "JSONL"));
+        settings.setRecordingGzip(getBoolean("recording.gzip", true));
+        settings.setRecordingDirectory(getString("recording.directory", "recordings"));
+        settings.setRecordingRotateMb(getInt("recording.rotate.mb", 64));
+        settings.setRecordingRotateMinutes(getInt("recording.rotate.minutes", 60));
     }
 
     public void saveSettings() {
@@ -56,6 +63,13 @@ public class SettingsManager {
         properties.setProperty("display.temperature.unit", settings.getTemperatureUnit());
         properties.setProperty("theme", settings.getTheme());
         properties.setProperty("window.always.on.top", String.valueOf(settings.isAlwaysOnTop()));
+        properties.setProperty("export.metrics.enabled", String.valueOf(settings.isMetricsEnabled()));
+        properties.setProperty("export.metrics.port", String.valueOf(settings.getMetricsPort()));
+        properties.setProperty("recording.format", settings.getRecordingFormat());
+        properties.setProperty("recording.gzip", String.valueOf(settings.isRecordingGzip()));
+        properties.setProperty("recording.directory", settings.getRecordingDirectory());
+        properties.setProperty("recording.rotate.mb", String.valueOf(settings.getRecordingRotateMb()));
+        properties.setProperty("recording.rotate.minutes", String.valueOf(settings.getRecordingRotateMinutes()));
 
         try (FileOutputStream fos = new FileOutputStream(SETTINGS_FILE)) {
             properties.store(fos, "MyComputerStats Settings");
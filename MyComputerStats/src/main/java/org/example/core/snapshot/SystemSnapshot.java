@@ -0,0 +1,120 @@
+package org.example.core.snapshot;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.disk.DiskInfo;
+import org.example.core.memory.RamInfo;
+import org.example.core.pressure.PressureStall;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * immutable view of one sampling tick
+ * everything consumers need so they never query the hardware themselves
+ */
+public class SystemSnapshot {
+
+    private final long timestamp;
+    private final CpuInfo cpu;
+    private final RamInfo ram;
+    private final List<DiskInfo> disks;
+
+    private final double packagePower;
+    private final boolean thermalThrottle;
+    private final boolean powerThrottle;
+
+    private final double contextSwitchesPerSec;
+    private final double interruptsPerSec;
+    private final int processCount;
+    private final int threadCount;
+
+    // null on systems (or recordings) without psi
+    private final PressureStall cpuPressure;
+    private final PressureStall memoryPressure;
+    private final PressureStall ioPressure;
+
+    public SystemSnapshot(long timestamp, CpuInfo cpu, RamInfo ram, List<DiskInfo> disks,
+            double packagePower, boolean thermalThrottle, boolean powerThrottle,
+            double contextSwitchesPerSec, double interruptsPerSec,
+            int processCount, int threadCount) {
+        this(timestamp, cpu, ram, disks, packagePower, thermalThrottle, powerThrottle,
+                contextSwitchesPerSec, interruptsPerSec, processCount, threadCount, null, null, null);
+    }
+
+    public SystemSnapshot(long timestamp, CpuInfo cpu, RamInfo ram, List<DiskInfo> disks,
+            double packagePower, boolean thermalThrottle, boolean powerThrottle,
+            double contextSwitchesPerSec, double interruptsPerSec,
+            int processCount, int threadCount,
+            PressureStall cpuPressure, PressureStall memoryPressure, PressureStall ioPressure) {
+        this.timestamp = timestamp;
+        this.cpu = cpu;
+        this.ram = ram;
+        this.disks = disks != null ? Collections.unmodifiableList(disks) : Collections.emptyList();
+        this.packagePower = packagePower;
+        this.thermalThrottle = thermalThrottle;
+        this.powerThrottle = powerThrottle;
+        this.contextSwitchesPerSec = contextSwitchesPerSec;
+        this.interruptsPerSec = interruptsPerSec;
+        this.processCount = processCount;
+        this.threadCount = threadCount;
+        this.cpuPressure = cpuPressure;
+        this.memoryPressure = memoryPressure;
+        this.ioPressure = ioPressure;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public CpuInfo getCpu() {
+        return cpu;
+    }
+
+    public RamInfo getRam() {
+        return ram;
+    }
+
+    public List<DiskInfo> getDisks() {
+        return disks;
+    }
+
+    public double getPackagePower() {
+        return packagePower;
+    }
+
+    public boolean isThermalThrottle() {
+        return thermalThrottle;
+    }
+
+    public boolean isPowerThrottle() {
+        return powerThrottle;
+    }
+
+    public double getContextSwitchesPerSec() {
+        return contextSwitchesPerSec;
+    }
+
+    public double getInterruptsPerSec() {
+        return interruptsPerSec;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public PressureStall getCpuPressure() {
+        return cpuPressure;
+    }
+
+    public PressureStall getMemoryPressure() {
+        return memoryPressure;
+    }
+
+    public PressureStall getIoPressure() {
+        return ioPressure;
+    }
+}
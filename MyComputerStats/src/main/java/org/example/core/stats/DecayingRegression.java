@@ -0,0 +1,96 @@
+package org.example.core.stats;
+
+/**
+ * streaming least-squares line with exponentially fading weights
+ * each sample costs a handful of multiplies: the weighted sums decay by the
+ * time since the previous sample and the origin moves to the newest sample,
+ * so there is no history to refit and no precision lost to large timestamps.
+ * time is in hours, the slope in units per hour
+ */
+public class DecayingRegression {
+
+    private final double halfLifeHours;
+
+    // weighted sums with t relative to the newest sample
+    private double w;
+    private double st;
+    private double sv;
+    private double stt;
+    private double stv;
+
+    private long lastMillis;
+    private long firstMillis;
+    private int samples = 0;
+
+    public DecayingRegression(double halfLifeHours) {
+        if (halfLifeHours <= 0) {
+            throw new IllegalArgumentException("half-life must be positive: " + halfLifeHours);
+        }
+        this.halfLifeHours = halfLifeHours;
+    }
+
+    public void add(long timestampMillis, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (samples > 0 && timestampMillis < lastMillis) {
+            reset();
+        }
+        if (samples == 0) {
+            firstMillis = timestampMillis;
+        } else {
+            double d = (timestampMillis - lastMillis) / 3_600_000.0;
+            double decay = Math.pow(0.5, d / halfLifeHours);
+            // move the origin forward by d, then fade the old weights
+            stt = (stt - 2 * d * st + d * d * w) * decay;
+            stv = (stv - d * sv) * decay;
+            st = (st - d * w) * decay;
+            sv *= decay;
+            w *= decay;
+        }
+        // the new sample sits at t = 0, so it adds nothing to st, stt or stv
+        w += 1;
+        sv += value;
+        lastMillis = timestampMillis;
+        samples++;
+    }
+
+    /**
+     * units per hour, 0 until two samples are apart in time
+     */
+    public double getSlope() {
+        double denominator = w * stt - st * st;
+        if (samples < 2 || denominator <= 1e-12) {
+            return 0;
+        }
+        return (w * stv - st * sv) / denominator;
+    }
+
+    /**
+     * fitted value at the newest sample
+     */
+    public double getLevel() {
+        if (samples == 0) {
+            return 0;
+        }
+        return (sv - getSlope() * st) / w;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    // how far back the current fit reaches, not counting the fading
+    public double getSpanHours() {
+        return samples == 0 ? 0 : (lastMillis - firstMillis) / 3_600_000.0;
+    }
+
+    public void reset() {
+        w = 0;
+        st = 0;
+        sv = 0;
+        stt = 0;
+        stv = 0;
+        samples = 0;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.core.stats;
+
+import java.util.Arrays;
+
+/**
+ * a set of exponentially weighted moving averages over the same input
+ * one alpha per output, e.g. fast for the live label and slow for the trend
+ * higher alpha follows the input faster
+ */
+public class Ewma {
+
+    private final double[] alphas;
+    private final double[] values;
+    private boolean primed = false;
+
+    public Ewma(double... alphas) {
+        if (alphas.length == 0) {
+            throw new IllegalArgumentException("at least one alpha is needed");
+        }
+        for (double alpha : alphas) {
+            if (alpha <= 0 || alpha > 1) {
+                throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+            }
+        }
+        this.alphas = alphas.clone();
+        this.values = new double[alphas.length];
+    }
+
+    /**
+     * alpha that halves a step's weight after the given number of samples
+     */
+    public static double alphaForHalfLife(double samples) {
+        return 1 - Math.pow(0.5, 1 / Math.max(1e-9, samples));
+    }
+
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (!primed) {
+            // start at the first sample instead of crawling up from zero
+            Arrays.fill(values, value);
+            primed = true;
+            return;
+        }
+        for (int i = 0; i < alphas.length; i++) {
+            values[i] += alphas[i] * (value - values[i]);
+        }
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return alphas.length;
+    }
+
+    public boolean isPrimed() {
+        return primed;
+    }
+
+    public void reset() {
+        Arrays.fill(values, 0);
+        primed = false;
+    }
+}
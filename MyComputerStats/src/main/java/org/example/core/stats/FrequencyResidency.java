@@ -0,0 +1,160 @@
+package org.example.core.stats;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * time spent by each core in fixed 100 mhz frequency bins
+ * one flat long[] of milliseconds, indexed core * bins + bin, so recording
+ * never allocates. residencies merge by adding bins, across cores for the
+ * package view and across exported files for several sessions
+ */
+public class FrequencyResidency {
+
+    public static final int BIN_MHZ = 100;
+    // 8 ghz, anything above lands in the top bin
+    public static final int BIN_COUNT = 80;
+
+    public static final String CSV_HEADER = "core,mhz,ms";
+
+    private int cores;
+    private long[] millis;
+
+    public FrequencyResidency(int cores) {
+        this.cores = Math.max(0, cores);
+        this.millis = new long[this.cores * BIN_COUNT];
+    }
+
+    /**
+     * charges dtMs to the bin of every core's frequency, 0 means no reading
+     */
+    public synchronized void record(double[] frequenciesMHz, long dtMs) {
+        if (dtMs <= 0) {
+            return;
+        }
+        if (frequenciesMHz.length > cores) {
+            grow(frequenciesMHz.length);
+        }
+        for (int core = 0; core < frequenciesMHz.length; core++) {
+            double mhz = frequenciesMHz[core];
+            if (mhz > 0) {
+                millis[core * BIN_COUNT + binOf(mhz)] += dtMs;
+            }
+        }
+    }
+
+    public synchronized void add(int core, double mhz, long dtMs) {
+        if (dtMs <= 0 || mhz <= 0) {
+            return;
+        }
+        if (core >= cores) {
+            grow(core + 1);
+        }
+        millis[core * BIN_COUNT + binOf(mhz)] += dtMs;
+    }
+
+    public synchronized void merge(FrequencyResidency other) {
+        long[] otherMillis;
+        int otherCores;
+        synchronized (other) {
+            otherMillis = other.millis.clone();
+            otherCores = other.cores;
+        }
+        if (otherCores > cores) {
+            grow(otherCores);
+        }
+        for (int i = 0; i < otherMillis.length; i++) {
+            millis[i] += otherMillis[i];
+        }
+    }
+
+    public synchronized FrequencyResidency copy() {
+        FrequencyResidency copy = new FrequencyResidency(cores);
+        System.arraycopy(millis, 0, copy.millis, 0, millis.length);
+        return copy;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(millis, 0);
+    }
+
+    public synchronized int getCoreCount() {
+        return cores;
+    }
+
+    public synchronized long getMillis(int core, int bin) {
+        return core < cores ? millis[core * BIN_COUNT + bin] : 0;
+    }
+
+    /**
+     * all cores summed into one histogram
+     */
+    public synchronized long[] getPackageMillis() {
+        long[] total = new long[BIN_COUNT];
+        for (int core = 0; core < cores; core++) {
+            int base = core * BIN_COUNT;
+            for (int bin = 0; bin < BIN_COUNT; bin++) {
+                total[bin] += millis[base + bin];
+            }
+        }
+        return total;
+    }
+
+    public static int binOf(double mhz) {
+        return Math.max(0, Math.min(BIN_COUNT - 1, (int) (mhz / BIN_MHZ)));
+    }
+
+    // lower edge of the bin
+    public static int binMHz(int bin) {
+        return bin * BIN_MHZ;
+    }
+
+    /**
+     * one row per non-empty bin
+     */
+    public synchronized void writeCsv(Writer out) throws IOException {
+        out.write(CSV_HEADER);
+        out.write('\n');
+        for (int core = 0; core < cores; core++) {
+            for (int bin = 0; bin < BIN_COUNT; bin++) {
+                long ms = millis[core * BIN_COUNT + bin];
+                if (ms > 0) {
+                    out.write(core + "," + binMHz(bin) + "," + ms + "\n");
+                }
+            }
+        }
+    }
+
+    public static FrequencyResidency readCsv(Path file) throws IOException {
+        FrequencyResidency residency = new FrequencyResidency(0);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith(CSV_HEADER)) {
+                    continue;
+                }
+                String[] f = line.split(",");
+                if (f.length < 3) {
+                    throw new IOException("bad residency row: " + line);
+                }
+                try {
+                    residency.add(Integer.parseInt(f[0].trim()), Double.parseDouble(f[1].trim()),
+                            Long.parseLong(f[2].trim()));
+                } catch (NumberFormatException e) {
+                    throw new IOException("bad residency row: " + line);
+                }
+            }
+        }
+        return residency;
+    }
+
+    private void grow(int newCores) {
+        millis = Arrays.copyOf(millis, newCores * BIN_COUNT);
+        cores = newCores;
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.core.stats;
+
+import java.util.Arrays;
+
+/**
+ * streaming quantiles (p50/p95/p99...) in constant memory
+ * values land in log-spaced buckets, so every estimate is within the given
+ * relative accuracy. sketches with the same layout merge by adding counts,
+ * which is how per-core distributions roll up into package-level ones
+ */
+public class QuantileSketch {
+
+    private final double minValue;
+    private final double maxValue;
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int indexOffset;
+    private final long[] counts;
+
+    // values below minValue (idle cores, missing sensors) are counted but not bucketed
+    private long lowCount = 0;
+    private long count = 0;
+    private double sum = 0;
+    private double min = Double.MAX_VALUE;
+    private double max = -Double.MAX_VALUE;
+
+    public QuantileSketch(double minValue, double maxValue, double relativeAccuracy) {
+        if (minValue <= 0 || maxValue <= minValue || relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("bad sketch range: " + minValue + ".." + maxValue
+                    + " @ " + relativeAccuracy);
+        }
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.indexOffset = (int) Math.floor(Math.log(minValue) / logGamma);
+        int top = (int) Math.ceil(Math.log(maxValue) / logGamma);
+        this.counts = new long[top - indexOffset + 1];
+    }
+
+    /**
+     * empty sketch with the same bucket layout, ready to merge into
+     */
+    public QuantileSketch copyLayout() {
+        return new QuantileSketch(minValue, maxValue, relativeAccuracy);
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        count++;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+
+        if (value < minValue) {
+            lowCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma) - indexOffset;
+        counts[Math.max(0, Math.min(counts.length - 1, index))]++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.counts.length != counts.length || other.indexOffset != indexOffset) {
+            throw new IllegalArgumentException("cannot merge sketches with different layouts");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        lowCount += other.lowCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * value at quantile q (0..1), clamped to the observed min/max
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = lowCount;
+        if (rank <= seen) {
+            return min;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                // bucket i holds (gamma^(k-1), gamma^k], its midpoint keeps the error symmetric
+                double estimate = 2 * Math.pow(gamma, i + indexOffset) / (gamma + 1);
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * counts folded into log-spaced bins between the observed min and max,
+     * for drawing the distribution. values below minValue go in the first bin
+     */
+    public long[] histogram(int bins) {
+        long[] result = new long[bins];
+        if (count == 0) {
+            return result;
+        }
+        result[0] += lowCount;
+        double low = Math.log(Math.max(minValue, getMin()));
+        double span = Math.log(Math.max(minValue, getMax())) - low;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            double value = 2 * Math.pow(gamma, i + indexOffset) / (gamma + 1);
+            int bin = span > 0 ? (int) ((Math.log(value) - low) / span * bins) : 0;
+            result[Math.max(0, Math.min(bins - 1, bin))] += counts[i];
+        }
+        return result;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        lowCount = 0;
+        count = 0;
+        sum = 0;
+        min = Double.MAX_VALUE;
+        max = -Double.MAX_VALUE;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.core.stats;
+
+/**
+ * fixed-size history of timestamped values, oldest overwritten first
+ * index 0 is the oldest sample still held, size() - 1 the newest.
+ * not thread safe, writers and readers synchronize on the owner
+ */
+public class RingSeries {
+
+    private final long[] times;
+    private final double[] values;
+    private int head = 0;
+    private int size = 0;
+
+    public RingSeries(int capacity) {
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public void add(long timestampMillis, double value) {
+        times[head] = timestampMillis;
+        values[head] = value;
+        head = (head + 1) % times.length;
+        if (size < times.length) {
+            size++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return times.length;
+    }
+
+    public long getTime(int index) {
+        return times[slot(index)];
+    }
+
+    public double getValue(int index) {
+        return values[slot(index)];
+    }
+
+    public double getLatest() {
+        return size > 0 ? getValue(size - 1) : 0;
+    }
+
+    public double getMax() {
+        double max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private int slot(int index) {
+        return (head - size + index + times.length) % times.length;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.core.stats;
+
+/**
+ * long history kept as averages over coarser and coarser buckets
+ * every tier averages the raw samples falling into its bucket width and
+ * keeps a fixed number of buckets, e.g. minutes for two hours, quarter
+ * hours for two days and hours for a month. memory stays fixed however
+ * long the app runs
+ */
+public class RollupSeries {
+
+    private final long[] widths;
+    private final RingSeries[] tiers;
+    private final long[] bucketStart;
+    private final double[] bucketSum;
+    private final int[] bucketCount;
+
+    /**
+     * widthsMillis and capacities pair up, finest tier first
+     */
+    public RollupSeries(long[] widthsMillis, int[] capacities) {
+        if (widthsMillis.length != capacities.length || widthsMillis.length == 0) {
+            throw new IllegalArgumentException("need one capacity per tier width");
+        }
+        this.widths = widthsMillis.clone();
+        this.tiers = new RingSeries[widths.length];
+        for (int i = 0; i < tiers.length; i++) {
+            tiers[i] = new RingSeries(capacities[i]);
+        }
+        this.bucketStart = new long[widths.length];
+        this.bucketSum = new double[widths.length];
+        this.bucketCount = new int[widths.length];
+    }
+
+    public void add(long timestampMillis, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        for (int i = 0; i < widths.length; i++) {
+            long start = timestampMillis - Math.floorMod(timestampMillis, widths[i]);
+            if (bucketCount[i] > 0 && start != bucketStart[i]) {
+                tiers[i].add(bucketStart[i], bucketSum[i] / bucketCount[i]);
+                bucketCount[i] = 0;
+                bucketSum[i] = 0;
+            }
+            bucketStart[i] = start;
+            bucketSum[i] += value;
+            bucketCount[i]++;
+        }
+    }
+
+    public int getTierCount() {
+        return tiers.length;
+    }
+
+    public long getWidth(int tier) {
+        return widths[tier];
+    }
+
+    /**
+     * closed buckets of one tier, oldest first. the bucket still filling is not in it
+     */
+    public RingSeries getTier(int tier) {
+        return tiers[tier];
+    }
+
+    /**
+     * average around the given time from the finest tier that still reaches
+     * back that far, NaN when nothing is that old
+     */
+    public double valueAt(long timestampMillis) {
+        for (RingSeries tier : tiers) {
+            if (tier.size() == 0 || tier.getTime(0) > timestampMillis) {
+                continue;
+            }
+            // newest bucket that started at or before the time
+            for (int k = tier.size() - 1; k >= 0; k--) {
+                if (tier.getTime(k) <= timestampMillis) {
+                    return tier.getValue(k);
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    public void clear() {
+        for (int i = 0; i < tiers.length; i++) {
+            tiers[i].clear();
+            bucketCount[i] = 0;
+            bucketSum[i] = 0;
+        }
+    }
+}
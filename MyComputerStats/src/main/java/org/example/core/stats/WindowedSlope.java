@@ -0,0 +1,81 @@
+package org.example.core.stats;
+
+/**
+ * least-squares slope over the last few seconds of samples, in units per second
+ * samples sit in a fixed ring buffer; the fit is done on demand around the
+ * window's own mean so large timestamps do not eat the precision
+ */
+public class WindowedSlope {
+
+    private final double windowSeconds;
+    private final long[] times;
+    private final double[] values;
+    private int head = 0;
+    private int size = 0;
+
+    public WindowedSlope(double windowSeconds, int capacity) {
+        this.windowSeconds = windowSeconds;
+        this.times = new long[capacity];
+        this.values = new double[capacity];
+    }
+
+    public void add(long timestampMillis, double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        // time went backwards (replay seek), the old samples do not belong to this window
+        if (size > 0 && timestampMillis < times[(head - 1 + times.length) % times.length]) {
+            reset();
+        }
+        times[head] = timestampMillis;
+        values[head] = value;
+        head = (head + 1) % times.length;
+        if (size < times.length) {
+            size++;
+        }
+    }
+
+    /**
+     * units per second, 0 until there are two samples in the window
+     */
+    public double getSlope() {
+        if (size < 2) {
+            return 0;
+        }
+        int newest = (head - 1 + times.length) % times.length;
+        long cutoff = times[newest] - (long) (windowSeconds * 1000);
+
+        int n = 0;
+        double meanT = 0;
+        double meanV = 0;
+        for (int k = 0; k < size; k++) {
+            int i = (newest - k + times.length) % times.length;
+            if (times[i] < cutoff) {
+                break;
+            }
+            n++;
+            // seconds relative to the newest sample keeps the numbers small
+            double t = (times[i] - times[newest]) / 1000.0;
+            meanT += (t - meanT) / n;
+            meanV += (values[i] - meanV) / n;
+        }
+        if (n < 2) {
+            return 0;
+        }
+
+        double sxy = 0;
+        double sxx = 0;
+        for (int k = 0; k < n; k++) {
+            int i = (newest - k + times.length) % times.length;
+            double dt = (times[i] - times[newest]) / 1000.0 - meanT;
+            sxy += dt * (values[i] - meanV);
+            sxx += dt * dt;
+        }
+        return sxx == 0 ? 0 : sxy / sxx;
+    }
+
+    public void reset() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,318 @@
+package org.example.monitoring;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.disk.DiskInfo;
+import org.example.core.memory.RamInfo;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.container.CgroupCollector;
+import org.example.monitoring.cpu.CpuMonitoringService;
+import org.example.monitoring.disk.DiskMonitoringService;
+import org.example.monitoring.memory.RamMonitoringService;
+import org.example.monitoring.network.NetworkMonitoringService;
+import org.example.monitoring.pressure.PressureCollector;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * background sampler shared by the gui and headless mode
+ * owns the single set of monitoring services and publishes one snapshot per tick
+ *
+ * during replay live ticks are suspended and a recording publishes through
+ * the same listeners instead. live listeners (exporters) and the latest
+ * snapshot never see replayed data
+ */
+public class SamplingScheduler {
+
+    // file stores are expensive to enumerate, sample them slower than cpu/ram
+    private static final long DISK_INTERVAL_MS = 3_000;
+    // walking and reading every cgroup is not free either
+    private static final long CGROUP_INTERVAL_MS = 2_000;
+
+    private static SamplingScheduler instance;
+
+    private final List<SnapshotListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<SnapshotListener> liveListeners = new CopyOnWriteArrayList<>();
+
+    private CpuMonitoringService cpuService;
+    private RamMonitoringService ramService;
+    private DiskMonitoringService diskService;
+    private NetworkMonitoringService networkService;
+    private PressureCollector pressure;
+    private CgroupCollector cgroups;
+
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> task;
+    private long intervalMillis = 500;
+
+    private volatile SystemSnapshot latestSnapshot;
+    private volatile boolean replaying = false;
+    private boolean resumeAfterReplay = false;
+    private List<DiskInfo> lastDisks = Collections.emptyList();
+    private long lastDiskSample = 0;
+    // only refreshed while a page shows the cgroup view
+    private volatile boolean cgroupSampling = false;
+    private volatile long lastCgroupSample = 0;
+
+    private SamplingScheduler() {
+    }
+
+    public static synchronized SamplingScheduler getInstance() {
+        if (instance == null) {
+            instance = new SamplingScheduler();
+        }
+        return instance;
+    }
+
+    public synchronized void start(double intervalSeconds) {
+        if (task != null) {
+            return;
+        }
+        ensureServices();
+        intervalMillis = toMillis(intervalSeconds);
+        if (replaying) {
+            resumeAfterReplay = true;
+            return;
+        }
+
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "SamplingScheduler");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        task = executor.scheduleAtFixedRate(this::tick, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        System.out.printf("[sampler] started (%d ms)%n", intervalMillis);
+    }
+
+    public synchronized void setInterval(double intervalSeconds) {
+        long newInterval = toMillis(intervalSeconds);
+        if (newInterval == intervalMillis) {
+            return;
+        }
+        intervalMillis = newInterval;
+        if (task != null) {
+            task.cancel(false);
+            task = executor.scheduleAtFixedRate(this::tick, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            System.out.printf("[sampler] interval changed (%d ms)%n", intervalMillis);
+        }
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    public synchronized void shutdown() {
+        stop();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        if (cpuService != null) {
+            cpuService.shutdown();
+        }
+        if (ramService != null) {
+            ramService.shutdown();
+        }
+        if (diskService != null) {
+            diskService.shutdown();
+        }
+        if (pressure != null) {
+            pressure.close();
+        }
+        if (cgroups != null) {
+            cgroups.close();
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return task != null;
+    }
+
+    public synchronized void beginReplay() {
+        if (replaying) {
+            return;
+        }
+        replaying = true;
+        resumeAfterReplay = task != null;
+        stop();
+        resetListeners();
+        System.out.println("[sampler] live sampling suspended for replay");
+    }
+
+    public synchronized void endReplay() {
+        if (!replaying) {
+            return;
+        }
+        replaying = false;
+        latestSnapshot = null;
+        resetListeners();
+        if (resumeAfterReplay) {
+            start(intervalMillis / 1000.0);
+        }
+        System.out.println("[sampler] live sampling resumed");
+    }
+
+    public boolean isReplaying() {
+        return replaying;
+    }
+
+    /**
+     * entry point for recorded snapshots, ignored outside replay
+     */
+    public void publishReplay(SystemSnapshot snapshot) {
+        if (replaying) {
+            publish(snapshot, false);
+        }
+    }
+
+    public void resetListeners() {
+        for (SnapshotListener listener : listeners) {
+            listener.onTimelineReset();
+        }
+    }
+
+    public void addListener(SnapshotListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeListener(SnapshotListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * like addListener but only for sampled snapshots, nothing is delivered during replay
+     */
+    public void addLiveListener(SnapshotListener listener) {
+        if (!liveListeners.contains(listener)) {
+            liveListeners.add(listener);
+        }
+    }
+
+    public void removeLiveListener(SnapshotListener listener) {
+        liveListeners.remove(listener);
+    }
+
+    // last sampled snapshot, replayed ones are not kept here
+    public SystemSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    public synchronized CpuMonitoringService getCpuService() {
+        ensureServices();
+        return cpuService;
+    }
+
+    public synchronized RamMonitoringService getRamService() {
+        ensureServices();
+        return ramService;
+    }
+
+    public synchronized CgroupCollector getCgroupCollector() {
+        ensureServices();
+        return cgroups;
+    }
+
+    public void setCgroupSampling(boolean enabled) {
+        cgroupSampling = enabled;
+        // refresh on the next tick rather than up to an interval later
+        lastCgroupSample = 0;
+    }
+
+    public synchronized DiskMonitoringService getDiskService() {
+        ensureServices();
+        return diskService;
+    }
+
+    public synchronized NetworkMonitoringService getNetworkService() {
+        ensureServices();
+        return networkService;
+    }
+
+    private void ensureServices() {
+        if (cpuService == null) {
+            cpuService = new CpuMonitoringService();
+            ramService = new RamMonitoringService();
+            diskService = new DiskMonitoringService();
+            networkService = new NetworkMonitoringService();
+            pressure = new PressureCollector();
+            cgroups = new CgroupCollector();
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+
+            CpuInfo cpu = cpuService.readCpuInfo();
+            cpuService.updateSystemActivity();
+            RamInfo ram = ramService.readRamInfo(cpu);
+            pressure.sample();
+
+            diskService.sampleIo(now);
+            networkService.sample(now);
+            if (now - lastDiskSample >= DISK_INTERVAL_MS) {
+                lastDisks = diskService.readDiskInfo();
+                diskService.updateForecasts(lastDisks, now);
+                lastDiskSample = now;
+            }
+            if (cgroupSampling && now - lastCgroupSample >= CGROUP_INTERVAL_MS) {
+                cgroups.refresh();
+                lastCgroupSample = now;
+            }
+
+            SystemSnapshot snapshot = new SystemSnapshot(now, cpu, ram, lastDisks,
+                    cpuService.getPackagePower(),
+                    cpuService.isThermalThrottle(),
+                    cpuService.isPowerThrottle(),
+                    cpuService.getContextSwitchesPerSec(),
+                    cpuService.getInterruptsPerSec(),
+                    cpuService.getProcessCount(),
+                    cpuService.getThreadCount(),
+                    pressure.get(PressureCollector.CPU),
+                    pressure.get(PressureCollector.MEMORY),
+                    pressure.get(PressureCollector.IO));
+
+            // a tick that was already running when replay began is discarded
+            if (!replaying) {
+                publish(snapshot, true);
+            }
+        } catch (Exception e) {
+            // never let one bad tick kill the scheduled task
+            System.err.println("[sampler] tick failed: " + e.getMessage());
+        }
+    }
+
+    private void publish(SystemSnapshot snapshot, boolean live) {
+        if (live) {
+            latestSnapshot = snapshot;
+            deliver(liveListeners, snapshot);
+        }
+        deliver(listeners, snapshot);
+    }
+
+    private static void deliver(List<SnapshotListener> targets, SystemSnapshot snapshot) {
+        for (SnapshotListener listener : targets) {
+            try {
+                listener.onSnapshot(snapshot);
+            } catch (Exception e) {
+                System.err.println("[sampler] listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private long toMillis(double seconds) {
+        return Math.max(100, Math.round(seconds * 1000));
+    }
+}
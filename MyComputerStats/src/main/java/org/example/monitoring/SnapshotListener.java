@@ -0,0 +1,18 @@
+package org.example.monitoring;
+
+import org.example.core.snapshot.SystemSnapshot;
+
+/**
+ * receives every snapshot published by the sampling scheduler
+ * called on the sampler thread, so keep it short
+ */
+public interface SnapshotListener {
+    void onSnapshot(SystemSnapshot snapshot);
+
+    /**
+     * the next snapshot does not continue the previous one
+     * (replay started, stopped or seeked), so drop accumulated history
+     */
+    default void onTimelineReset() {
+    }
+}
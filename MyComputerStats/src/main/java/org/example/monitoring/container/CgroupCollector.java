@@ -0,0 +1,376 @@
+package org.example.monitoring.container;
+
+import org.example.core.container.CgroupInfo;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * per-cgroup cpu, memory and io from the cgroup v2 hierarchy
+ * every watched group keeps its stat files open and is re-read into one
+ * shared buffer. the directory tree is only walked again when the root's
+ * nr_descendants changes, a group vanishes mid-read, or a minute has
+ * passed, and a walk only opens files for groups it has not seen before
+ */
+public class CgroupCollector {
+
+    private static final Path[] ROOTS = {Path.of("/sys/fs/cgroup"), Path.of("/sys/fs/cgroup/unified")};
+
+    private static final int MAX_DEPTH = 6;
+    private static final int MAX_GROUPS = 512;
+    private static final long FULL_RESCAN_MS = 60_000;
+
+    private static final byte[] USAGE_USEC = bytes("usage_usec");
+    private static final byte[] NR_PERIODS = bytes("nr_periods");
+    private static final byte[] NR_THROTTLED = bytes("nr_throttled");
+    private static final byte[] THROTTLED_USEC = bytes("throttled_usec");
+    private static final byte[] EVENT_HIGH = bytes("high");
+    private static final byte[] EVENT_MAX = bytes("max");
+    private static final byte[] EVENT_OOM_KILL = bytes("oom_kill");
+    private static final byte[] NR_DESCENDANTS = bytes("nr_descendants");
+    private static final byte[] RBYTES = bytes("rbytes=");
+    private static final byte[] WBYTES = bytes("wbytes=");
+
+    private final Path root;
+    private final RandomAccessFile rootStat;
+    private final Map<String, Group> groups = new LinkedHashMap<>();
+    private byte[] buffer = new byte[4 * 1024];
+
+    private long lastDescendants = -1;
+    private long lastWalk = 0;
+    private boolean walkNeeded = true;
+    private List<CgroupInfo> latest = Collections.emptyList();
+
+    public CgroupCollector() {
+        this(findRoot());
+    }
+
+    /**
+     * root of a v2 hierarchy, or null for none
+     */
+    public CgroupCollector(Path root) {
+        this.root = root;
+        this.rootStat = root != null ? open(root.resolve("cgroup.stat")) : null;
+        if (root != null) {
+            System.out.println("[cgroup] v2 hierarchy at " + root);
+        }
+    }
+
+    // pure v2 mounts at /sys/fs/cgroup, hybrid systems at unified/
+    private static Path findRoot() {
+        for (Path candidate : ROOTS) {
+            if (Files.isReadable(candidate.resolve("cgroup.controllers"))) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    public boolean isAvailable() {
+        return root != null;
+    }
+
+    /**
+     * re-reads every watched group, walking the tree first if it changed
+     */
+    public synchronized void refresh() {
+        if (root == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long descendants = readRootDescendants();
+        if (walkNeeded || descendants != lastDescendants || now - lastWalk >= FULL_RESCAN_MS) {
+            walk();
+            lastDescendants = descendants;
+            lastWalk = now;
+            walkNeeded = false;
+        }
+
+        long nanos = System.nanoTime();
+        List<CgroupInfo> result = new ArrayList<>(groups.size());
+        var it = groups.values().iterator();
+        while (it.hasNext()) {
+            Group group = it.next();
+            try {
+                result.add(group.read(nanos));
+            } catch (IOException e) {
+                // removed between walks, its files now fail with ENODEV
+                group.close();
+                it.remove();
+                walkNeeded = true;
+            }
+        }
+        latest = Collections.unmodifiableList(result);
+    }
+
+    public synchronized List<CgroupInfo> getLatest() {
+        return latest;
+    }
+
+    /**
+     * the top n groups by the given order, e.g. CgroupInfo.BY_THROTTLING
+     */
+    public List<CgroupInfo> rank(Comparator<CgroupInfo> order, int n) {
+        List<CgroupInfo> sorted = new ArrayList<>(getLatest());
+        sorted.sort(order);
+        return sorted.size() > n ? sorted.subList(0, n) : sorted;
+    }
+
+    public synchronized int getWatchedCount() {
+        return groups.size();
+    }
+
+    public synchronized void close() {
+        for (Group group : groups.values()) {
+            group.close();
+        }
+        groups.clear();
+        closeQuietly(rootStat);
+    }
+
+    private long readRootDescendants() {
+        if (rootStat == null) {
+            return -1;
+        }
+        try {
+            int length = fill(rootStat);
+            return value(length, NR_DESCENDANTS);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private void walk() {
+        Set<String> seen = new HashSet<>();
+        List<Path> pending = new ArrayList<>();
+        pending.add(root);
+        // breadth first so a capped walk keeps the top of the tree
+        for (int i = 0; i < pending.size() && seen.size() < MAX_GROUPS; i++) {
+            Path dir = pending.get(i);
+            if (!dir.equals(root)) {
+                String key = "/" + root.relativize(dir).toString().replace('\\', '/');
+                seen.add(key);
+                if (!groups.containsKey(key)) {
+                    groups.put(key, new Group(key, dir));
+                }
+            }
+            if (root.relativize(dir).getNameCount() >= MAX_DEPTH && !dir.equals(root)) {
+                continue;
+            }
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(dir, Files::isDirectory)) {
+                for (Path child : children) {
+                    pending.add(child);
+                }
+            } catch (IOException e) {
+                // vanished while walking
+            }
+        }
+
+        var it = groups.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Group> entry = it.next();
+            if (!seen.contains(entry.getKey())) {
+                entry.getValue().close();
+                it.remove();
+            }
+        }
+    }
+
+    private final class Group {
+        final String path;
+        final RandomAccessFile cpuStat;
+        final RandomAccessFile memoryCurrent;
+        final RandomAccessFile memoryMax;
+        final RandomAccessFile memoryEvents;
+        final RandomAccessFile ioStat;
+
+        long prevUsage;
+        long prevPeriods;
+        long prevThrottled;
+        long prevThrottledUs;
+        long prevRead;
+        long prevWrite;
+        long prevTime;
+
+        Group(String path, Path dir) {
+            this.path = path;
+            // a controller that is not enabled for the group has no files, those stay null
+            this.cpuStat = open(dir.resolve("cpu.stat"));
+            this.memoryCurrent = open(dir.resolve("memory.current"));
+            this.memoryMax = open(dir.resolve("memory.max"));
+            this.memoryEvents = open(dir.resolve("memory.events"));
+            this.ioStat = open(dir.resolve("io.stat"));
+        }
+
+        CgroupInfo read(long now) throws IOException {
+            long usage = 0;
+            long periods = 0;
+            long throttled = 0;
+            long throttledUs = 0;
+            if (cpuStat != null) {
+                int length = fill(cpuStat);
+                usage = value(length, USAGE_USEC);
+                periods = value(length, NR_PERIODS);
+                throttled = value(length, NR_THROTTLED);
+                throttledUs = value(length, THROTTLED_USEC);
+            }
+
+            long current = memoryCurrent != null ? single(memoryCurrent) : 0;
+            long max = memoryMax != null ? single(memoryMax) : CgroupInfo.UNLIMITED;
+
+            long highEvents = 0;
+            long maxEvents = 0;
+            long oomKills = 0;
+            if (memoryEvents != null) {
+                int length = fill(memoryEvents);
+                highEvents = value(length, EVENT_HIGH);
+                maxEvents = value(length, EVENT_MAX);
+                oomKills = value(length, EVENT_OOM_KILL);
+            }
+
+            long read = 0;
+            long write = 0;
+            if (ioStat != null) {
+                int length = fill(ioStat);
+                read = sumTokens(length, RBYTES);
+                write = sumTokens(length, WBYTES);
+            }
+
+            double seconds = prevTime > 0 ? (now - prevTime) / 1e9 : 0;
+            long periodDelta = periods - prevPeriods;
+            CgroupInfo info = new CgroupInfo(path, usage, perSecond(usage - prevUsage, seconds) / 1e6,
+                    periods, throttled, throttledUs,
+                    prevTime > 0 && periodDelta > 0 ? Math.max(0, throttled - prevThrottled) / (double) periodDelta : 0,
+                    perSecond(throttledUs - prevThrottledUs, seconds) / 1e6,
+                    current, max, highEvents, maxEvents, oomKills,
+                    read, write, perSecond(read - prevRead, seconds), perSecond(write - prevWrite, seconds));
+
+            prevUsage = usage;
+            prevPeriods = periods;
+            prevThrottled = throttled;
+            prevThrottledUs = throttledUs;
+            prevRead = read;
+            prevWrite = write;
+            prevTime = now;
+            return info;
+        }
+
+        void close() {
+            closeQuietly(cpuStat);
+            closeQuietly(memoryCurrent);
+            closeQuietly(memoryMax);
+            closeQuietly(memoryEvents);
+            closeQuietly(ioStat);
+        }
+    }
+
+    private static double perSecond(long delta, double seconds) {
+        return seconds > 0 ? Math.max(0, delta) / seconds : 0;
+    }
+
+    private int fill(RandomAccessFile file) throws IOException {
+        file.seek(0);
+        int length = 0;
+        int n;
+        while ((n = file.read(buffer, length, buffer.length - length)) > 0) {
+            length += n;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return length;
+    }
+
+    // memory.current / memory.max hold one number, or "max"
+    private long single(RandomAccessFile file) throws IOException {
+        int length = fill(file);
+        if (length > 0 && buffer[0] == 'm') {
+            return CgroupInfo.UNLIMITED;
+        }
+        return number(0, length);
+    }
+
+    // value of a "key value" line, 0 when the key is missing
+    private long value(int length, byte[] key) {
+        int pos = 0;
+        while (pos < length) {
+            if (startsWith(pos, length, key) && pos + key.length < length && buffer[pos + key.length] == ' ') {
+                return number(pos + key.length + 1, length);
+            }
+            while (pos < length && buffer[pos] != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+        return 0;
+    }
+
+    // io.stat has one line per device, "8:0 rbytes=1 wbytes=2 ...", summed over devices
+    private long sumTokens(int length, byte[] key) {
+        long sum = 0;
+        for (int pos = 0; pos < length; pos++) {
+            if ((pos == 0 || buffer[pos - 1] == ' ') && startsWith(pos, length, key)) {
+                sum += number(pos + key.length, length);
+            }
+        }
+        return sum;
+    }
+
+    private boolean startsWith(int pos, int length, byte[] key) {
+        if (pos + key.length > length) {
+            return false;
+        }
+        for (int j = 0; j < key.length; j++) {
+            if (buffer[pos + j] != key[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long number(int pos, int length) {
+        long value = 0;
+        while (pos < length && buffer[pos] >= '0' && buffer[pos] <= '9') {
+            value = value * 10 + (buffer[pos++] - '0');
+        }
+        return value;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static RandomAccessFile open(Path file) {
+        if (!Files.isReadable(file)) {
+            return null;
+        }
+        try {
+            return new RandomAccessFile(file.toFile(), "r");
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void closeQuietly(RandomAccessFile file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.monitoring.cpu;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.LogicalProcessor;
+import oshi.hardware.CentralProcessor.PhysicalProcessor;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * works out which logical cpus are performance and which efficiency cores
+ * tries oshi's efficiency class first (windows fills it in), then the
+ * linux sysfs hybrid type directories, then cpu_capacity. a cpu with only
+ * one kind of core reports every core as P
+ */
+public final class CoreTypeDetector {
+
+    public static final String PERFORMANCE = "P";
+    public static final String EFFICIENCY = "E";
+
+    private static final Path SYS_CPU = Path.of("/sys/devices/system/cpu");
+
+    private CoreTypeDetector() {
+    }
+
+    /**
+     * one type per logical cpu, in oshi's logical processor order
+     */
+    public static String[] detect(CentralProcessor processor) {
+        List<LogicalProcessor> cpus = processor.getLogicalProcessors();
+
+        String[] types = fromEfficiencyClass(processor.getPhysicalProcessors(), cpus);
+        String source = "efficiency class";
+        if (types == null) {
+            types = fromSysfsTypes(cpus);
+            source = "sysfs cpu types";
+        }
+        if (types == null) {
+            types = fromCapacity(cpus);
+            source = "cpu_capacity";
+        }
+        if (types == null) {
+            types = new String[cpus.size()];
+            Arrays.fill(types, PERFORMANCE);
+            source = "not hybrid";
+        }
+
+        int efficient = 0;
+        for (String type : types) {
+            if (EFFICIENCY.equals(type)) {
+                efficient++;
+            }
+        }
+        System.out.printf("[cpu] core types: %d P / %d E threads (%s)%n", types.length - efficient, efficient, source);
+        return types;
+    }
+
+    // higher efficiency class means faster cores
+    private static String[] fromEfficiencyClass(List<PhysicalProcessor> cores, List<LogicalProcessor> cpus) {
+        Map<Long, Integer> classOf = new HashMap<>();
+        TreeSet<Integer> classes = new TreeSet<>();
+        for (PhysicalProcessor core : cores) {
+            classOf.put(key(core.getPhysicalPackageNumber(), core.getPhysicalProcessorNumber()), core.getEfficiency());
+            classes.add(core.getEfficiency());
+        }
+        if (classes.size() < 2) {
+            return null;
+        }
+
+        int top = classes.last();
+        String[] types = new String[cpus.size()];
+        for (int i = 0; i < types.length; i++) {
+            LogicalProcessor cpu = cpus.get(i);
+            Integer efficiency = classOf.get(key(cpu.getPhysicalPackageNumber(), cpu.getPhysicalProcessorNumber()));
+            types[i] = efficiency != null && efficiency < top ? EFFICIENCY : PERFORMANCE;
+        }
+        return types;
+    }
+
+    // /sys/devices/system/cpu/types/intel_atom_0/cpulist and friends
+    private static String[] fromSysfsTypes(List<LogicalProcessor> cpus) {
+        Map<Integer, String> typeOf = new HashMap<>();
+        Path typesDir = SYS_CPU.resolve("types");
+        if (Files.isDirectory(typesDir)) {
+            try (DirectoryStream<Path> dirs = Files.newDirectoryStream(typesDir)) {
+                for (Path dir : dirs) {
+                    String type = dir.getFileName().toString().contains("atom") ? EFFICIENCY : PERFORMANCE;
+                    readCpuList(dir.resolve("cpulist"), type, typeOf);
+                }
+            } catch (IOException e) {
+                System.err.println("[cpu] could not read " + typesDir + ": " + e.getMessage());
+            }
+        }
+        // older kernels only expose the hybrid pmus
+        if (typeOf.isEmpty()) {
+            readCpuList(Path.of("/sys/devices/cpu_core/cpus"), PERFORMANCE, typeOf);
+            readCpuList(Path.of("/sys/devices/cpu_atom/cpus"), EFFICIENCY, typeOf);
+        }
+        if (!typeOf.containsValue(EFFICIENCY)) {
+            return null;
+        }
+
+        String[] types = new String[cpus.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = typeOf.getOrDefault(cpus.get(i).getProcessorNumber(), PERFORMANCE);
+        }
+        return types;
+    }
+
+    // arm big.little and some x86 kernels, the biggest capacity is the performance cluster
+    private static String[] fromCapacity(List<LogicalProcessor> cpus) {
+        int[] capacity = new int[cpus.size()];
+        TreeSet<Integer> distinct = new TreeSet<>();
+        for (int i = 0; i < capacity.length; i++) {
+            Path file = SYS_CPU.resolve("cpu" + cpus.get(i).getProcessorNumber()).resolve("cpu_capacity");
+            try {
+                capacity[i] = Integer.parseInt(Files.readString(file).trim());
+            } catch (IOException | NumberFormatException e) {
+                return null;
+            }
+            distinct.add(capacity[i]);
+        }
+        if (distinct.size() < 2) {
+            return null;
+        }
+
+        int top = distinct.last();
+        String[] types = new String[capacity.length];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = capacity[i] < top ? EFFICIENCY : PERFORMANCE;
+        }
+        return types;
+    }
+
+    // "0-7,16,18-19"
+    private static void readCpuList(Path file, String type, Map<Integer, String> target) {
+        if (!Files.isReadable(file)) {
+            return;
+        }
+        try {
+            for (String part : Files.readString(file).trim().split(",")) {
+                if (part.isEmpty()) {
+                    continue;
+                }
+                int dash = part.indexOf('-');
+                int from = Integer.parseInt(dash < 0 ? part : part.substring(0, dash));
+                int to = dash < 0 ? from : Integer.parseInt(part.substring(dash + 1));
+                for (int cpu = from; cpu <= to; cpu++) {
+                    target.put(cpu, type);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("[cpu] could not read " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static long key(int pkg, int core) {
+        return ((long) pkg << 32) | (core & 0xffffffffL);
+    }
+}
@@ -1,12 +1,17 @@
 package org.example.monitoring.cpu;
 
 import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuTopology;
+import org.example.core.stats.FrequencyResidency;
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.LogicalProcessor;
 import oshi.hardware.CentralProcessor.ProcessorIdentifier;
 import oshi.hardware.HardwareAbstractionLayer;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
 
 /**
  * cpu metric aggregator
@@ -15,16 +20,21 @@ import java.util.Arrays;
 public class CpuMonitoringService {
 
     private static final long LOG_INTERVAL_MS = 30_000;
+    // sampling paused for a replay or a settings change is not residency
+    private static final long MAX_RESIDENCY_GAP_MS = 10_000;
 
     private final CentralProcessor processor;
     private final oshi.software.os.OperatingSystem os;
     private final CpuTempProcessWrapper temperatureWrapper;
 
-    private long[] previousTicks;
-    private long[][] previousCoreTicks;
+    private final CpuTickEngine tickEngine;
+    // read once, the layout does not change while running
+    private final CpuTopology topology;
+    private final String[] coreTypes;
     private long lastLogTime = 0;
 
     private double[] maxCoreTemps;
+    private long lastResidencyTime = -1;
 
     // for per-second calculations
     private long lastContextSwitches = 0;
@@ -39,8 +49,9 @@ public class CpuMonitoringService {
         this.processor = hardware.getProcessor();
         this.os = systemInfo.getOperatingSystem();
 
-        this.previousTicks = processor.getSystemCpuLoadTicks();
-        this.previousCoreTicks = processor.getProcessorCpuLoadTicks();
+        this.tickEngine = new CpuTickEngine(processor, processor.getLogicalProcessorCount());
+        this.topology = buildTopology(processor.getLogicalProcessors(), processor.getLogicalProcessorCount());
+        this.coreTypes = topology.toLogical(CoreTypeDetector.detect(processor));
 
         this.maxCoreTemps = new double[processor.getLogicalProcessorCount()];
 
@@ -56,14 +67,18 @@ public class CpuMonitoringService {
         int physical = processor.getPhysicalProcessorCount();
         int logical = processor.getLogicalProcessorCount();
         System.out.printf("[cpu] init: %s (%dp / %dl)%n", cpuName, physical, logical);
+        System.out.println("[cpu] topology: " + topology.describe());
     }
 
     public void shutdown() {
         temperatureWrapper.stop();
+        tickEngine.close();
     }
 
     public void resetStats() {
         Arrays.fill(maxCoreTemps, 0.0);
+        temperatureWrapper.getThrottleLog().reset();
+        temperatureWrapper.getFrequencyResidency().reset();
         System.out.println("[cpu] stats reset");
     }
 
@@ -76,26 +91,27 @@ public class CpuMonitoringService {
         double currentFreqGHz = calculateAverageFrequency(perCoreFreqs);
         double maxFreqGHz = processor.getMaxFreq() / 1_000_000_000.0;
 
-        double systemLoad = processor.getSystemCpuLoadBetweenTicks(previousTicks);
-        double[] perCoreLoads = processor.getProcessorCpuLoadBetweenTicks(previousCoreTicks);
-        previousTicks = processor.getSystemCpuLoadTicks();
-        previousCoreTicks = processor.getProcessorCpuLoadTicks();
+        // one read of the tick counters serves the package, the cores and the breakdown
+        tickEngine.sample();
+        double systemLoad = tickEngine.getSystemLoad();
+        double[] perCoreLoads = new double[logicalCores];
+        tickEngine.copyCoreLoads(perCoreLoads);
 
-        double[] perCoreTemps = getPerCoreTemperatures(logicalCores);
-        String[] coreTypes = temperatureWrapper.getCoreTypes();
+        double[] perCoreTemps = getPerCoreTemperatures();
 
         updateMaxTemps(perCoreTemps);
 
-        // use native freqs if available
+        // use native freqs if available, the bridge reports per physical core
         double[] nativeFreqs = temperatureWrapper.getFrequencies();
+        recordResidencyFallback(nativeFreqs.length == 0 ? perCoreFreqs : null);
         if (nativeFreqs.length > 0) {
-            perCoreFreqs = new double[nativeFreqs.length];
-            for (int i = 0; i < nativeFreqs.length; i++) {
-                perCoreFreqs[i] = nativeFreqs[i] / 1000.0;
+            perCoreFreqs = topology.toLogical(nativeFreqs);
+            for (int i = 0; i < perCoreFreqs.length; i++) {
+                perCoreFreqs[i] /= 1000.0;
             }
         }
 
-        double[] voltages = temperatureWrapper.getVoltages();
+        double[] voltages = topology.toLogical(temperatureWrapper.getVoltages());
 
         String tempStatus = temperatureWrapper.getStatus();
         double maxTemp = calculateMax(perCoreTemps);
@@ -110,7 +126,67 @@ public class CpuMonitoringService {
                 systemLoad, perCoreLoads,
                 maxTemp, perCoreTemps,
                 perCoreFreqs, avgTemp,
-                tempStatus, coreTypes, voltages, maxCoreTemps.clone());
+                tempStatus, coreTypes.clone(), voltages, maxCoreTemps.clone(),
+                tickEngine.copyCoreFractions(), topology);
+    }
+
+    // without the bridge, residency is filled from oshi at the sampling rate
+    private void recordResidencyFallback(double[] freqsGHz) {
+        long now = System.currentTimeMillis();
+        if (freqsGHz != null && lastResidencyTime >= 0) {
+            FrequencyResidency residency = temperatureWrapper.getFrequencyResidency();
+            long dt = Math.min(now - lastResidencyTime, MAX_RESIDENCY_GAP_MS);
+            for (int i = 0; i < freqsGHz.length; i++) {
+                residency.add(i, freqsGHz[i] * 1000, dt);
+            }
+        }
+        lastResidencyTime = now;
+    }
+
+    public CpuTopology getTopology() {
+        return topology;
+    }
+
+    // physical cores, packages and nodes renumbered densely in package order
+    private static CpuTopology buildTopology(List<LogicalProcessor> cpus, int logicalCount) {
+        if (cpus.size() != logicalCount) {
+            System.err.println("[cpu] topology incomplete, treating every thread as a core");
+            return CpuTopology.identity(logicalCount);
+        }
+
+        TreeMap<Long, Integer> cores = new TreeMap<>();
+        TreeMap<Integer, Integer> packages = new TreeMap<>();
+        TreeMap<Integer, Integer> nodes = new TreeMap<>();
+        for (LogicalProcessor cpu : cpus) {
+            cores.put(coreKey(cpu), 0);
+            packages.put(cpu.getPhysicalPackageNumber(), 0);
+            nodes.put(cpu.getNumaNode(), 0);
+        }
+        densify(cores);
+        densify(packages);
+        densify(nodes);
+
+        int[] physicalOf = new int[logicalCount];
+        int[] packageOf = new int[logicalCount];
+        int[] nodeOf = new int[logicalCount];
+        for (int i = 0; i < logicalCount; i++) {
+            LogicalProcessor cpu = cpus.get(i);
+            physicalOf[i] = cores.get(coreKey(cpu));
+            packageOf[i] = packages.get(cpu.getPhysicalPackageNumber());
+            nodeOf[i] = nodes.get(cpu.getNumaNode());
+        }
+        return new CpuTopology(physicalOf, packageOf, nodeOf);
+    }
+
+    private static long coreKey(LogicalProcessor cpu) {
+        return ((long) cpu.getPhysicalPackageNumber() << 32) | (cpu.getPhysicalProcessorNumber() & 0xffffffffL);
+    }
+
+    private static <K> void densify(TreeMap<K, Integer> map) {
+        int next = 0;
+        for (K key : map.keySet()) {
+            map.put(key, next++);
+        }
     }
 
     private void updateMaxTemps(double[] currentTemps) {
@@ -140,11 +216,9 @@ public class CpuMonitoringService {
         return Arrays.stream(frequencies).average().orElse(0.0);
     }
 
-    private double[] getPerCoreTemperatures(int logicalCores) {
-        double[] wrapperTemps = temperatureWrapper.getTemperatures();
-        double[] result = new double[logicalCores];
-        System.arraycopy(wrapperTemps, 0, result, 0, Math.min(wrapperTemps.length, logicalCores));
-        return result;
+    private double[] getPerCoreTemperatures() {
+        // one sensor per physical core, smt siblings share it
+        return topology.toLogical(temperatureWrapper.getTemperatures());
     }
 
     private double calculateMax(double[] values) {
@@ -190,6 +264,21 @@ public class CpuMonitoringService {
         return temperatureWrapper.getPackagePower();
     }
 
+    public ThrottleEventLog getThrottleLog() {
+        return temperatureWrapper.getThrottleLog();
+    }
+
+    /**
+     * user/system/iowait/irq/steal... shares from the last readCpuInfo
+     */
+    public CpuTickEngine getTickEngine() {
+        return tickEngine;
+    }
+
+    public FrequencyResidency getFrequencyResidency() {
+        return temperatureWrapper.getFrequencyResidency();
+    }
+
     // system activity metrics
     public void updateSystemActivity() {
         long now = System.currentTimeMillis();
@@ -1,5 +1,7 @@
 package org.example.monitoring.cpu;
 
+import org.example.core.stats.FrequencyResidency;
+
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStreamReader;
@@ -10,11 +12,13 @@ import java.io.InputStreamReader;
  */
 public class CpuTempProcessWrapper {
 
+    // a stalled bridge should not charge minutes to one frequency bin
+    private static final long MAX_SAMPLE_GAP_MS = 5_000;
+
     private volatile boolean running;
     private volatile String status = "Stopped";
 
     private volatile double[] temperatures = new double[0];
-    private volatile String[] coreTypes = new String[0];
     private volatile double[] usages = new double[0];
     private volatile double[] frequencies = new double[0];
     private volatile double[] voltages = new double[0];
@@ -24,6 +28,11 @@ public class CpuTempProcessWrapper {
     private volatile boolean powerThrottle = false;
     private volatile double packagePower = 0;
 
+    // every DATA line goes in, not just the ones the ui happens to poll
+    private final ThrottleEventLog throttleLog = new ThrottleEventLog();
+    private final FrequencyResidency residency = new FrequencyResidency(0);
+    private long lastDataTime = -1;
+
     private int coreCount = 0;
     private Thread monitorThread;
     private Process bridgeProcess;
@@ -58,10 +67,6 @@ public class CpuTempProcessWrapper {
         return temperatures.clone();
     }
 
-    public String[] getCoreTypes() {
-        return coreTypes.clone();
-    }
-
     public double[] getUsages() {
         return usages.clone();
     }
@@ -157,11 +162,6 @@ public class CpuTempProcessWrapper {
                 temperatures = new double[coreCount];
                 frequencies = new double[coreCount];
                 usages = new double[coreCount];
-                coreTypes = new String[coreCount];
-
-                // assume p cores for now
-                for (int i = 0; i < coreCount; i++)
-                    coreTypes[i] = "P";
 
                 status = "Monitoring (" + cpuName + ")";
 
@@ -196,7 +196,21 @@ public class CpuTempProcessWrapper {
                     } catch (NumberFormatException e) {
                         // skip
                     }
+
+                    // the bridge prints a placeholder 0 after DATA, the hottest core stands in for the package
+                    double pkgTemp = 0;
+                    for (double t : newTemps) {
+                        pkgTemp = Math.max(pkgTemp, t);
+                    }
+                    throttleLog.record(System.currentTimeMillis(), thermalThrottle, powerThrottle,
+                            pkgTemp, packagePower, averageFrequency(newFreqs));
+                }
+
+                long now = System.currentTimeMillis();
+                if (lastDataTime >= 0) {
+                    residency.record(newFreqs, Math.min(now - lastDataTime, MAX_SAMPLE_GAP_MS));
                 }
+                lastDataTime = now;
 
                 this.temperatures = newTemps;
                 this.frequencies = newFreqs;
@@ -221,4 +235,25 @@ public class CpuTempProcessWrapper {
     public double getPackagePower() {
         return packagePower;
     }
+
+    public ThrottleEventLog getThrottleLog() {
+        return throttleLog;
+    }
+
+    // filled at bridge rate, in mhz
+    public FrequencyResidency getFrequencyResidency() {
+        return residency;
+    }
+
+    private static double averageFrequency(double[] freqs) {
+        double sum = 0;
+        int count = 0;
+        for (double f : freqs) {
+            if (f > 0) {
+                sum += f;
+                count++;
+            }
+        }
+        return count > 0 ? sum / count : 0;
+    }
 }
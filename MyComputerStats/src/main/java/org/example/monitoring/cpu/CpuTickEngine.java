@@ -0,0 +1,210 @@
+package org.example.monitoring.cpu;
+
+import oshi.hardware.CentralProcessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+/**
+ * per-core tick deltas without per-tick allocation
+ * ticks land in two flat long[] buffers, row 0 is the whole package and
+ * row i + 1 is logical cpu i, with one column per state. each sample reads
+ * into the older buffer and swaps, so one read serves load and breakdown.
+ * on linux /proc/stat is parsed straight from a reused byte buffer,
+ * elsewhere oshi is asked once per sample
+ */
+public class CpuTickEngine {
+
+    // same order as oshi's TickType and CpuLoadState, so tick arrays copy straight in
+    public static final int USER = 0;
+    public static final int NICE = 1;
+    public static final int SYSTEM = 2;
+    public static final int IDLE = 3;
+    public static final int IOWAIT = 4;
+    public static final int IRQ = 5;
+    public static final int SOFTIRQ = 6;
+    public static final int STEAL = 7;
+    public static final int STATES = 8;
+
+    private static final String PROC_STAT = "/proc/stat";
+
+    private final CentralProcessor processor;
+    private final int cores;
+    private final int rows;
+
+    private long[] current;
+    private long[] previous;
+    // delta share of every state, same layout as the tick buffers
+    private final double[] fractions;
+    private final double[] loads;
+
+    private RandomAccessFile procStat;
+    private byte[] readBuffer = new byte[16 * 1024];
+
+    public CpuTickEngine(CentralProcessor processor, int cores) {
+        this.processor = processor;
+        this.cores = cores;
+        this.rows = cores + 1;
+        this.current = new long[rows * STATES];
+        this.previous = new long[rows * STATES];
+        this.fractions = new double[rows * STATES];
+        this.loads = new double[rows];
+
+        if (new File(PROC_STAT).canRead()) {
+            try {
+                procStat = new RandomAccessFile(PROC_STAT, "r");
+            } catch (IOException e) {
+                System.err.println("[cpu] /proc/stat not readable, using oshi ticks: " + e.getMessage());
+            }
+        }
+        read(previous);
+    }
+
+    /**
+     * reads the counters once and recomputes every delta
+     */
+    public void sample() {
+        read(current);
+
+        for (int row = 0; row < rows; row++) {
+            int base = row * STATES;
+            long total = 0;
+            for (int s = 0; s < STATES; s++) {
+                total += Math.max(0, current[base + s] - previous[base + s]);
+            }
+            // no ticks elapsed (or counters reset), keep the last values
+            if (total <= 0) {
+                continue;
+            }
+            for (int s = 0; s < STATES; s++) {
+                fractions[base + s] = Math.max(0, current[base + s] - previous[base + s]) / (double) total;
+            }
+            // oshi counts iowait as idle, keep that so loads match what was shown before
+            loads[row] = 1.0 - fractions[base + IDLE] - fractions[base + IOWAIT];
+        }
+
+        long[] swap = previous;
+        previous = current;
+        current = swap;
+    }
+
+    public int getCoreCount() {
+        return cores;
+    }
+
+    public double getSystemLoad() {
+        return loads[0];
+    }
+
+    public double getCoreLoad(int core) {
+        return loads[core + 1];
+    }
+
+    /**
+     * share of the last interval a core spent in a state, 0..1
+     */
+    public double getCoreFraction(int core, int state) {
+        return fractions[(core + 1) * STATES + state];
+    }
+
+    public double getSystemFraction(int state) {
+        return fractions[state];
+    }
+
+    public void copyCoreLoads(double[] target) {
+        System.arraycopy(loads, 1, target, 0, Math.min(cores, target.length));
+    }
+
+    /**
+     * per-core fractions, core * STATES + state
+     */
+    public double[] copyCoreFractions() {
+        return Arrays.copyOfRange(fractions, STATES, fractions.length);
+    }
+
+    public void close() {
+        if (procStat != null) {
+            try {
+                procStat.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+            procStat = null;
+        }
+    }
+
+    private void read(long[] target) {
+        if (procStat != null) {
+            try {
+                readProcStat(target);
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[cpu] /proc/stat read failed, using oshi ticks: " + e.getMessage());
+                close();
+            }
+        }
+        readOshi(target);
+    }
+
+    private void readOshi(long[] target) {
+        long[][] coreTicks = processor.getProcessorCpuLoadTicks();
+        Arrays.fill(target, 0);
+        for (int core = 0; core < Math.min(cores, coreTicks.length); core++) {
+            int base = (core + 1) * STATES;
+            long[] ticks = coreTicks[core];
+            for (int s = 0; s < Math.min(STATES, ticks.length); s++) {
+                target[base + s] = ticks[s];
+                // package row is the sum, saves a second read at a different instant
+                target[s] += ticks[s];
+            }
+        }
+    }
+
+    // lines look like "cpu  u n s i io irq sirq steal guest gnice" then "cpuN ..."
+    private void readProcStat(long[] target) throws IOException {
+        procStat.seek(0);
+        int length = 0;
+        int n;
+        while ((n = procStat.read(readBuffer, length, readBuffer.length - length)) > 0) {
+            length += n;
+            if (length == readBuffer.length) {
+                readBuffer = Arrays.copyOf(readBuffer, readBuffer.length * 2);
+            }
+        }
+
+        byte[] buf = readBuffer;
+        int pos = 0;
+        while (pos + 3 < length && buf[pos] == 'c' && buf[pos + 1] == 'p' && buf[pos + 2] == 'u') {
+            pos += 3;
+            int row = 0;
+            if (buf[pos] != ' ') {
+                int cpu = 0;
+                while (buf[pos] >= '0' && buf[pos] <= '9') {
+                    cpu = cpu * 10 + (buf[pos++] - '0');
+                }
+                // offline or hot-added cpus beyond what oshi reported are ignored
+                row = cpu < cores ? cpu + 1 : -1;
+            }
+
+            for (int s = 0; s < STATES; s++) {
+                while (buf[pos] == ' ') {
+                    pos++;
+                }
+                long value = 0;
+                while (buf[pos] >= '0' && buf[pos] <= '9') {
+                    value = value * 10 + (buf[pos++] - '0');
+                }
+                if (row >= 0) {
+                    target[row * STATES + s] = value;
+                }
+            }
+
+            while (pos < length && buf[pos] != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+    }
+}
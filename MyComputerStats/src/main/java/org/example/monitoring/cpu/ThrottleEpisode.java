@@ -0,0 +1,78 @@
+package org.example.monitoring.cpu;
+
+/**
+ * one contiguous stretch of throttling as seen by the native bridge
+ * frequencies are in mhz, the drop is measured against the highest
+ * average frequency just before the episode started
+ */
+public class ThrottleEpisode {
+
+    public enum Cause {
+        THERMAL, POWER, BOTH
+    }
+
+    private final long startTime;
+    private final long endTime;
+    private final Cause cause;
+    private final double peakTemp;
+    private final double peakPower;
+    private final double frequencyBefore;
+    private final double minFrequency;
+    private final boolean ongoing;
+
+    public ThrottleEpisode(long startTime, long endTime, Cause cause, double peakTemp, double peakPower,
+            double frequencyBefore, double minFrequency, boolean ongoing) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.cause = cause;
+        this.peakTemp = peakTemp;
+        this.peakPower = peakPower;
+        this.frequencyBefore = frequencyBefore;
+        this.minFrequency = minFrequency;
+        this.ongoing = ongoing;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public long getDurationMs() {
+        return endTime - startTime;
+    }
+
+    public Cause getCause() {
+        return cause;
+    }
+
+    public double getPeakTemp() {
+        return peakTemp;
+    }
+
+    public double getPeakPower() {
+        return peakPower;
+    }
+
+    public double getFrequencyBefore() {
+        return frequencyBefore;
+    }
+
+    public double getMinFrequency() {
+        return minFrequency;
+    }
+
+    public double getFrequencyDrop() {
+        if (frequencyBefore <= 0 || minFrequency <= 0) {
+            return 0;
+        }
+        return Math.max(0, frequencyBefore - minFrequency);
+    }
+
+    // still throttling, end time is the latest sample
+    public boolean isOngoing() {
+        return ongoing;
+    }
+}
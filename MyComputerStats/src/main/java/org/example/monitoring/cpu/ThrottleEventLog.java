@@ -0,0 +1,181 @@
+package org.example.monitoring.cpu;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * throttle episodes captured at bridge rate
+ * fed from every DATA line instead of the ui tick, so episodes shorter
+ * than the refresh interval are still seen. time between two samples is
+ * charged to the flags of the earlier one
+ */
+public class ThrottleEventLog {
+
+    private static final int MAX_EPISODES = 500;
+    // samples kept to find the frequency before an episode
+    private static final int BASELINE_SAMPLES = 8;
+    // bridge stalls longer than this are not counted as throttled time
+    private static final long MAX_GAP_MS = 5_000;
+
+    private final ArrayDeque<ThrottleEpisode> episodes = new ArrayDeque<>();
+    private final double[] recentFreqs = new double[BASELINE_SAMPLES];
+    private int recentIndex = 0;
+
+    private long lastSampleTime = -1;
+    private boolean lastThermal = false;
+    private boolean lastPower = false;
+
+    // open episode
+    private boolean open = false;
+    private long openStart;
+    private boolean openThermal;
+    private boolean openPower;
+    private double openPeakTemp;
+    private double openPeakPower;
+    private double openFreqBefore;
+    private double openMinFreq;
+
+    // totals, the open episode included
+    private long throttledMs = 0;
+    private long thermalMs = 0;
+    private long powerMs = 0;
+    private long longestMs = 0;
+    private int episodeCount = 0;
+
+    /**
+     * called on the bridge thread for every DATA line
+     */
+    public synchronized void record(long time, boolean thermal, boolean power,
+            double packageTemp, double packagePower, double avgFrequency) {
+        if (lastSampleTime >= 0 && time > lastSampleTime) {
+            long dt = Math.min(time - lastSampleTime, MAX_GAP_MS);
+            if (lastThermal || lastPower) {
+                throttledMs += dt;
+            }
+            if (lastThermal) {
+                thermalMs += dt;
+            }
+            if (lastPower) {
+                powerMs += dt;
+            }
+        }
+
+        boolean throttled = thermal || power;
+        if (throttled && !open) {
+            open = true;
+            openStart = time;
+            openThermal = false;
+            openPower = false;
+            openPeakTemp = 0;
+            openPeakPower = 0;
+            openFreqBefore = recentMaxFrequency();
+            openMinFreq = Double.MAX_VALUE;
+            episodeCount++;
+        }
+
+        if (open) {
+            if (throttled) {
+                openThermal |= thermal;
+                openPower |= power;
+                openPeakTemp = Math.max(openPeakTemp, packageTemp);
+                openPeakPower = Math.max(openPeakPower, packagePower);
+                if (avgFrequency > 0) {
+                    openMinFreq = Math.min(openMinFreq, avgFrequency);
+                }
+                longestMs = Math.max(longestMs, time - openStart);
+            } else {
+                close(time);
+            }
+        }
+
+        // only unthrottled samples count toward the baseline
+        if (!throttled && avgFrequency > 0) {
+            recentFreqs[recentIndex] = avgFrequency;
+            recentIndex = (recentIndex + 1) % BASELINE_SAMPLES;
+        }
+
+        lastSampleTime = time;
+        lastThermal = thermal;
+        lastPower = power;
+    }
+
+    /**
+     * closed episodes oldest first, plus the open one if throttling right now
+     */
+    public synchronized List<ThrottleEpisode> getEpisodes() {
+        List<ThrottleEpisode> result = new ArrayList<>(episodes.size() + 1);
+        result.addAll(episodes);
+        if (open) {
+            result.add(openEpisode(lastSampleTime, true));
+        }
+        return result;
+    }
+
+    public synchronized ThrottleEpisode getLastEpisode() {
+        if (open) {
+            return openEpisode(lastSampleTime, true);
+        }
+        return episodes.peekLast();
+    }
+
+    public synchronized int getEpisodeCount() {
+        return episodeCount;
+    }
+
+    public synchronized long getThrottledMs() {
+        return throttledMs;
+    }
+
+    // time with the thermal bit set, overlaps count toward both causes
+    public synchronized long getThermalMs() {
+        return thermalMs;
+    }
+
+    public synchronized long getPowerMs() {
+        return powerMs;
+    }
+
+    public synchronized long getLongestMs() {
+        return longestMs;
+    }
+
+    public synchronized boolean isThrottling() {
+        return open;
+    }
+
+    public synchronized void reset() {
+        episodes.clear();
+        open = false;
+        throttledMs = 0;
+        thermalMs = 0;
+        powerMs = 0;
+        longestMs = 0;
+        episodeCount = 0;
+    }
+
+    private void close(long endTime) {
+        episodes.addLast(openEpisode(endTime, false));
+        if (episodes.size() > MAX_EPISODES) {
+            episodes.removeFirst();
+        }
+        longestMs = Math.max(longestMs, endTime - openStart);
+        open = false;
+    }
+
+    private ThrottleEpisode openEpisode(long endTime, boolean ongoing) {
+        ThrottleEpisode.Cause cause = openThermal && openPower ? ThrottleEpisode.Cause.BOTH
+                : openThermal ? ThrottleEpisode.Cause.THERMAL : ThrottleEpisode.Cause.POWER;
+        double minFreq = openMinFreq == Double.MAX_VALUE ? 0 : openMinFreq;
+        return new ThrottleEpisode(openStart, endTime, cause, openPeakTemp, openPeakPower,
+                openFreqBefore, minFreq, ongoing);
+    }
+
+    private double recentMaxFrequency() {
+        double max = 0;
+        for (double f : recentFreqs) {
+            max = Math.max(max, f);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.monitoring.disk;
+
+import org.example.core.disk.BenchmarkResult;
+
+import java.util.List;
+
+/**
+ * receives the progress of a disk benchmark
+ * called on the benchmark thread, so hand off to the ui thread
+ */
+public interface BenchmarkListener {
+
+    // about to run pass index of total, e.g. "RND4K Q32 read"
+    void onStage(String stage, int index, int total);
+
+    void onResult(BenchmarkResult result);
+
+    void onComplete(List<BenchmarkResult> results);
+
+    default void onCancelled() {
+    }
+
+    default void onFailed(String message) {
+    }
+}
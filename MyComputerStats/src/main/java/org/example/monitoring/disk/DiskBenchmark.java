@@ -0,0 +1,288 @@
+package org.example.monitoring.disk;
+
+import com.sun.nio.file.ExtendedOpenOption;
+import org.example.core.disk.BenchmarkResult;
+import org.example.core.stats.QuantileSketch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * sequential and 4K random read/write benchmark on one mount
+ * works on a temporary file next to the mount root, opened with O_DIRECT
+ * where the filesystem takes it so reads hit the drive and not the page
+ * cache; without it writes fall back to O_DSYNC. queue depth is that many
+ * platform threads, each with its own channel and aligned direct buffer,
+ * doing positional io. a blocking file read pins a virtual thread to its
+ * carrier anyway, so virtual threads would not buy a deeper queue here
+ */
+public class DiskBenchmark {
+
+    private static final int SEQ_BLOCK = 1024 * 1024;
+    private static final int RANDOM_BLOCK = 4 * 1024;
+    private static final long MAX_FILE_BYTES = 1024L * 1024 * 1024;
+    private static final long MIN_FILE_BYTES = 64L * 1024 * 1024;
+    private static final long PASS_NANOS = 3_000_000_000L;
+    private static final int HISTOGRAM_BINS = 24;
+
+    // name, random, block, queue depth. writes run after all reads
+    private static final Object[][] PASSES = {
+            {"SEQ1M Q8", false, SEQ_BLOCK, 8},
+            {"SEQ1M Q1", false, SEQ_BLOCK, 1},
+            {"RND4K Q32", true, RANDOM_BLOCK, 32},
+            {"RND4K Q8", true, RANDOM_BLOCK, 8},
+            {"RND4K Q1", true, RANDOM_BLOCK, 1},
+    };
+
+    private Run current;
+
+    /**
+     * starts a run on mountPoint in the background, cancelling any run still going
+     */
+    public synchronized void start(String mountPoint, long freeBytes, BenchmarkListener listener) {
+        cancel();
+        Run run = new Run(Path.of(mountPoint), freeBytes, listener);
+        current = run;
+        Thread thread = new Thread(() -> execute(run), "DiskBenchmark");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancelled = true;
+            current = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return current != null;
+    }
+
+    private synchronized void clearCurrent(Run run) {
+        if (current == run) {
+            current = null;
+        }
+    }
+
+    private void execute(Run run) {
+        Path file = null;
+        List<BenchmarkResult> results = new ArrayList<>();
+        try {
+            long size = Math.min(MAX_FILE_BYTES, run.freeBytes / 4) / SEQ_BLOCK * SEQ_BLOCK;
+            if (size < MIN_FILE_BYTES) {
+                throw new IOException("not enough free space for a test file");
+            }
+            file = Files.createTempFile(run.mount, ".mycomputerstats-bench", ".tmp");
+            file.toFile().deleteOnExit();
+            run.align = (int) Math.max(RANDOM_BLOCK, Files.getFileStore(file).getBlockSize());
+            run.direct = probeDirect(file);
+            System.out.println("[disk] benchmarking " + run.mount + " with a " + (size >> 20) + " MB file, "
+                    + (run.direct ? "O_DIRECT" : "no O_DIRECT, reads may be cached"));
+
+            int total = 1 + PASSES.length * 2 - 1;
+            int index = 0;
+
+            // laying the file down is the sequential write pass
+            run.listener.onStage("SEQ1M Q1 write", index++, total);
+            BenchmarkResult fill = pass(run, file, size, "SEQ1M Q1", true, false, SEQ_BLOCK, 1, true);
+            if (fill == null) {
+                return;
+            }
+            results.add(fill);
+            run.listener.onResult(fill);
+
+            for (boolean write : new boolean[]{false, true}) {
+                for (Object[] p : PASSES) {
+                    String name = (String) p[0];
+                    if (write && name.equals("SEQ1M Q1")) {
+                        continue;
+                    }
+                    run.listener.onStage(name + (write ? " write" : " read"), index++, total);
+                    BenchmarkResult result = pass(run, file, size, name, write, (Boolean) p[1], (Integer) p[2],
+                            (Integer) p[3], false);
+                    if (result == null) {
+                        return;
+                    }
+                    results.add(result);
+                    run.listener.onResult(result);
+                }
+            }
+            run.listener.onComplete(Collections.unmodifiableList(results));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[disk] benchmark on " + run.mount + " failed: " + e.getMessage());
+            run.listener.onFailed(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.cancelled = true;
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("[disk] could not delete " + file + ": " + e.getMessage());
+                }
+            }
+            if (run.cancelled) {
+                run.listener.onCancelled();
+            }
+            clearCurrent(run);
+        }
+    }
+
+    /**
+     * one pass, null when cancelled. a single pass over the file when
+     * once is set, otherwise until the time budget runs out
+     */
+    private BenchmarkResult pass(Run run, Path file, long size, String name, boolean write, boolean random,
+            int block, int depth, boolean once) throws IOException, InterruptedException {
+        AtomicLong nextBlock = new AtomicLong();
+        long blocks = size / block;
+        long deadline = System.nanoTime() + PASS_NANOS;
+        QuantileSketch[] sketches = new QuantileSketch[depth];
+        long[] done = new long[depth];
+        IOException[] failure = new IOException[1];
+
+        Thread[] workers = new Thread[depth];
+        long started = System.nanoTime();
+        for (int t = 0; t < depth; t++) {
+            int slot = t;
+            sketches[t] = new QuantileSketch(1, 60_000_000, 0.01);
+            workers[t] = new Thread(() -> {
+                try (FileChannel channel = FileChannel.open(file, options(run, write))) {
+                    ByteBuffer buffer = alignedBuffer(block, run.align);
+                    if (write) {
+                        fillRandom(buffer);
+                    }
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    while (!run.cancelled) {
+                        long index;
+                        if (random) {
+                            index = rnd.nextLong(blocks);
+                        } else {
+                            index = nextBlock.getAndIncrement();
+                            if (index >= blocks) {
+                                if (once) {
+                                    break;
+                                }
+                                index %= blocks;
+                            }
+                        }
+                        if (!once && System.nanoTime() >= deadline) {
+                            break;
+                        }
+                        long position = index * block;
+                        buffer.clear();
+                        long t0 = System.nanoTime();
+                        while (buffer.hasRemaining()) {
+                            int n = write
+                                    ? channel.write(buffer, position + buffer.position())
+                                    : channel.read(buffer, position + buffer.position());
+                            if (n < 0) {
+                                break;
+                            }
+                        }
+                        sketches[slot].add((System.nanoTime() - t0) / 1000.0);
+                        done[slot]++;
+                    }
+                    if (write && once) {
+                        channel.force(false);
+                    }
+                } catch (IOException e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            }, "DiskBenchmark-" + t);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        if (run.cancelled) {
+            return null;
+        }
+
+        QuantileSketch all = sketches[0].copyLayout();
+        long operations = 0;
+        for (int t = 0; t < depth; t++) {
+            all.merge(sketches[t]);
+            operations += done[t];
+        }
+        double iops = operations / seconds;
+        return new BenchmarkResult(name + (write ? " write" : " read"), write, random, block, depth, operations,
+                iops * block, iops, all.getMean(), all.quantile(0.50), all.quantile(0.99), all.getMax(),
+                all.histogram(HISTOGRAM_BINS), run.direct);
+    }
+
+    private static OpenOption[] options(Run run, boolean write) {
+        List<OpenOption> options = new ArrayList<>();
+        options.add(StandardOpenOption.READ);
+        if (write) {
+            options.add(StandardOpenOption.WRITE);
+        }
+        if (run.direct) {
+            options.add(ExtendedOpenOption.DIRECT);
+        } else if (write) {
+            options.add(StandardOpenOption.DSYNC);
+        }
+        return options.toArray(new OpenOption[0]);
+    }
+
+    // tmpfs and some network filesystems refuse O_DIRECT with EINVAL
+    private static boolean probeDirect(Path file) {
+        try {
+            // opening is the test, nothing is read
+            FileChannel.open(file, StandardOpenOption.READ, ExtendedOpenOption.DIRECT).close();
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    // O_DIRECT wants the buffer address, length and file offset on block boundaries
+    private static ByteBuffer alignedBuffer(int size, int align) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(size + align).alignedSlice(align);
+        buffer.limit(size);
+        return buffer.slice();
+    }
+
+    // so compressing or deduplicating drives can't shortcut the writes
+    private static void fillRandom(ByteBuffer buffer) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        while (buffer.remaining() >= Long.BYTES) {
+            buffer.putLong(rnd.nextLong());
+        }
+        buffer.clear();
+    }
+
+    private static class Run {
+        final Path mount;
+        final long freeBytes;
+        final BenchmarkListener listener;
+        int align;
+        boolean direct;
+        volatile boolean cancelled = false;
+
+        Run(Path mount, long freeBytes, BenchmarkListener listener) {
+            this.mount = mount;
+            this.freeBytes = freeBytes;
+            this.listener = listener;
+        }
+    }
+}
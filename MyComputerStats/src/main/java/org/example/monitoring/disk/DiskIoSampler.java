@@ -0,0 +1,307 @@
+package org.example.monitoring.disk;
+
+import org.example.core.disk.DiskIoStats;
+import org.example.core.stats.RingSeries;
+import oshi.SystemInfo;
+import oshi.hardware.HWDiskStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * per-drive throughput, iops, queue length and latency from counter deltas
+ * the drives are enumerated once. on linux /proc/diskstats stays open and
+ * is parsed from a reused buffer, elsewhere each oshi disk store refreshes
+ * its own counters. every metric keeps a ring of recent values per drive
+ * so charts can draw straight from it
+ */
+public class DiskIoSampler {
+
+    public static final int READ_BYTES = 0;
+    public static final int WRITE_BYTES = 1;
+    public static final int READ_IOPS = 2;
+    public static final int WRITE_IOPS = 3;
+    public static final int QUEUE = 4;
+    public static final int LATENCY = 5;
+    public static final int UTILIZATION = 6;
+    public static final int METRICS = 7;
+
+    // five minutes at the default half-second tick
+    public static final int HISTORY = 600;
+
+    private static final String PROC_DISKSTATS = "/proc/diskstats";
+    private static final int SECTOR_BYTES = 512;
+
+    // counter columns
+    private static final int READS = 0;
+    private static final int READ_BYTES_TOTAL = 1;
+    private static final int READ_MS = 2;
+    private static final int WRITES = 3;
+    private static final int WRITE_BYTES_TOTAL = 4;
+    private static final int WRITE_MS = 5;
+    private static final int IO_MS = 6;
+    private static final int WEIGHTED_MS = 7;
+    private static final int IN_FLIGHT = 8;
+    private static final int COUNTERS = 9;
+
+    private final List<HWDiskStore> stores;
+    private final String[] names;
+    private final byte[][] nameBytes;
+    private final String[] models;
+    private final RingSeries[][] history;
+
+    private long[] current;
+    private long[] previous;
+    private long previousTime;
+    private List<DiskIoStats> latest = Collections.emptyList();
+
+    private RandomAccessFile diskstats;
+    private byte[] buffer = new byte[8 * 1024];
+    private final long[] fields = new long[11];
+    private final double[] values = new double[METRICS];
+
+    public DiskIoSampler(SystemInfo systemInfo) {
+        this.stores = systemInfo.getHardware().getDiskStores();
+        int n = stores.size();
+        names = new String[n];
+        nameBytes = new byte[n][];
+        models = new String[n];
+        history = new RingSeries[n][METRICS];
+        for (int i = 0; i < n; i++) {
+            HWDiskStore store = stores.get(i);
+            names[i] = shortName(store.getName());
+            nameBytes[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+            models[i] = store.getModel();
+            for (int m = 0; m < METRICS; m++) {
+                history[i][m] = new RingSeries(HISTORY);
+            }
+        }
+        current = new long[n * COUNTERS];
+        previous = new long[n * COUNTERS];
+
+        if (new File(PROC_DISKSTATS).canRead()) {
+            try {
+                diskstats = new RandomAccessFile(PROC_DISKSTATS, "r");
+            } catch (IOException e) {
+                System.err.println("[disk] /proc/diskstats not readable, using oshi counters: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * reads every drive's counters once and records the rates
+     */
+    public synchronized List<DiskIoStats> sample(long timestamp) {
+        long now = System.nanoTime();
+        read(current);
+
+        List<DiskIoStats> result = new ArrayList<>(names.length);
+        if (previousTime > 0) {
+            double seconds = (now - previousTime) / 1e9;
+            double elapsedMs = seconds * 1000;
+            for (int i = 0; i < names.length; i++) {
+                int base = i * COUNTERS;
+                long reads = delta(base + READS);
+                long writes = delta(base + WRITES);
+                long ios = reads + writes;
+                values[READ_BYTES] = delta(base + READ_BYTES_TOTAL) / seconds;
+                values[WRITE_BYTES] = delta(base + WRITE_BYTES_TOTAL) / seconds;
+                values[READ_IOPS] = reads / seconds;
+                values[WRITE_IOPS] = writes / seconds;
+                // weighted io time is the integral of the queue over time
+                values[QUEUE] = current[base + WEIGHTED_MS] > 0
+                        ? delta(base + WEIGHTED_MS) / elapsedMs
+                        : current[base + IN_FLIGHT];
+                values[LATENCY] = ios > 0 ? (delta(base + READ_MS) + delta(base + WRITE_MS)) / (double) ios : 0;
+                values[UTILIZATION] = Math.min(1.0, delta(base + IO_MS) / elapsedMs);
+
+                for (int m = 0; m < METRICS; m++) {
+                    history[i][m].add(timestamp, values[m]);
+                }
+                result.add(new DiskIoStats(names[i], models[i],
+                        values[READ_BYTES], values[WRITE_BYTES], values[READ_IOPS], values[WRITE_IOPS],
+                        values[QUEUE], values[LATENCY], values[UTILIZATION]));
+            }
+        }
+
+        long[] swap = previous;
+        previous = current;
+        current = swap;
+        previousTime = now;
+        latest = Collections.unmodifiableList(result);
+        return latest;
+    }
+
+    public synchronized List<DiskIoStats> getLatest() {
+        return latest;
+    }
+
+    public synchronized List<String> getDeviceNames() {
+        return Arrays.asList(names.clone());
+    }
+
+    // first drive with this model, null when none matches
+    public synchronized String findDevice(String model) {
+        for (int i = 0; i < models.length; i++) {
+            if (models[i] != null && models[i].equals(model)) {
+                return names[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * copy of one metric's history for a drive, oldest first, empty for unknown drives
+     */
+    public synchronized double[] getHistory(String name, int metric) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                RingSeries series = history[i][metric];
+                double[] copy = new double[series.size()];
+                for (int k = 0; k < copy.length; k++) {
+                    copy[k] = series.getValue(k);
+                }
+                return copy;
+            }
+        }
+        return new double[0];
+    }
+
+    public synchronized void close() {
+        if (diskstats != null) {
+            try {
+                diskstats.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+            diskstats = null;
+        }
+    }
+
+    private long delta(int index) {
+        return Math.max(0, current[index] - previous[index]);
+    }
+
+    private void read(long[] target) {
+        if (diskstats != null) {
+            try {
+                readDiskstats(target);
+                return;
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[disk] /proc/diskstats read failed, using oshi counters: " + e.getMessage());
+                close();
+            }
+        }
+        readOshi(target);
+    }
+
+    private void readOshi(long[] target) {
+        for (int i = 0; i < stores.size(); i++) {
+            HWDiskStore store = stores.get(i);
+            store.updateAttributes();
+            int base = i * COUNTERS;
+            target[base + READS] = store.getReads();
+            target[base + READ_BYTES_TOTAL] = store.getReadBytes();
+            target[base + WRITES] = store.getWrites();
+            target[base + WRITE_BYTES_TOTAL] = store.getWriteBytes();
+            // oshi only has busy time, it stands in for the per-direction times too
+            target[base + IO_MS] = store.getTransferTime();
+            target[base + READ_MS] = store.getTransferTime();
+            target[base + WRITE_MS] = 0;
+            target[base + WEIGHTED_MS] = 0;
+            target[base + IN_FLIGHT] = store.getCurrentQueueLength();
+        }
+    }
+
+    // "   8       0 sda 1 2 3 4 5 6 7 8 9 10 11 ..."
+    private void readDiskstats(long[] target) throws IOException {
+        diskstats.seek(0);
+        int length = 0;
+        int n;
+        while ((n = diskstats.read(buffer, length, buffer.length - length)) > 0) {
+            length += n;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        byte[] buf = buffer;
+        int pos = 0;
+        while (pos < length) {
+            // major and minor
+            for (int field = 0; field < 2; field++) {
+                while (pos < length && buf[pos] == ' ') {
+                    pos++;
+                }
+                while (pos < length && buf[pos] != ' ') {
+                    pos++;
+                }
+            }
+            while (pos < length && buf[pos] == ' ') {
+                pos++;
+            }
+            int nameStart = pos;
+            while (pos < length && buf[pos] != ' ') {
+                pos++;
+            }
+            int device = find(buf, nameStart, pos);
+
+            if (device >= 0) {
+                int base = device * COUNTERS;
+                for (int f = 0; f < fields.length; f++) {
+                    while (pos < length && buf[pos] == ' ') {
+                        pos++;
+                    }
+                    long value = 0;
+                    while (pos < length && buf[pos] >= '0' && buf[pos] <= '9') {
+                        value = value * 10 + (buf[pos++] - '0');
+                    }
+                    fields[f] = value;
+                }
+                target[base + READS] = fields[0];
+                target[base + READ_BYTES_TOTAL] = fields[2] * SECTOR_BYTES;
+                target[base + READ_MS] = fields[3];
+                target[base + WRITES] = fields[4];
+                target[base + WRITE_BYTES_TOTAL] = fields[6] * SECTOR_BYTES;
+                target[base + WRITE_MS] = fields[7];
+                target[base + IN_FLIGHT] = fields[8];
+                target[base + IO_MS] = fields[9];
+                target[base + WEIGHTED_MS] = fields[10];
+            }
+
+            while (pos < length && buf[pos] != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+    }
+
+    private int find(byte[] buf, int start, int end) {
+        int len = end - start;
+        for (int i = 0; i < nameBytes.length; i++) {
+            byte[] name = nameBytes[i];
+            if (name.length != len) {
+                continue;
+            }
+            int j = 0;
+            while (j < len && buf[start + j] == name[j]) {
+                j++;
+            }
+            if (j == len) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // "/dev/sda" -> "sda", "\\.\PHYSICALDRIVE0" stays as it is
+    private static String shortName(String name) {
+        return name.startsWith("/dev/") ? name.substring(5) : name;
+    }
+}
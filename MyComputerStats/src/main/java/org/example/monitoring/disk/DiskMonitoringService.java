@@ -1,54 +1,91 @@
 package org.example.monitoring.disk;
 
 import org.example.core.disk.DiskInfo;
+import org.example.core.disk.DiskIoStats;
+import org.example.core.disk.SpaceForecast;
 import oshi.SystemInfo;
 import oshi.software.os.FileSystem;
-import oshi.software.os.OSFileStore;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class DiskMonitoringService {
 
     private final SystemInfo systemInfo;
     private final FileSystem fileSystem;
+    private final DiskIoSampler ioSampler;
+    private final FileStoreCache fileStores;
+    private final SpaceAnalyzer spaceAnalyzer = new SpaceAnalyzer();
+    private final DiskBenchmark benchmark = new DiskBenchmark();
+    private final SpaceForecaster forecaster = new SpaceForecaster();
+
+    // mount -> drive model, rebuilt only when the mount table changes
+    private Map<String, String> partitionDeviceMap;
+    private long partitionMapGeneration = -1;
+    private long seenMountGeneration = -1;
 
     public DiskMonitoringService() {
         this.systemInfo = new SystemInfo();
         this.fileSystem = systemInfo.getOperatingSystem().getFileSystem();
+        this.ioSampler = new DiskIoSampler(systemInfo);
+        this.fileStores = new FileStoreCache(fileSystem);
     }
 
-    public List<DiskInfo> readDiskInfo() {
-        List<DiskInfo> disks = new ArrayList<>();
+    /**
+     * io counters are cheap to read, so unlike capacity they go every tick
+     */
+    public List<DiskIoStats> sampleIo(long timestamp) {
+        return ioSampler.sample(timestamp);
+    }
 
-        for (OSFileStore store : fileSystem.getFileStores()) {
-            long total = store.getTotalSpace();
-            long free = store.getUsableSpace();
-            long used = total - free;
-            double usagePercent = total > 0 ? (used * 100.0 / total) : 0;
+    public DiskIoSampler getIoSampler() {
+        return ioSampler;
+    }
 
-            String type = store.getType();
-            if (type == null || type.isEmpty()) {
-                type = "Unknown";
-            }
+    public SpaceAnalyzer getSpaceAnalyzer() {
+        return spaceAnalyzer;
+    }
 
-            disks.add(new DiskInfo(
-                    store.getName(),
-                    store.getDescription(),
-                    total,
-                    used,
-                    free,
-                    usagePercent,
-                    type,
-                    store.getMount()));
-        }
+    /**
+     * feeds the usage history, call with every capacity sample
+     */
+    public void updateForecasts(List<DiskInfo> disks, long timestamp) {
+        forecaster.update(disks, timestamp);
+    }
+
+    public SpaceForecast getForecast(String mountPoint) {
+        return forecaster.getForecast(mountPoint);
+    }
+
+    public SpaceForecaster getForecaster() {
+        return forecaster;
+    }
+
+    public DiskBenchmark getBenchmark() {
+        return benchmark;
+    }
 
-        return disks;
+    public void shutdown() {
+        ioSampler.close();
+        fileStores.close();
+        spaceAnalyzer.shutdown();
+        benchmark.cancel();
+    }
+
+    public List<DiskInfo> readDiskInfo() {
+        return fileStores.read();
     }
 
     public DiskInfo getTotalDiskInfo() {
-        List<DiskInfo> disks = readDiskInfo();
+        return getTotalDiskInfo(readDiskInfo());
+    }
 
+    /**
+     * totals from a snapshot already taken, so one tick reads the file stores once
+     */
+    public DiskInfo getTotalDiskInfo(List<DiskInfo> disks) {
         long totalBytes = 0;
         long usedBytes = 0;
         long freeBytes = 0;
@@ -65,20 +102,32 @@ public class DiskMonitoringService {
                 usagePercent, "Combined", "All");
     }
 
-    public List<String> getPhysicalDisks() {
-        List<String> physicalDisks = new ArrayList<>();
-        for (oshi.hardware.HWDiskStore disk : systemInfo.getHardware().getDiskStores()) {
-            String model = disk.getModel();
-            long sizeGB = disk.getSize() / (1024L * 1024 * 1024);
-            if (model != null && !model.isEmpty() && sizeGB > 0) {
-                physicalDisks.add(model + " (" + sizeGB + " GB)");
-            }
+    /**
+     * true when the file store reads since the last call saw mounts added,
+     * removed or remounted. the mount table itself is only watched by the
+     * file store cache, so store metadata and the partition map go stale together
+     */
+    public synchronized boolean checkMountsChanged() {
+        long generation = fileStores.getMountGeneration();
+        boolean changed = generation != seenMountGeneration;
+        seenMountGeneration = generation;
+        return changed;
+    }
+
+    /**
+     * cached, walking every disk store and partition is one of the slower oshi calls
+     */
+    public synchronized Map<String, String> getPartitionDeviceMap() {
+        long generation = fileStores.getMountGeneration();
+        if (partitionDeviceMap == null || partitionMapGeneration != generation) {
+            partitionDeviceMap = Collections.unmodifiableMap(buildPartitionDeviceMap());
+            partitionMapGeneration = generation;
         }
-        return physicalDisks;
+        return partitionDeviceMap;
     }
 
-    public java.util.Map<String, String> getPartitionDeviceMap() {
-        java.util.Map<String, String> map = new java.util.HashMap<>();
+    private Map<String, String> buildPartitionDeviceMap() {
+        Map<String, String> map = new HashMap<>();
         for (oshi.hardware.HWDiskStore disk : systemInfo.getHardware().getDiskStores()) {
             String deviceName = disk.getModel();
             for (oshi.hardware.HWPartition partition : disk.getPartitions()) {
@@ -88,6 +137,7 @@ public class DiskMonitoringService {
                 }
             }
         }
+        System.out.println("[disk] partition map rebuilt, " + map.size() + " mounts");
         return map;
     }
 }
@@ -0,0 +1,137 @@
+package org.example.monitoring.disk;
+
+import com.sun.jna.Platform;
+import com.sun.jna.platform.linux.LibC;
+import org.example.core.disk.DiskInfo;
+import oshi.software.os.FileSystem;
+import oshi.software.os.OSFileStore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * file store snapshots with the per-store metadata kept between reads
+ * name, description, type and options only change with the mount table, so
+ * on linux they are enumerated through oshi once per mount change and each
+ * read is one statvfs per mount for space and inodes. elsewhere, or if
+ * statvfs can't be called, every read goes through oshi as before.
+ * this is the only watcher of the mount table; each change it sees bumps
+ * the mount generation that the partition map and the page key off
+ */
+public class FileStoreCache {
+
+    private final FileSystem fileSystem;
+    private final MountTableWatcher mountWatcher = new MountTableWatcher();
+    private final LibC.Statvfs vfs;
+
+    private List<StoreMeta> stores;
+    private boolean useStatvfs;
+    private volatile long mountGeneration = 0;
+
+    public FileStoreCache(FileSystem fileSystem) {
+        this.fileSystem = fileSystem;
+        LibC.Statvfs probe = null;
+        if (Platform.isLinux() && mountWatcher.isWatchingKernel()) {
+            try {
+                probe = new LibC.Statvfs();
+                useStatvfs = LibC.INSTANCE.statvfs("/", probe) == 0;
+            } catch (Throwable e) {
+                System.err.println("[disk] statvfs unavailable, reading file stores through oshi: " + e.getMessage());
+                useStatvfs = false;
+            }
+        }
+        this.vfs = probe;
+    }
+
+    public synchronized List<DiskInfo> read() {
+        if (!useStatvfs) {
+            List<DiskInfo> disks = readOshi();
+            if (mountWatcher.changed(mountSignature(disks))) {
+                mountGeneration++;
+            }
+            return disks;
+        }
+        if (mountWatcher.changed(0) || stores == null) {
+            stores = enumerate();
+            mountGeneration++;
+        }
+
+        List<DiskInfo> disks = new ArrayList<>(stores.size());
+        for (StoreMeta meta : stores) {
+            if (LibC.INSTANCE.statvfs(meta.mount, vfs) != 0) {
+                // unmounted between the mountinfo check and now, pick it up next read
+                mountWatcher.invalidate();
+                continue;
+            }
+            long fragment = vfs.f_frsize.longValue();
+            long total = vfs.f_blocks.longValue() * fragment;
+            long free = vfs.f_bavail.longValue() * fragment;
+            disks.add(meta.toDiskInfo(total, free, vfs.f_files.longValue(), vfs.f_ffree.longValue()));
+        }
+        return disks;
+    }
+
+    /**
+     * goes up every time a read finds the mount table changed, starting at 1 after the first read
+     */
+    public long getMountGeneration() {
+        return mountGeneration;
+    }
+
+    public synchronized void close() {
+        mountWatcher.close();
+    }
+
+    private List<StoreMeta> enumerate() {
+        List<StoreMeta> result = new ArrayList<>();
+        for (OSFileStore store : fileSystem.getFileStores()) {
+            result.add(new StoreMeta(store));
+        }
+        return result;
+    }
+
+    private List<DiskInfo> readOshi() {
+        List<DiskInfo> disks = new ArrayList<>();
+        for (OSFileStore store : fileSystem.getFileStores()) {
+            disks.add(new StoreMeta(store).toDiskInfo(store.getTotalSpace(), store.getUsableSpace(),
+                    store.getTotalInodes(), store.getFreeInodes()));
+        }
+        return disks;
+    }
+
+    // stands in for mountinfo where it can't be read
+    private static long mountSignature(List<DiskInfo> disks) {
+        long hash = 1;
+        for (DiskInfo disk : disks) {
+            hash = 31 * hash + disk.getMountPoint().hashCode();
+            hash = 31 * hash + disk.getName().hashCode();
+            hash = 31 * hash + disk.getType().hashCode();
+        }
+        return hash;
+    }
+
+    // what a file store looks like between mount changes
+    private static class StoreMeta {
+        final String name;
+        final String description;
+        final String type;
+        final String mount;
+        final String options;
+
+        StoreMeta(OSFileStore store) {
+            this.name = store.getName();
+            this.description = store.getDescription();
+            String t = store.getType();
+            this.type = t == null || t.isEmpty() ? "Unknown" : t;
+            this.mount = store.getMount();
+            this.options = store.getOptions();
+        }
+
+        DiskInfo toDiskInfo(long total, long free, long totalInodes, long freeInodes) {
+            long used = total - free;
+            double usagePercent = total > 0 ? (used * 100.0 / total) : 0;
+            return new DiskInfo(name, description, total, used, free, usagePercent, type, mount, options,
+                    Math.max(0, totalInodes), Math.max(0, freeInodes));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.monitoring.disk;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * tells whether the mount table changed since the last check
+ * the kernel flags mountinfo changes through poll() with POLLPRI, which nio
+ * cannot wait on, so the file is kept open and a crc of its contents is
+ * compared instead. a few kilobytes per check, read into a reused buffer.
+ * without /proc the caller passes its own signature of the mounts it saw
+ */
+public class MountTableWatcher {
+
+    private static final String MOUNTINFO = "/proc/self/mountinfo";
+
+    private final CRC32 crc = new CRC32();
+    private RandomAccessFile mountinfo;
+    private byte[] buffer = new byte[16 * 1024];
+    private long lastHash;
+    private boolean checked = false;
+
+    public MountTableWatcher() {
+        if (new File(MOUNTINFO).canRead()) {
+            try {
+                mountinfo = new RandomAccessFile(MOUNTINFO, "r");
+            } catch (IOException e) {
+                System.err.println("[disk] " + MOUNTINFO + " not readable, watching file stores instead: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized boolean isWatchingKernel() {
+        return mountinfo != null;
+    }
+
+    /**
+     * true on the first call and whenever the table differs from the last call.
+     * fallbackHash is only used when mountinfo can't be read
+     */
+    public synchronized boolean changed(long fallbackHash) {
+        long hash = fallbackHash;
+        if (mountinfo != null) {
+            try {
+                hash = hashMountinfo();
+            } catch (IOException e) {
+                System.err.println("[disk] " + MOUNTINFO + " read failed, watching file stores instead: " + e.getMessage());
+                close();
+            }
+        }
+        boolean changed = !checked || hash != lastHash;
+        checked = true;
+        lastHash = hash;
+        return changed;
+    }
+
+    // next changed() call reports a change
+    public synchronized void invalidate() {
+        checked = false;
+    }
+
+    public synchronized void close() {
+        if (mountinfo != null) {
+            try {
+                mountinfo.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+            mountinfo = null;
+        }
+    }
+
+    // procfs reports a zero length, so read until eof
+    private long hashMountinfo() throws IOException {
+        mountinfo.seek(0);
+        int length = 0;
+        int n;
+        while ((n = mountinfo.read(buffer, length, buffer.length - length)) > 0) {
+            length += n;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        crc.reset();
+        crc.update(buffer, 0, length);
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,313 @@
+package org.example.monitoring.disk;
+
+import org.example.core.disk.DirectoryNode;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * on-demand "what is using the space" scan of one mount point
+ * directories are listed in parallel on a fork/join pool, symlinks are not
+ * followed and the scan stays on the root's filesystem. every finished scan
+ * is kept per root with each directory's mtime: a later scan re-lists only
+ * directories whose mtime moved and reuses the file totals of the others.
+ * a file growing in place does not touch its directory, so that case shows
+ * up only after the directory itself changes or the cache is cleared
+ */
+public class SpaceAnalyzer {
+
+    private static final long PROGRESS_MS = 250;
+    private static final Comparator<DirectoryNode> LARGEST_FIRST =
+            Comparator.comparingLong(DirectoryNode::getTotalBytes).reversed();
+
+    private static final boolean UNIX_VIEW = FileSystems.getDefault().supportedFileAttributeViews().contains("unix");
+
+    private final Map<String, Map<String, DirectoryNode>> caches = new ConcurrentHashMap<>();
+    private ForkJoinPool pool;
+    private Scan current;
+
+    /**
+     * starts scanning root, cancelling any scan still running
+     */
+    public synchronized void start(Path root, SpaceScanListener listener) {
+        cancel();
+        if (pool == null) {
+            // listing is mostly waiting on the disk, a few more threads than cores keeps it busy
+            int threads = Math.max(4, Math.min(16, Runtime.getRuntime().availableProcessors() * 2));
+            pool = new ForkJoinPool(threads);
+        }
+        Scan scan = new Scan(root.toAbsolutePath().normalize(), listener);
+        current = scan;
+        Thread thread = new Thread(() -> run(scan), "SpaceAnalyzer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancelled = true;
+            current = null;
+        }
+    }
+
+    public synchronized boolean isScanning() {
+        return current != null;
+    }
+
+    // forget previous scans, the next one lists everything again
+    public void clearCache() {
+        caches.clear();
+    }
+
+    public synchronized void shutdown() {
+        cancel();
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    private void run(Scan scan) {
+        long started = System.currentTimeMillis();
+        ForkJoinPool workers;
+        synchronized (this) {
+            workers = pool;
+        }
+        if (workers == null) {
+            return;
+        }
+        try {
+            scan.rootDevice = device(scan.root);
+            ForkJoinTask<DirectoryNode> task = workers.submit(new DirectoryTask(scan, scan.root, null, true));
+            DirectoryNode result = null;
+            while (result == null && !scan.cancelled) {
+                try {
+                    result = task.get(PROGRESS_MS, TimeUnit.MILLISECONDS);
+                    if (result == null) {
+                        break;
+                    }
+                } catch (TimeoutException e) {
+                    scan.listener.onProgress(scan.partial(), scan.files.get());
+                }
+            }
+            finish(scan, result, started);
+        } catch (ExecutionException | IOException e) {
+            System.err.println("[disk] space scan of " + scan.root + " failed: " + e.getMessage());
+            scan.listener.onFailed(e.getMessage());
+            clearCurrent(scan);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            clearCurrent(scan);
+        }
+    }
+
+    private void finish(Scan scan, DirectoryNode result, long started) {
+        if (scan.cancelled || result == null) {
+            scan.listener.onCancelled();
+            clearCurrent(scan);
+            return;
+        }
+        // a completed scan replaces the cache, so vanished directories drop out
+        caches.put(scan.root.toString(), scan.visited);
+        long elapsed = System.currentTimeMillis() - started;
+        System.out.println("[disk] scanned " + scan.root + ": " + result.getTotalFiles() + " files, "
+                + scan.listed.get() + " dirs listed, " + scan.reused.get() + " reused, " + elapsed + " ms");
+        clearCurrent(scan);
+        scan.listener.onComplete(result, elapsed);
+    }
+
+    private synchronized void clearCurrent(Scan scan) {
+        if (current == scan) {
+            current = null;
+        }
+    }
+
+    private static Object device(Path path) throws IOException {
+        return UNIX_VIEW ? Files.getAttribute(path, "unix:dev", LinkOption.NOFOLLOW_LINKS) : null;
+    }
+
+    // running totals of one top level directory, for the partial view
+    private static class Bucket {
+        final String path;
+        final String name;
+        final AtomicLong bytes = new AtomicLong();
+        final AtomicLong files = new AtomicLong();
+
+        Bucket(Path path) {
+            this.path = path.toString();
+            this.name = path.getFileName() != null ? path.getFileName().toString() : this.path;
+        }
+    }
+
+    private class Scan {
+        final Path root;
+        final SpaceScanListener listener;
+        final Map<String, DirectoryNode> cached;
+        final Map<String, DirectoryNode> visited = new ConcurrentHashMap<>();
+        final Queue<Bucket> buckets = new ConcurrentLinkedQueue<>();
+        final AtomicLong rootBytes = new AtomicLong();
+        final AtomicLong rootFiles = new AtomicLong();
+        final AtomicLong files = new AtomicLong();
+        final AtomicLong listed = new AtomicLong();
+        final AtomicLong reused = new AtomicLong();
+        Object rootDevice;
+        volatile boolean cancelled = false;
+
+        Scan(Path root, SpaceScanListener listener) {
+            this.root = root;
+            this.listener = listener;
+            Map<String, DirectoryNode> previous = caches.get(root.toString());
+            this.cached = previous != null ? previous : Map.of();
+        }
+
+        DirectoryNode partial() {
+            List<DirectoryNode> children = new ArrayList<>();
+            for (Bucket bucket : buckets) {
+                children.add(new DirectoryNode(bucket.path, bucket.name, 0, bucket.bytes.get(), bucket.files.get(), null));
+            }
+            children.sort(LARGEST_FIRST);
+            return new DirectoryNode(root.toString(), root.toString(), 0, rootBytes.get(), rootFiles.get(), children);
+        }
+    }
+
+    // never serialized, the fork/join framework only makes it Serializable by inheritance
+    private static class DirectoryTask extends RecursiveTask<DirectoryNode> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Scan scan;
+        private final transient Path dir;
+        private final transient Bucket bucket;
+        private final boolean isRoot;
+
+        DirectoryTask(Scan scan, Path dir, Bucket bucket, boolean isRoot) {
+            this.scan = scan;
+            this.dir = dir;
+            this.bucket = bucket;
+            this.isRoot = isRoot;
+        }
+
+        @Override
+        protected DirectoryNode compute() {
+            if (scan.cancelled) {
+                return null;
+            }
+            String key = dir.toString();
+            long modified;
+            try {
+                modified = Files.readAttributes(dir, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS)
+                        .lastModifiedTime().to(TimeUnit.MICROSECONDS);
+            } catch (IOException e) {
+                // unreadable, count nothing under it
+                return isRoot ? new DirectoryNode(key, key, 0, 0, 0, null) : null;
+            }
+
+            long ownBytes = 0;
+            long ownFiles = 0;
+            List<Path> subdirs = new ArrayList<>();
+
+            DirectoryNode previous = scan.cached.get(key);
+            if (previous != null && previous.getModifiedMicros() == modified) {
+                // no entries added or removed, keep the old listing
+                ownBytes = previous.getOwnBytes();
+                ownFiles = previous.getOwnFiles();
+                for (DirectoryNode child : previous.getChildren()) {
+                    subdirs.add(Path.of(child.getPath()));
+                }
+                scan.reused.incrementAndGet();
+            } else {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                    for (Path entry : entries) {
+                        if (scan.cancelled) {
+                            return null;
+                        }
+                        BasicFileAttributes attrs;
+                        try {
+                            attrs = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                        } catch (IOException e) {
+                            continue;
+                        }
+                        if (attrs.isDirectory()) {
+                            if (sameFilesystem(entry)) {
+                                subdirs.add(entry);
+                            }
+                        } else if (attrs.isRegularFile()) {
+                            ownBytes += attrs.size();
+                            ownFiles++;
+                        }
+                    }
+                } catch (IOException e) {
+                    // permission denied and the like, the directory still shows with what we know
+                }
+                scan.listed.incrementAndGet();
+            }
+
+            if (isRoot) {
+                scan.rootBytes.addAndGet(ownBytes);
+                scan.rootFiles.addAndGet(ownFiles);
+            } else {
+                bucket.bytes.addAndGet(ownBytes);
+                bucket.files.addAndGet(ownFiles);
+            }
+            scan.files.addAndGet(ownFiles);
+
+            List<DirectoryTask> tasks = new ArrayList<>(subdirs.size());
+            for (Path subdir : subdirs) {
+                Bucket childBucket = bucket;
+                if (isRoot) {
+                    childBucket = new Bucket(subdir);
+                    scan.buckets.add(childBucket);
+                }
+                tasks.add(new DirectoryTask(scan, subdir, childBucket, false));
+            }
+            invokeAll(tasks);
+            if (scan.cancelled) {
+                return null;
+            }
+
+            List<DirectoryNode> children = new ArrayList<>(tasks.size());
+            for (DirectoryTask task : tasks) {
+                DirectoryNode child = task.join();
+                if (child != null) {
+                    children.add(child);
+                }
+            }
+            children.sort(LARGEST_FIRST);
+
+            String name = isRoot || dir.getFileName() == null ? key : dir.getFileName().toString();
+            DirectoryNode node = new DirectoryNode(key, name, modified, ownBytes, ownFiles, children);
+            scan.visited.put(key, node);
+            return node;
+        }
+
+        // don't descend into other mounts, /proc below / would be the worst of them
+        private boolean sameFilesystem(Path entry) {
+            if (scan.rootDevice == null) {
+                return true;
+            }
+            try {
+                return scan.rootDevice.equals(device(entry));
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
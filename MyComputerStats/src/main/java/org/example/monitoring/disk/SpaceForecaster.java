@@ -0,0 +1,119 @@
+package org.example.monitoring.disk;
+
+import org.example.core.disk.DiskInfo;
+import org.example.core.disk.SpaceForecast;
+import org.example.core.stats.DecayingRegression;
+import org.example.core.stats.RollupSeries;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * per-mount usage history and time-to-full
+ * fed with every disk sample the scheduler takes. each mount keeps its
+ * usage in rollups and a fading regression that is updated in place, so a
+ * sample costs the same after a week as after a minute. a jump of more than
+ * RESET_FRACTION of the capacity (a cleanup, a big copy, a resize) starts
+ * the fit over, the old slope says nothing about the new regime. inodes
+ * get the same fit on filesystems that count them
+ */
+public class SpaceForecaster {
+
+    private static final double HALF_LIFE_HOURS = 2;
+    private static final double RESET_FRACTION = 0.05;
+    private static final double MIN_SPAN_HOURS = 10 / 60.0;
+    private static final int MIN_SAMPLES = 10;
+
+    // a minute for two hours, 15 minutes for two days, an hour for 30 days
+    private static final long[] TIER_WIDTHS = {60_000L, 15 * 60_000L, 3_600_000L};
+    private static final int[] TIER_CAPACITIES = {120, 192, 720};
+
+    private final Map<String, Tracker> trackers = new HashMap<>();
+
+    public synchronized void update(Iterable<DiskInfo> disks, long timestamp) {
+        for (DiskInfo disk : disks) {
+            if (disk.getTotalBytes() <= 0) {
+                continue;
+            }
+            trackers.computeIfAbsent(disk.getMountPoint(), k -> new Tracker()).add(disk, timestamp);
+        }
+    }
+
+    /**
+     * null for mounts that have not been sampled
+     */
+    public synchronized SpaceForecast getForecast(String mountPoint) {
+        Tracker tracker = trackers.get(mountPoint);
+        if (tracker == null || tracker.regression.getSamples() == 0) {
+            return null;
+        }
+        DecayingRegression fit = tracker.regression;
+        double growth = fit.getSlope();
+        double hours = growth > 0 ? tracker.lastFree / growth : Double.POSITIVE_INFINITY;
+        double dayAgo = tracker.history.valueAt(tracker.lastTime - 24 * 3_600_000L);
+        boolean ready = isSettled(fit);
+        double inodeGrowth = tracker.inodes.getSlope();
+        // a fresh inode fit is noise, it must not win the time-to-full race
+        double inodeHours = inodeGrowth > 0 && isSettled(tracker.inodes)
+                ? tracker.lastFreeInodes / inodeGrowth : Double.POSITIVE_INFINITY;
+        return new SpaceForecast(mountPoint, growth, hours, fit.getSpanHours(),
+                Double.isNaN(dayAgo) ? Double.NaN : tracker.lastUsed - dayAgo, ready, inodeGrowth, inodeHours);
+    }
+
+    // enough samples over enough time for the slope to mean something
+    private static boolean isSettled(DecayingRegression fit) {
+        return fit.getSamples() >= MIN_SAMPLES && fit.getSpanHours() >= MIN_SPAN_HOURS;
+    }
+
+    /**
+     * rolled up used bytes of one mount, null for unknown mounts
+     */
+    public synchronized RollupSeries getHistory(String mountPoint) {
+        Tracker tracker = trackers.get(mountPoint);
+        return tracker != null ? tracker.history : null;
+    }
+
+    private static class Tracker {
+        final RollupSeries history = new RollupSeries(TIER_WIDTHS, TIER_CAPACITIES);
+        final DecayingRegression regression = new DecayingRegression(HALF_LIFE_HOURS);
+        final DecayingRegression inodes = new DecayingRegression(HALF_LIFE_HOURS);
+        long lastTotal;
+        long lastTotalInodes;
+        long lastFreeInodes;
+        long lastUsed;
+        long lastFree;
+        long lastTime;
+
+        void add(DiskInfo disk, long timestamp) {
+            long used = disk.getUsedBytes();
+            if (regression.getSamples() > 0) {
+                double expected = regression.getLevel()
+                        + regression.getSlope() * (timestamp - lastTime) / 3_600_000.0;
+                if (disk.getTotalBytes() != lastTotal
+                        || Math.abs(used - expected) > RESET_FRACTION * disk.getTotalBytes()) {
+                    regression.reset();
+                }
+            }
+            regression.add(timestamp, used);
+            history.add(timestamp, used);
+
+            if (disk.hasInodes()) {
+                long usedInodes = disk.getUsedInodes();
+                if (inodes.getSamples() > 0) {
+                    double expected = inodes.getLevel() + inodes.getSlope() * (timestamp - lastTime) / 3_600_000.0;
+                    if (disk.getTotalInodes() != lastTotalInodes
+                            || Math.abs(usedInodes - expected) > RESET_FRACTION * disk.getTotalInodes()) {
+                        inodes.reset();
+                    }
+                }
+                inodes.add(timestamp, usedInodes);
+            }
+            lastTotalInodes = disk.getTotalInodes();
+            lastFreeInodes = disk.getFreeInodes();
+            lastTotal = disk.getTotalBytes();
+            lastUsed = used;
+            lastFree = disk.getFreeBytes();
+            lastTime = timestamp;
+        }
+    }
+}
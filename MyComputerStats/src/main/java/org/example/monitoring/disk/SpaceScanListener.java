@@ -0,0 +1,24 @@
+package org.example.monitoring.disk;
+
+import org.example.core.disk.DirectoryNode;
+
+/**
+ * receives the progress of a space scan
+ * called on scanner threads, so hand off to the ui thread
+ */
+public interface SpaceScanListener {
+
+    /**
+     * running totals so far. the children of the root are the top level
+     * directories with what has been counted under them, without their own children
+     */
+    void onProgress(DirectoryNode partial, long filesScanned);
+
+    void onComplete(DirectoryNode root, long elapsedMs);
+
+    default void onCancelled() {
+    }
+
+    default void onFailed(String message) {
+    }
+}
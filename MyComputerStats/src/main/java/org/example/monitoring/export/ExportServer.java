@@ -0,0 +1,113 @@
+package org.example.monitoring.export;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SamplingScheduler;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * embedded http endpoint for remote dashboards
+ * /metrics for scraping, /events for a pushed sse stream,
+ * /residency for the per-core frequency residency as csv
+ * only ever reads the scheduler's snapshots, never the hardware
+ */
+public class ExportServer {
+
+    private final SamplingScheduler sampler;
+    private final OpenMetricsWriter metricsWriter = new OpenMetricsWriter();
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private SseBroadcaster broadcaster;
+    private int port;
+
+    public ExportServer(SamplingScheduler sampler) {
+        this.sampler = sampler;
+    }
+
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        this.port = port;
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        broadcaster = new SseBroadcaster();
+
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/events", broadcaster::handle);
+        server.createContext("/residency", this::handleResidency);
+
+        // sse clients hold their exchange open, a virtual thread each keeps that cheap
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.start();
+        sampler.addLiveListener(broadcaster);
+        System.out.println("[export] listening on :" + port);
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            sampler.removeLiveListener(broadcaster);
+            broadcaster.close();
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            System.out.println("[export] stopped");
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public synchronized int getPort() {
+        return port;
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            // a replay is not the machine's current state, scrapers should see a gap
+            SystemSnapshot snapshot = sampler.getLatestSnapshot();
+            if (snapshot == null || sampler.isReplaying()) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            // rendered once per snapshot, a slow scraper only holds up its own socket
+            byte[] body = metricsWriter.render(snapshot);
+            exchange.getResponseHeaders().set("Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private void handleResidency(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            // same csv as the page's export, so downloads merge with saved files
+            StringWriter csv = new StringWriter();
+            sampler.getCpuService().getFrequencyResidency().writeCsv(csv);
+            byte[] body = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/csv; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+}
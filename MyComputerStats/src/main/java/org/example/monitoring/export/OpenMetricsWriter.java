@@ -0,0 +1,391 @@
+package org.example.monitoring.export;
+
+import org.example.core.cpu.CpuClusterStats;
+import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuLoadState;
+import org.example.core.disk.DiskInfo;
+import org.example.core.memory.MemoryBreakdown;
+import org.example.core.memory.RamInfo;
+import org.example.core.pressure.PressureStall;
+import org.example.core.snapshot.SystemSnapshot;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * renders a snapshot as openmetrics text
+ * a snapshot is rendered once into its own byte array no matter how many
+ * scrapes read it; the array is never touched again, so it can be written
+ * to any number of sockets without a lock
+ */
+public class OpenMetricsWriter {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private static final String PREFIX = "mcs_";
+    private static final String[] STATE_NAMES = stateNames();
+
+    // scratch space, only used under the writer lock
+    private final StringBuilder text = new StringBuilder(16 * 1024);
+    private byte[] buffer = new byte[16 * 1024];
+    private int length = 0;
+
+    private volatile Rendered latest;
+
+    private static final class Rendered {
+        final SystemSnapshot snapshot;
+        final byte[] bytes;
+
+        Rendered(SystemSnapshot snapshot, byte[] bytes) {
+            this.snapshot = snapshot;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * the snapshot as openmetrics bytes, rendered on the first call for it
+     * the returned array must not be modified
+     */
+    public byte[] render(SystemSnapshot snapshot) {
+        Rendered cached = latest;
+        if (cached != null && cached.snapshot == snapshot) {
+            return cached.bytes;
+        }
+        synchronized (this) {
+            // another scrape may have rendered it while this one waited
+            cached = latest;
+            if (cached != null && cached.snapshot == snapshot) {
+                return cached.bytes;
+            }
+            text.setLength(0);
+            writeCpu(snapshot);
+            writeMemory(snapshot.getRam());
+            writePressure(snapshot);
+            writeDisks(snapshot);
+            text.append("# EOF\n");
+
+            encode();
+            byte[] bytes = Arrays.copyOf(buffer, length);
+            latest = new Rendered(snapshot, bytes);
+            return bytes;
+        }
+    }
+
+    private void writeCpu(SystemSnapshot snapshot) {
+        CpuInfo cpu = snapshot.getCpu();
+
+        family("cpu_load_ratio", "gauge", "ratio", "Overall cpu load");
+        sample("cpu_load_ratio", cpu.getLoad());
+
+        family("cpu_core_load_ratio", "gauge", "ratio", "Per logical core load");
+        perCore("cpu_core_load_ratio", cpu.getPerCoreLoads(), 1.0);
+
+        family("cpu_temperature_celsius", "gauge", "celsius", "Hottest core temperature");
+        sample("cpu_temperature_celsius", cpu.getTemperature());
+
+        family("cpu_core_temperature_celsius", "gauge", "celsius", "Per core temperature");
+        perCore("cpu_core_temperature_celsius", cpu.getPerCoreTemperatures(), 1.0);
+
+        family("cpu_core_frequency_hertz", "gauge", "hertz", "Per core clock");
+        perCore("cpu_core_frequency_hertz", cpu.getPerCoreFrequencies(), 1_000_000_000.0);
+
+        family("cpu_core_voltage_volts", "gauge", "volts", "Per core voltage");
+        perCore("cpu_core_voltage_volts", cpu.getPerCoreVoltages(), 1.0);
+
+        List<CpuClusterStats> clusters = CpuClusterStats.of(cpu);
+        if (clusters.size() > 1) {
+            family("cpu_cluster_load_ratio", "gauge", "ratio", "Mean load per core type");
+            for (CpuClusterStats cluster : clusters) {
+                clusterSample("cpu_cluster_load_ratio", cluster.getType(), cluster.getLoad());
+            }
+            family("cpu_cluster_frequency_hertz", "gauge", "hertz", "Mean clock per core type");
+            for (CpuClusterStats cluster : clusters) {
+                clusterSample("cpu_cluster_frequency_hertz", cluster.getType(), cluster.getFrequency() * 1_000_000_000.0);
+            }
+            family("cpu_cluster_temperature_celsius", "gauge", "celsius", "Hottest core per core type");
+            for (CpuClusterStats cluster : clusters) {
+                clusterSample("cpu_cluster_temperature_celsius", cluster.getType(), cluster.getTemperature());
+            }
+        }
+
+        if (cpu.hasLoadStates()) {
+            family("cpu_core_state_ratio", "gauge", "ratio", "Per core share of time by state");
+            perCoreState("cpu_core_state_ratio", cpu);
+        }
+
+        family("cpu_package_power_watts", "gauge", "watts", "Package power");
+        sample("cpu_package_power_watts", snapshot.getPackagePower());
+
+        family("cpu_thermal_throttle", "gauge", null, "1 while the cpu is thermally throttling");
+        sample("cpu_thermal_throttle", snapshot.isThermalThrottle() ? 1 : 0);
+
+        family("cpu_power_throttle", "gauge", null, "1 while the cpu is power limited");
+        sample("cpu_power_throttle", snapshot.isPowerThrottle() ? 1 : 0);
+
+        family("cpu_context_switches_per_second", "gauge", null, "Context switch rate");
+        sample("cpu_context_switches_per_second", snapshot.getContextSwitchesPerSec());
+
+        family("cpu_interrupts_per_second", "gauge", null, "Interrupt rate");
+        sample("cpu_interrupts_per_second", snapshot.getInterruptsPerSec());
+
+        family("processes", "gauge", null, "Running processes");
+        sample("processes", snapshot.getProcessCount());
+
+        family("threads", "gauge", null, "Running threads");
+        sample("threads", snapshot.getThreadCount());
+    }
+
+    private void writeMemory(RamInfo ram) {
+        family("memory_total_bytes", "gauge", "bytes", "Physical memory");
+        sample("memory_total_bytes", ram.getTotalBytes());
+
+        family("memory_available_bytes", "gauge", "bytes", "Available memory");
+        sample("memory_available_bytes", ram.getAvailableBytes());
+
+        family("memory_used_bytes", "gauge", "bytes", "Used memory");
+        sample("memory_used_bytes", ram.getUsedBytes());
+
+        family("swap_total_bytes", "gauge", "bytes", "Swap size");
+        sample("swap_total_bytes", ram.getSwapTotalBytes());
+
+        family("swap_used_bytes", "gauge", "bytes", "Used swap");
+        sample("swap_used_bytes", ram.getSwapUsedBytes());
+
+        MemoryBreakdown b = ram.getBreakdown();
+        if (b == null) {
+            return;
+        }
+        // kinds overlap (shmem is in cached, thp in anon), do not sum them
+        family("memory_kind_bytes", "gauge", "bytes", "Memory by kind from /proc/meminfo");
+        kindSample("cached", b.getCached());
+        kindSample("buffers", b.getBuffers());
+        kindSample("shmem", b.getShmem());
+        kindSample("slab_reclaimable", b.getSlabReclaimable());
+        kindSample("slab_unreclaimable", b.getSlabUnreclaimable());
+        kindSample("dirty", b.getDirty());
+        kindSample("writeback", b.getWriteback());
+        kindSample("anon", b.getAnon());
+        kindSample("mapped", b.getMapped());
+        kindSample("hugetlb", b.getHugePagesBytes());
+        kindSample("anon_thp", b.getAnonHugePages());
+
+        family("memory_hugepages", "gauge", null, "Huge pages in the hugetlb pool");
+        text.append(PREFIX).append("memory_hugepages{state=\"total\"} ");
+        appendValue(b.getHugePagesTotal());
+        text.append('\n');
+        text.append(PREFIX).append("memory_hugepages{state=\"free\"} ");
+        appendValue(b.getHugePagesFree());
+        text.append('\n');
+    }
+
+    private void kindSample(String kind, long bytes) {
+        text.append(PREFIX).append("memory_kind_bytes{kind=\"").append(kind).append("\"} ");
+        appendValue(bytes);
+        text.append('\n');
+    }
+
+    private void writePressure(SystemSnapshot snapshot) {
+        PressureStall[] stalls = {snapshot.getCpuPressure(), snapshot.getMemoryPressure(), snapshot.getIoPressure()};
+        String[] resources = {"cpu", "memory", "io"};
+        if (stalls[0] == null && stalls[1] == null && stalls[2] == null) {
+            return;
+        }
+
+        family("pressure_stall_ratio", "gauge", "ratio", "Share of the last sample interval tasks were stalled");
+        for (int r = 0; r < stalls.length; r++) {
+            if (stalls[r] != null) {
+                pressureSample("pressure_stall_ratio", resources[r], "some", null, stalls[r].getSomeRate());
+                pressureSample("pressure_stall_ratio", resources[r], "full", null, stalls[r].getFullRate());
+            }
+        }
+
+        family("pressure_average_ratio", "gauge", "ratio", "Kernel psi running averages");
+        for (int r = 0; r < stalls.length; r++) {
+            PressureStall p = stalls[r];
+            if (p == null) {
+                continue;
+            }
+            pressureSample("pressure_average_ratio", resources[r], "some", "10s", p.getSomeAvg10() / 100);
+            pressureSample("pressure_average_ratio", resources[r], "some", "60s", p.getSomeAvg60() / 100);
+            pressureSample("pressure_average_ratio", resources[r], "some", "300s", p.getSomeAvg300() / 100);
+            pressureSample("pressure_average_ratio", resources[r], "full", "10s", p.getFullAvg10() / 100);
+            pressureSample("pressure_average_ratio", resources[r], "full", "60s", p.getFullAvg60() / 100);
+            pressureSample("pressure_average_ratio", resources[r], "full", "300s", p.getFullAvg300() / 100);
+        }
+
+        family("pressure_stall_seconds", "counter", "seconds", "Total stall time since boot");
+        for (int r = 0; r < stalls.length; r++) {
+            if (stalls[r] != null) {
+                pressureSample("pressure_stall_seconds_total", resources[r], "some", null, stalls[r].getSomeTotalUs() / 1e6);
+                pressureSample("pressure_stall_seconds_total", resources[r], "full", null, stalls[r].getFullTotalUs() / 1e6);
+            }
+        }
+    }
+
+    private void pressureSample(String name, String resource, String kind, String window, double value) {
+        text.append(PREFIX).append(name).append("{resource=\"").append(resource)
+                .append("\",kind=\"").append(kind);
+        if (window != null) {
+            text.append("\",window=\"").append(window);
+        }
+        text.append("\"} ");
+        appendValue(value);
+        text.append('\n');
+    }
+
+    private void writeDisks(SystemSnapshot snapshot) {
+        family("disk_total_bytes", "gauge", "bytes", "File store size");
+        for (DiskInfo disk : snapshot.getDisks()) {
+            diskSample("disk_total_bytes", disk, disk.getTotalBytes());
+        }
+
+        family("disk_used_bytes", "gauge", "bytes", "File store used space");
+        for (DiskInfo disk : snapshot.getDisks()) {
+            diskSample("disk_used_bytes", disk, disk.getUsedBytes());
+        }
+
+        family("disk_free_bytes", "gauge", "bytes", "File store usable space");
+        for (DiskInfo disk : snapshot.getDisks()) {
+            diskSample("disk_free_bytes", disk, disk.getFreeBytes());
+        }
+
+        family("disk_inodes", "gauge", null, "File store inode count");
+        for (DiskInfo disk : snapshot.getDisks()) {
+            if (disk.hasInodes()) {
+                diskSample("disk_inodes", disk, disk.getTotalInodes());
+            }
+        }
+
+        family("disk_inodes_free", "gauge", null, "File store free inodes");
+        for (DiskInfo disk : snapshot.getDisks()) {
+            if (disk.hasInodes()) {
+                diskSample("disk_inodes_free", disk, disk.getFreeInodes());
+            }
+        }
+    }
+
+    private void family(String name, String type, String unit, String help) {
+        text.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+        if (unit != null) {
+            text.append("# UNIT ").append(PREFIX).append(name).append(' ').append(unit).append('\n');
+        }
+        text.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+    }
+
+    private void sample(String name, double value) {
+        text.append(PREFIX).append(name).append(' ');
+        appendValue(value);
+        text.append('\n');
+    }
+
+    private void perCore(String name, double[] values, double scale) {
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            text.append(PREFIX).append(name).append("{core=\"").append(i).append("\"} ");
+            appendValue(values[i] * scale);
+            text.append('\n');
+        }
+    }
+
+    private void clusterSample(String name, String type, double value) {
+        text.append(PREFIX).append(name).append("{type=\"");
+        appendEscaped(type);
+        text.append("\"} ");
+        appendValue(value);
+        text.append('\n');
+    }
+
+    private void perCoreState(String name, CpuInfo cpu) {
+        for (int core = 0; core < cpu.getLogicalCores(); core++) {
+            for (CpuLoadState state : CpuLoadState.values()) {
+                text.append(PREFIX).append(name).append("{core=\"").append(core)
+                        .append("\",state=\"").append(STATE_NAMES[state.ordinal()]).append("\"} ");
+                appendValue(cpu.getCoreStateFraction(core, state));
+                text.append('\n');
+            }
+        }
+    }
+
+    private static String[] stateNames() {
+        CpuLoadState[] states = CpuLoadState.values();
+        String[] names = new String[states.length];
+        for (int i = 0; i < states.length; i++) {
+            names[i] = states[i].name().toLowerCase();
+        }
+        return names;
+    }
+
+    private void diskSample(String name, DiskInfo disk, long value) {
+        text.append(PREFIX).append(name).append("{mount=\"");
+        appendEscaped(disk.getMountPoint());
+        text.append("\",name=\"");
+        appendEscaped(disk.getName());
+        text.append("\",type=\"");
+        appendEscaped(disk.getType());
+        text.append("\"} ").append(value).append('\n');
+    }
+
+    private void appendValue(double value) {
+        if (Double.isNaN(value)) {
+            text.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            // java prints Infinity, the exposition format wants +Inf / -Inf
+            text.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                text.append("\\\\");
+            } else if (c == '"') {
+                text.append("\\\"");
+            } else if (c == '\n') {
+                text.append("\\n");
+            } else {
+                text.append(c);
+            }
+        }
+    }
+
+    // utf-8 encode into the reused buffer without an intermediate string
+    private void encode() {
+        int pos = 0;
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            if (pos + 4 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int c = text.charAt(i);
+            if (Character.isHighSurrogate((char) c) && i + 1 < n) {
+                c = Character.toCodePoint((char) c, text.charAt(++i));
+            }
+            if (c < 0x80) {
+                buffer[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[pos++] = (byte) (0xC0 | (c >> 6));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c < 0x10000) {
+                buffer[pos++] = (byte) (0xE0 | (c >> 12));
+                buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                buffer[pos++] = (byte) (0xF0 | (c >> 18));
+                buffer[pos++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = pos;
+    }
+}
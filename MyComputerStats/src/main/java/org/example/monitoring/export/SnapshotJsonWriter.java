@@ -0,0 +1,271 @@
+package org.example.monitoring.export;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuTopology;
+import org.example.core.disk.DiskInfo;
+import org.example.core.memory.MemoryBreakdown;
+import org.example.core.memory.RamInfo;
+import org.example.core.pressure.PressureStall;
+import org.example.core.snapshot.SystemSnapshot;
+
+/**
+ * compact single-line json for a snapshot
+ * field names follow the CpuInfo / RamInfo / DiskInfo getters
+ */
+public final class SnapshotJsonWriter {
+
+    private SnapshotJsonWriter() {
+    }
+
+    public static void write(SystemSnapshot snapshot, StringBuilder out) {
+        out.append("{\"timestamp\":").append(snapshot.getTimestamp());
+
+        out.append(",\"cpu\":");
+        writeCpu(snapshot.getCpu(), out);
+
+        out.append(",\"packagePower\":");
+        number(snapshot.getPackagePower(), out);
+        out.append(",\"thermalThrottle\":").append(snapshot.isThermalThrottle());
+        out.append(",\"powerThrottle\":").append(snapshot.isPowerThrottle());
+        out.append(",\"contextSwitchesPerSec\":");
+        number(snapshot.getContextSwitchesPerSec(), out);
+        out.append(",\"interruptsPerSec\":");
+        number(snapshot.getInterruptsPerSec(), out);
+        out.append(",\"processCount\":").append(snapshot.getProcessCount());
+        out.append(",\"threadCount\":").append(snapshot.getThreadCount());
+        writePressure(snapshot, out);
+
+        out.append(",\"ram\":");
+        writeRam(snapshot.getRam(), out);
+
+        out.append(",\"disks\":[");
+        boolean first = true;
+        for (DiskInfo disk : snapshot.getDisks()) {
+            if (!first) {
+                out.append(',');
+            }
+            writeDisk(disk, out);
+            first = false;
+        }
+        out.append("]}");
+    }
+
+    private static void writeCpu(CpuInfo cpu, StringBuilder out) {
+        out.append("{\"brand\":");
+        string(cpu.getBrand(), out);
+        out.append(",\"model\":");
+        string(cpu.getModel(), out);
+        out.append(",\"physicalCores\":").append(cpu.getPhysicalCores());
+        out.append(",\"logicalCores\":").append(cpu.getLogicalCores());
+        out.append(",\"clockSpeed\":");
+        number(cpu.getClockSpeed(), out);
+        out.append(",\"maxClockSpeed\":");
+        number(cpu.getMaxClockSpeed(), out);
+        out.append(",\"load\":");
+        number(cpu.getLoad(), out);
+        out.append(",\"temperature\":");
+        number(cpu.getTemperature(), out);
+        out.append(",\"averageTemperature\":");
+        number(cpu.getAverageTemperature(), out);
+        out.append(",\"temperatureSource\":");
+        string(cpu.getTemperatureSource(), out);
+        out.append(",\"perCoreLoads\":");
+        array(cpu.getPerCoreLoads(), out);
+        out.append(",\"perCoreTemperatures\":");
+        array(cpu.getPerCoreTemperatures(), out);
+        out.append(",\"perCoreFrequencies\":");
+        array(cpu.getPerCoreFrequencies(), out);
+        out.append(",\"perCoreVoltages\":");
+        array(cpu.getPerCoreVoltages(), out);
+        out.append(",\"perCoreMaxTemps\":");
+        array(cpu.getPerCoreMaxTemps(), out);
+        out.append(",\"perCoreStates\":");
+        array(cpu.getPerCoreStates(), out);
+        CpuTopology topology = cpu.getTopology();
+        out.append(",\"topology\":{\"core\":");
+        ints(topology.getPhysicalMapping(), out);
+        out.append(",\"package\":");
+        ints(topology.getPackageMapping(), out);
+        out.append(",\"node\":");
+        ints(topology.getNodeMapping(), out);
+        out.append('}');
+        out.append(",\"coreTypes\":[");
+        String[] types = cpu.getCoreTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            string(types[i], out);
+        }
+        out.append("]}");
+    }
+
+    // left out entirely without psi so older readers see nothing new
+    private static void writePressure(SystemSnapshot snapshot, StringBuilder out) {
+        PressureStall cpu = snapshot.getCpuPressure();
+        PressureStall memory = snapshot.getMemoryPressure();
+        PressureStall io = snapshot.getIoPressure();
+        if (cpu == null && memory == null && io == null) {
+            return;
+        }
+        out.append(",\"pressure\":{");
+        boolean first = true;
+        first = writeStall("cpu", cpu, first, out);
+        first = writeStall("memory", memory, first, out);
+        writeStall("io", io, first, out);
+        out.append('}');
+    }
+
+    private static boolean writeStall(String name, PressureStall stall, boolean first, StringBuilder out) {
+        if (stall == null) {
+            return first;
+        }
+        if (!first) {
+            out.append(',');
+        }
+        out.append('"').append(name).append("\":{\"someAvg10\":");
+        number(stall.getSomeAvg10(), out);
+        out.append(",\"someAvg60\":");
+        number(stall.getSomeAvg60(), out);
+        out.append(",\"someAvg300\":");
+        number(stall.getSomeAvg300(), out);
+        out.append(",\"someTotalUs\":").append(stall.getSomeTotalUs());
+        out.append(",\"someRate\":");
+        number(stall.getSomeRate(), out);
+        out.append(",\"fullAvg10\":");
+        number(stall.getFullAvg10(), out);
+        out.append(",\"fullAvg60\":");
+        number(stall.getFullAvg60(), out);
+        out.append(",\"fullAvg300\":");
+        number(stall.getFullAvg300(), out);
+        out.append(",\"fullTotalUs\":").append(stall.getFullTotalUs());
+        out.append(",\"fullRate\":");
+        number(stall.getFullRate(), out);
+        out.append('}');
+        return false;
+    }
+
+    private static void writeRam(RamInfo ram, StringBuilder out) {
+        out.append("{\"totalBytes\":").append(ram.getTotalBytes());
+        out.append(",\"availableBytes\":").append(ram.getAvailableBytes());
+        out.append(",\"usedBytes\":").append(ram.getUsedBytes());
+        out.append(",\"swapTotalBytes\":").append(ram.getSwapTotalBytes());
+        out.append(",\"swapUsedBytes\":").append(ram.getSwapUsedBytes());
+        out.append(",\"memoryType\":");
+        string(ram.getMemoryType(), out);
+        out.append(",\"memorySpeed\":").append(ram.getMemorySpeed());
+        if (ram.hasBreakdown()) {
+            out.append(",\"breakdown\":");
+            writeBreakdown(ram.getBreakdown(), out);
+        }
+        out.append('}');
+    }
+
+    private static void writeBreakdown(MemoryBreakdown b, StringBuilder out) {
+        out.append("{\"cached\":").append(b.getCached());
+        out.append(",\"buffers\":").append(b.getBuffers());
+        out.append(",\"shmem\":").append(b.getShmem());
+        out.append(",\"slabReclaimable\":").append(b.getSlabReclaimable());
+        out.append(",\"slabUnreclaimable\":").append(b.getSlabUnreclaimable());
+        out.append(",\"dirty\":").append(b.getDirty());
+        out.append(",\"writeback\":").append(b.getWriteback());
+        out.append(",\"anon\":").append(b.getAnon());
+        out.append(",\"mapped\":").append(b.getMapped());
+        out.append(",\"hugePagesTotal\":").append(b.getHugePagesTotal());
+        out.append(",\"hugePagesFree\":").append(b.getHugePagesFree());
+        out.append(",\"hugePageSize\":").append(b.getHugePageSize());
+        out.append(",\"anonHugePages\":").append(b.getAnonHugePages());
+        out.append('}');
+    }
+
+    private static void writeDisk(DiskInfo disk, StringBuilder out) {
+        out.append("{\"name\":");
+        string(disk.getName(), out);
+        out.append(",\"model\":");
+        string(disk.getModel(), out);
+        out.append(",\"totalBytes\":").append(disk.getTotalBytes());
+        out.append(",\"usedBytes\":").append(disk.getUsedBytes());
+        out.append(",\"freeBytes\":").append(disk.getFreeBytes());
+        out.append(",\"usagePercent\":");
+        number(disk.getUsagePercent(), out);
+        out.append(",\"type\":");
+        string(disk.getType(), out);
+        out.append(",\"mountPoint\":");
+        string(disk.getMountPoint(), out);
+        out.append(",\"options\":");
+        string(disk.getOptions(), out);
+        out.append(",\"totalInodes\":").append(disk.getTotalInodes());
+        out.append(",\"freeInodes\":").append(disk.getFreeInodes());
+        out.append('}');
+    }
+
+    private static void array(double[] values, StringBuilder out) {
+        out.append('[');
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                number(values[i], out);
+            }
+        }
+        out.append(']');
+    }
+
+    private static void ints(int[] values, StringBuilder out) {
+        out.append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(values[i]);
+        }
+        out.append(']');
+    }
+
+    // json has no nan/infinity
+    private static void number(double value, StringBuilder out) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+    }
+
+    private static void string(String value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.monitoring.export;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SnapshotListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * server-sent events stream of snapshots
+ * each tick is encoded once into a shared frame; every client keeps only a
+ * cursor, so a slow client skips to the newest frame instead of queueing
+ */
+public class SseBroadcaster implements SnapshotListener {
+
+    private static final double MIN_INTERVAL_SEC = 0.1;
+    private static final double MAX_INTERVAL_SEC = 60.0;
+    private static final double DEFAULT_INTERVAL_SEC = 1.0;
+    private static final long KEEPALIVE_MS = 15_000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition frameAvailable = lock.newCondition();
+    private final AtomicInteger clientCount = new AtomicInteger();
+    private final StringBuilder json = new StringBuilder(4096);
+
+    private volatile Frame latest;
+    private volatile boolean closed = false;
+
+    private static class Frame {
+        final long sequence;
+        final byte[] bytes;
+
+        Frame(long sequence, byte[] bytes) {
+            this.sequence = sequence;
+            this.bytes = bytes;
+        }
+    }
+
+    @Override
+    public void onSnapshot(SystemSnapshot snapshot) {
+        // nobody listening, skip the encode
+        if (clientCount.get() == 0) {
+            return;
+        }
+
+        json.setLength(0);
+        json.append("data: ");
+        SnapshotJsonWriter.write(snapshot, json);
+        json.append("\n\n");
+
+        long sequence = latest != null ? latest.sequence + 1 : 1;
+        Frame frame = new Frame(sequence, json.toString().getBytes(StandardCharsets.UTF_8));
+
+        lock.lock();
+        try {
+            latest = frame;
+            frameAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getClientCount() {
+        return clientCount.get();
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            frameAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * serves one client until it disconnects
+     * runs on the server's per-connection virtual thread
+     */
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            long intervalMs = Math.round(parseInterval(exchange.getRequestURI()) * 1000);
+
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            exchange.sendResponseHeaders(200, 0);
+
+            clientCount.incrementAndGet();
+            try {
+                stream(exchange.getResponseBody(), intervalMs);
+            } finally {
+                if (clientCount.decrementAndGet() == 0) {
+                    dropStaleFrame();
+                }
+            }
+        }
+    }
+
+    private void stream(OutputStream out, long intervalMs) throws IOException {
+        long lastSent = 0;
+        long lastWrite = System.currentTimeMillis();
+        long dropped = 0;
+
+        out.write(("retry: " + intervalMs + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+
+        while (!closed) {
+            Frame frame = awaitFrame(lastSent, lastWrite + KEEPALIVE_MS);
+            if (closed) {
+                break;
+            }
+
+            if (frame == null) {
+                // comment line keeps proxies from closing an idle stream
+                out.write(": keepalive\n\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                if (lastSent > 0) {
+                    dropped += frame.sequence - lastSent - 1;
+                }
+                out.write(frame.bytes);
+                lastSent = frame.sequence;
+            }
+            out.flush();
+            lastWrite = System.currentTimeMillis();
+
+            // client rate limit, anything that arrives meanwhile is overwritten
+            if (intervalMs > 0) {
+                try {
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        if (dropped > 0) {
+            System.out.println("[sse] client closed, skipped " + dropped + " frames");
+        }
+    }
+
+    // frames stop being encoded without clients, so the last one would be
+    // handed to the next client as if it were current
+    private void dropStaleFrame() {
+        lock.lock();
+        try {
+            if (clientCount.get() == 0) {
+                latest = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Frame awaitFrame(long lastSent, long deadline) {
+        lock.lock();
+        try {
+            while (!closed) {
+                Frame frame = latest;
+                if (frame != null && frame.sequence > lastSent) {
+                    return frame;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return null;
+                }
+                frameAvailable.await(remaining, TimeUnit.MILLISECONDS);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double parseInterval(URI uri) {
+        String query = uri.getRawQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("interval=")) {
+                    try {
+                        double value = Double.parseDouble(param.substring("interval=".length()));
+                        return Math.max(MIN_INTERVAL_SEC, Math.min(MAX_INTERVAL_SEC, value));
+                    } catch (NumberFormatException e) {
+                        // fall back to default
+                    }
+                }
+            }
+        }
+        return DEFAULT_INTERVAL_SEC;
+    }
+}
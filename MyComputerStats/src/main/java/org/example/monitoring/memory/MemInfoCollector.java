@@ -0,0 +1,188 @@
+package org.example.monitoring.memory;
+
+import org.example.core.memory.MemoryBreakdown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * /proc/meminfo into a MemoryBreakdown without splitting lines
+ * the file is kept open and read into one pooled buffer. the kernel prints
+ * the fields in a fixed order, so after the first scan the byte offset of
+ * every wanted key is remembered and later reads jump straight to it,
+ * rescanning only when a key is no longer where it was
+ */
+public class MemInfoCollector {
+
+    private static final String PROC_MEMINFO = "/proc/meminfo";
+
+    private static final int CACHED = 0;
+    private static final int BUFFERS = 1;
+    private static final int SHMEM = 2;
+    private static final int SRECLAIMABLE = 3;
+    private static final int SUNRECLAIM = 4;
+    private static final int DIRTY = 5;
+    private static final int WRITEBACK = 6;
+    private static final int ANON = 7;
+    private static final int MAPPED = 8;
+    private static final int HUGE_TOTAL = 9;
+    private static final int HUGE_FREE = 10;
+    private static final int HUGE_SIZE = 11;
+    private static final int ANON_HUGE = 12;
+
+    // same order as the indices above, the colon is part of the key so "Cached" skips "SwapCached"
+    private static final byte[][] KEYS = keys(
+            "Cached:", "Buffers:", "Shmem:", "SReclaimable:", "SUnreclaim:",
+            "Dirty:", "Writeback:", "AnonPages:", "Mapped:",
+            "HugePages_Total:", "HugePages_Free:", "Hugepagesize:", "AnonHugePages:");
+
+    private RandomAccessFile file;
+    private byte[] buffer = new byte[8 * 1024];
+    private final int[] offsets = new int[KEYS.length];
+    private final long[] values = new long[KEYS.length];
+    private boolean offsetsKnown;
+
+    public MemInfoCollector() {
+        if (new File(PROC_MEMINFO).canRead()) {
+            try {
+                file = new RandomAccessFile(PROC_MEMINFO, "r");
+            } catch (IOException e) {
+                System.err.println("[ram] /proc/meminfo not readable: " + e.getMessage());
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        return file != null;
+    }
+
+    /**
+     * null when /proc/meminfo is not there (or stopped being readable)
+     */
+    public synchronized MemoryBreakdown read() {
+        if (file == null) {
+            return null;
+        }
+        int length;
+        try {
+            length = fill();
+        } catch (IOException e) {
+            System.err.println("[ram] /proc/meminfo read failed: " + e.getMessage());
+            close();
+            return null;
+        }
+
+        if (!offsetsKnown || !readAtOffsets(length)) {
+            scan(length);
+        }
+
+        // kB except the two page counts
+        return new MemoryBreakdown(
+                kb(CACHED), kb(BUFFERS), kb(SHMEM), kb(SRECLAIMABLE), kb(SUNRECLAIM),
+                kb(DIRTY), kb(WRITEBACK), kb(ANON), kb(MAPPED),
+                values[HUGE_TOTAL], values[HUGE_FREE], kb(HUGE_SIZE), kb(ANON_HUGE));
+    }
+
+    public synchronized void close() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+            file = null;
+        }
+    }
+
+    private long kb(int key) {
+        return values[key] * 1024;
+    }
+
+    private int fill() throws IOException {
+        file.seek(0);
+        int length = 0;
+        int n;
+        while ((n = file.read(buffer, length, buffer.length - length)) > 0) {
+            length += n;
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return length;
+    }
+
+    private boolean readAtOffsets(int length) {
+        for (int k = 0; k < KEYS.length; k++) {
+            int at = offsets[k];
+            // keys the kernel does not print stay at -1 and read as 0
+            if (at < 0) {
+                continue;
+            }
+            if (!matches(at, KEYS[k], length)) {
+                return false;
+            }
+            values[k] = parseNumber(at + KEYS[k].length, length);
+        }
+        return true;
+    }
+
+    private void scan(int length) {
+        Arrays.fill(offsets, -1);
+        Arrays.fill(values, 0);
+        byte[] buf = buffer;
+        int pos = 0;
+        while (pos < length) {
+            for (int k = 0; k < KEYS.length; k++) {
+                if (offsets[k] < 0 && matches(pos, KEYS[k], length)) {
+                    offsets[k] = pos;
+                    values[k] = parseNumber(pos + KEYS[k].length, length);
+                    break;
+                }
+            }
+            while (pos < length && buf[pos] != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+        offsetsKnown = true;
+    }
+
+    private boolean matches(int at, byte[] key, int length) {
+        if (at + key.length > length) {
+            return false;
+        }
+        // only at the start of a line
+        if (at > 0 && buffer[at - 1] != '\n') {
+            return false;
+        }
+        for (int j = 0; j < key.length; j++) {
+            if (buffer[at + j] != key[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseNumber(int pos, int length) {
+        byte[] buf = buffer;
+        while (pos < length && buf[pos] == ' ') {
+            pos++;
+        }
+        long value = 0;
+        while (pos < length && buf[pos] >= '0' && buf[pos] <= '9') {
+            value = value * 10 + (buf[pos++] - '0');
+        }
+        return value;
+    }
+
+    private static byte[][] keys(String... names) {
+        byte[][] result = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return result;
+    }
+}
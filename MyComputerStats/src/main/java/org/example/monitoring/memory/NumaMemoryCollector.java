@@ -0,0 +1,283 @@
+package org.example.monitoring.memory;
+
+import org.example.core.memory.NumaNodeInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * per-node memory and numastat counters from /sys/devices/system/node
+ * nodes are found once, their meminfo and numastat files stay open and are
+ * re-read into one shared byte buffer, so a sample allocates only the
+ * result list. on machines without the node directory there are no nodes
+ */
+public class NumaMemoryCollector {
+
+    private static final File NODE_ROOT = new File("/sys/devices/system/node");
+
+    // counter columns, order of the flat counter buffers
+    private static final int HIT = 0;
+    private static final int MISS = 1;
+    private static final int FOREIGN = 2;
+    private static final int LOCAL = 3;
+    private static final int OTHER = 4;
+    private static final int COUNTERS = 5;
+
+    private static final byte[][] MEM_KEYS = keys("MemTotal", "MemFree", "MemUsed");
+    private static final byte[][] STAT_KEYS = keys("numa_hit", "numa_miss", "numa_foreign", "local_node", "other_node");
+
+    private final int[] nodeIds;
+    private final int[] cpuCounts;
+    private final RandomAccessFile[] meminfo;
+    private final RandomAccessFile[] numastat;
+
+    private final long[] memory;
+    private long[] counters;
+    private long[] previous;
+    private long previousTime;
+
+    private final byte[] buffer = new byte[8 * 1024];
+
+    public NumaMemoryCollector() {
+        List<Integer> ids = new ArrayList<>();
+        String[] names = NODE_ROOT.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith("node") && name.length() > 4 && isDigits(name, 4)) {
+                    ids.add(Integer.parseInt(name.substring(4)));
+                }
+            }
+        }
+        // same order the cpu topology numbers its nodes in
+        Collections.sort(ids);
+
+        int n = ids.size();
+        nodeIds = new int[n];
+        cpuCounts = new int[n];
+        meminfo = new RandomAccessFile[n];
+        numastat = new RandomAccessFile[n];
+        memory = new long[n * MEM_KEYS.length];
+        counters = new long[n * COUNTERS];
+        previous = new long[n * COUNTERS];
+
+        for (int i = 0; i < n; i++) {
+            nodeIds[i] = ids.get(i);
+            File dir = new File(NODE_ROOT, "node" + nodeIds[i]);
+            cpuCounts[i] = countCpus(dir.toPath().resolve("cpulist"));
+            meminfo[i] = open(new File(dir, "meminfo"));
+            numastat[i] = open(new File(dir, "numastat"));
+        }
+        if (n > 0) {
+            System.out.println("[ram] numa nodes: " + n);
+        }
+    }
+
+    public boolean isAvailable() {
+        return nodeIds.length > 0;
+    }
+
+    public int getNodeCount() {
+        return nodeIds.length;
+    }
+
+    /**
+     * reads every node once. nodeLoads holds one mean load per node that has
+     * cpus, in node order, as CpuTopology.byNode gives them, or null
+     */
+    public synchronized List<NumaNodeInfo> sample(double[] nodeLoads) {
+        int n = nodeIds.length;
+        if (n == 0) {
+            return Collections.emptyList();
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            read(meminfo[i], MEM_KEYS, memory, i * MEM_KEYS.length, true);
+            read(numastat[i], STAT_KEYS, counters, i * COUNTERS, false);
+        }
+        double seconds = previousTime > 0 ? (now - previousTime) / 1e9 : 0;
+
+        List<NumaNodeInfo> nodes = new ArrayList<>(n);
+        int cpuNode = 0;
+        for (int i = 0; i < n; i++) {
+            int m = i * MEM_KEYS.length;
+            int c = i * COUNTERS;
+            double load = -1;
+            if (cpuCounts[i] > 0) {
+                if (nodeLoads != null && cpuNode < nodeLoads.length) {
+                    load = nodeLoads[cpuNode];
+                }
+                cpuNode++;
+            }
+            // meminfo is in kB
+            nodes.add(new NumaNodeInfo(nodeIds[i],
+                    memory[m] * 1024, memory[m + 1] * 1024, memory[m + 2] * 1024,
+                    counters[c + HIT], counters[c + MISS], counters[c + FOREIGN],
+                    counters[c + LOCAL], counters[c + OTHER],
+                    rate(c + HIT, seconds), rate(c + MISS, seconds), rate(c + FOREIGN, seconds),
+                    cpuCounts[i], load));
+        }
+
+        long[] swap = previous;
+        previous = counters;
+        counters = swap;
+        previousTime = now;
+        return nodes;
+    }
+
+    public synchronized void close() {
+        for (int i = 0; i < nodeIds.length; i++) {
+            closeQuietly(meminfo[i]);
+            closeQuietly(numastat[i]);
+            meminfo[i] = null;
+            numastat[i] = null;
+        }
+    }
+
+    private double rate(int index, double seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        return Math.max(0, counters[index] - previous[index]) / seconds;
+    }
+
+    /**
+     * fills target[offset + k] with the value of keys[k]. meminfo lines carry
+     * a "Node N " prefix and a trailing colon, numastat lines are "key value"
+     */
+    private void read(RandomAccessFile file, byte[][] keys, long[] target, int offset, boolean nodePrefix) {
+        if (file == null) {
+            return;
+        }
+        int length;
+        try {
+            file.seek(0);
+            length = 0;
+            int r;
+            while (length < buffer.length && (r = file.read(buffer, length, buffer.length - length)) > 0) {
+                length += r;
+            }
+        } catch (IOException e) {
+            return;
+        }
+
+        byte[] buf = buffer;
+        int pos = 0;
+        int found = 0;
+        while (pos < length && found < keys.length) {
+            int start = pos;
+            if (nodePrefix) {
+                // skip "Node" and the number
+                for (int words = 0; words < 2 && start < length; words++) {
+                    while (start < length && buf[start] != ' ') {
+                        start++;
+                    }
+                    while (start < length && buf[start] == ' ') {
+                        start++;
+                    }
+                }
+            }
+            int end = start;
+            while (end < length && buf[end] != ' ' && buf[end] != ':' && buf[end] != '\n') {
+                end++;
+            }
+
+            int key = match(buf, start, end, keys);
+            pos = end;
+            if (key >= 0) {
+                while (pos < length && (buf[pos] == ' ' || buf[pos] == ':')) {
+                    pos++;
+                }
+                long value = 0;
+                while (pos < length && buf[pos] >= '0' && buf[pos] <= '9') {
+                    value = value * 10 + (buf[pos++] - '0');
+                }
+                target[offset + key] = value;
+                found++;
+            }
+            while (pos < length && buf[pos] != '\n') {
+                pos++;
+            }
+            pos++;
+        }
+    }
+
+    private static int match(byte[] buf, int start, int end, byte[][] keys) {
+        int len = end - start;
+        for (int k = 0; k < keys.length; k++) {
+            byte[] key = keys[k];
+            if (key.length != len) {
+                continue;
+            }
+            int j = 0;
+            while (j < len && buf[start + j] == key[j]) {
+                j++;
+            }
+            if (j == len) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[][] keys(String... names) {
+        byte[][] result = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return result;
+    }
+
+    // "0-7,16-23", an empty list means a memory-only node
+    private static int countCpus(Path cpulist) {
+        try {
+            int count = 0;
+            for (String part : Files.readString(cpulist).trim().split(",")) {
+                if (part.isEmpty()) {
+                    continue;
+                }
+                int dash = part.indexOf('-');
+                count += dash < 0 ? 1
+                        : Integer.parseInt(part.substring(dash + 1)) - Integer.parseInt(part.substring(0, dash)) + 1;
+            }
+            return count;
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static RandomAccessFile open(File file) {
+        try {
+            return new RandomAccessFile(file, "r");
+        } catch (IOException e) {
+            System.err.println("[ram] could not open " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeQuietly(RandomAccessFile file) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+        }
+    }
+
+    private static boolean isDigits(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,16 +1,25 @@
 package org.example.monitoring.memory;
 
+import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuTopology;
+import org.example.core.memory.NumaNodeInfo;
 import org.example.core.memory.RamInfo;
 import oshi.SystemInfo;
 import oshi.hardware.GlobalMemory;
 import oshi.hardware.PhysicalMemory;
 
+import java.util.Collections;
 import java.util.List;
 
 public class RamMonitoringService {
 
     private final SystemInfo systemInfo;
     private final GlobalMemory memory;
+    private final MemInfoCollector memInfo = new MemInfoCollector();
+
+    // numa files are only read while a page shows them
+    private volatile boolean numaSampling;
+    private NumaMemoryCollector numaCollector;
 
     public RamMonitoringService() {
         this.systemInfo = new SystemInfo();
@@ -18,6 +27,13 @@ public class RamMonitoringService {
     }
 
     public RamInfo readRamInfo() {
+        return readRamInfo(null);
+    }
+
+    /**
+     * cpu is used to pair numa nodes with the load of their cpus, may be null
+     */
+    public RamInfo readRamInfo(CpuInfo cpu) {
         long total = memory.getTotal();
         long available = memory.getAvailable();
         long used = total - available;
@@ -28,7 +44,41 @@ public class RamMonitoringService {
         String memType = detectMemoryType();
         long memSpeed = detectMemorySpeed();
 
-        return new RamInfo(total, available, used, swapTotal, swapUsed, memType, memSpeed);
+        return new RamInfo(total, available, used, swapTotal, swapUsed, memType, memSpeed, readNumaNodes(cpu),
+                memInfo.read());
+    }
+
+    public void setNumaSampling(boolean enabled) {
+        numaSampling = enabled;
+    }
+
+    public synchronized boolean isNumaAvailable() {
+        return numaCollector().isAvailable();
+    }
+
+    public synchronized void shutdown() {
+        memInfo.close();
+        if (numaCollector != null) {
+            numaCollector.close();
+        }
+    }
+
+    private synchronized List<NumaNodeInfo> readNumaNodes(CpuInfo cpu) {
+        if (!numaSampling) {
+            return Collections.emptyList();
+        }
+        double[] nodeLoads = null;
+        if (cpu != null) {
+            nodeLoads = cpu.getTopology().byNode(cpu.getPerCoreLoads(), CpuTopology.Aggregate.MEAN);
+        }
+        return numaCollector().sample(nodeLoads);
+    }
+
+    private NumaMemoryCollector numaCollector() {
+        if (numaCollector == null) {
+            numaCollector = new NumaMemoryCollector();
+        }
+        return numaCollector;
     }
 
     private String detectMemoryType() {
@@ -0,0 +1,255 @@
+package org.example.monitoring.network;
+
+import org.example.core.network.NetworkInterfaceStats;
+import org.example.core.stats.RingSeries;
+import oshi.SystemInfo;
+import oshi.hardware.NetworkIF;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * per-interface throughput, packet, error and drop rates from counter deltas
+ * oshi's NetworkIF list is built once and each tick only refreshes the
+ * counters of those objects. every few seconds the os interface names are
+ * compared with the ones seen at the last enumeration, and only a change
+ * (hot-plug, vpn up, usb tether) re-enumerates. the same check re-reads the
+ * addresses, oshi only fills those in once. counters that step back are
+ * treated as a 32-bit wrap when that gives a plausible delta, otherwise as
+ * a reset and skipped for one tick
+ */
+public class NetworkMonitoringService {
+
+    public static final int RX_BYTES = 0;
+    public static final int TX_BYTES = 1;
+    public static final int METRICS = 2;
+
+    // five minutes at the default half-second tick
+    public static final int HISTORY = 600;
+
+    private static final long HOTPLUG_CHECK_MS = 5_000;
+    private static final long WRAP = 1L << 32;
+
+    // counter columns
+    private static final int BYTES_IN = 0;
+    private static final int BYTES_OUT = 1;
+    private static final int PACKETS_IN = 2;
+    private static final int PACKETS_OUT = 3;
+    private static final int ERRORS_IN = 4;
+    private static final int ERRORS_OUT = 5;
+    private static final int DROPS_IN = 6;
+    private static final int COUNTERS = 7;
+
+    private final SystemInfo systemInfo;
+    private final Map<String, Interface> interfaces = new LinkedHashMap<>();
+    private Set<String> osNames = Collections.emptySet();
+    private long lastHotplugCheck = 0;
+    private long lastEnumeration = 0;
+    private boolean rescan = true;
+    private List<NetworkInterfaceStats> latest = Collections.emptyList();
+
+    public NetworkMonitoringService() {
+        this(new SystemInfo());
+    }
+
+    public NetworkMonitoringService(SystemInfo systemInfo) {
+        this.systemInfo = systemInfo;
+    }
+
+    /**
+     * refreshes every interface's counters and records the rates
+     */
+    public synchronized List<NetworkInterfaceStats> sample(long timestamp) {
+        long now = System.currentTimeMillis();
+        if (now - lastHotplugCheck >= HOTPLUG_CHECK_MS) {
+            lastHotplugCheck = now;
+            Map<String, String> os = readOsInterfaces();
+            if (!os.keySet().equals(osNames)) {
+                osNames = os.keySet();
+                rescan = true;
+            }
+            // dhcp renewals and vpn routes change addresses without touching the names
+            for (Interface iface : interfaces.values()) {
+                String addresses = os.get(iface.nif.getName());
+                if (addresses != null) {
+                    iface.addresses = addresses;
+                }
+            }
+        }
+        // an interface that keeps failing must not turn into a full enumeration every tick
+        if (rescan && (interfaces.isEmpty() || now - lastEnumeration >= HOTPLUG_CHECK_MS)) {
+            enumerate();
+            lastEnumeration = now;
+            rescan = false;
+        }
+
+        List<NetworkInterfaceStats> result = new ArrayList<>(interfaces.size());
+        for (Interface iface : interfaces.values()) {
+            if (!iface.nif.updateAttributes()) {
+                // gone or unreadable, look again next tick
+                rescan = true;
+                continue;
+            }
+            result.add(iface.sample(timestamp));
+        }
+        latest = Collections.unmodifiableList(result);
+        return latest;
+    }
+
+    public synchronized List<NetworkInterfaceStats> getLatest() {
+        return latest;
+    }
+
+    /**
+     * copy of one metric's history for an interface, oldest first, empty for unknown interfaces
+     */
+    public synchronized double[] getHistory(String name, int metric) {
+        Interface iface = interfaces.get(name);
+        if (iface == null) {
+            return new double[0];
+        }
+        RingSeries series = iface.history[metric];
+        double[] copy = new double[series.size()];
+        for (int k = 0; k < copy.length; k++) {
+            copy[k] = series.getValue(k);
+        }
+        return copy;
+    }
+
+    /**
+     * sample times matching getHistory, in milliseconds
+     */
+    public synchronized long[] getHistoryTimes(String name) {
+        Interface iface = interfaces.get(name);
+        if (iface == null) {
+            return new long[0];
+        }
+        RingSeries series = iface.history[RX_BYTES];
+        long[] times = new long[series.size()];
+        for (int k = 0; k < times.length; k++) {
+            times[k] = series.getTime(k);
+        }
+        return times;
+    }
+
+    // keeps the counters and history of interfaces that are still there
+    private void enumerate() {
+        Map<String, Interface> previous = new LinkedHashMap<>(interfaces);
+        interfaces.clear();
+        for (NetworkIF nif : systemInfo.getHardware().getNetworkIFs(false)) {
+            Interface iface = previous.remove(nif.getName());
+            if (iface == null) {
+                iface = new Interface();
+            }
+            iface.nif = nif;
+            iface.addresses = null;
+            interfaces.put(nif.getName(), iface);
+        }
+        System.out.println("[network] watching " + interfaces.size() + " interfaces " + interfaces.keySet());
+    }
+
+    // interface name to its addresses, ipv4 first and without the ipv6 scope like oshi lists them
+    private static Map<String, String> readOsInterfaces() {
+        Map<String, String> result = new HashMap<>();
+        try {
+            var all = NetworkInterface.getNetworkInterfaces();
+            while (all != null && all.hasMoreElements()) {
+                NetworkInterface ni = all.nextElement();
+                List<String> v4 = new ArrayList<>();
+                List<String> v6 = new ArrayList<>();
+                for (InetAddress address : Collections.list(ni.getInetAddresses())) {
+                    if (address instanceof Inet4Address) {
+                        v4.add(address.getHostAddress());
+                    } else {
+                        v6.add(address.getHostAddress().split("%")[0]);
+                    }
+                }
+                v4.addAll(v6);
+                result.put(ni.getName(), String.join(", ", v4));
+            }
+        } catch (SocketException e) {
+            System.err.println("[network] could not list interfaces: " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * counter delta, allowing for one 32-bit wrap. a bigger step back means
+     * the counter was reset (driver reload, interface re-created)
+     */
+    static long delta(long current, long previous) {
+        if (current >= previous) {
+            return current - previous;
+        }
+        if (previous < WRAP) {
+            long wrapped = current + WRAP - previous;
+            if (wrapped < WRAP / 2) {
+                return wrapped;
+            }
+        }
+        return -1;
+    }
+
+    private static class Interface {
+        NetworkIF nif;
+        final RingSeries[] history = new RingSeries[METRICS];
+        final long[] previous = new long[COUNTERS];
+        final long[] current = new long[COUNTERS];
+        final double[] rates = new double[COUNTERS];
+        long previousStamp = 0;
+        String addresses;
+
+        Interface() {
+            for (int m = 0; m < METRICS; m++) {
+                history[m] = new RingSeries(HISTORY);
+            }
+        }
+
+        NetworkInterfaceStats sample(long timestamp) {
+            current[BYTES_IN] = nif.getBytesRecv();
+            current[BYTES_OUT] = nif.getBytesSent();
+            current[PACKETS_IN] = nif.getPacketsRecv();
+            current[PACKETS_OUT] = nif.getPacketsSent();
+            current[ERRORS_IN] = nif.getInErrors();
+            current[ERRORS_OUT] = nif.getOutErrors();
+            current[DROPS_IN] = nif.getInDrops();
+            long stamp = nif.getTimeStamp();
+
+            if (previousStamp > 0 && stamp > previousStamp) {
+                double seconds = (stamp - previousStamp) / 1000.0;
+                for (int c = 0; c < COUNTERS; c++) {
+                    long d = delta(current[c], previous[c]);
+                    // a reset shows as a zero rate for this one tick
+                    rates[c] = d >= 0 ? d / seconds : 0;
+                }
+                history[RX_BYTES].add(timestamp, rates[BYTES_IN]);
+                history[TX_BYTES].add(timestamp, rates[BYTES_OUT]);
+            }
+            if (stamp > previousStamp) {
+                System.arraycopy(current, 0, previous, 0, COUNTERS);
+                previousStamp = stamp;
+            }
+
+            if (addresses == null) {
+                List<String> all = new ArrayList<>();
+                Collections.addAll(all, nif.getIPv4addr());
+                Collections.addAll(all, nif.getIPv6addr());
+                addresses = String.join(", ", all);
+            }
+            return new NetworkInterfaceStats(nif.getName(), nif.getDisplayName(), nif.getMacaddr(), addresses,
+                    nif.getSpeed(), nif.getIfOperStatus() == NetworkIF.IfOperStatus.UP,
+                    rates[BYTES_IN], rates[BYTES_OUT], rates[PACKETS_IN], rates[PACKETS_OUT],
+                    rates[ERRORS_IN], rates[ERRORS_OUT], rates[DROPS_IN],
+                    current[BYTES_IN], current[BYTES_OUT], current[ERRORS_IN], current[ERRORS_OUT], current[DROPS_IN]);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.monitoring.pressure;
+
+import org.example.core.pressure.PressureStall;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * reads /proc/pressure/{cpu,memory,io} once per tick
+ * files stay open and are parsed from one reused buffer. besides the
+ * kernel's 10s/60s/300s averages the stall rate over our own interval is
+ * worked out from the microsecond totals, so short stalls between the
+ * kernel's 2s updates still show. kernels without psi give nulls
+ */
+public class PressureCollector {
+
+    public static final int CPU = 0;
+    public static final int MEMORY = 1;
+    public static final int IO = 2;
+
+    private static final String[] FILES = {"/proc/pressure/cpu", "/proc/pressure/memory", "/proc/pressure/io"};
+
+    // avg10, avg60, avg300 per line
+    private static final int AVERAGES = 3;
+
+    private final RandomAccessFile[] files = new RandomAccessFile[FILES.length];
+    private final byte[] buffer = new byte[512];
+
+    // [resource][some, full]
+    private final double[][] averages = new double[2][AVERAGES];
+    private final long[] totals = new long[2];
+    private final long[][] previousTotals = new long[FILES.length][2];
+    private final long[] previousTime = new long[FILES.length];
+
+    private final PressureStall[] latest = new PressureStall[FILES.length];
+
+    public PressureCollector() {
+        int opened = 0;
+        for (int i = 0; i < FILES.length; i++) {
+            File file = new File(FILES[i]);
+            if (!file.canRead()) {
+                continue;
+            }
+            try {
+                files[i] = new RandomAccessFile(file, "r");
+                opened++;
+            } catch (IOException e) {
+                System.err.println("[psi] could not open " + file + ": " + e.getMessage());
+            }
+        }
+        if (opened > 0) {
+            System.out.println("[psi] reading pressure for " + opened + " resources");
+        }
+    }
+
+    public synchronized void sample() {
+        long now = System.nanoTime();
+        for (int r = 0; r < FILES.length; r++) {
+            if (files[r] == null) {
+                continue;
+            }
+            if (!read(r)) {
+                latest[r] = null;
+                continue;
+            }
+
+            double someRate = 0;
+            double fullRate = 0;
+            if (previousTime[r] > 0) {
+                double elapsedUs = (now - previousTime[r]) / 1000.0;
+                if (elapsedUs > 0) {
+                    someRate = clamp((totals[0] - previousTotals[r][0]) / elapsedUs);
+                    fullRate = clamp((totals[1] - previousTotals[r][1]) / elapsedUs);
+                }
+            }
+            previousTotals[r][0] = totals[0];
+            previousTotals[r][1] = totals[1];
+            previousTime[r] = now;
+
+            latest[r] = new PressureStall(
+                    averages[0][0], averages[0][1], averages[0][2], totals[0], someRate,
+                    averages[1][0], averages[1][1], averages[1][2], totals[1], fullRate);
+        }
+    }
+
+    /**
+     * latest reading for CPU, MEMORY or IO, null without psi
+     */
+    public synchronized PressureStall get(int resource) {
+        return latest[resource];
+    }
+
+    public synchronized void close() {
+        for (int i = 0; i < files.length; i++) {
+            if (files[i] != null) {
+                try {
+                    files[i].close();
+                } catch (IOException e) {
+                    // nothing to do
+                }
+                files[i] = null;
+            }
+        }
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0, Math.min(1, rate));
+    }
+
+    // "some avg10=0.00 avg60=0.00 avg300=0.00 total=0\nfull avg10=..."
+    private boolean read(int resource) {
+        int length = 0;
+        try {
+            RandomAccessFile file = files[resource];
+            file.seek(0);
+            int n;
+            while (length < buffer.length && (n = file.read(buffer, length, buffer.length - length)) > 0) {
+                length += n;
+            }
+        } catch (IOException e) {
+            // psi can be switched off at runtime (psi=0 or cgroup setups), stop trying
+            System.err.println("[psi] " + FILES[resource] + " read failed: " + e.getMessage());
+            try {
+                files[resource].close();
+            } catch (IOException ignored) {
+                // nothing to do
+            }
+            files[resource] = null;
+            return false;
+        }
+
+        for (int line = 0; line < 2; line++) {
+            totals[line] = 0;
+            for (int a = 0; a < AVERAGES; a++) {
+                averages[line][a] = 0;
+            }
+        }
+
+        byte[] buf = buffer;
+        int pos = 0;
+        while (pos < length) {
+            int line = buf[pos] == 's' ? 0 : buf[pos] == 'f' ? 1 : -1;
+            int field = 0;
+            while (pos < length && buf[pos] != '\n') {
+                if (buf[pos] != '=') {
+                    pos++;
+                    continue;
+                }
+                pos++;
+                if (line < 0) {
+                    continue;
+                }
+                if (field < AVERAGES) {
+                    // fixed two decimals, "12.34"
+                    long whole = 0;
+                    while (pos < length && buf[pos] >= '0' && buf[pos] <= '9') {
+                        whole = whole * 10 + (buf[pos++] - '0');
+                    }
+                    double fraction = 0;
+                    double scale = 0.1;
+                    if (pos < length && buf[pos] == '.') {
+                        pos++;
+                        while (pos < length && buf[pos] >= '0' && buf[pos] <= '9') {
+                            fraction += (buf[pos++] - '0') * scale;
+                            scale /= 10;
+                        }
+                    }
+                    averages[line][field] = whole + fraction;
+                } else {
+                    long total = 0;
+                    while (pos < length && buf[pos] >= '0' && buf[pos] <= '9') {
+                        total = total * 10 + (buf[pos++] - '0');
+                    }
+                    totals[line] = total;
+                }
+                field++;
+            }
+            pos++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.monitoring.recording;
+
+public enum RecordingFormat {
+    CSV(".csv"),
+    JSONL(".jsonl");
+
+    private final String extension;
+
+    RecordingFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static RecordingFormat fromName(String name) {
+        for (RecordingFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return JSONL;
+    }
+}
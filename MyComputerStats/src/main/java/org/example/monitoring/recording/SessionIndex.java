@@ -0,0 +1,131 @@
+package org.example.monitoring.recording;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * sparse (timestamp, byte offset) table of a recording
+ * seeking does a binary search here and then reads at most one index
+ * interval of lines, so seek cost does not grow with the file length
+ */
+public class SessionIndex {
+
+    private final long[] timestamps;
+    private final long[] offsets;
+
+    private SessionIndex(long[] timestamps, long[] offsets) {
+        this.timestamps = timestamps;
+        this.offsets = offsets;
+    }
+
+    /**
+     * reads the .idx written next to the recording
+     * without one, plain files are indexed with a single pass and gzip files
+     * can only be read from the start
+     */
+    public static SessionIndex load(Path dataFile, RecordingFormat format, boolean gzip) throws IOException {
+        Path indexFile = Path.of(dataFile + SessionRecorder.INDEX_EXTENSION);
+        if (Files.exists(indexFile)) {
+            return readIndexFile(indexFile);
+        }
+        if (gzip) {
+            System.out.println("[replay] no index for " + dataFile.getFileName() + ", seeking will scan");
+            return new SessionIndex(new long[] { Long.MIN_VALUE }, new long[] { 0 });
+        }
+        return scan(dataFile, format);
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public long getTimestamp(int i) {
+        return timestamps[i];
+    }
+
+    public long getOffset(int i) {
+        return offsets[i];
+    }
+
+    /**
+     * offset of the last index point at or before the timestamp
+     */
+    public long offsetFor(long timestamp) {
+        int i = Arrays.binarySearch(timestamps, timestamp);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return offsets[Math.max(0, i)];
+    }
+
+    private static SessionIndex readIndexFile(Path indexFile) throws IOException {
+        int entries = (int) (Files.size(indexFile) / 16);
+        long[] timestamps = new long[entries];
+        long[] offsets = new long[entries];
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            for (int i = 0; i < entries; i++) {
+                timestamps[i] = in.readLong();
+                offsets[i] = in.readLong();
+            }
+        } catch (EOFException e) {
+            // recorder was killed mid-write, keep what is complete
+        }
+
+        if (entries == 0) {
+            return new SessionIndex(new long[] { Long.MIN_VALUE }, new long[] { 0 });
+        }
+        return new SessionIndex(timestamps, offsets);
+    }
+
+    private static SessionIndex scan(Path dataFile, RecordingFormat format) throws IOException {
+        long[] timestamps = new long[64];
+        long[] offsets = new long[64];
+        int count = 0;
+        long lastIndexed = Long.MIN_VALUE / 2;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dataFile), 64 * 1024)) {
+            StringBuilder prefix = new StringBuilder(64);
+            long offset = 0;
+            long lineStart = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b != '\n') {
+                    // the timestamp is near the start of the line, no need to keep the rest
+                    if (prefix.length() < 64) {
+                        prefix.append((char) b);
+                    }
+                    continue;
+                }
+
+                long ts = prefix.length() > 0
+                        ? SnapshotLineParser.peekTimestamp(prefix.toString(), format)
+                        : -1;
+                if (ts >= 0 && ts - lastIndexed >= SessionRecorder.INDEX_INTERVAL_MS) {
+                    if (count == timestamps.length) {
+                        timestamps = Arrays.copyOf(timestamps, count * 2);
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    timestamps[count] = ts;
+                    offsets[count] = lineStart;
+                    count++;
+                    lastIndexed = ts;
+                }
+                prefix.setLength(0);
+                lineStart = offset;
+            }
+        }
+
+        if (count == 0) {
+            return new SessionIndex(new long[] { Long.MIN_VALUE }, new long[] { 0 });
+        }
+        return new SessionIndex(Arrays.copyOf(timestamps, count), Arrays.copyOf(offsets, count));
+    }
+}
@@ -0,0 +1,383 @@
+package org.example.monitoring.recording;
+
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SamplingScheduler;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * replays a recording through the sampling scheduler's listeners
+ * pages, charts and stats get the same snapshots they would get live
+ *
+ * a single player thread reads lines and sleeps between them according to
+ * the recorded timestamps divided by the speed multiplier
+ */
+public class SessionPlayer {
+
+    // longer gaps (recorder restarted, machine asleep) are not waited out
+    private static final long MAX_GAP_MS = 5_000;
+
+    private final Path file;
+    private final RecordingFormat format;
+    private final boolean gzip;
+    private final SessionIndex index;
+    private final SamplingScheduler sampler;
+    private final long startTimestamp;
+    private final long endTimestamp;
+
+    private final Object lock = new Object();
+    private boolean playing = false;
+    private boolean closed = false;
+    private double speed = 1.0;
+    private long seekTarget = -1;
+    private int generation = 0;
+
+    private volatile long position;
+    private volatile LongConsumer positionListener;
+    private volatile Runnable endListener;
+    // player thread only
+    private int skippedLines = 0;
+    private Thread thread;
+
+    private SessionPlayer(Path file, SamplingScheduler sampler) throws IOException {
+        this.file = file;
+        this.sampler = sampler;
+
+        String name = file.getFileName().toString();
+        this.gzip = name.endsWith(".gz");
+        String base = gzip ? name.substring(0, name.length() - 3) : name;
+        this.format = base.endsWith(RecordingFormat.CSV.getExtension()) ? RecordingFormat.CSV : RecordingFormat.JSONL;
+
+        this.index = SessionIndex.load(file, format, gzip);
+        this.startTimestamp = readFirstTimestamp();
+        this.endTimestamp = Math.max(startTimestamp, readLastTimestamp());
+        this.position = startTimestamp;
+    }
+
+    public static SessionPlayer open(Path file, SamplingScheduler sampler) throws IOException {
+        SessionPlayer player = new SessionPlayer(file, sampler);
+        if (player.startTimestamp < 0) {
+            throw new IOException("no samples in " + file.getFileName());
+        }
+        System.out.printf("[replay] %s, %d index points, %.0f s%n", file.getFileName(),
+                player.index.size(), (player.endTimestamp - player.startTimestamp) / 1000.0);
+        return player;
+    }
+
+    /**
+     * suspends live sampling and shows the first sample
+     */
+    public void start() {
+        sampler.beginReplay();
+        thread = new Thread(this::run, "SessionPlayer");
+        thread.setDaemon(true);
+        seek(startTimestamp);
+        thread.start();
+    }
+
+    public void play() {
+        synchronized (lock) {
+            if (position >= endTimestamp) {
+                // finished, play again from the top
+                seekTarget = startTimestamp;
+            }
+            playing = true;
+            generation++;
+            lock.notifyAll();
+        }
+    }
+
+    public void pause() {
+        synchronized (lock) {
+            playing = false;
+            generation++;
+            lock.notifyAll();
+        }
+    }
+
+    public void seek(long timestamp) {
+        synchronized (lock) {
+            seekTarget = Math.max(startTimestamp, Math.min(endTimestamp, timestamp));
+            position = seekTarget;
+            generation++;
+            lock.notifyAll();
+        }
+    }
+
+    public void setSpeed(double speed) {
+        synchronized (lock) {
+            this.speed = Math.max(0.1, speed);
+            generation++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * stops the player thread and hands the pages back to live sampling
+     */
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            if (thread != null) {
+                thread.join(2_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sampler.endReplay();
+    }
+
+    public boolean isPlaying() {
+        synchronized (lock) {
+            return playing;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    public long getEndTimestamp() {
+        return endTimestamp;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * called on the player thread after every published sample
+     */
+    public void setPositionListener(LongConsumer listener) {
+        this.positionListener = listener;
+    }
+
+    /**
+     * called on the player thread when the end of the recording is reached
+     */
+    public void setEndListener(Runnable listener) {
+        this.endListener = listener;
+    }
+
+    private void run() {
+        BufferedReader reader = null;
+        SystemSnapshot pending = null;
+        long anchorWall = 0;
+        long anchorTs = 0;
+        int anchoredGeneration = -1;
+
+        try {
+            while (true) {
+                long target;
+                double currentSpeed;
+                int currentGeneration;
+                synchronized (lock) {
+                    while (!closed && !playing && seekTarget < 0) {
+                        lock.wait();
+                    }
+                    if (closed) {
+                        break;
+                    }
+                    target = seekTarget;
+                    seekTarget = -1;
+                    currentSpeed = speed;
+                    currentGeneration = generation;
+                }
+
+                if (target >= 0) {
+                    if (reader != null) {
+                        reader.close();
+                    }
+                    reader = openAt(index.offsetFor(target));
+                    pending = skipTo(reader, target);
+
+                    // show the seeked frame right away, even when paused
+                    sampler.resetListeners();
+                    if (pending != null) {
+                        publish(pending);
+                        pending = null;
+                    }
+                    anchoredGeneration = -1;
+                    continue;
+                }
+
+                if (pending == null) {
+                    pending = readNext(reader);
+                    if (pending == null) {
+                        finished();
+                        continue;
+                    }
+                }
+
+                // re-anchor after play, seek or a speed change so timing restarts from here
+                boolean gap = pending.getTimestamp() - position > MAX_GAP_MS;
+                if (anchoredGeneration != currentGeneration || gap) {
+                    anchorWall = System.currentTimeMillis();
+                    anchorTs = gap ? pending.getTimestamp() : Math.min(position, pending.getTimestamp());
+                    anchoredGeneration = currentGeneration;
+                }
+
+                long due = anchorWall + (long) ((pending.getTimestamp() - anchorTs) / currentSpeed);
+                synchronized (lock) {
+                    long remaining;
+                    while (!closed && generation == currentGeneration
+                            && (remaining = due - System.currentTimeMillis()) > 0) {
+                        lock.wait(remaining);
+                    }
+                    if (closed || generation != currentGeneration) {
+                        // paused, seeked or sped up while waiting, keep the sample for later
+                        continue;
+                    }
+                }
+
+                publish(pending);
+                pending = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[replay] playback failed: " + e.getMessage());
+            // let the bar and the sampler leave replay instead of sitting in "playing"
+            finished();
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // nothing left to do
+                }
+            }
+        }
+    }
+
+    private void publish(SystemSnapshot snapshot) {
+        position = snapshot.getTimestamp();
+        sampler.publishReplay(snapshot);
+        LongConsumer listener = positionListener;
+        if (listener != null) {
+            listener.accept(position);
+        }
+    }
+
+    private void finished() {
+        if (skippedLines > 1) {
+            System.err.println("[replay] skipped " + skippedLines + " unreadable lines");
+        }
+        skippedLines = 0;
+        synchronized (lock) {
+            playing = false;
+            generation++;
+        }
+        position = endTimestamp;
+        Runnable listener = endListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    private SystemSnapshot readNext(BufferedReader reader) throws IOException {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SystemSnapshot snapshot = parseOrSkip(line);
+                if (snapshot != null) {
+                    return snapshot;
+                }
+            }
+        } catch (EOFException e) {
+            // truncated last gzip member, treat as the end
+        }
+        return null;
+    }
+
+    // only the timestamp is looked at until the target is reached
+    private SystemSnapshot skipTo(BufferedReader reader, long target) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long ts = SnapshotLineParser.peekTimestamp(line, format);
+            if (ts >= target) {
+                SystemSnapshot snapshot = parseOrSkip(line);
+                if (snapshot != null) {
+                    return snapshot;
+                }
+            }
+        }
+        return null;
+    }
+
+    // a corrupt or cut-off line is dropped like a truncated gzip tail
+    private SystemSnapshot parseOrSkip(String line) {
+        try {
+            return SnapshotLineParser.parse(line, format);
+        } catch (RuntimeException e) {
+            skippedLines++;
+            if (skippedLines == 1) {
+                System.err.println("[replay] skipping unreadable line: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private BufferedReader openAt(long offset) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(offset);
+        InputStream in = Channels.newInputStream(channel);
+        if (gzip) {
+            // every index point starts a new member, and GZIPInputStream reads on across members
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private long readFirstTimestamp() throws IOException {
+        try (BufferedReader reader = openAt(0)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long ts = SnapshotLineParser.peekTimestamp(line, format);
+                if (ts >= 0) {
+                    return ts;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // only the last index interval has to be read
+    private long readLastTimestamp() throws IOException {
+        long last = -1;
+        try (BufferedReader reader = openAt(index.getOffset(index.size() - 1))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long ts = SnapshotLineParser.peekTimestamp(line, format);
+                if (ts >= 0) {
+                    last = ts;
+                }
+            }
+        } catch (IOException e) {
+            // a recording still being written may end in a truncated gzip member
+            System.err.println("[replay] " + e.getMessage());
+        }
+        return last;
+    }
+}
@@ -0,0 +1,282 @@
+package org.example.monitoring.recording;
+
+import org.example.core.settings.AppSettings;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.export.SnapshotJsonWriter;
+import org.example.monitoring.sink.SnapshotSink;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * writes every snapshot to csv or json-lines on its own thread
+ * the sampler only does a non-blocking offer, a full queue drops the sample
+ *
+ * next to each data file a sparse .idx file holds (timestamp, byte offset)
+ * pairs. with gzip every index point starts a new gzip member, so a reader
+ * can seek to any indexed offset and inflate from there
+ */
+public class SessionRecorder implements SnapshotSink {
+
+    public static final String INDEX_EXTENSION = ".idx";
+    public static final long INDEX_INTERVAL_MS = 10_000;
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int MAX_BATCH = 256;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final RecordingFormat format;
+    private final boolean gzip;
+    private final Path directory;
+    private final long rotateBytes;
+    private final long rotateMillis;
+
+    private final BlockingQueue<SystemSnapshot> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final StringBuilder text = new StringBuilder(64 * 1024);
+
+    private volatile boolean running = false;
+    private volatile Path currentFile;
+    private Thread writerThread;
+
+    // writer thread state
+    private FileChannel channel;
+    private GZIPOutputStream gzipStream;
+    private DataOutputStream indexStream;
+    private long fileOpenedAt;
+    private long lastIndexAt;
+
+    public SessionRecorder(AppSettings settings) {
+        this.format = RecordingFormat.fromName(settings.getRecordingFormat());
+        this.gzip = settings.isRecordingGzip();
+        this.directory = Path.of(settings.getRecordingDirectory());
+        this.rotateBytes = settings.getRecordingRotateMb() * 1024L * 1024L;
+        this.rotateMillis = settings.getRecordingRotateMinutes() * 60_000L;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        Files.createDirectories(directory);
+        openFile(System.currentTimeMillis());
+
+        running = true;
+        writerThread = new Thread(this::writeLoop, "SessionRecorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        System.out.println("[recorder] recording to " + currentFile);
+    }
+
+    @Override
+    public void onSnapshot(SystemSnapshot snapshot) {
+        if (running && !queue.offer(snapshot)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.printf("[recorder] stopped, %d samples written, %d dropped%n",
+                written.get(), dropped.get());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Path getCurrentFile() {
+        return currentFile;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        List<SystemSnapshot> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                SystemSnapshot first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("[recorder] write failed: " + e.getMessage());
+            running = false;
+        } finally {
+            try {
+                closeFile();
+            } catch (IOException e) {
+                System.err.println("[recorder] close failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeBatch(List<SystemSnapshot> batch) throws IOException {
+        for (SystemSnapshot snapshot : batch) {
+            long ts = snapshot.getTimestamp();
+
+            if (shouldRotate(ts)) {
+                flushText();
+                closeFile();
+                openFile(ts);
+            }
+            if (ts - lastIndexAt >= INDEX_INTERVAL_MS) {
+                flushText();
+                addIndexPoint(ts);
+            }
+
+            if (format == RecordingFormat.CSV) {
+                SnapshotCsvWriter.write(snapshot, text);
+            } else {
+                SnapshotJsonWriter.write(snapshot, text);
+            }
+            text.append('\n');
+        }
+        flushText();
+        written.addAndGet(batch.size());
+    }
+
+    private boolean shouldRotate(long ts) throws IOException {
+        if (rotateMillis > 0 && ts - fileOpenedAt >= rotateMillis) {
+            return true;
+        }
+        return rotateBytes > 0 && channel.size() >= rotateBytes;
+    }
+
+    // one write per batch, straight to the channel unless gzip wraps it
+    private void flushText() throws IOException {
+        if (text.length() == 0) {
+            return;
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        text.setLength(0);
+
+        if (gzipStream != null) {
+            gzipStream.write(bytes);
+        } else {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private void addIndexPoint(long ts) throws IOException {
+        if (gzip && gzipStream != null) {
+            // close the running member so the next one starts at a known offset
+            gzipStream.finish();
+        }
+        long offset = channel.position();
+        if (gzip) {
+            // the member header is written here, so the offset is taken first
+            gzipStream = new GZIPOutputStream(new ChannelStream(channel), 64 * 1024);
+        }
+        indexStream.writeLong(ts);
+        indexStream.writeLong(offset);
+        indexStream.flush();
+        lastIndexAt = ts;
+    }
+
+    private void openFile(long ts) throws IOException {
+        String base = "session-" + LocalDateTime.now().format(FILE_TIME);
+        String extension = format.getExtension() + (gzip ? ".gz" : "");
+        Path file = directory.resolve(base + extension);
+        for (int i = 1; Files.exists(file); i++) {
+            file = directory.resolve(base + "-" + i + extension);
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        indexStream = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(Path.of(file + INDEX_EXTENSION))));
+        fileOpenedAt = ts;
+        currentFile = file;
+
+        // header sits before the first index point so every member is pure data
+        if (format == RecordingFormat.CSV) {
+            text.append(SnapshotCsvWriter.HEADER).append('\n');
+            if (gzip) {
+                gzipStream = new GZIPOutputStream(new ChannelStream(channel), 64 * 1024);
+                flushText();
+                gzipStream.finish();
+                gzipStream = null;
+            } else {
+                flushText();
+            }
+        }
+        lastIndexAt = Long.MIN_VALUE / 2;
+    }
+
+    private void closeFile() throws IOException {
+        if (gzipStream != null) {
+            gzipStream.finish();
+            gzipStream = null;
+        }
+        if (indexStream != null) {
+            indexStream.close();
+            indexStream = null;
+        }
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // lets gzip write into the channel without closing it on finish
+    private static class ChannelStream extends FilterOutputStream {
+        ChannelStream(FileChannel channel) {
+            super(Channels.newOutputStream(channel));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
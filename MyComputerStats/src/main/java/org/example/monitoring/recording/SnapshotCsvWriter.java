@@ -0,0 +1,64 @@
+package org.example.monitoring.recording;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.memory.RamInfo;
+import org.example.core.snapshot.SystemSnapshot;
+
+/**
+ * flat csv row per snapshot
+ * per-core arrays go into one ';' separated column so the column count
+ * does not depend on the core count
+ */
+public final class SnapshotCsvWriter {
+
+    public static final String HEADER = "timestamp,load,temperature,averageTemperature,clockSpeed,maxClockSpeed,"
+            + "packagePower,thermalThrottle,powerThrottle,contextSwitchesPerSec,interruptsPerSec,"
+            + "processCount,threadCount,ramTotalBytes,ramAvailableBytes,ramUsedBytes,"
+            + "swapTotalBytes,swapUsedBytes,perCoreLoads,perCoreTemperatures,perCoreFrequencies,perCoreVoltages";
+
+    private SnapshotCsvWriter() {
+    }
+
+    public static void write(SystemSnapshot snapshot, StringBuilder out) {
+        CpuInfo cpu = snapshot.getCpu();
+        RamInfo ram = snapshot.getRam();
+
+        out.append(snapshot.getTimestamp()).append(',');
+        out.append(cpu.getLoad()).append(',');
+        out.append(cpu.getTemperature()).append(',');
+        out.append(cpu.getAverageTemperature()).append(',');
+        out.append(cpu.getClockSpeed()).append(',');
+        out.append(cpu.getMaxClockSpeed()).append(',');
+        out.append(snapshot.getPackagePower()).append(',');
+        out.append(snapshot.isThermalThrottle() ? 1 : 0).append(',');
+        out.append(snapshot.isPowerThrottle() ? 1 : 0).append(',');
+        out.append(snapshot.getContextSwitchesPerSec()).append(',');
+        out.append(snapshot.getInterruptsPerSec()).append(',');
+        out.append(snapshot.getProcessCount()).append(',');
+        out.append(snapshot.getThreadCount()).append(',');
+        out.append(ram.getTotalBytes()).append(',');
+        out.append(ram.getAvailableBytes()).append(',');
+        out.append(ram.getUsedBytes()).append(',');
+        out.append(ram.getSwapTotalBytes()).append(',');
+        out.append(ram.getSwapUsedBytes()).append(',');
+        array(cpu.getPerCoreLoads(), out);
+        out.append(',');
+        array(cpu.getPerCoreTemperatures(), out);
+        out.append(',');
+        array(cpu.getPerCoreFrequencies(), out);
+        out.append(',');
+        array(cpu.getPerCoreVoltages(), out);
+    }
+
+    private static void array(double[] values, StringBuilder out) {
+        if (values == null) {
+            return;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(';');
+            }
+            out.append(values[i]);
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package org.example.monitoring.recording;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuTopology;
+import org.example.core.disk.DiskInfo;
+import org.example.core.memory.MemoryBreakdown;
+import org.example.core.memory.RamInfo;
+import org.example.core.pressure.PressureStall;
+import org.example.core.snapshot.SystemSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * turns one recorded line back into a snapshot
+ * json lines restore everything, csv rows only what the csv columns carry
+ */
+public final class SnapshotLineParser {
+
+    private SnapshotLineParser() {
+    }
+
+    /**
+     * returns null for blank lines and the csv header
+     */
+    public static SystemSnapshot parse(String line, RecordingFormat format) {
+        if (line == null || line.isBlank()) {
+            return null;
+        }
+        if (format == RecordingFormat.CSV) {
+            // header and anything else that does not start with a timestamp
+            return Character.isDigit(line.charAt(0)) ? parseCsv(line) : null;
+        }
+        return parseJson(line);
+    }
+
+    /**
+     * reads just the leading timestamp, enough for seeking without a full parse
+     */
+    public static long peekTimestamp(String line, RecordingFormat format) {
+        int start;
+        if (format == RecordingFormat.CSV) {
+            start = 0;
+        } else {
+            int key = line.indexOf("\"timestamp\":");
+            if (key < 0) {
+                return -1;
+            }
+            start = key + "\"timestamp\":".length();
+        }
+        long value = 0;
+        int i = start;
+        while (i < line.length() && Character.isDigit(line.charAt(i))) {
+            value = value * 10 + (line.charAt(i) - '0');
+            i++;
+        }
+        return i > start ? value : -1;
+    }
+
+    // ---- json ----
+
+    @SuppressWarnings("unchecked")
+    private static SystemSnapshot parseJson(String line) {
+        Map<String, Object> root = (Map<String, Object>) new JsonParser(line).parseValue();
+
+        Map<String, Object> cpu = (Map<String, Object>) root.get("cpu");
+        CpuInfo cpuInfo = new CpuInfo(
+                str(cpu, "brand"), str(cpu, "model"),
+                (int) num(cpu, "physicalCores"), (int) num(cpu, "logicalCores"),
+                num(cpu, "clockSpeed"), num(cpu, "maxClockSpeed"), num(cpu, "load"),
+                doubles(cpu, "perCoreLoads"),
+                num(cpu, "temperature"), doubles(cpu, "perCoreTemperatures"),
+                doubles(cpu, "perCoreFrequencies"), num(cpu, "averageTemperature"),
+                str(cpu, "temperatureSource"), strings(cpu, "coreTypes"),
+                doubles(cpu, "perCoreVoltages"), doubles(cpu, "perCoreMaxTemps"),
+                doubles(cpu, "perCoreStates"), topology((Map<String, Object>) cpu.get("topology")));
+
+        Map<String, Object> ram = (Map<String, Object>) root.get("ram");
+        RamInfo ramInfo = new RamInfo(
+                (long) num(ram, "totalBytes"), (long) num(ram, "availableBytes"),
+                (long) num(ram, "usedBytes"), (long) num(ram, "swapTotalBytes"),
+                (long) num(ram, "swapUsedBytes"), str(ram, "memoryType"),
+                (long) num(ram, "memorySpeed"), null,
+                breakdown((Map<String, Object>) ram.get("breakdown")));
+
+        List<DiskInfo> disks = new ArrayList<>();
+        Object diskList = root.get("disks");
+        if (diskList instanceof List) {
+            for (Object item : (List<Object>) diskList) {
+                Map<String, Object> disk = (Map<String, Object>) item;
+                disks.add(new DiskInfo(str(disk, "name"), str(disk, "model"),
+                        (long) num(disk, "totalBytes"), (long) num(disk, "usedBytes"),
+                        (long) num(disk, "freeBytes"), num(disk, "usagePercent"),
+                        str(disk, "type"), str(disk, "mountPoint"), str(disk, "options"),
+                        (long) num(disk, "totalInodes"), (long) num(disk, "freeInodes")));
+            }
+        }
+
+        return new SystemSnapshot((long) num(root, "timestamp"), cpuInfo, ramInfo, disks,
+                num(root, "packagePower"),
+                bool(root, "thermalThrottle"), bool(root, "powerThrottle"),
+                num(root, "contextSwitchesPerSec"), num(root, "interruptsPerSec"),
+                (int) num(root, "processCount"), (int) num(root, "threadCount"),
+                pressure(root, "cpu"), pressure(root, "memory"), pressure(root, "io"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PressureStall pressure(Map<String, Object> root, String resource) {
+        Object pressure = root.get("pressure");
+        if (!(pressure instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> map = (Map<String, Object>) ((Map<String, Object>) pressure).get(resource);
+        if (map == null) {
+            return null;
+        }
+        return new PressureStall(
+                num(map, "someAvg10"), num(map, "someAvg60"), num(map, "someAvg300"),
+                (long) num(map, "someTotalUs"), num(map, "someRate"),
+                num(map, "fullAvg10"), num(map, "fullAvg60"), num(map, "fullAvg300"),
+                (long) num(map, "fullTotalUs"), num(map, "fullRate"));
+    }
+
+    // older recordings have none, CpuInfo then treats every thread as a core
+    private static CpuTopology topology(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        int[] core = ints(map, "core");
+        int[] pkg = ints(map, "package");
+        int[] node = ints(map, "node");
+        if (core == null || pkg == null || node == null || core.length != pkg.length || core.length != node.length) {
+            return null;
+        }
+        return new CpuTopology(core, pkg, node);
+    }
+
+    private static MemoryBreakdown breakdown(Map<String, Object> map) {
+        if (map == null) {
+            return null;
+        }
+        return new MemoryBreakdown(
+                (long) num(map, "cached"), (long) num(map, "buffers"), (long) num(map, "shmem"),
+                (long) num(map, "slabReclaimable"), (long) num(map, "slabUnreclaimable"),
+                (long) num(map, "dirty"), (long) num(map, "writeback"),
+                (long) num(map, "anon"), (long) num(map, "mapped"),
+                (long) num(map, "hugePagesTotal"), (long) num(map, "hugePagesFree"),
+                (long) num(map, "hugePageSize"), (long) num(map, "anonHugePages"));
+    }
+
+    private static int[] ints(Map<String, Object> map, String key) {
+        double[] values = doubles(map, key);
+        if (values == null) {
+            return null;
+        }
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (int) values[i];
+        }
+        return result;
+    }
+
+    private static double num(Map<String, Object> map, String key) {
+        Object value = map != null ? map.get(key) : null;
+        return value instanceof Double ? (Double) value : 0.0;
+    }
+
+    private static boolean bool(Map<String, Object> map, String key) {
+        return Boolean.TRUE.equals(map.get(key));
+    }
+
+    private static String str(Map<String, Object> map, String key) {
+        Object value = map != null ? map.get(key) : null;
+        return value instanceof String ? (String) value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double[] doubles(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<Object> list = (List<Object>) value;
+        double[] result = new double[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            Object item = list.get(i);
+            // null was written for nan
+            result[i] = item instanceof Double ? (Double) item : Double.NaN;
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String[] strings(Map<String, Object> map, String key) {
+        Object value = map.get(key);
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<Object> list = (List<Object>) value;
+        String[] result = new String[list.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = list.get(i) instanceof String ? (String) list.get(i) : "?";
+        }
+        return result;
+    }
+
+    // ---- csv ----
+
+    private static SystemSnapshot parseCsv(String line) {
+        String[] f = line.split(",", -1);
+        double[] loads = csvArray(f[18]);
+        double[] temps = csvArray(f[19]);
+        int cores = Math.max(1, loads.length);
+
+        CpuInfo cpu = new CpuInfo("Unknown", "Recorded session", cores, cores,
+                d(f[4]), d(f[5]), d(f[1]),
+                loads, d(f[2]), temps,
+                csvArray(f[20]), d(f[3]), "Recording",
+                null, csvArray(f[21]), null);
+
+        RamInfo ram = new RamInfo((long) d(f[13]), (long) d(f[14]), (long) d(f[15]),
+                (long) d(f[16]), (long) d(f[17]), "N/A", 0);
+
+        return new SystemSnapshot(Long.parseLong(f[0]), cpu, ram, Collections.emptyList(),
+                d(f[6]), "1".equals(f[7]), "1".equals(f[8]),
+                d(f[9]), d(f[10]), (int) d(f[11]), (int) d(f[12]));
+    }
+
+    private static double d(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private static double[] csvArray(String value) {
+        if (value.isEmpty()) {
+            return new double[0];
+        }
+        String[] parts = value.split(";");
+        double[] result = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = d(parts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * just enough json for what SnapshotJsonWriter produces
+     * numbers come back as Double, objects as Map, arrays as List
+     */
+    private static class JsonParser {
+        private final String text;
+        private int pos;
+
+        JsonParser(String text) {
+            this.text = text;
+        }
+
+        Object parseValue() {
+            skipWhitespace();
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return parseObject();
+                case '[':
+                    return parseArray();
+                case '"':
+                    return parseString();
+                case 't':
+                    pos += 4;
+                    return Boolean.TRUE;
+                case 'f':
+                    pos += 5;
+                    return Boolean.FALSE;
+                case 'n':
+                    pos += 4;
+                    return null;
+                default:
+                    return parseNumber();
+            }
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> map = new HashMap<>();
+            pos++;
+            skipWhitespace();
+            if (text.charAt(pos) == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                map.put(key, parseValue());
+                skipWhitespace();
+                if (text.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> parseArray() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (text.charAt(pos) == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(parseValue());
+                skipWhitespace();
+                if (text.charAt(pos) == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            }
+        }
+
+        private Double parseNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("unexpected '" + text.charAt(pos) + "' at " + pos);
+            }
+            return Double.parseDouble(text.substring(start, pos));
+        }
+
+        private void expect(char c) {
+            if (text.charAt(pos) != c) {
+                throw new IllegalArgumentException("expected '" + c + "' at " + pos);
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.monitoring.sink;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.memory.RamInfo;
+import org.example.core.pressure.PressureStall;
+import org.example.core.snapshot.SystemSnapshot;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * one summary line per snapshot, to stdout or an appended log file
+ */
+public class LogSnapshotSink implements SnapshotSink {
+
+    private final PrintStream out;
+    private final boolean ownsStream;
+
+    public LogSnapshotSink(PrintStream out) {
+        this.out = out;
+        this.ownsStream = false;
+    }
+
+    public LogSnapshotSink(String path) throws IOException {
+        this.out = new PrintStream(new FileOutputStream(path, true), true);
+        this.ownsStream = true;
+    }
+
+    @Override
+    public void onSnapshot(SystemSnapshot snapshot) {
+        CpuInfo cpu = snapshot.getCpu();
+        RamInfo ram = snapshot.getRam();
+
+        out.printf("[snapshot] %d | cpu: %.1f%% %.2f ghz %.0fc %.1fw%s | ram: %.1f%% | swap: %.1f%% | disks: %d%s%n",
+                snapshot.getTimestamp(),
+                cpu.getLoadPercentage(), cpu.getClockSpeed(), cpu.getTemperature(), snapshot.getPackagePower(),
+                snapshot.isThermalThrottle() ? " (throttling)" : "",
+                ram.getUsagePercent(), ram.getSwapUsagePercent(),
+                snapshot.getDisks().size(), pressure(snapshot));
+    }
+
+    // some-stall share of the last interval, only where the kernel has psi
+    private static String pressure(SystemSnapshot snapshot) {
+        PressureStall cpu = snapshot.getCpuPressure();
+        PressureStall memory = snapshot.getMemoryPressure();
+        PressureStall io = snapshot.getIoPressure();
+        if (cpu == null && memory == null && io == null) {
+            return "";
+        }
+        return String.format(" | psi: cpu %.1f%% mem %.1f%% io %.1f%%",
+                cpu != null ? cpu.getSomeRate() * 100 : 0,
+                memory != null ? memory.getSomeRate() * 100 : 0,
+                io != null ? io.getSomeRate() * 100 : 0);
+    }
+
+    @Override
+    public void close() {
+        if (ownsStream) {
+            out.close();
+        } else {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.monitoring.sink;
+
+import org.example.monitoring.SnapshotListener;
+
+/**
+ * a snapshot listener that owns an output and must be closed on shutdown
+ */
+public interface SnapshotSink extends SnapshotListener {
+    void close();
+}
@@ -7,18 +7,30 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.stage.FileChooser;
+import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
+import org.example.core.settings.SettingsManager;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.recording.SessionPlayer;
+import org.example.monitoring.recording.SessionRecorder;
 import org.example.ui.cpu.CpuPageController;
+import org.example.ui.disk.DiskPageController;
+import org.example.ui.network.NetworkPageController;
 import org.example.ui.ram.RamPageController;
+import org.example.ui.replay.PlaybackBar;
 import oshi.SystemInfo;
 import oshi.software.os.OperatingSystem;
 
+import java.io.File;
 import java.io.IOException;
 
 public class MainLayoutController {
 
+    @FXML
+    private BorderPane rootPane;
     @FXML
     private StackPane contentArea;
     @FXML
@@ -37,11 +49,20 @@ public class MainLayoutController {
     private Label systemInfoLabel;
     @FXML
     private Label uptimeLabel;
+    @FXML
+    private Button recordButton;
+    @FXML
+    private Label recordingStatusLabel;
+    @FXML
+    private Button replayButton;
 
     private Button currentActiveButton;
     private SystemInfo systemInfo;
     private Timeline uptimeTimeline;
     private Object currentController;
+    private SessionRecorder recorder;
+    private Timeline recordingStatusTimeline;
+    private SessionPlayer player;
 
     @FXML
     public void initialize() {
@@ -90,7 +111,7 @@ public class MainLayoutController {
 
     @FXML
     private void showNetworkPage() {
-        showPlaceholder("Network Monitor - Coming Soon", "🌐", networkButton);
+        loadPage("/ui/fxml/network_page.fxml", networkButton);
     }
 
     @FXML
@@ -173,6 +194,10 @@ public class MainLayoutController {
             ((CpuPageController) currentController).stopMonitoring();
         } else if (currentController instanceof RamPageController) {
             ((RamPageController) currentController).stopMonitoring();
+        } else if (currentController instanceof DiskPageController) {
+            ((DiskPageController) currentController).stopMonitoring();
+        } else if (currentController instanceof NetworkPageController) {
+            ((NetworkPageController) currentController).stopMonitoring();
         }
     }
 
@@ -181,13 +206,121 @@ public class MainLayoutController {
             ((CpuPageController) currentController).startMonitoring();
         } else if (currentController instanceof RamPageController) {
             ((RamPageController) currentController).startMonitoring();
+        } else if (currentController instanceof DiskPageController) {
+            ((DiskPageController) currentController).startMonitoring();
+        } else if (currentController instanceof NetworkPageController) {
+            ((NetworkPageController) currentController).startMonitoring();
+        }
+    }
+
+    @FXML
+    private void toggleRecording() {
+        if (recorder != null) {
+            stopRecording();
+            return;
+        }
+
+        SessionRecorder newRecorder = new SessionRecorder(SettingsManager.getInstance().getSettings());
+        try {
+            newRecorder.start();
+        } catch (IOException e) {
+            System.err.println("[recorder] failed to start: " + e.getMessage());
+            recordingStatusLabel.setText("Recording failed: " + e.getMessage());
+            return;
+        }
+        recorder = newRecorder;
+        SamplingScheduler.getInstance().addLiveListener(recorder);
+
+        recordButton.setText("⏹  Stop Recording");
+        recordButton.setStyle("-fx-text-fill: #ff6b6b;");
+        recordingStatusTimeline = new Timeline(
+                new KeyFrame(Duration.seconds(1), event -> updateRecordingStatus()));
+        recordingStatusTimeline.setCycleCount(Timeline.INDEFINITE);
+        recordingStatusTimeline.play();
+        updateRecordingStatus();
+    }
+
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        SamplingScheduler.getInstance().removeLiveListener(recorder);
+        recorder.close();
+        recordingStatusTimeline.stop();
+
+        recordingStatusLabel.setText("Saved " + recorder.getWrittenCount() + " samples");
+        recordButton.setText("⏺  Record");
+        recordButton.setStyle("");
+        recorder = null;
+    }
+
+    private void updateRecordingStatus() {
+        if (recorder == null || recorder.getCurrentFile() == null) {
+            return;
+        }
+        if (!recorder.isRunning()) {
+            // writer thread gave up on an io error
+            stopRecording();
+            recordingStatusLabel.setText("Recording stopped (write error)");
+            return;
+        }
+        String text = recorder.getCurrentFile().getFileName() + "\n" + recorder.getWrittenCount() + " samples";
+        if (recorder.getDroppedCount() > 0) {
+            text += ", " + recorder.getDroppedCount() + " dropped";
+        }
+        recordingStatusLabel.setText(text);
+    }
+
+    @FXML
+    private void openReplay() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Open Recorded Session");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                "Recorded sessions", "*.jsonl", "*.jsonl.gz", "*.csv", "*.csv.gz"));
+        File directory = new File(SettingsManager.getInstance().getSettings().getRecordingDirectory());
+        if (directory.isDirectory()) {
+            chooser.setInitialDirectory(directory);
+        }
+
+        File file = chooser.showOpenDialog(rootPane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        closeReplay();
+        // a recorder would otherwise write the replayed samples back out
+        stopRecording();
+        try {
+            player = SessionPlayer.open(file.toPath(), SamplingScheduler.getInstance());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[replay] failed to open " + file + ": " + e.getMessage());
+            recordingStatusLabel.setText("Cannot replay: " + e.getMessage());
+            return;
+        }
+
+        rootPane.setBottom(new PlaybackBar(player, this::closeReplay));
+        replayButton.setDisable(true);
+        recordButton.setDisable(true);
+        player.start();
+    }
+
+    private void closeReplay() {
+        if (player == null) {
+            return;
         }
+        player.close();
+        player = null;
+        rootPane.setBottom(null);
+        replayButton.setDisable(false);
+        recordButton.setDisable(false);
     }
 
     public void shutdown() {
         if (uptimeTimeline != null) {
             uptimeTimeline.stop();
         }
+        closeReplay();
+        stopRecording();
         stopCurrentPageMonitoring();
     }
 }
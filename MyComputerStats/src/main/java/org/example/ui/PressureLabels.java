@@ -0,0 +1,38 @@
+package org.example.ui;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import org.example.core.pressure.PressureStall;
+
+/**
+ * fills a label with one resource's stall rates, shared by the cpu and ram pages
+ * the label hides itself when the kernel has no psi
+ */
+public final class PressureLabels {
+
+    private PressureLabels() {
+    }
+
+    public static void show(Label label, String resource, PressureStall stall) {
+        boolean available = stall != null;
+        if (label.isVisible() != available) {
+            label.setVisible(available);
+            label.setManaged(available);
+        }
+        if (!available) {
+            return;
+        }
+
+        label.setText(resource + " stall: " + stall.describeRates());
+        double some = stall.getSomeRate();
+        String color = some >= 0.25 ? "#ff5555" : some >= 0.05 ? "#ffb800" : "-color-text-secondary";
+        label.setStyle(label.getStyle().replaceAll("-fx-text-fill:[^;]*;", "") + "-fx-text-fill: " + color + ";");
+
+        Tooltip tooltip = label.getTooltip();
+        if (tooltip == null) {
+            tooltip = new Tooltip();
+            label.setTooltip(tooltip);
+        }
+        tooltip.setText(stall.describeAverages());
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.ui.cpu;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.example.core.container.CgroupInfo;
+import org.example.monitoring.container.CgroupCollector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * cgroups ranked by cpu throttling or by memory headroom
+ * shows the top ROWS groups, the labels are reused between refreshes
+ */
+public class CgroupPanel extends VBox {
+
+    private static final int ROWS = 10;
+    private static final String[] HEADERS = {
+            "Cgroup", "CPU", "Throttled", "Throttle Time", "Memory", "Headroom", "OOM Kills", "IO R/W"
+    };
+    private static final String TOGGLE_STYLE = "-fx-font-size: 11px; -fx-cursor: hand; -fx-background-radius: 15; -fx-padding: 4 12;";
+
+    private final CgroupCollector collector;
+    private final ToggleButton byThrottling = new ToggleButton("Throttling");
+    private final ToggleButton byHeadroom = new ToggleButton("Memory Headroom");
+    private final Label statusLabel = new Label();
+    private final GridPane grid = new GridPane();
+    private final List<Label[]> rows = new ArrayList<>();
+
+    public CgroupPanel(CgroupCollector collector) {
+        this.collector = collector;
+        this.setSpacing(8);
+        this.setAlignment(Pos.CENTER);
+        this.setPadding(new Insets(5, 10, 5, 10));
+
+        ToggleGroup order = new ToggleGroup();
+        byThrottling.setToggleGroup(order);
+        byHeadroom.setToggleGroup(order);
+        byThrottling.setSelected(true);
+        // keep one selected
+        order.selectedToggleProperty().addListener((obs, oldT, newT) -> {
+            if (newT == null) {
+                oldT.setSelected(true);
+            }
+            styleToggles();
+            refresh();
+        });
+        styleToggles();
+
+        statusLabel.getStyleClass().add("info-label");
+        statusLabel.setStyle("-fx-font-size: 11px;");
+
+        Label rankLabel = new Label("Rank by");
+        rankLabel.getStyleClass().add("info-label");
+        HBox toolbar = new HBox(10, rankLabel, byThrottling, byHeadroom, statusLabel);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+
+        grid.setHgap(18);
+        grid.setVgap(6);
+        for (int c = 0; c < HEADERS.length; c++) {
+            Label header = new Label(HEADERS[c]);
+            header.getStyleClass().add("info-label");
+            header.setStyle("-fx-font-weight: bold;");
+            grid.add(header, c, 0);
+        }
+
+        this.getChildren().addAll(toolbar, grid);
+    }
+
+    /**
+     * redraws from the collector's latest refresh
+     */
+    public void refresh() {
+        List<CgroupInfo> ranked = collector.rank(
+                byHeadroom.isSelected() ? CgroupInfo.BY_HEADROOM : CgroupInfo.BY_THROTTLING, ROWS);
+        statusLabel.setText(collector.getWatchedCount() + " cgroups watched");
+
+        while (rows.size() < ranked.size()) {
+            addRow();
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            Label[] row = rows.get(i);
+            boolean used = i < ranked.size();
+            for (Label cell : row) {
+                cell.setVisible(used);
+                cell.setManaged(used);
+            }
+            if (used) {
+                fill(row, ranked.get(i));
+            }
+        }
+    }
+
+    private void addRow() {
+        int r = rows.size() + 1;
+        Label[] row = new Label[HEADERS.length];
+        for (int c = 0; c < row.length; c++) {
+            row[c] = new Label();
+            row[c].getStyleClass().add("value-label");
+            row[c].setStyle("-fx-font-size: 12px;");
+            grid.add(row[c], c, r);
+        }
+        row[0].setMaxWidth(260);
+        row[0].setTooltip(new Tooltip());
+        rows.add(row);
+    }
+
+    private void fill(Label[] row, CgroupInfo info) {
+        row[0].setText(info.getName());
+        row[0].getTooltip().setText(info.getPath());
+        row[1].setText(String.format("%.2f cores", info.getCpuRate()));
+        row[2].setText(String.format("%.0f%% (%d)", info.getThrottledRatio() * 100, info.getNrThrottled()));
+        row[2].setStyle("-fx-font-size: 12px; -fx-text-fill: " + (info.getThrottledRatio() >= 0.1 ? "#ff5555" : "white") + ";");
+        row[3].setText(String.format("%.0f ms/s", info.getThrottledRate() * 1000));
+        row[4].setText(info.hasMemoryLimit()
+                ? formatBytes(info.getMemoryCurrent()) + " / " + formatBytes(info.getMemoryMax())
+                : formatBytes(info.getMemoryCurrent()));
+        row[5].setText(info.hasMemoryLimit()
+                ? String.format("%.0f%%", info.getHeadroomRatio() * 100)
+                : "no limit");
+        row[5].setStyle("-fx-font-size: 12px; -fx-text-fill: " + (info.getHeadroomRatio() < 0.1 ? "#ff5555" : "white") + ";");
+        row[6].setText(String.valueOf(info.getOomKills()));
+        row[7].setText(formatBytes((long) info.getIoReadRate()) + "/s · " + formatBytes((long) info.getIoWriteRate()) + "/s");
+    }
+
+    private void styleToggles() {
+        for (ToggleButton button : new ToggleButton[]{byThrottling, byHeadroom}) {
+            button.setStyle(TOGGLE_STYLE + (button.isSelected()
+                    ? "-fx-background-color: #00f2ff; -fx-text-fill: black;"
+                    : "-fx-background-color: #333; -fx-text-fill: #aaa;"));
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        if (bytes < 1024L * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        }
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+}
@@ -3,9 +3,16 @@ package org.example.ui.cpu;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import org.example.core.cpu.CpuClusterStats;
 import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuTopology;
+import org.example.core.cpu.CpuTopology.Aggregate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +24,14 @@ public class CpuCoreTable extends VBox {
     private SortField currentSortField = SortField.CORE;
     private boolean sortAscending = true;
 
+    // one row per physical core instead of per thread, siblings aggregated
+    private boolean perPhysical = false;
+    private final ToggleButton physicalToggle = new ToggleButton("Per Core");
+    private final Label topologyLabel = new Label();
+    // only shown on hybrid cpus
+    private final Label clusterLabel = new Label();
+    private CpuInfo lastInfo;
+
     private enum SortField {
         CORE, TYPE, TEMP, MAX, LOAD, FREQ, VOLT
     }
@@ -42,7 +57,47 @@ public class CpuCoreTable extends VBox {
                 createHeaderLabel("Volt", SortField.VOLT, widths[6]));
 
         rowsContainer = new VBox(0);
-        this.getChildren().addAll(header, rowsContainer);
+        clusterLabel.setStyle("-fx-font-size: 13px; -fx-text-fill: -color-text-primary; -fx-padding: 0 0 8 0;");
+        clusterLabel.setVisible(false);
+        clusterLabel.setManaged(false);
+
+        this.getChildren().addAll(createToolbar(), clusterLabel, header, rowsContainer);
+    }
+
+    // topology summary, thread/core switch and the colors of the stacked load bars
+    private HBox createToolbar() {
+        HBox legend = new HBox(15);
+        legend.setAlignment(Pos.CENTER_RIGHT);
+        legend.setPadding(new Insets(0, 0, 8, 0));
+
+        topologyLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: -color-text-secondary;");
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        physicalToggle.setVisible(false);
+        physicalToggle.setManaged(false);
+        physicalToggle.setOnAction(e -> {
+            perPhysical = physicalToggle.isSelected();
+            updateToggleStyle();
+            if (lastInfo != null) {
+                update(lastInfo);
+            }
+        });
+        updateToggleStyle();
+        legend.getChildren().addAll(topologyLabel, spacer, physicalToggle);
+
+        for (LoadStateGroup group : LoadStateGroup.values()) {
+            Region swatch = new Region();
+            swatch.setMinSize(10, 10);
+            swatch.setMaxSize(10, 10);
+            swatch.setStyle("-fx-background-color: " + group.getColor() + "; -fx-background-radius: 2;");
+            Label label = new Label(group.getLabel());
+            label.setStyle("-fx-font-size: 11px; -fx-text-fill: -color-text-secondary;");
+            HBox item = new HBox(5, swatch, label);
+            item.setAlignment(Pos.CENTER_LEFT);
+            legend.getChildren().add(item);
+        }
+        return legend;
     }
 
     private Label createHeaderLabel(String text, SortField field, double percentWidth) {
@@ -67,17 +122,25 @@ public class CpuCoreTable extends VBox {
     }
 
     public void update(CpuInfo info) {
-        int coreCount = info.getLogicalCores();
-
-        if (rows.size() != coreCount) {
-            rows.clear();
-            rowsContainer.getChildren().clear();
-            for (int i = 0; i < coreCount; i++) {
-                CoreRow row = new CoreRow(i, this);
-                rows.add(row);
-                rowsContainer.getChildren().add(row);
-            }
+        lastInfo = info;
+        CpuTopology topology = info.getTopology();
+        boolean smt = topology.hasSmt();
+        physicalToggle.setVisible(smt);
+        physicalToggle.setManaged(smt);
+        topologyLabel.setText(describeTopology(info, topology));
+        updateClusters(info);
+
+        if (perPhysical && smt) {
+            updatePhysical(info, topology);
+        } else {
+            updateLogical(info);
         }
+        sortRows();
+    }
+
+    private void updateLogical(CpuInfo info) {
+        int coreCount = info.getLogicalCores();
+        ensureRows(coreCount);
 
         double[] loads = info.getPerCoreLoads();
         double[] temps = info.getPerCoreTemperatures();
@@ -89,17 +152,124 @@ public class CpuCoreTable extends VBox {
         for (int i = 0; i < coreCount; i++) {
             CoreRow row = rows.get(i);
             row.index = i;
+            row.physical = false;
             row.type = (types != null && i < types.length) ? types[i] : "?";
             row.load = (loads != null && i < loads.length) ? loads[i] : 0;
             row.temp = (temps != null && i < temps.length) ? temps[i] : 0;
             row.maxTemp = (maxTemps != null && i < maxTemps.length) ? maxTemps[i] : 0;
             row.freq = (freqs != null && i < freqs.length) ? freqs[i] : 0;
             row.volt = (volts != null && i < volts.length) ? volts[i] : 0;
+            row.hasStates = info.hasLoadStates();
+            for (LoadStateGroup group : LoadStateGroup.values()) {
+                row.states[group.ordinal()] = info.hasLoadStates() ? group.fraction(info, i) : 0;
+            }
 
             row.updateDisplay();
         }
+    }
 
-        sortRows();
+    // loads and state shares average over siblings, sensor values take the max
+    private void updatePhysical(CpuInfo info, CpuTopology topology) {
+        int coreCount = topology.getPhysicalCount();
+        ensureRows(coreCount);
+
+        double[] loads = topology.byPhysicalCore(info.getPerCoreLoads(), Aggregate.MEAN);
+        double[] temps = topology.byPhysicalCore(info.getPerCoreTemperatures(), Aggregate.MAX);
+        double[] freqs = topology.byPhysicalCore(info.getPerCoreFrequencies(), Aggregate.MAX);
+        double[] volts = topology.byPhysicalCore(info.getPerCoreVoltages(), Aggregate.MAX);
+        double[] maxTemps = topology.byPhysicalCore(info.getPerCoreMaxTemps(), Aggregate.MAX);
+
+        String[] types = new String[coreCount];
+        String[] logicalTypes = info.getCoreTypes();
+        for (int i = Math.min(logicalTypes.length, topology.getLogicalCount()) - 1; i >= 0; i--) {
+            types[topology.getPhysicalCore(i)] = logicalTypes[i];
+        }
+
+        double[][] states = new double[LoadStateGroup.values().length][];
+        if (info.hasLoadStates()) {
+            double[] perLogical = new double[info.getLogicalCores()];
+            for (LoadStateGroup group : LoadStateGroup.values()) {
+                for (int i = 0; i < perLogical.length; i++) {
+                    perLogical[i] = group.fraction(info, i);
+                }
+                states[group.ordinal()] = topology.byPhysicalCore(perLogical, Aggregate.MEAN);
+            }
+        }
+
+        for (int i = 0; i < coreCount; i++) {
+            CoreRow row = rows.get(i);
+            row.index = i;
+            row.physical = true;
+            row.type = types[i] != null ? types[i] : "?";
+            row.load = loads[i];
+            row.temp = temps[i];
+            row.maxTemp = maxTemps[i];
+            row.freq = freqs[i];
+            row.volt = volts[i];
+            row.hasStates = info.hasLoadStates();
+            for (LoadStateGroup group : LoadStateGroup.values()) {
+                row.states[group.ordinal()] = info.hasLoadStates() ? states[group.ordinal()][i] : 0;
+            }
+
+            row.updateDisplay();
+        }
+    }
+
+    // packages and numa nodes only get their own numbers when there is more than one
+    private String describeTopology(CpuInfo info, CpuTopology topology) {
+        StringBuilder sb = new StringBuilder(topology.describe());
+        if (topology.getPackageCount() > 1) {
+            double[] loads = topology.byPackage(info.getPerCoreLoads(), Aggregate.MEAN);
+            double[] temps = topology.byPackage(info.getPerCoreTemperatures(), Aggregate.MAX);
+            for (int p = 0; p < loads.length; p++) {
+                sb.append(String.format("  |  Pkg%d %.0f%% %.0f°C", p, loads[p] * 100, temps[p]));
+            }
+        }
+        if (topology.getNodeCount() > 1) {
+            double[] loads = topology.byNode(info.getPerCoreLoads(), Aggregate.MEAN);
+            for (int n = 0; n < loads.length; n++) {
+                sb.append(String.format("  |  Node%d %.0f%%", n, loads[n] * 100));
+            }
+        }
+        return sb.toString();
+    }
+
+    // tells at a glance whether work is landing on e-cores
+    private void updateClusters(CpuInfo info) {
+        List<CpuClusterStats> clusters = CpuClusterStats.of(info);
+        boolean hybrid = clusters.size() > 1;
+        clusterLabel.setVisible(hybrid);
+        clusterLabel.setManaged(hybrid);
+        if (!hybrid) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (CpuClusterStats cluster : clusters) {
+            if (sb.length() > 0) {
+                sb.append("     ");
+            }
+            sb.append(String.format("%s-cores (%d): %.0f%%  %.2f GHz  %.0f°C", cluster.getType(),
+                    cluster.getThreads(), cluster.getLoad() * 100, cluster.getFrequency(), cluster.getTemperature()));
+        }
+        clusterLabel.setText(sb.toString());
+    }
+
+    private void updateToggleStyle() {
+        String base = "-fx-background-radius: 15; -fx-padding: 3 12; -fx-font-size: 11px; -fx-cursor: hand;";
+        physicalToggle.setStyle(perPhysical ? "-fx-background-color: #00f2ff; -fx-text-fill: black; " + base
+                : "-fx-background-color: #333; -fx-text-fill: #888; " + base);
+    }
+
+    private void ensureRows(int coreCount) {
+        if (rows.size() != coreCount) {
+            rows.clear();
+            rowsContainer.getChildren().clear();
+            for (int i = 0; i < coreCount; i++) {
+                CoreRow row = new CoreRow(i, this);
+                rows.add(row);
+                rowsContainer.getChildren().add(row);
+            }
+        }
     }
 
     private void sortRows() {
@@ -149,13 +319,21 @@ public class CpuCoreTable extends VBox {
         }
     }
 
+    private static final double LOAD_BAR_WIDTH = 80;
+
     private static class CoreRow extends HBox {
         int index;
+        boolean physical;
         String type;
         double load, temp, maxTemp, freq, volt;
+        boolean hasStates;
+        final double[] states = new double[LoadStateGroup.values().length];
         CpuCoreTable parentTable;
 
         private final Label lblCore, lblType, lblTemp, lblMax, lblLoad, lblFreq, lblVolt;
+        private final VBox loadCell;
+        private final HBox loadBar;
+        private final Region[] loadSegments = new Region[LoadStateGroup.values().length];
 
         private final double[] widths = { 0.1, 0.1, 0.15, 0.15, 0.15, 0.2, 0.15 };
 
@@ -178,7 +356,44 @@ public class CpuCoreTable extends VBox {
             lblFreq = createLabel("-color-accent-primary", widths[5], parent, valueStyle);
             lblVolt = createLabel("-color-accent-warning", widths[6], parent, valueStyle);
 
-            this.getChildren().addAll(lblCore, lblType, lblTemp, lblMax, lblLoad, lblFreq, lblVolt);
+            // load text over a bar stacked by state
+            loadBar = new HBox(0);
+            loadBar.setMaxWidth(LOAD_BAR_WIDTH);
+            loadBar.setMinHeight(4);
+            loadBar.setMaxHeight(4);
+            loadBar.setStyle("-fx-background-color: rgba(255,255,255,0.08);");
+            for (LoadStateGroup group : LoadStateGroup.values()) {
+                Region segment = new Region();
+                segment.setMinWidth(0);
+                segment.setStyle("-fx-background-color: " + group.getColor() + ";");
+                loadSegments[group.ordinal()] = segment;
+                loadBar.getChildren().add(segment);
+            }
+            lblLoad.prefWidthProperty().unbind();
+            loadCell = new VBox(3, lblLoad, loadBar);
+            loadCell.setAlignment(Pos.CENTER);
+            loadCell.prefWidthProperty().bind(parent.widthProperty().multiply(widths[4]));
+            loadCell.setMaxWidth(Double.MAX_VALUE);
+
+            Tooltip breakdown = new Tooltip();
+            breakdown.setOnShowing(e -> breakdown.setText(describeStates()));
+            Tooltip.install(loadCell, breakdown);
+
+            this.getChildren().addAll(lblCore, lblType, lblTemp, lblMax, loadCell, lblFreq, lblVolt);
+        }
+
+        private String describeStates() {
+            if (!hasStates) {
+                return "No per-state data";
+            }
+            StringBuilder sb = new StringBuilder();
+            for (LoadStateGroup group : LoadStateGroup.values()) {
+                if (sb.length() > 0) {
+                    sb.append('\n');
+                }
+                sb.append(String.format("%-8s %5.1f%%", group.getLabel(), states[group.ordinal()] * 100));
+            }
+            return sb.toString();
         }
 
         private Label createLabel(String colorVar, double percent, CpuCoreTable parent, String extraStyle) {
@@ -192,7 +407,7 @@ public class CpuCoreTable extends VBox {
         }
 
         public void updateDisplay() {
-            lblCore.setText("C" + index);
+            lblCore.setText(physical ? "Core " + index : "C" + index);
             lblType.setText(type);
 
             // temp with gradient
@@ -214,6 +429,12 @@ public class CpuCoreTable extends VBox {
             }
 
             lblLoad.setText(String.format("%.0f%%", load * 100));
+            loadBar.setVisible(hasStates);
+            for (int s = 0; s < loadSegments.length; s++) {
+                double width = Math.max(0, Math.min(1, states[s])) * LOAD_BAR_WIDTH;
+                loadSegments[s].setPrefWidth(width);
+                loadSegments[s].setMaxWidth(width);
+            }
             lblFreq.setText(String.format("%.2f GHz", freq));
             lblVolt.setText(String.format("%.3fV", volt));
         }
@@ -0,0 +1,256 @@
+package org.example.ui.cpu;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.example.core.cpu.CpuInfo;
+import org.example.core.settings.AppSettings;
+import org.example.ui.cpu.manager.CpuChartManager.ChartMode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * time x core spectrogram
+ * one pixel per core per sample, image is a ring buffer so each sample
+ * only writes a single column and the two image views rotate their viewports
+ */
+public class CpuHeatmap extends VBox {
+
+    private static final int ROW_HEIGHT = 8;
+    private static final int MIN_COLUMNS = 60;
+    private static final int MAX_COLUMNS = 1200;
+
+    private static final double TEMP_MIN = 30.0;
+    private static final double TEMP_MAX = 100.0;
+
+    private static final int EMPTY_PIXEL = 0xFF14161F;
+    private static final int[] PALETTE = buildPalette();
+
+    private final HBox imageRow;
+    private final ImageView olderView = new ImageView();
+    private final ImageView newerView = new ImageView();
+    private final Label topCoreLabel = new Label("C0");
+    private final Label bottomCoreLabel = new Label("");
+    private final ToggleButton btnLoad = new ToggleButton("Load");
+    private final ToggleButton btnTemp = new ToggleButton("Temp");
+
+    private ChartMode mode = ChartMode.LOAD;
+    private int columns = 120;
+    private int cores = 0;
+    private int cursor = -1;
+
+    // one ring per mode so switching keeps history
+    private HeatmapLayer loadLayer;
+    private HeatmapLayer tempLayer;
+
+    public CpuHeatmap() {
+        this.setSpacing(4);
+        this.setPadding(new Insets(5, 10, 5, 10));
+
+        olderView.setSmooth(false);
+        newerView.setSmooth(false);
+        olderView.setPreserveRatio(false);
+        newerView.setPreserveRatio(false);
+
+        btnLoad.setOnAction(e -> setMode(ChartMode.LOAD));
+        btnTemp.setOnAction(e -> setMode(ChartMode.TEMP));
+        HBox modeRow = new HBox(10, btnLoad, btnTemp);
+        modeRow.setAlignment(Pos.CENTER_RIGHT);
+        updateButtonStyles();
+
+        imageRow = new HBox(0);
+        imageRow.setMinWidth(0);
+        imageRow.setMaxWidth(Double.MAX_VALUE);
+        imageRow.setAlignment(Pos.CENTER_LEFT);
+        imageRow.getChildren().addAll(olderView, newerView);
+        imageRow.widthProperty().addListener((obs, oldW, newW) -> layoutViews());
+
+        String axisStyle = "-fx-font-size: 11px; -fx-text-fill: -color-text-secondary;";
+        topCoreLabel.setStyle(axisStyle);
+        bottomCoreLabel.setStyle(axisStyle);
+
+        this.getChildren().addAll(modeRow, topCoreLabel, imageRow, bottomCoreLabel);
+    }
+
+    public void updateSettings(AppSettings settings) {
+        double interval = Math.max(0.1, settings.getCpuRefreshInterval());
+        int newColumns = (int) Math.ceil(settings.getChartHistorySeconds() / interval);
+        newColumns = Math.max(MIN_COLUMNS, Math.min(MAX_COLUMNS, newColumns));
+
+        if (newColumns != columns) {
+            columns = newColumns;
+            allocate(cores);
+        }
+    }
+
+    public void setMode(ChartMode newMode) {
+        if (newMode != ChartMode.LOAD && newMode != ChartMode.TEMP) {
+            return;
+        }
+        this.mode = newMode;
+        updateButtonStyles();
+        applyActiveLayer();
+    }
+
+    public ChartMode getMode() {
+        return mode;
+    }
+
+    public void update(CpuInfo info) {
+        int coreCount = info.getLogicalCores();
+        if (coreCount != cores || loadLayer == null) {
+            allocate(coreCount);
+        }
+
+        cursor = (cursor + 1) % columns;
+
+        double[] loads = info.getPerCoreLoads();
+        double[] temps = info.getPerCoreTemperatures();
+
+        loadLayer.writeColumn(cursor, loads, 0.0, 1.0, false);
+        // 0 means the sensor gave nothing for that core
+        tempLayer.writeColumn(cursor, temps, TEMP_MIN, TEMP_MAX, true);
+
+        layoutViews();
+    }
+
+    public void reset() {
+        allocate(cores);
+    }
+
+    private void allocate(int coreCount) {
+        cores = Math.max(1, coreCount);
+        cursor = -1;
+
+        loadLayer = new HeatmapLayer(columns, cores);
+        tempLayer = new HeatmapLayer(columns, cores);
+
+        double height = cores * ROW_HEIGHT;
+        olderView.setFitHeight(height);
+        newerView.setFitHeight(height);
+        bottomCoreLabel.setText("C" + (cores - 1));
+
+        applyActiveLayer();
+    }
+
+    private void applyActiveLayer() {
+        HeatmapLayer layer = mode == ChartMode.TEMP ? tempLayer : loadLayer;
+        if (layer == null) {
+            return;
+        }
+        olderView.setImage(layer.image);
+        newerView.setImage(layer.image);
+        layoutViews();
+    }
+
+    // older view shows columns after the cursor, newer view shows 0..cursor
+    private void layoutViews() {
+        double totalWidth = imageRow.getWidth();
+        if (totalWidth <= 0 || loadLayer == null) {
+            return;
+        }
+
+        int newerCols = cursor + 1;
+        int olderCols = columns - newerCols;
+        double colWidth = totalWidth / columns;
+
+        if (olderCols > 0) {
+            olderView.setViewport(new Rectangle2D(newerCols, 0, olderCols, cores));
+            olderView.setFitWidth(olderCols * colWidth);
+            olderView.setVisible(true);
+            olderView.setManaged(true);
+        } else {
+            olderView.setVisible(false);
+            olderView.setManaged(false);
+        }
+
+        if (newerCols > 0) {
+            newerView.setViewport(new Rectangle2D(0, 0, newerCols, cores));
+            newerView.setFitWidth(newerCols * colWidth);
+            newerView.setVisible(true);
+            newerView.setManaged(true);
+        } else {
+            newerView.setVisible(false);
+            newerView.setManaged(false);
+        }
+    }
+
+    private void updateButtonStyles() {
+        String base = "-fx-background-radius: 15; -fx-padding: 5 15; -fx-font-size: 11px; -fx-cursor: hand;";
+        String inactive = "-fx-background-color: #333; -fx-text-fill: #888; " + base;
+
+        btnLoad.setStyle(mode == ChartMode.LOAD ? "-fx-background-color: #00f2ff; -fx-text-fill: black; " + base
+                : inactive);
+        btnTemp.setStyle(mode == ChartMode.TEMP ? "-fx-background-color: #ff5555; -fx-text-fill: white; " + base
+                : inactive);
+    }
+
+    private static int[] buildPalette() {
+        // dark blue -> cyan -> yellow -> red
+        int[][] stops = {
+                { 0x10, 0x18, 0x40 },
+                { 0x00, 0xf2, 0xff },
+                { 0xff, 0xe0, 0x00 },
+                { 0xff, 0x00, 0x33 } };
+        int[] palette = new int[256];
+        for (int i = 0; i < palette.length; i++) {
+            double pos = i / 255.0 * (stops.length - 1);
+            int seg = Math.min(stops.length - 2, (int) pos);
+            double t = pos - seg;
+            int r = (int) (stops[seg][0] + (stops[seg + 1][0] - stops[seg][0]) * t);
+            int g = (int) (stops[seg][1] + (stops[seg + 1][1] - stops[seg][1]) * t);
+            int b = (int) (stops[seg][2] + (stops[seg + 1][2] - stops[seg][2]) * t);
+            palette[i] = 0xFF000000 | (r << 16) | (g << 8) | b;
+        }
+        return palette;
+    }
+
+    private static class HeatmapLayer {
+        final int width;
+        final int height;
+        final IntBuffer pixels;
+        final PixelBuffer<IntBuffer> pixelBuffer;
+        final WritableImage image;
+
+        HeatmapLayer(int width, int height) {
+            this.width = width;
+            this.height = height;
+            this.pixels = ByteBuffer.allocateDirect(width * height * 4)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+            for (int i = 0; i < width * height; i++) {
+                pixels.put(i, EMPTY_PIXEL);
+            }
+            this.pixelBuffer = new PixelBuffer<>(width, height, pixels, PixelFormat.getIntArgbPreInstance());
+            this.image = new WritableImage(pixelBuffer);
+        }
+
+        // writes happen inside the callback so the renderer never reads a half-written column
+        void writeColumn(int column, double[] values, double min, double max, boolean zeroIsMissing) {
+            double range = max - min;
+            pixelBuffer.updateBuffer(b -> {
+                for (int row = 0; row < height; row++) {
+                    int argb = EMPTY_PIXEL;
+                    if (values != null && row < values.length && !(zeroIsMissing && values[row] <= 0)) {
+                        double norm = (values[row] - min) / range;
+                        int idx = (int) (Math.max(0.0, Math.min(1.0, norm)) * 255);
+                        argb = PALETTE[idx];
+                    }
+                    pixels.put(row * width + column, argb);
+                }
+                // only the touched column is marked dirty
+                return new Rectangle2D(column, 0, 1, height);
+            });
+        }
+    }
+}
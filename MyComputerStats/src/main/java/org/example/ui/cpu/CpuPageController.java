@@ -1,20 +1,26 @@
 package org.example.ui.cpu;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.VBox;
-import javafx.util.Duration;
 import org.example.core.cpu.CpuInfo;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.core.stats.Ewma;
+import org.example.core.stats.QuantileSketch;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.SnapshotListener;
+import org.example.monitoring.container.CgroupCollector;
 import org.example.monitoring.cpu.CpuMonitoringService;
+import org.example.monitoring.cpu.ThrottleEpisode;
+import org.example.monitoring.cpu.ThrottleEventLog;
 import org.example.core.settings.AppSettings;
 import org.example.core.settings.SettingsManager;
 import org.example.core.settings.SettingsChangeListener;
+import org.example.ui.PressureLabels;
 import org.example.ui.cpu.manager.CpuChartManager;
 import org.example.ui.cpu.model.SessionStatistics;
 
@@ -57,9 +63,19 @@ public class CpuPageController {
     private javafx.scene.control.ToggleButton chartModeVoltage;
     @FXML
     private javafx.scene.control.ToggleButton chartModePower;
+    @FXML
+    private javafx.scene.control.ToggleButton chartModeStates;
 
     @FXML
     private VBox perCoreContainer;
+    @FXML
+    private VBox heatmapContainer;
+    @FXML
+    private VBox residencyContainer;
+    @FXML
+    private VBox cgroupContainer;
+    @FXML
+    private Label cgroupNoteLabel;
 
     @FXML
     private javafx.scene.control.Button resetStatsButton;
@@ -96,6 +112,16 @@ public class CpuPageController {
     private Label maxObservedTempLabel;
     @FXML
     private Label throttleCountLabel;
+    @FXML
+    private Label throttledTimeLabel;
+    @FXML
+    private Label longestThrottleLabel;
+    @FXML
+    private Label throttleSplitLabel;
+    @FXML
+    private Label lastThrottleLabel;
+    @FXML
+    private VBox throttleTimelineContainer;
 
     // system activity labels
     @FXML
@@ -122,12 +148,39 @@ public class CpuPageController {
     private SessionStatistics sessionStats = new SessionStatistics();
 
     // Services
+    private SamplingScheduler sampler;
     private CpuMonitoringService cpuService;
     private org.example.monitoring.cpu.CpuStressTestManager stressManager;
-    private Timeline timeline;
     private CpuCoreTable cpuTable;
+    private boolean staticInfoShown = false;
 
-    private double previousOverallLoad = 0.0;
+    // snapshots arrive on the sampler thread
+    private final SnapshotListener snapshotListener = new SnapshotListener() {
+        @Override
+        public void onSnapshot(SystemSnapshot snapshot) {
+            Platform.runLater(() -> updateDynamicInfo(snapshot));
+        }
+
+        @Override
+        public void onTimelineReset() {
+            // replay started, seeked or ended, history no longer lines up
+            Platform.runLater(() -> {
+                resetSessionView();
+                staticInfoShown = false;
+                loadSmoothing.reset();
+            });
+        }
+    };
+    private CpuHeatmap heatmap;
+    private ThrottleTimeline throttleTimeline;
+    private FrequencyResidencyChart residencyChart;
+    private CgroupPanel cgroupPanel;
+
+    // live value for the label/chart plus two slower ones for the load averages
+    private static final int LOAD_LIVE = 0;
+    private static final int LOAD_10S = 1;
+    private static final int LOAD_1M = 2;
+    private Ewma loadSmoothing = createLoadSmoothing(0.5);
 
     // FXML fields for detailed stats
     @FXML
@@ -145,12 +198,41 @@ public class CpuPageController {
     private Label minVoltLabel, avgVoltDetailLabel, maxVoltLabel;
     @FXML
     private Label minPowerLabel, avgPowerDetailLabel, maxPowerLabel;
+    @FXML
+    private Label p50LoadLabel, p95LoadLabel, p99LoadLabel;
+    @FXML
+    private Label p50TempLabel, p95TempLabel, p99TempLabel;
+    @FXML
+    private Label p50FreqLabel, p95FreqLabel, p99FreqLabel;
+    @FXML
+    private Label p50VoltLabel, p95VoltLabel, p99VoltLabel;
+    @FXML
+    private Label p50PowerLabel, p95PowerLabel, p99PowerLabel;
+    @FXML
+    private Label minCoreLoadLabel, avgCoreLoadLabel, maxCoreLoadLabel;
+    @FXML
+    private Label p50CoreLoadLabel, p95CoreLoadLabel, p99CoreLoadLabel;
+    @FXML
+    private Label minCoreTempLabel, avgCoreTempLabel, maxCoreTempLabel;
+    @FXML
+    private Label p50CoreTempLabel, p95CoreTempLabel, p99CoreTempLabel;
+    @FXML
+    private Label stdDevLoadLabel, stdDevTempLabel, stdDevFreqLabel, stdDevVoltLabel, stdDevPowerLabel;
+    @FXML
+    private Label trendLoadLabel, trendTempLabel, trendFreqLabel, trendVoltLabel, trendPowerLabel;
+    @FXML
+    private Label loadAveragesLabel;
+    @FXML
+    private Label cpuPressureLabel;
 
     @FXML
     private void handleToggleDetails() {
         boolean visible = showDetailsToggle.isSelected();
         detailsGrid.setVisible(visible);
         detailsGrid.setManaged(visible);
+        if (visible) {
+            updatePercentileLabels();
+        }
         if (visible) {
             showDetailsToggle.setText("Hide Details ▲");
         } else {
@@ -163,19 +245,38 @@ public class CpuPageController {
         if (cpuService != null) {
             cpuService.resetStats();
         }
+        resetSessionView();
+    }
 
+    // clears what this page accumulated, leaves the service's own stats alone
+    private void resetSessionView() {
         sessionStats.reset();
 
         if (chartManager != null) {
             chartManager.reset();
         }
 
+        if (heatmap != null) {
+            heatmap.reset();
+        }
+
+        if (residencyChart != null) {
+            residencyChart.reset();
+        }
+
         // Update UI immediately
         updateSessionStatsUI();
 
         maxObservedTempLabel.setText("0°C");
         maxObservedTempLabel.setStyle("");
         throttleCountLabel.setText("0");
+        throttledTimeLabel.setText("0 s");
+        longestThrottleLabel.setText("-");
+        throttleSplitLabel.setText("-");
+        lastThrottleLabel.setText("No throttling recorded");
+        if (throttleTimeline != null) {
+            throttleTimeline.reset();
+        }
 
         thermalThrottleLabel.setText("No");
         thermalThrottleLabel.setStyle("-fx-text-fill: #00ff00;");
@@ -218,11 +319,29 @@ public class CpuPageController {
 
     @FXML
     public void initialize() {
-        cpuService = new CpuMonitoringService();
+        sampler = SamplingScheduler.getInstance();
+        cpuService = sampler.getCpuService();
         stressManager = new org.example.monitoring.cpu.CpuStressTestManager();
 
         chartManager = new CpuChartManager(cpuChart, xAxis, yAxis,
-                chartModeLoad, chartModeTemp, chartModeVoltage, chartModePower);
+                chartModeLoad, chartModeTemp, chartModeVoltage, chartModePower, chartModeStates);
+
+        heatmap = new CpuHeatmap();
+        heatmapContainer.getChildren().add(heatmap);
+
+        residencyChart = new FrequencyResidencyChart();
+        residencyContainer.getChildren().add(residencyChart);
+
+        throttleTimeline = new ThrottleTimeline();
+        throttleTimelineContainer.getChildren().add(throttleTimeline);
+
+        CgroupCollector cgroups = sampler.getCgroupCollector();
+        if (cgroups.isAvailable()) {
+            cgroupPanel = new CgroupPanel(cgroups);
+            cgroupContainer.getChildren().add(cgroupPanel);
+            cgroupContainer.setVisible(true);
+            cgroupContainer.setManaged(true);
+        }
 
         updateStressStatus(false);
         initializeTopProcesses();
@@ -230,10 +349,12 @@ public class CpuPageController {
         AppSettings settings = SettingsManager.getInstance().getSettings();
         applySettings(settings);
 
-        CpuInfo info = cpuService.readCpuInfo();
-        updateStaticInfo(info);
-        initializePerCoreDisplay(info.getLogicalCores());
-        updateDynamicInfo(info);
+        initializePerCoreDisplay();
+
+        SystemSnapshot latest = sampler.getLatestSnapshot();
+        if (latest != null) {
+            updateDynamicInfo(latest);
+        }
 
         startMonitoring();
         SettingsChangeListener.getInstance().addListener(this::onSettingsChanged);
@@ -265,47 +386,40 @@ public class CpuPageController {
     }
 
     private void onSettingsChanged(AppSettings settings) {
+        // the sampler picks up the new interval itself
         applySettings(settings);
-        restartMonitoring();
+    }
+
+    // half-lives are in seconds, so the alphas follow the sampling interval
+    private static Ewma createLoadSmoothing(double intervalSeconds) {
+        double interval = Math.max(0.1, intervalSeconds);
+        return new Ewma(0.8, Ewma.alphaForHalfLife(10 / interval), Ewma.alphaForHalfLife(60 / interval));
     }
 
     private void applySettings(AppSettings settings) {
+        loadSmoothing = createLoadSmoothing(settings.getCpuRefreshInterval());
         if (chartManager != null) {
             chartManager.updateSettings(settings);
         }
+        if (heatmap != null) {
+            heatmap.updateSettings(settings);
+        }
     }
 
     public void startMonitoring() {
-        if (timeline != null && timeline.getStatus() == Animation.Status.RUNNING) {
-            return;
-        }
-
         AppSettings settings = SettingsManager.getInstance().getSettings();
-        double refreshInterval = settings.getCpuRefreshInterval();
-
-        timeline = new Timeline(
-                new KeyFrame(Duration.seconds(refreshInterval), event -> {
-                    CpuInfo updated = cpuService.readCpuInfo();
-                    updateDynamicInfo(updated);
-                }));
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.play();
+        sampler.start(settings.getCpuRefreshInterval());
+        // cgroups are walked only while this page shows them
+        sampler.setCgroupSampling(cgroupPanel != null);
+        sampler.addListener(snapshotListener);
     }
 
     public void stopMonitoring() {
-        if (timeline != null) {
-            timeline.stop();
-        }
-    }
-
-    private void restartMonitoring() {
-        if (timeline != null) {
-            timeline.stop();
-        }
-        startMonitoring();
+        sampler.removeListener(snapshotListener);
+        sampler.setCgroupSampling(false);
     }
 
-    private void initializePerCoreDisplay(int coreCount) {
+    private void initializePerCoreDisplay() {
         cpuTable = new CpuCoreTable();
 
         perCoreContainer.getChildren().clear();
@@ -341,7 +455,13 @@ public class CpuPageController {
         }
     }
 
-    private void updateDynamicInfo(CpuInfo info) {
+    private void updateDynamicInfo(SystemSnapshot snapshot) {
+        CpuInfo info = snapshot.getCpu();
+        if (!staticInfoShown) {
+            updateStaticInfo(info);
+            staticInfoShown = true;
+        }
+
         freqLabel.setText(info.getFormattedClockSpeed());
         temperatureLabel.setText(info.getFormattedTemperature());
 
@@ -353,8 +473,12 @@ public class CpuPageController {
         colorTemperatureLabel(avgTemperatureLabel, info.getAverageTemperature());
 
         double rawLoad = info.getLoad();
-        double smoothedOverallLoad = previousOverallLoad * 0.2 + rawLoad * 0.8;
-        previousOverallLoad = smoothedOverallLoad;
+        loadSmoothing.update(rawLoad);
+        double smoothedOverallLoad = loadSmoothing.get(LOAD_LIVE);
+        loadAveragesLabel.setText(String.format("10s %.0f%% · 1m %.0f%%",
+                loadSmoothing.get(LOAD_10S) * 100, loadSmoothing.get(LOAD_1M) * 100));
+
+        PressureLabels.show(cpuPressureLabel, "CPU", snapshot.getCpuPressure());
 
         loadLabel.setText(String.format("%.1f%%", smoothedOverallLoad * 100));
         loadBar.setProgress(smoothedOverallLoad);
@@ -380,22 +504,35 @@ public class CpuPageController {
         }
 
         if (chartManager != null) {
-            chartManager.update(info, smoothedOverallLoad * 100, cpuService.getPackagePower());
+            chartManager.update(info, smoothedOverallLoad * 100, snapshot.getPackagePower(), snapshot.getTimestamp());
+        }
+
+        if (heatmap != null) {
+            heatmap.update(info);
+        }
+
+        // residency is filled by the service at sensor rate, replayed frames do not add to it
+        if (residencyChart != null && !sampler.isReplaying()) {
+            residencyChart.update(cpuService.getFrequencyResidency());
+        }
+
+        // cgroups are not recorded, keep the live ranking and say so
+        if (cgroupPanel != null) {
+            cgroupNoteLabel.setText(sampler.isReplaying() ? "Live data, not part of the recording" : "");
+            cgroupPanel.refresh();
         }
 
-        updateSessionStats(info, smoothedOverallLoad);
-        updateThrottlingStatus(info);
-        updateSystemActivity();
+        updateSessionStats(snapshot, smoothedOverallLoad);
+        updateThrottlingStatus(snapshot);
+        updateSystemActivity(snapshot);
         updateTopProcesses();
     }
 
-    private void updateSystemActivity() {
-        cpuService.updateSystemActivity();
-
-        contextSwitchesLabel.setText(formatNumber(cpuService.getContextSwitchesPerSec()));
-        interruptsLabel.setText(formatNumber(cpuService.getInterruptsPerSec()));
-        processCountLabel.setText(String.valueOf(cpuService.getProcessCount()));
-        threadCountLabel.setText(String.valueOf(cpuService.getThreadCount()));
+    private void updateSystemActivity(SystemSnapshot snapshot) {
+        contextSwitchesLabel.setText(formatNumber(snapshot.getContextSwitchesPerSec()));
+        interruptsLabel.setText(formatNumber(snapshot.getInterruptsPerSec()));
+        processCountLabel.setText(String.valueOf(snapshot.getProcessCount()));
+        threadCountLabel.setText(String.valueOf(snapshot.getThreadCount()));
     }
 
     private String formatNumber(double value) {
@@ -407,8 +544,8 @@ public class CpuPageController {
     }
 
     private void updateTopProcesses() {
-        // only update if enabled
-        if (!topProcessesEnabled)
+        // only update if enabled, recordings carry no process list
+        if (!topProcessesEnabled || sampler.isReplaying())
             return;
 
         var processes = cpuService.getTopProcesses(topProcessCount);
@@ -452,8 +589,8 @@ public class CpuPageController {
         }
     }
 
-    private void updateSessionStats(CpuInfo info, double load) {
-        sessionStats.update(info, load, cpuService.getPackagePower());
+    private void updateSessionStats(SystemSnapshot snapshot, double load) {
+        sessionStats.update(snapshot.getCpu(), load, snapshot.getPackagePower(), snapshot.getTimestamp());
         updateSessionStatsUI();
     }
 
@@ -489,25 +626,82 @@ public class CpuPageController {
         minPowerLabel.setText(String.format("%.1f W", sessionStats.getMinPower()));
         avgPowerDetailLabel.setText(String.format("%.1f W", sessionStats.getAvgPower()));
         maxPowerLabel.setText(String.format("%.1f W", sessionStats.getMaxPower()));
+
+        // percentiles only matter while the grid is open, skip the per-core roll-up otherwise
+        if (detailsGrid.isVisible()) {
+            updatePercentileLabels();
+        }
     }
 
-    private void updateThrottlingStatus(CpuInfo info) {
-        // update throttling logic in session stats
-        sessionStats.updateThrottling(cpuService.isThermalThrottle());
+    private void updatePercentileLabels() {
+        p50LoadLabel.setText(String.format("%.1f%%", sessionStats.getLoadPercentile(0.50)));
+        p95LoadLabel.setText(String.format("%.1f%%", sessionStats.getLoadPercentile(0.95)));
+        p99LoadLabel.setText(String.format("%.1f%%", sessionStats.getLoadPercentile(0.99)));
+
+        p50TempLabel.setText(String.format("%.0f°C", sessionStats.getTempPercentile(0.50)));
+        p95TempLabel.setText(String.format("%.0f°C", sessionStats.getTempPercentile(0.95)));
+        p99TempLabel.setText(String.format("%.0f°C", sessionStats.getTempPercentile(0.99)));
+
+        p50FreqLabel.setText(String.format("%.2f GHz", sessionStats.getFreqPercentile(0.50)));
+        p95FreqLabel.setText(String.format("%.2f GHz", sessionStats.getFreqPercentile(0.95)));
+        p99FreqLabel.setText(String.format("%.2f GHz", sessionStats.getFreqPercentile(0.99)));
+
+        p50VoltLabel.setText(String.format("%.3f V", sessionStats.getVoltPercentile(0.50)));
+        p95VoltLabel.setText(String.format("%.3f V", sessionStats.getVoltPercentile(0.95)));
+        p99VoltLabel.setText(String.format("%.3f V", sessionStats.getVoltPercentile(0.99)));
+
+        p50PowerLabel.setText(String.format("%.1f W", sessionStats.getPowerPercentile(0.50)));
+        p95PowerLabel.setText(String.format("%.1f W", sessionStats.getPowerPercentile(0.95)));
+        p99PowerLabel.setText(String.format("%.1f W", sessionStats.getPowerPercentile(0.99)));
+
+        stdDevLoadLabel.setText(String.format("%.1f%%", sessionStats.getLoadStdDev()));
+        stdDevTempLabel.setText(String.format("%.1f°C", sessionStats.getTempStdDev()));
+        stdDevFreqLabel.setText(String.format("%.2f GHz", sessionStats.getFreqStdDev()));
+        stdDevVoltLabel.setText(String.format("%.3f V", sessionStats.getVoltStdDev()));
+        stdDevPowerLabel.setText(String.format("%.1f W", sessionStats.getPowerStdDev()));
+
+        trendLoadLabel.setText(String.format("%+.2f%%/s", sessionStats.getLoadTrend()));
+        trendTempLabel.setText(String.format("%+.2f°C/s", sessionStats.getTempTrend()));
+        trendFreqLabel.setText(String.format("%+.3f GHz/s", sessionStats.getFreqTrend()));
+        trendVoltLabel.setText(String.format("%+.4f V/s", sessionStats.getVoltTrend()));
+        trendPowerLabel.setText(String.format("%+.2f W/s", sessionStats.getPowerTrend()));
+
+        QuantileSketch coreLoad = sessionStats.getAllCoreLoadSketch();
+        minCoreLoadLabel.setText(String.format("%.1f%%", coreLoad.getMin()));
+        avgCoreLoadLabel.setText(String.format("%.1f%%", coreLoad.getMean()));
+        maxCoreLoadLabel.setText(String.format("%.1f%%", coreLoad.getMax()));
+        p50CoreLoadLabel.setText(String.format("%.1f%%", coreLoad.quantile(0.50)));
+        p95CoreLoadLabel.setText(String.format("%.1f%%", coreLoad.quantile(0.95)));
+        p99CoreLoadLabel.setText(String.format("%.1f%%", coreLoad.quantile(0.99)));
+
+        QuantileSketch coreTemp = sessionStats.getAllCoreTempSketch();
+        minCoreTempLabel.setText(String.format("%.0f°C", coreTemp.getMin()));
+        avgCoreTempLabel.setText(String.format("%.0f°C", coreTemp.getMean()));
+        maxCoreTempLabel.setText(String.format("%.0f°C", coreTemp.getMax()));
+        p50CoreTempLabel.setText(String.format("%.0f°C", coreTemp.quantile(0.50)));
+        p95CoreTempLabel.setText(String.format("%.0f°C", coreTemp.quantile(0.95)));
+        p99CoreTempLabel.setText(String.format("%.0f°C", coreTemp.quantile(0.99)));
+    }
 
-        double temp = info.getTemperature();
+    private void updateThrottlingStatus(SystemSnapshot snapshot) {
+        // update throttling logic in session stats
+        sessionStats.updateThrottling(snapshot.isThermalThrottle());
 
         // track max temp (display tracking)
         maxObservedTempLabel.setText(String.format("%.0f°C", sessionStats.getMaxObservedTemp()));
         colorTemperatureLabel(maxObservedTempLabel, sessionStats.getMaxObservedTemp());
 
-        // get throttle status from native bridge (reads actual MSR bits)
-        boolean isThrottling = cpuService.isThermalThrottle();
-        boolean isPowerLimited = cpuService.isPowerThrottle();
-        double packagePower = cpuService.getPackagePower();
+        // throttle status from native bridge (reads actual MSR bits)
+        boolean isThrottling = snapshot.isThermalThrottle();
+        boolean isPowerLimited = snapshot.isPowerThrottle();
+        double packagePower = snapshot.getPackagePower();
 
-        // update throttle count label
-        throttleCountLabel.setText(String.valueOf(sessionStats.getThrottleEventCount()));
+        // episodes come from the bridge-rate log, the replayed snapshots only carry the flags
+        if (sampler.isReplaying()) {
+            throttleCountLabel.setText(String.valueOf(sessionStats.getThrottleEventCount()));
+        } else {
+            updateThrottleEpisodes(cpuService.getThrottleLog());
+        }
 
         // update thermal throttle display
         if (isThrottling) {
@@ -531,6 +725,44 @@ public class CpuPageController {
         packagePowerLabel.setText(String.format("%.1fW", packagePower));
     }
 
+    private void updateThrottleEpisodes(ThrottleEventLog log) {
+        throttleCountLabel.setText(String.valueOf(log.getEpisodeCount()));
+        throttledTimeLabel.setText(formatDuration(log.getThrottledMs()));
+        longestThrottleLabel.setText(log.getEpisodeCount() > 0 ? formatDuration(log.getLongestMs()) : "-");
+
+        long thermalMs = log.getThermalMs();
+        long powerMs = log.getPowerMs();
+        if (thermalMs + powerMs > 0) {
+            double thermalShare = 100.0 * thermalMs / (thermalMs + powerMs);
+            throttleSplitLabel.setText(String.format("%.0f%% / %.0f%%", thermalShare, 100 - thermalShare));
+        } else {
+            throttleSplitLabel.setText("-");
+        }
+
+        ThrottleEpisode last = log.getLastEpisode();
+        if (last != null) {
+            String drop = last.getFrequencyDrop() > 0
+                    ? String.format(", -%.0f MHz", last.getFrequencyDrop())
+                    : "";
+            lastThrottleLabel.setText(String.format("%s: %s %s, peak %.0f°C, %.1fW%s",
+                    last.isOngoing() ? "Now" : "Last", last.getCause().name().toLowerCase(),
+                    formatDuration(last.getDurationMs()), last.getPeakTemp(), last.getPeakPower(), drop));
+        }
+
+        throttleTimeline.update(log.getEpisodes());
+    }
+
+    private static String formatDuration(long ms) {
+        if (ms < 1000) {
+            return ms + " ms";
+        }
+        if (ms < 60_000) {
+            return String.format("%.1f s", ms / 1000.0);
+        }
+        long seconds = ms / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
     private void colorTemperatureLabel(Label label, double temp) {
         if (temp <= 0) {
             label.setStyle("");
@@ -0,0 +1,236 @@
+package org.example.ui.cpu;
+
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.StackedBarChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import org.example.core.stats.FrequencyResidency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * stacked histogram of time per frequency bin, one stack segment per core
+ * the stack height is the package-wide residency. can also show several
+ * exported sessions merged together instead of the live one
+ */
+public class FrequencyResidencyChart extends VBox {
+
+    // rebuilding bar data is not free, the histogram changes slowly anyway
+    private static final long REFRESH_MS = 2_000;
+
+    private static final String BUTTON_STYLE =
+            "-fx-background-color: rgba(255,255,255,0.1); -fx-text-fill: #00d4ff; -fx-font-size: 11px; -fx-cursor: hand;";
+
+    private final CategoryAxis xAxis = new CategoryAxis();
+    private final NumberAxis yAxis = new NumberAxis();
+    private final StackedBarChart<String, Number> chart = new StackedBarChart<>(xAxis, yAxis);
+    private final Label sourceLabel = new Label("Live session");
+    private final Button liveButton = new Button("Live");
+
+    private FrequencyResidency live;
+    private FrequencyResidency merged;
+    private long lastRefresh = 0;
+
+    // what the current series were built for
+    private int shownCores = -1;
+    private int shownFirstBin = -1;
+    private int shownLastBin = -1;
+
+    public FrequencyResidencyChart() {
+        this.setSpacing(6);
+        this.setPadding(new Insets(5, 10, 5, 10));
+
+        chart.setAnimated(false);
+        chart.setCategoryGap(2);
+        chart.setLegendVisible(false);
+        chart.setPrefHeight(260);
+        chart.setMinHeight(200);
+        xAxis.setLabel("GHz");
+        xAxis.setAnimated(false);
+        yAxis.setLabel("Seconds");
+        yAxis.setAnimated(false);
+
+        sourceLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: -color-text-secondary;");
+
+        Button exportButton = new Button("Export…");
+        exportButton.setStyle(BUTTON_STYLE);
+        exportButton.setOnAction(e -> exportCsv());
+
+        Button mergeButton = new Button("Merge Sessions…");
+        mergeButton.setStyle(BUTTON_STYLE);
+        mergeButton.setOnAction(e -> mergeFiles());
+
+        liveButton.setStyle(BUTTON_STYLE);
+        liveButton.setDisable(true);
+        liveButton.setOnAction(e -> showLive());
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox toolbar = new HBox(10, sourceLabel, spacer, exportButton, mergeButton, liveButton);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+
+        this.getChildren().addAll(toolbar, chart);
+    }
+
+    /**
+     * called every tick, redraws at most every REFRESH_MS
+     */
+    public void update(FrequencyResidency residency) {
+        this.live = residency;
+        long now = System.currentTimeMillis();
+        if (merged != null || now - lastRefresh < REFRESH_MS) {
+            return;
+        }
+        lastRefresh = now;
+        show(residency);
+    }
+
+    public void reset() {
+        lastRefresh = 0;
+        if (merged == null) {
+            clear();
+        }
+    }
+
+    private void show(FrequencyResidency residency) {
+        long[] total = residency.getPackageMillis();
+        int first = -1;
+        int last = -1;
+        for (int bin = 0; bin < total.length; bin++) {
+            if (total[bin] > 0) {
+                if (first < 0) {
+                    first = bin;
+                }
+                last = bin;
+            }
+        }
+        if (first < 0) {
+            clear();
+            return;
+        }
+
+        int cores = residency.getCoreCount();
+        if (cores != shownCores || first != shownFirstBin || last != shownLastBin) {
+            rebuild(cores, first, last);
+        }
+
+        // same layout as last time, only the values move
+        for (int core = 0; core < cores; core++) {
+            List<XYChart.Data<String, Number>> data = chart.getData().get(core).getData();
+            for (int bin = first; bin <= last; bin++) {
+                data.get(bin - first).setYValue(residency.getMillis(core, bin) / 1000.0);
+            }
+        }
+    }
+
+    private void rebuild(int cores, int first, int last) {
+        List<String> categories = new ArrayList<>();
+        for (int bin = first; bin <= last; bin++) {
+            categories.add(String.format("%.1f", FrequencyResidency.binMHz(bin) / 1000.0));
+        }
+        xAxis.setCategories(FXCollections.observableArrayList(categories));
+
+        List<XYChart.Series<String, Number>> seriesList = new ArrayList<>(cores);
+        for (int core = 0; core < cores; core++) {
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName("C" + core);
+            for (String category : categories) {
+                series.getData().add(new XYChart.Data<>(category, 0));
+            }
+            seriesList.add(series);
+        }
+        chart.getData().setAll(seriesList);
+
+        shownCores = cores;
+        shownFirstBin = first;
+        shownLastBin = last;
+    }
+
+    private void clear() {
+        chart.getData().clear();
+        shownCores = -1;
+        shownFirstBin = -1;
+        shownLastBin = -1;
+    }
+
+    private void showLive() {
+        merged = null;
+        liveButton.setDisable(true);
+        sourceLabel.setText("Live session");
+        lastRefresh = 0;
+        if (live != null) {
+            update(live);
+        }
+    }
+
+    private void exportCsv() {
+        FrequencyResidency source = merged != null ? merged : live;
+        if (source == null) {
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Frequency Residency");
+        chooser.setInitialFileName("residency.csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File file = chooser.showSaveDialog(getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            source.copy().writeCsv(out);
+            System.out.println("[residency] exported " + file.getName());
+        } catch (IOException e) {
+            showError("Could not export residency: " + e.getMessage());
+        }
+    }
+
+    private void mergeFiles() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Merge Residency Exports");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        List<File> files = chooser.showOpenMultipleDialog(getScene().getWindow());
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+
+        FrequencyResidency result = new FrequencyResidency(0);
+        try {
+            for (File file : files) {
+                result.merge(FrequencyResidency.readCsv(file.toPath()));
+            }
+        } catch (IOException e) {
+            showError("Could not read residency: " + e.getMessage());
+            return;
+        }
+
+        merged = result;
+        liveButton.setDisable(false);
+        sourceLabel.setText(files.size() == 1 ? files.get(0).getName() : files.size() + " sessions merged");
+        show(merged);
+    }
+
+    private void showError(String message) {
+        System.err.println("[residency] " + message);
+        Alert alert = new Alert(Alert.AlertType.ERROR, message);
+        alert.setHeaderText(null);
+        alert.showAndWait();
+    }
+}
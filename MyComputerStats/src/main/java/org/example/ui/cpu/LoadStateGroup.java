@@ -0,0 +1,50 @@
+package org.example.ui.cpu;
+
+import org.example.core.cpu.CpuInfo;
+import org.example.core.cpu.CpuLoadState;
+
+/**
+ * busy states as drawn on the page, nice is folded into user and
+ * softirq into irq so bars stay readable. idle is what is left over
+ */
+public enum LoadStateGroup {
+    USER("User", "#00f2ff", CpuLoadState.USER, CpuLoadState.NICE),
+    SYSTEM("System", "#ff5555", CpuLoadState.SYSTEM),
+    IOWAIT("IO Wait", "#ffb800", CpuLoadState.IOWAIT),
+    IRQ("IRQ", "#b46cff", CpuLoadState.IRQ, CpuLoadState.SOFTIRQ),
+    STEAL("Steal", "#00ff9d", CpuLoadState.STEAL);
+
+    private final String label;
+    private final String color;
+    private final CpuLoadState[] states;
+
+    LoadStateGroup(String label, String color, CpuLoadState... states) {
+        this.label = label;
+        this.color = color;
+        this.states = states;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public double fraction(CpuInfo info, int core) {
+        double sum = 0;
+        for (CpuLoadState state : states) {
+            sum += info.getCoreStateFraction(core, state);
+        }
+        return sum;
+    }
+
+    public double packageFraction(CpuInfo info) {
+        double sum = 0;
+        for (CpuLoadState state : states) {
+            sum += info.getStateFraction(state);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.ui.cpu;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import org.example.monitoring.cpu.ThrottleEpisode;
+
+import java.util.List;
+
+/**
+ * throttle episodes as bars on a strip covering the session so far
+ * short episodes get a minimum width so they do not vanish on long sessions
+ */
+public class ThrottleTimeline extends VBox {
+
+    private static final double STRIP_HEIGHT = 22;
+    private static final double MIN_BAR_WIDTH = 2;
+    private static final long MIN_WINDOW_MS = 60_000;
+
+    private static final Color BACKGROUND = Color.web("#14161f");
+    private static final Color THERMAL = Color.web("#ff3b3b");
+    private static final Color POWER = Color.web("#ff9900");
+    private static final Color BOTH = Color.web("#d940ff");
+
+    private final Pane stripPane = new Pane();
+    private final Canvas canvas = new Canvas(0, STRIP_HEIGHT);
+    private final Label startLabel = new Label();
+
+    private long sessionStart = System.currentTimeMillis();
+    private List<ThrottleEpisode> episodes = List.of();
+
+    public ThrottleTimeline() {
+        this.setSpacing(4);
+        this.setPadding(new Insets(5, 10, 5, 10));
+
+        stripPane.setMinHeight(STRIP_HEIGHT);
+        stripPane.setPrefHeight(STRIP_HEIGHT);
+        stripPane.setMinWidth(0);
+        stripPane.getChildren().add(canvas);
+        canvas.widthProperty().bind(stripPane.widthProperty());
+        canvas.widthProperty().addListener((obs, oldW, newW) -> draw());
+
+        String axisStyle = "-fx-font-size: 11px; -fx-text-fill: -color-text-secondary;";
+        startLabel.setStyle(axisStyle);
+        Label nowLabel = new Label("now");
+        nowLabel.setStyle(axisStyle);
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox axisRow = new HBox(startLabel, spacer, nowLabel);
+
+        HBox legend = new HBox(15, legendItem("Thermal", THERMAL), legendItem("Power", POWER),
+                legendItem("Both", BOTH));
+        legend.setAlignment(Pos.CENTER_RIGHT);
+
+        this.getChildren().addAll(legend, stripPane, axisRow);
+    }
+
+    public void update(List<ThrottleEpisode> episodes) {
+        this.episodes = episodes;
+        draw();
+    }
+
+    public void reset() {
+        sessionStart = System.currentTimeMillis();
+        episodes = List.of();
+        draw();
+    }
+
+    private void draw() {
+        double width = canvas.getWidth();
+        if (width <= 0) {
+            return;
+        }
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, STRIP_HEIGHT);
+
+        long now = System.currentTimeMillis();
+        long windowStart = Math.min(sessionStart, now - MIN_WINDOW_MS);
+        double scale = width / (double) (now - windowStart);
+        startLabel.setText("-" + formatSpan(now - windowStart));
+
+        for (ThrottleEpisode episode : episodes) {
+            if (episode.getEndTime() < windowStart) {
+                continue;
+            }
+            long start = Math.max(episode.getStartTime(), windowStart);
+            double x = (start - windowStart) * scale;
+            double w = Math.max(MIN_BAR_WIDTH, (episode.getEndTime() - start) * scale);
+            g.setFill(colorFor(episode.getCause()));
+            g.fillRect(x, 2, Math.min(w, width - x), STRIP_HEIGHT - 4);
+        }
+    }
+
+    private static Color colorFor(ThrottleEpisode.Cause cause) {
+        switch (cause) {
+            case THERMAL:
+                return THERMAL;
+            case POWER:
+                return POWER;
+            default:
+                return BOTH;
+        }
+    }
+
+    private static HBox legendItem(String text, Color color) {
+        Region swatch = new Region();
+        swatch.setMinSize(10, 10);
+        swatch.setMaxSize(10, 10);
+        swatch.setStyle("-fx-background-color: " + toWeb(color) + "; -fx-background-radius: 2;");
+        Label label = new Label(text);
+        label.setStyle("-fx-font-size: 11px; -fx-text-fill: -color-text-secondary;");
+        HBox item = new HBox(5, swatch, label);
+        item.setAlignment(Pos.CENTER_LEFT);
+        return item;
+    }
+
+    private static String toWeb(Color color) {
+        return String.format("#%02x%02x%02x", (int) (color.getRed() * 255), (int) (color.getGreen() * 255),
+                (int) (color.getBlue() * 255));
+    }
+
+    private static String formatSpan(long ms) {
+        long seconds = ms / 1000;
+        if (seconds < 3600) {
+            return String.format("%d:%02d", seconds / 60, seconds % 60);
+        }
+        return String.format("%d:%02d:%02d", seconds / 3600, (seconds % 3600) / 60, seconds % 60);
+    }
+}
@@ -7,6 +7,11 @@ import javafx.scene.chart.XYChart;
 import javafx.scene.control.ToggleButton;
 import org.example.core.cpu.CpuInfo;
 import org.example.core.settings.AppSettings;
+import org.example.core.stats.Ewma;
+import org.example.ui.cpu.LoadStateGroup;
+
+import java.util.EnumMap;
+import java.util.Map;
 
 public class CpuChartManager {
 
@@ -17,9 +22,10 @@ public class CpuChartManager {
     private final ToggleButton btnTemp;
     private final ToggleButton btnVolt;
     private final ToggleButton btnPower;
+    private final ToggleButton btnStates;
 
     public enum ChartMode {
-        LOAD, TEMP, VOLTAGE, POWER
+        LOAD, TEMP, VOLTAGE, POWER, STATES
     }
 
     private ChartMode currentMode = ChartMode.LOAD;
@@ -27,6 +33,8 @@ public class CpuChartManager {
     private XYChart.Series<Number, Number> tempSeries = new XYChart.Series<>();
     private XYChart.Series<Number, Number> voltageSeries = new XYChart.Series<>();
     private XYChart.Series<Number, Number> powerSeries = new XYChart.Series<>();
+    // one line per busy state, package-wide, colored by the chart-states css
+    private final Map<LoadStateGroup, XYChart.Series<Number, Number>> stateSeries = new EnumMap<>(LoadStateGroup.class);
 
     // currently displayed series
     private XYChart.Series<Number, Number> activeSeries;
@@ -34,8 +42,12 @@ public class CpuChartManager {
     private long startTime = 0;
     private int maxDataPoints = 60;
 
+    // line color follows a smoothed level so single spikes do not flash the chart
+    private final Ewma colorLevel = new Ewma(0.3);
+
     public CpuChartManager(LineChart<Number, Number> chart, NumberAxis xAxis, NumberAxis yAxis,
-            ToggleButton btnLoad, ToggleButton btnTemp, ToggleButton btnVolt, ToggleButton btnPower) {
+            ToggleButton btnLoad, ToggleButton btnTemp, ToggleButton btnVolt, ToggleButton btnPower,
+            ToggleButton btnStates) {
         this.chart = chart;
         this.xAxis = xAxis;
         this.yAxis = yAxis;
@@ -43,6 +55,7 @@ public class CpuChartManager {
         this.btnTemp = btnTemp;
         this.btnVolt = btnVolt;
         this.btnPower = btnPower;
+        this.btnStates = btnStates;
 
         initialize();
     }
@@ -52,6 +65,11 @@ public class CpuChartManager {
         tempSeries.setName("Temp");
         voltageSeries.setName("Voltage");
         powerSeries.setName("Power");
+        for (LoadStateGroup group : LoadStateGroup.values()) {
+            XYChart.Series<Number, Number> series = new XYChart.Series<>();
+            series.setName(group.getLabel());
+            stateSeries.put(group, series);
+        }
 
         // default to load
         activeSeries = loadSeries;
@@ -79,6 +97,7 @@ public class CpuChartManager {
         btnTemp.setOnAction(e -> switchMode(ChartMode.TEMP));
         btnVolt.setOnAction(e -> switchMode(ChartMode.VOLTAGE));
         btnPower.setOnAction(e -> switchMode(ChartMode.POWER));
+        btnStates.setOnAction(e -> switchMode(ChartMode.STATES));
     }
 
     public void updateSettings(AppSettings settings) {
@@ -116,13 +135,15 @@ public class CpuChartManager {
     }
 
     // Overloaded update to allow passing power directly
-    public void update(CpuInfo info, double smoothedLoad, double packagePower) {
-        if (startTime == 0) {
-            startTime = System.currentTimeMillis();
+    // x values come from the sample timestamp so replayed sessions keep their timing
+    public void update(CpuInfo info, double smoothedLoad, double packagePower, long timestamp) {
+        if (startTime == 0 || timestamp < startTime) {
+            reset();
+            startTime = timestamp;
             xAxis.setAutoRanging(false);
         }
 
-        double elapsedSeconds = (System.currentTimeMillis() - startTime) / 1000.0;
+        double elapsedSeconds = (timestamp - startTime) / 1000.0;
 
         loadSeries.getData().add(new XYChart.Data<>(elapsedSeconds, smoothedLoad));
         tempSeries.getData().add(new XYChart.Data<>(elapsedSeconds, info.getTemperature()));
@@ -138,6 +159,13 @@ public class CpuChartManager {
 
         powerSeries.getData().add(new XYChart.Data<>(elapsedSeconds, packagePower));
 
+        if (info.hasLoadStates()) {
+            for (LoadStateGroup group : LoadStateGroup.values()) {
+                stateSeries.get(group).getData()
+                        .add(new XYChart.Data<>(elapsedSeconds, group.packageFraction(info) * 100));
+            }
+        }
+
         // update axis range
         xAxis.setLowerBound(Math.max(0, elapsedSeconds - maxDataPoints));
         xAxis.setUpperBound(Math.max(elapsedSeconds, maxDataPoints));
@@ -145,9 +173,10 @@ public class CpuChartManager {
         trimOldData(elapsedSeconds - maxDataPoints);
 
         // update line color based on active series last value
-        if (!activeSeries.getData().isEmpty()) {
+        if (currentMode != ChartMode.STATES && !activeSeries.getData().isEmpty()) {
             double val = activeSeries.getData().get(activeSeries.getData().size() - 1).getYValue().doubleValue();
-            updateLineColor(val);
+            colorLevel.update(val);
+            updateLineColor(colorLevel.get(0));
         }
     }
 
@@ -156,6 +185,9 @@ public class CpuChartManager {
         trimSeries(tempSeries, threshold);
         trimSeries(voltageSeries, threshold);
         trimSeries(powerSeries, threshold);
+        for (XYChart.Series<Number, Number> series : stateSeries.values()) {
+            trimSeries(series, threshold);
+        }
     }
 
     private void trimSeries(XYChart.Series<Number, Number> series, double threshold) {
@@ -170,6 +202,11 @@ public class CpuChartManager {
         tempSeries.getData().clear();
         voltageSeries.getData().clear();
         powerSeries.getData().clear();
+        for (XYChart.Series<Number, Number> series : stateSeries.values()) {
+            series.getData().clear();
+        }
+        colorLevel.reset();
+        startTime = 0;
     }
 
     private void switchMode(ChartMode mode) {
@@ -177,7 +214,8 @@ public class CpuChartManager {
         updateButtonStyles();
 
         chart.getData().clear();
-        chart.getStyleClass().removeAll("chart-low", "chart-medium", "chart-high", "chart-critical");
+        chart.getStyleClass().removeAll("chart-low", "chart-medium", "chart-high", "chart-critical", "chart-states");
+        chart.setLegendVisible(mode == ChartMode.STATES);
 
         String axisColorStyle = "-fx-tick-label-fill: -color-text-secondary;";
 
@@ -214,14 +252,28 @@ public class CpuChartManager {
                 yAxis.setTickUnit(40);
                 axisColorStyle = "-fx-tick-label-fill: #00ff9d;";
                 break;
+            case STATES:
+                yAxis.setLabel("Share of time (%)");
+                yAxis.setUpperBound(100);
+                yAxis.setLowerBound(0);
+                yAxis.setTickUnit(20);
+                break;
         }
 
-        chart.getData().add(activeSeries);
         yAxis.setStyle(axisColorStyle);
+        if (mode == ChartMode.STATES) {
+            // fixed per-state colors, the load-level coloring does not apply
+            chart.getData().addAll(stateSeries.values());
+            chart.getStyleClass().add("chart-states");
+            return;
+        }
+        chart.getData().add(activeSeries);
 
-        // force color update
+        // force color update, the smoothed level restarts from the new series
+        colorLevel.reset();
         if (!activeSeries.getData().isEmpty()) {
             double val = activeSeries.getData().get(activeSeries.getData().size() - 1).getYValue().doubleValue();
+            colorLevel.update(val);
             updateLineColor(val);
         }
     }
@@ -240,6 +292,9 @@ public class CpuChartManager {
         btnPower.setStyle(
                 currentMode == ChartMode.POWER ? "-fx-background-color: #00ff9d; -fx-text-fill: black; " + base
                         : inactive);
+        btnStates.setStyle(
+                currentMode == ChartMode.STATES ? "-fx-background-color: #b46cff; -fx-text-fill: black; " + base
+                        : inactive);
     }
 
     private void updateLineColor(double value) {
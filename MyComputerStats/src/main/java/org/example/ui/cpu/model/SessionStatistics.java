@@ -1,62 +1,54 @@
 package org.example.ui.cpu.model;
 
 import org.example.core.cpu.CpuInfo;
+import org.example.core.stats.QuantileSketch;
+import org.example.core.stats.RunningStats;
+import org.example.core.stats.WindowedSlope;
 
 public class SessionStatistics {
 
-    // tracking accumulators
-    private double totalLoad = 0;
-    private double totalTemp = 0;
-    private double totalFreq = 0;
-    private double totalVolt = 0;
-    private double totalPower = 0;
-    private int sampleCount = 0;
-
-    // detailed session stats tracking
-    private double minLoad = Double.MAX_VALUE, maxLoad = 0;
-    private double minTemp = Double.MAX_VALUE, maxTemp = 0;
-    private double minFreq = Double.MAX_VALUE, maxFreq = 0;
-    private double minVolt = Double.MAX_VALUE, maxVolt = 0;
-    private double minPower = Double.MAX_VALUE, maxPower = 0;
+    private static final double TREND_WINDOW_SECONDS = 30;
+    // enough for 30 s at the fastest 0.1 s sampling
+    private static final int TREND_CAPACITY = 300;
+
+    // mean / variance / min / max per metric
+    private final RunningStats loadStats = new RunningStats();
+    private final RunningStats tempStats = new RunningStats();
+    private final RunningStats freqStats = new RunningStats();
+    private final RunningStats voltStats = new RunningStats();
+    private final RunningStats powerStats = new RunningStats();
+
+    // trends over the last 30 s
+    private final WindowedSlope loadTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
+    private final WindowedSlope tempTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
+    private final WindowedSlope freqTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
+    private final WindowedSlope voltTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
+    private final WindowedSlope powerTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
+
+    // percentile sketches, 1% relative error (0.5% for temperatures)
+    private final QuantileSketch loadSketch = new QuantileSketch(0.1, 100, 0.01);
+    private final QuantileSketch tempSketch = new QuantileSketch(1, 150, 0.005);
+    private final QuantileSketch freqSketch = new QuantileSketch(0.1, 10, 0.01);
+    private final QuantileSketch voltSketch = new QuantileSketch(0.1, 3, 0.01);
+    private final QuantileSketch powerSketch = new QuantileSketch(0.1, 1000, 0.01);
+
+    // per core, merged on demand into the all-core sketches
+    private QuantileSketch[] coreLoadSketches = new QuantileSketch[0];
+    private QuantileSketch[] coreTempSketches = new QuantileSketch[0];
+    private final QuantileSketch allCoreLoadSketch = loadSketch.copyLayout();
+    private final QuantileSketch allCoreTempSketch = tempSketch.copyLayout();
+    private boolean allCoreDirty = false;
 
     // throttling stats
     private double maxObservedTemp = 0;
     private int throttleEventCount = 0;
     private boolean wasThrottling = false;
 
-    public void update(CpuInfo info, double load, double packagePower) {
-        sampleCount++;
-
-        // 1. LOAD
+    public void update(CpuInfo info, double load, double packagePower, long timestamp) {
         double currentLoad = load * 100;
-        totalLoad += currentLoad;
-        if (currentLoad < minLoad)
-            minLoad = currentLoad;
-        if (currentLoad > maxLoad)
-            maxLoad = currentLoad;
-
-        // 2. TEMP
         double currentTemp = info.getTemperature();
-        totalTemp += currentTemp;
-        if (currentTemp < minTemp)
-            minTemp = currentTemp;
-        if (currentTemp > maxTemp)
-            maxTemp = currentTemp;
-
-        // Track max observed temp separately (often same as maxTemp, but explicit for
-        // throttling context)
-        if (currentTemp > maxObservedTemp)
-            maxObservedTemp = currentTemp;
-
-        // 3. FREQ
         double currentFreq = info.getClockSpeed();
-        totalFreq += currentFreq;
-        if (currentFreq < minFreq)
-            minFreq = currentFreq;
-        if (currentFreq > maxFreq)
-            maxFreq = currentFreq;
 
-        // 4. VOLTAGE
         double[] voltages = info.getPerCoreVoltages();
         double currentVolt = 0;
         if (voltages != null && voltages.length > 0) {
@@ -64,18 +56,71 @@ public class SessionStatistics {
                 currentVolt += v;
             currentVolt /= voltages.length;
         }
-        totalVolt += currentVolt;
-        if (currentVolt < minVolt)
-            minVolt = currentVolt;
-        if (currentVolt > maxVolt)
-            maxVolt = currentVolt;
 
-        // 5. POWER
-        totalPower += packagePower;
-        if (packagePower < minPower)
-            minPower = packagePower;
-        if (packagePower > maxPower)
-            maxPower = packagePower;
+        loadStats.add(currentLoad);
+        tempStats.add(currentTemp);
+        freqStats.add(currentFreq);
+        voltStats.add(currentVolt);
+        powerStats.add(packagePower);
+
+        loadTrend.add(timestamp, currentLoad);
+        tempTrend.add(timestamp, currentTemp);
+        freqTrend.add(timestamp, currentFreq);
+        voltTrend.add(timestamp, currentVolt);
+        powerTrend.add(timestamp, packagePower);
+
+        // Track max observed temp separately (often same as maxTemp, but explicit for
+        // throttling context)
+        if (currentTemp > maxObservedTemp)
+            maxObservedTemp = currentTemp;
+
+        // percentiles
+        loadSketch.add(currentLoad);
+        tempSketch.add(currentTemp);
+        freqSketch.add(currentFreq);
+        voltSketch.add(currentVolt);
+        powerSketch.add(packagePower);
+        updateCoreSketches(info);
+    }
+
+    private void updateCoreSketches(CpuInfo info) {
+        double[] loads = info.getPerCoreLoads();
+        double[] temps = info.getPerCoreTemperatures();
+        int cores = Math.max(loads != null ? loads.length : 0, temps != null ? temps.length : 0);
+
+        if (cores != coreLoadSketches.length) {
+            // core count changed (replay of another machine), old history does not map
+            coreLoadSketches = new QuantileSketch[cores];
+            coreTempSketches = new QuantileSketch[cores];
+            for (int i = 0; i < cores; i++) {
+                coreLoadSketches[i] = loadSketch.copyLayout();
+                coreTempSketches[i] = tempSketch.copyLayout();
+            }
+        }
+
+        for (int i = 0; i < cores; i++) {
+            if (loads != null && i < loads.length) {
+                coreLoadSketches[i].add(loads[i] * 100);
+            }
+            // 0 means no sensor reading for that core
+            if (temps != null && i < temps.length && temps[i] > 0) {
+                coreTempSketches[i].add(temps[i]);
+            }
+        }
+        allCoreDirty = true;
+    }
+
+    private void rollUpCores() {
+        if (!allCoreDirty) {
+            return;
+        }
+        allCoreLoadSketch.reset();
+        allCoreTempSketch.reset();
+        for (int i = 0; i < coreLoadSketches.length; i++) {
+            allCoreLoadSketch.merge(coreLoadSketches[i]);
+            allCoreTempSketch.merge(coreTempSketches[i]);
+        }
+        allCoreDirty = false;
     }
 
     public void updateThrottling(boolean isThrottling) {
@@ -86,23 +131,28 @@ public class SessionStatistics {
     }
 
     public void reset() {
-        totalLoad = 0;
-        totalTemp = 0;
-        totalFreq = 0;
-        totalVolt = 0;
-        totalPower = 0;
-        sampleCount = 0;
-
-        minLoad = Double.MAX_VALUE;
-        maxLoad = 0;
-        minTemp = Double.MAX_VALUE;
-        maxTemp = 0;
-        minFreq = Double.MAX_VALUE;
-        maxFreq = 0;
-        minVolt = Double.MAX_VALUE;
-        maxVolt = 0;
-        minPower = Double.MAX_VALUE;
-        maxPower = 0;
+        loadStats.reset();
+        tempStats.reset();
+        freqStats.reset();
+        voltStats.reset();
+        powerStats.reset();
+
+        loadTrend.reset();
+        tempTrend.reset();
+        freqTrend.reset();
+        voltTrend.reset();
+        powerTrend.reset();
+
+        loadSketch.reset();
+        tempSketch.reset();
+        freqSketch.reset();
+        voltSketch.reset();
+        powerSketch.reset();
+        coreLoadSketches = new QuantileSketch[0];
+        coreTempSketches = new QuantileSketch[0];
+        allCoreLoadSketch.reset();
+        allCoreTempSketch.reset();
+        allCoreDirty = false;
 
         maxObservedTemp = 0;
         throttleEventCount = 0;
@@ -118,66 +168,153 @@ public class SessionStatistics {
     }
 
     public int getSampleCount() {
-        return sampleCount;
+        return (int) loadStats.getCount();
     }
 
     public double getAvgLoad() {
-        return sampleCount == 0 ? 0 : totalLoad / sampleCount;
+        return loadStats.getMean();
     }
 
     public double getMinLoad() {
-        return minLoad == Double.MAX_VALUE ? 0 : minLoad;
+        return loadStats.getMin();
     }
 
     public double getMaxLoad() {
-        return maxLoad;
+        return loadStats.getMax();
+    }
+
+    public double getLoadStdDev() {
+        return loadStats.getStdDev();
+    }
+
+    // change per second over the trend window
+    public double getLoadTrend() {
+        return loadTrend.getSlope();
     }
 
     public double getAvgTemp() {
-        return sampleCount == 0 ? 0 : totalTemp / sampleCount;
+        return tempStats.getMean();
     }
 
     public double getMinTemp() {
-        return minTemp == Double.MAX_VALUE ? 0 : minTemp;
+        return tempStats.getMin();
     }
 
     public double getMaxTemp() {
-        return maxTemp;
+        return tempStats.getMax();
+    }
+
+    public double getTempStdDev() {
+        return tempStats.getStdDev();
+    }
+
+    // change per second over the trend window
+    public double getTempTrend() {
+        return tempTrend.getSlope();
     }
 
     public double getAvgFreq() {
-        return sampleCount == 0 ? 0 : totalFreq / sampleCount;
+        return freqStats.getMean();
     }
 
     public double getMinFreq() {
-        return minFreq == Double.MAX_VALUE ? 0 : minFreq;
+        return freqStats.getMin();
     }
 
     public double getMaxFreq() {
-        return maxFreq;
+        return freqStats.getMax();
+    }
+
+    public double getFreqStdDev() {
+        return freqStats.getStdDev();
+    }
+
+    // change per second over the trend window
+    public double getFreqTrend() {
+        return freqTrend.getSlope();
     }
 
     public double getAvgVolt() {
-        return sampleCount == 0 ? 0 : totalVolt / sampleCount;
+        return voltStats.getMean();
     }
 
     public double getMinVolt() {
-        return minVolt == Double.MAX_VALUE ? 0 : minVolt;
+        return voltStats.getMin();
     }
 
     public double getMaxVolt() {
-        return maxVolt;
+        return voltStats.getMax();
+    }
+
+    public double getVoltStdDev() {
+        return voltStats.getStdDev();
+    }
+
+    // change per second over the trend window
+    public double getVoltTrend() {
+        return voltTrend.getSlope();
     }
 
     public double getAvgPower() {
-        return sampleCount == 0 ? 0 : totalPower / sampleCount;
+        return powerStats.getMean();
     }
 
     public double getMinPower() {
-        return minPower == Double.MAX_VALUE ? 0 : minPower;
+        return powerStats.getMin();
     }
 
     public double getMaxPower() {
-        return maxPower;
+        return powerStats.getMax();
+    }
+
+    public double getPowerStdDev() {
+        return powerStats.getStdDev();
+    }
+
+    // change per second over the trend window
+    public double getPowerTrend() {
+        return powerTrend.getSlope();
+    }
+
+    // percentiles, q in 0..1
+
+    public double getLoadPercentile(double q) {
+        return loadSketch.quantile(q);
+    }
+
+    public double getTempPercentile(double q) {
+        return tempSketch.quantile(q);
+    }
+
+    public double getFreqPercentile(double q) {
+        return freqSketch.quantile(q);
+    }
+
+    public double getVoltPercentile(double q) {
+        return voltSketch.quantile(q);
+    }
+
+    public double getPowerPercentile(double q) {
+        return powerSketch.quantile(q);
+    }
+
+    /**
+     * every core's load samples pooled into one distribution
+     */
+    public QuantileSketch getAllCoreLoadSketch() {
+        rollUpCores();
+        return allCoreLoadSketch;
+    }
+
+    /**
+     * every core's temperature samples pooled into one distribution
+     */
+    public QuantileSketch getAllCoreTempSketch() {
+        rollUpCores();
+        return allCoreTempSketch;
+    }
+
+    public double getCoreTempPercentile(int core, double q) {
+        return core < coreTempSketches.length ? coreTempSketches[core].quantile(q) : 0;
     }
 }
@@ -0,0 +1,94 @@
+package org.example.ui.disk;
+
+import javafx.geometry.Insets;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.GridPane;
+import javafx.scene.paint.Color;
+import org.example.core.disk.BenchmarkResult;
+
+/**
+ * benchmark results, one row per pass with a small latency histogram
+ */
+public class BenchmarkPanel extends GridPane {
+
+    private static final String[] HEADERS = {"Test", "Throughput", "IOPS", "p50", "p99", "Max", "Latency spread"};
+    private static final double HISTOGRAM_WIDTH = 150;
+    private static final double HISTOGRAM_HEIGHT = 24;
+
+    private int rows = 0;
+
+    public BenchmarkPanel() {
+        this.setHgap(18);
+        this.setVgap(6);
+        this.setPadding(new Insets(5, 10, 5, 10));
+        addHeaders();
+    }
+
+    public void clear() {
+        this.getChildren().clear();
+        rows = 0;
+        addHeaders();
+    }
+
+    public void addResult(BenchmarkResult result) {
+        int r = ++rows;
+        String color = result.isWrite() ? "#ff9900" : "#00f2ff";
+        add(cell(result.getName(), "-fx-font-weight: bold; -fx-text-fill: " + color + ";"), 0, r);
+        add(cell(String.format("%.1f MB/s", result.getBytesPerSec() / (1024 * 1024)), "-fx-text-fill: white;"), 1, r);
+        add(cell(String.format("%,.0f", result.getIops()), "-fx-text-fill: white;"), 2, r);
+        add(cell(formatMicros(result.getP50Us()), "-fx-text-fill: #00ff9d;"), 3, r);
+        add(cell(formatMicros(result.getP99Us()), "-fx-text-fill: #ffcc00;"), 4, r);
+        add(cell(formatMicros(result.getMaxUs()), "-fx-text-fill: #aaa;"), 5, r);
+        add(histogram(result, color), 6, r);
+    }
+
+    private void addHeaders() {
+        for (int c = 0; c < HEADERS.length; c++) {
+            Label header = new Label(HEADERS[c]);
+            header.getStyleClass().add("info-label");
+            header.setStyle("-fx-font-weight: bold;");
+            add(header, c, 0);
+        }
+    }
+
+    private static Label cell(String text, String style) {
+        Label label = new Label(text);
+        label.setStyle("-fx-font-size: 12px; " + style);
+        return label;
+    }
+
+    // log-spaced bins from the fastest to the slowest request, heights on a log scale so the tail shows
+    private static Canvas histogram(BenchmarkResult result, String color) {
+        Canvas canvas = new Canvas(HISTOGRAM_WIDTH, HISTOGRAM_HEIGHT);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        long[] bins = result.getHistogram();
+        long peak = 0;
+        for (long count : bins) {
+            peak = Math.max(peak, count);
+        }
+        g.setFill(Color.web("#14161f"));
+        g.fillRect(0, 0, HISTOGRAM_WIDTH, HISTOGRAM_HEIGHT);
+        if (peak > 0) {
+            double width = HISTOGRAM_WIDTH / bins.length;
+            double scale = Math.log1p(peak);
+            g.setFill(Color.web(color));
+            for (int i = 0; i < bins.length; i++) {
+                double h = Math.log1p(bins[i]) / scale * (HISTOGRAM_HEIGHT - 2);
+                g.fillRect(i * width + 0.5, HISTOGRAM_HEIGHT - h, Math.max(1, width - 1), h);
+            }
+        }
+        Tooltip.install(canvas, new Tooltip(String.format("%,d requests, mean %s%s", result.getOperations(),
+                formatMicros(result.getMeanUs()), result.isDirect() ? "" : "\nO_DIRECT unavailable, reads may be cached")));
+        return canvas;
+    }
+
+    private static String formatMicros(double us) {
+        if (us < 1000) {
+            return String.format("%.0f µs", us);
+        }
+        return String.format("%.2f ms", us / 1000);
+    }
+}
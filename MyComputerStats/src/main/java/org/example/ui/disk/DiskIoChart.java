@@ -0,0 +1,237 @@
+package org.example.ui.disk;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import org.example.core.disk.DiskIoStats;
+import org.example.monitoring.disk.DiskIoSampler;
+
+/**
+ * live io figures and history for one drive
+ * drawn on a canvas from the sampler's ring buffers, so a redraw at the
+ * tick rate costs one copy of the visible metric and no scene graph churn
+ */
+public class DiskIoChart extends VBox {
+
+    private static final double CHART_HEIGHT = 90;
+
+    private static final Color BACKGROUND = Color.web("#14161f");
+    private static final Color GRID = Color.web("#2a2d3a");
+    private static final Color READ = Color.web("#00f2ff");
+    private static final Color WRITE = Color.web("#ff9900");
+    private static final Color SINGLE = Color.web("#00ff9d");
+
+    private static final String TOGGLE_STYLE = "-fx-font-size: 10px; -fx-cursor: hand; -fx-background-radius: 12; -fx-padding: 3 10;";
+
+    private enum Mode {
+        THROUGHPUT("Throughput", DiskIoSampler.READ_BYTES, DiskIoSampler.WRITE_BYTES),
+        IOPS("IOPS", DiskIoSampler.READ_IOPS, DiskIoSampler.WRITE_IOPS),
+        LATENCY("Latency", DiskIoSampler.LATENCY, -1),
+        QUEUE("Queue", DiskIoSampler.QUEUE, -1),
+        BUSY("Busy", DiskIoSampler.UTILIZATION, -1);
+
+        final String label;
+        final int first;
+        final int second;
+
+        Mode(String label, int first, int second) {
+            this.label = label;
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    private final DiskIoSampler sampler;
+    private final String device;
+
+    private final Label readLabel = new Label();
+    private final Label writeLabel = new Label();
+    private final Label iopsLabel = new Label();
+    private final Label latencyLabel = new Label();
+    private final Label queueLabel = new Label();
+    private final Label busyLabel = new Label();
+    private final Label scaleLabel = new Label();
+
+    private final Pane chartPane = new Pane();
+    private final Canvas canvas = new Canvas(0, CHART_HEIGHT);
+    private Mode mode = Mode.THROUGHPUT;
+
+    public DiskIoChart(DiskIoSampler sampler, String device) {
+        this.sampler = sampler;
+        this.device = device;
+        this.setSpacing(6);
+        this.setPadding(new Insets(5, 15, 5, 15));
+
+        HBox figures = new HBox(20, figure("Read", readLabel, READ), figure("Write", writeLabel, WRITE),
+                figure("IOPS", iopsLabel, null), figure("Latency", latencyLabel, null),
+                figure("Queue", queueLabel, null), figure("Busy", busyLabel, null));
+        figures.setAlignment(Pos.CENTER_LEFT);
+
+        ToggleGroup group = new ToggleGroup();
+        HBox toggles = new HBox(6);
+        toggles.setAlignment(Pos.CENTER_LEFT);
+        for (Mode m : Mode.values()) {
+            ToggleButton button = new ToggleButton(m.label);
+            button.setToggleGroup(group);
+            button.setUserData(m);
+            button.setSelected(m == mode);
+            toggles.getChildren().add(button);
+        }
+        group.selectedToggleProperty().addListener((obs, oldT, newT) -> {
+            if (newT == null) {
+                oldT.setSelected(true);
+                return;
+            }
+            mode = (Mode) newT.getUserData();
+            styleToggles(toggles);
+            draw();
+        });
+        styleToggles(toggles);
+
+        scaleLabel.setStyle("-fx-font-size: 10px; -fx-text-fill: #777;");
+        toggles.getChildren().add(scaleLabel);
+
+        chartPane.setMinHeight(CHART_HEIGHT);
+        chartPane.setPrefHeight(CHART_HEIGHT);
+        chartPane.setMinWidth(0);
+        chartPane.getChildren().add(canvas);
+        canvas.widthProperty().bind(chartPane.widthProperty());
+        canvas.widthProperty().addListener((obs, oldW, newW) -> draw());
+
+        this.getChildren().addAll(figures, toggles, chartPane);
+    }
+
+    public String getDevice() {
+        return device;
+    }
+
+    public void update(DiskIoStats stats) {
+        readLabel.setText(formatRate(stats.getReadBytesPerSec()));
+        writeLabel.setText(formatRate(stats.getWriteBytesPerSec()));
+        iopsLabel.setText(String.format("%.0f / %.0f", stats.getReadIops(), stats.getWriteIops()));
+        latencyLabel.setText(String.format("%.2f ms", stats.getLatencyMs()));
+        queueLabel.setText(String.format("%.2f", stats.getQueueLength()));
+        busyLabel.setText(String.format("%.0f%%", stats.getUtilization() * 100));
+        draw();
+    }
+
+    private void draw() {
+        double width = canvas.getWidth();
+        if (width <= 0) {
+            return;
+        }
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, CHART_HEIGHT);
+        g.setStroke(GRID);
+        g.setLineWidth(1);
+        for (int i = 1; i < 4; i++) {
+            double y = Math.round(CHART_HEIGHT * i / 4.0) + 0.5;
+            g.strokeLine(0, y, width, y);
+        }
+
+        double[] first = sampler.getHistory(device, mode.first);
+        double[] second = mode.second >= 0 ? sampler.getHistory(device, mode.second) : null;
+        double max = mode == Mode.BUSY ? 1.0 : Math.max(peak(first), second != null ? peak(second) : 0);
+        if (max <= 0) {
+            max = 1;
+        }
+        scaleLabel.setText("peak " + formatScale(max));
+
+        plot(g, first, max, width, second != null ? READ : SINGLE);
+        if (second != null) {
+            plot(g, second, max, width, WRITE);
+        }
+    }
+
+    // newest sample at the right edge, one history slot per step
+    private void plot(GraphicsContext g, double[] values, double max, double width, Color color) {
+        if (values.length < 2) {
+            return;
+        }
+        double step = width / (DiskIoSampler.HISTORY - 1);
+        double x0 = width - (values.length - 1) * step;
+        g.setStroke(color);
+        g.setLineWidth(1.5);
+        g.beginPath();
+        for (int i = 0; i < values.length; i++) {
+            double x = x0 + i * step;
+            double y = CHART_HEIGHT - 2 - (values[i] / max) * (CHART_HEIGHT - 4);
+            if (i == 0) {
+                g.moveTo(x, y);
+            } else {
+                g.lineTo(x, y);
+            }
+        }
+        g.stroke();
+    }
+
+    private String formatScale(double max) {
+        switch (mode) {
+            case THROUGHPUT:
+                return formatRate(max);
+            case LATENCY:
+                return String.format("%.1f ms", max);
+            case BUSY:
+                return "100%";
+            default:
+                return String.format("%.1f", max);
+        }
+    }
+
+    private static double peak(double[] values) {
+        double max = 0;
+        for (double v : values) {
+            max = Math.max(max, v);
+        }
+        return max;
+    }
+
+    private static VBox figure(String title, Label value, Color color) {
+        Label titleLabel = new Label(title);
+        titleLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #888;");
+        value.setStyle("-fx-font-size: 13px; -fx-font-weight: bold; -fx-text-fill: "
+                + (color != null ? toHex(color) : "white") + ";");
+        VBox box = new VBox(2, titleLabel, value);
+        box.setAlignment(Pos.CENTER_LEFT);
+        return box;
+    }
+
+    private static void styleToggles(HBox toggles) {
+        for (var node : toggles.getChildren()) {
+            if (node instanceof ToggleButton) {
+                ToggleButton button = (ToggleButton) node;
+                button.setStyle(TOGGLE_STYLE + (button.isSelected()
+                        ? "-fx-background-color: #00f2ff; -fx-text-fill: black;"
+                        : "-fx-background-color: #333; -fx-text-fill: #aaa;"));
+            }
+        }
+    }
+
+    private static String toHex(Color c) {
+        return String.format("#%02x%02x%02x",
+                (int) Math.round(c.getRed() * 255), (int) Math.round(c.getGreen() * 255),
+                (int) Math.round(c.getBlue() * 255));
+    }
+
+    static String formatRate(double bytesPerSec) {
+        if (bytesPerSec < 1024) {
+            return String.format("%.0f B/s", bytesPerSec);
+        }
+        if (bytesPerSec < 1024 * 1024) {
+            return String.format("%.1f KB/s", bytesPerSec / 1024);
+        }
+        if (bytesPerSec < 1024.0 * 1024 * 1024) {
+            return String.format("%.1f MB/s", bytesPerSec / (1024 * 1024));
+        }
+        return String.format("%.2f GB/s", bytesPerSec / (1024.0 * 1024 * 1024));
+    }
+}
@@ -1,9 +1,11 @@
 package org.example.ui.disk;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.chart.PieChart;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Tooltip;
@@ -16,9 +18,21 @@ import javafx.util.Duration;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import org.example.core.disk.BenchmarkResult;
+import org.example.core.disk.DirectoryNode;
 import org.example.core.disk.DiskInfo;
+import org.example.core.disk.DiskIoStats;
+import org.example.core.disk.SpaceForecast;
+import org.example.core.settings.AppSettings;
+import org.example.core.settings.SettingsManager;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.SnapshotListener;
+import org.example.monitoring.disk.BenchmarkListener;
 import org.example.monitoring.disk.DiskMonitoringService;
+import org.example.monitoring.disk.SpaceScanListener;
 
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +53,32 @@ public class DiskPageController {
     private ProgressBar totalUsageBar;
     @FXML
     private VBox drivesContainer;
+    @FXML
+    private VBox analyzerCard;
+    @FXML
+    private Label analyzerTitleLabel;
+    @FXML
+    private Label analyzerStatusLabel;
+    @FXML
+    private Button analyzerCancelButton;
+    @FXML
+    private Button analyzerRescanButton;
+    @FXML
+    private VBox treemapContainer;
+    @FXML
+    private VBox benchmarkCard;
+    @FXML
+    private Label benchmarkTitleLabel;
+    @FXML
+    private Label benchmarkStatusLabel;
+    @FXML
+    private Button benchmarkCancelButton;
+    @FXML
+    private ProgressBar benchmarkProgressBar;
+    @FXML
+    private VBox benchmarkContainer;
 
+    private SamplingScheduler sampler;
     private DiskMonitoringService diskService;
     private Timeline timeline;
 
@@ -47,50 +86,226 @@ public class DiskPageController {
     private Set<String> expandedDisks = new HashSet<>();
     private Map<String, VBox> diskCards = new HashMap<>();
     private Map<String, String> partitionDeviceMap = new HashMap<>();
+    private Map<String, DiskIoChart> ioCharts = new HashMap<>();
+    // labels added after the original row layout, kept by mount point instead of by child index
+    private Map<String, Label> forecastLabels = new HashMap<>();
+    private Map<String, Label> inodeLabels = new HashMap<>();
+
+    private TreemapView treemap;
+    private String analyzedMount;
+    // bumped per analyze() call, callbacks from an older scan are ignored
+    private int scanId = 0;
+    private BenchmarkPanel benchmarkPanel;
+
+    // io rates are read by the sampler every tick, the charts follow it
+    private final SnapshotListener snapshotListener = new SnapshotListener() {
+        @Override
+        public void onSnapshot(SystemSnapshot snapshot) {
+            if (sampler.isReplaying()) {
+                return;
+            }
+            List<DiskIoStats> stats = diskService.getIoSampler().getLatest();
+            Platform.runLater(() -> updateIoCharts(stats));
+        }
+    };
 
     @FXML
     public void initialize() {
-        diskService = new DiskMonitoringService();
+        sampler = SamplingScheduler.getInstance();
+        diskService = sampler.getDiskService();
         updateDiskInfo();
-        startLiveUpdates();
-    }
 
-    private void startLiveUpdates() {
+        // capacity changes slowly, io is pushed by the sampler
         timeline = new Timeline(
                 new KeyFrame(Duration.seconds(3), e -> refreshData()));
         timeline.setCycleCount(Animation.INDEFINITE);
+        startMonitoring();
+    }
+
+    public void startMonitoring() {
+        AppSettings settings = SettingsManager.getInstance().getSettings();
+        sampler.start(settings.getCpuRefreshInterval());
+        sampler.addListener(snapshotListener);
         timeline.play();
     }
 
     public void stopMonitoring() {
+        sampler.removeListener(snapshotListener);
         if (timeline != null) {
             timeline.stop();
         }
+        // a scan left running would keep the disk busy for a page nobody looks at
+        if (diskService.getSpaceAnalyzer().isScanning()) {
+            diskService.getSpaceAnalyzer().cancel();
+        }
     }
 
-    private void updateDiskInfo() {
-        List<DiskInfo> disks = diskService.readDiskInfo();
-        DiskInfo total = diskService.getTotalDiskInfo();
-        List<String> physicalDisks = diskService.getPhysicalDisks();
+    private void analyze(String mountPoint) {
+        if (treemap == null) {
+            treemap = new TreemapView();
+            treemapContainer.getChildren().add(treemap);
+        }
+        analyzedMount = mountPoint;
+        int id = ++scanId;
+        analyzerCard.setVisible(true);
+        analyzerCard.setManaged(true);
+        analyzerTitleLabel.setText("🔍 SPACE ANALYZER · " + mountPoint);
+        analyzerStatusLabel.setText("Scanning…");
+        analyzerCancelButton.setDisable(false);
+        analyzerRescanButton.setDisable(true);
+        treemap.clear();
+
+        diskService.getSpaceAnalyzer().start(Path.of(mountPoint), new SpaceScanListener() {
+            @Override
+            public void onProgress(DirectoryNode partial, long filesScanned) {
+                Platform.runLater(() -> {
+                    if (id == scanId) {
+                        analyzerStatusLabel.setText(String.format("Scanning… %,d files, %s",
+                                filesScanned, TreemapView.formatBytes(partial.getTotalBytes())));
+                        treemap.showPartial(partial);
+                    }
+                });
+            }
 
-        totalSpaceLabel.setText(total.getFormattedTotal());
-        usedSpaceLabel.setText(total.getFormattedUsed());
-        freeSpaceLabel.setText(total.getFormattedFree());
-        usagePercentLabel.setText(String.format("%.1f%%", total.getUsagePercent()));
-        totalUsageBar.setProgress(total.getUsagePercent() / 100.0);
+            @Override
+            public void onComplete(DirectoryNode root, long elapsedMs) {
+                Platform.runLater(() -> {
+                    if (id == scanId) {
+                        analyzerStatusLabel.setText(String.format("%,d files, %s in %.1f s",
+                                root.getTotalFiles(), TreemapView.formatBytes(root.getTotalBytes()), elapsedMs / 1000.0));
+                        analyzerCancelButton.setDisable(true);
+                        analyzerRescanButton.setDisable(false);
+                        treemap.showResult(root);
+                    }
+                });
+            }
+
+            @Override
+            public void onCancelled() {
+                Platform.runLater(() -> {
+                    if (id == scanId) {
+                        analyzerStatusLabel.setText("Cancelled");
+                        analyzerCancelButton.setDisable(true);
+                        analyzerRescanButton.setDisable(false);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailed(String message) {
+                Platform.runLater(() -> {
+                    if (id == scanId) {
+                        analyzerStatusLabel.setText("Scan failed: " + message);
+                        analyzerCancelButton.setDisable(true);
+                        analyzerRescanButton.setDisable(false);
+                    }
+                });
+            }
+        });
+    }
+
+    private void benchmark(DiskInfo disk) {
+        if (diskService.getBenchmark().isRunning()) {
+            return;
+        }
+        if (benchmarkPanel == null) {
+            benchmarkPanel = new BenchmarkPanel();
+            benchmarkContainer.getChildren().add(benchmarkPanel);
+        }
+        benchmarkCard.setVisible(true);
+        benchmarkCard.setManaged(true);
+        benchmarkTitleLabel.setText("⏱ BENCHMARK · " + disk.getMountPoint());
+        benchmarkStatusLabel.setText("Preparing test file…");
+        benchmarkCancelButton.setDisable(false);
+        benchmarkProgressBar.setProgress(0);
+        benchmarkPanel.clear();
+
+        // keeps running when the page is left, the results are waiting on return
+        diskService.getBenchmark().start(disk.getMountPoint(), disk.getFreeBytes(), new BenchmarkListener() {
+            @Override
+            public void onStage(String stage, int index, int total) {
+                Platform.runLater(() -> {
+                    benchmarkStatusLabel.setText("Running " + stage + " (" + (index + 1) + "/" + total + ")");
+                    benchmarkProgressBar.setProgress(index / (double) total);
+                });
+            }
+
+            @Override
+            public void onResult(BenchmarkResult result) {
+                Platform.runLater(() -> benchmarkPanel.addResult(result));
+            }
+
+            @Override
+            public void onComplete(List<BenchmarkResult> results) {
+                Platform.runLater(() -> {
+                    boolean direct = results.isEmpty() || results.get(0).isDirect();
+                    benchmarkStatusLabel.setText(direct ? "Done" : "Done · O_DIRECT unavailable, reads may be cached");
+                    benchmarkProgressBar.setProgress(1);
+                    benchmarkCancelButton.setDisable(true);
+                });
+            }
+
+            @Override
+            public void onCancelled() {
+                Platform.runLater(() -> {
+                    benchmarkStatusLabel.setText("Cancelled");
+                    benchmarkCancelButton.setDisable(true);
+                });
+            }
+
+            @Override
+            public void onFailed(String message) {
+                Platform.runLater(() -> {
+                    benchmarkStatusLabel.setText("Benchmark failed: " + message);
+                    benchmarkCancelButton.setDisable(true);
+                });
+            }
+        });
+    }
+
+    @FXML
+    private void handleCancelBenchmark() {
+        diskService.getBenchmark().cancel();
+    }
+
+    @FXML
+    private void handleCancelAnalysis() {
+        diskService.getSpaceAnalyzer().cancel();
+    }
 
-        buildDrivesList(disks, physicalDisks);
+    @FXML
+    private void handleRescan() {
+        if (analyzedMount != null) {
+            analyze(analyzedMount);
+        }
+    }
+
+    private void updateIoCharts(List<DiskIoStats> stats) {
+        for (DiskIoStats s : stats) {
+            DiskIoChart chart = ioCharts.get(s.getName());
+            if (chart != null) {
+                chart.update(s);
+            }
+        }
+    }
+
+    private void updateDiskInfo() {
+        List<DiskInfo> disks = diskService.readDiskInfo();
+        diskService.checkMountsChanged();
+        updateTotals(diskService.getTotalDiskInfo(disks));
+        buildDrivesList(disks);
     }
 
     private void refreshData() {
+        // one file store snapshot per tick, totals come from the same list
         List<DiskInfo> disks = diskService.readDiskInfo();
-        DiskInfo total = diskService.getTotalDiskInfo();
+        updateTotals(diskService.getTotalDiskInfo(disks));
 
-        totalSpaceLabel.setText(total.getFormattedTotal());
-        usedSpaceLabel.setText(total.getFormattedUsed());
-        freeSpaceLabel.setText(total.getFormattedFree());
-        usagePercentLabel.setText(String.format("%.1f%%", total.getUsagePercent()));
-        totalUsageBar.setProgress(total.getUsagePercent() / 100.0);
+        // a mount came or went, only then rebuild the cards and the partition map
+        if (diskService.checkMountsChanged()) {
+            buildDrivesList(disks);
+            return;
+        }
 
         // update existing cards without rebuilding
         for (DiskInfo disk : disks) {
@@ -103,11 +318,22 @@ public class DiskPageController {
         }
     }
 
-    private void buildDrivesList(List<DiskInfo> disks, List<String> physicalDisks) {
+    private void updateTotals(DiskInfo total) {
+        totalSpaceLabel.setText(total.getFormattedTotal());
+        usedSpaceLabel.setText(total.getFormattedUsed());
+        freeSpaceLabel.setText(total.getFormattedFree());
+        usagePercentLabel.setText(String.format("%.1f%%", total.getUsagePercent()));
+        totalUsageBar.setProgress(total.getUsagePercent() / 100.0);
+    }
+
+    private void buildDrivesList(List<DiskInfo> disks) {
         if (drivesContainer.getChildren().size() > 1) {
             drivesContainer.getChildren().subList(1, drivesContainer.getChildren().size()).clear();
         }
         diskCards.clear();
+        ioCharts.clear();
+        forecastLabels.clear();
+        inodeLabels.clear();
         partitionDeviceMap = diskService.getPartitionDeviceMap();
 
         // group partitions by device
@@ -136,6 +362,13 @@ public class DiskPageController {
                     "-fx-background-color: rgba(0,242,255,0.08); -fx-padding: 8 15; -fx-background-radius: 8;");
             deviceSection.getChildren().add(deviceHeader);
 
+            String device = diskService.getIoSampler().findDevice(deviceName);
+            if (device != null && !ioCharts.containsKey(device)) {
+                DiskIoChart ioChart = new DiskIoChart(diskService.getIoSampler(), device);
+                ioCharts.put(device, ioChart);
+                deviceSection.getChildren().add(ioChart);
+            }
+
             for (DiskInfo disk : deviceDisks) {
                 VBox driveCard = createDriveCard(disk);
                 diskCards.put(disk.getMountPoint(), driveCard);
@@ -199,7 +432,15 @@ public class DiskPageController {
         expandHint.setAlignment(Pos.CENTER_RIGHT);
         expandHint.setMaxWidth(Double.MAX_VALUE);
 
-        usageRow.getChildren().addAll(usedLabel, freeLabel, expandHint);
+        Label forecastLabel = new Label();
+        updateForecastLabel(forecastLabel, disk);
+        forecastLabels.put(disk.getMountPoint(), forecastLabel);
+
+        Label inodeLabel = new Label();
+        updateInodeLabel(inodeLabel, disk);
+        inodeLabels.put(disk.getMountPoint(), inodeLabel);
+
+        usageRow.getChildren().addAll(usedLabel, freeLabel, forecastLabel, inodeLabel, expandHint);
 
         mainRow.getChildren().addAll(header, bar, usageRow);
 
@@ -248,6 +489,84 @@ public class DiskPageController {
 
         Label freeLabel = (Label) usageRow.getChildren().get(1);
         freeLabel.setText(disk.getFormattedFree() + " free");
+
+        Label forecastLabel = forecastLabels.get(disk.getMountPoint());
+        if (forecastLabel != null) {
+            updateForecastLabel(forecastLabel, disk);
+        }
+        Label inodeLabel = inodeLabels.get(disk.getMountPoint());
+        if (inodeLabel != null) {
+            updateInodeLabel(inodeLabel, disk);
+        }
+    }
+
+    private void updateInodeLabel(Label label, DiskInfo disk) {
+        label.setVisible(disk.hasInodes());
+        label.setManaged(disk.hasInodes());
+        if (!disk.hasInodes()) {
+            return;
+        }
+        double percent = disk.getInodeUsagePercent();
+        label.setText(String.format("inodes %.1f%%", percent));
+        label.setStyle("-fx-font-size: 13px; -fx-text-fill: "
+                + (percent >= 90 ? "#ff3333" : percent >= 75 ? "#ffcc00" : "#888") + ";");
+    }
+
+    private void updateForecastLabel(Label label, DiskInfo disk) {
+        SpaceForecast forecast = diskService.getForecast(disk.getMountPoint());
+        if (forecast == null || !forecast.isReady()) {
+            label.setText("trend: collecting…");
+            label.setStyle("-fx-font-size: 13px; -fx-text-fill: #666;");
+            label.setTooltip(null);
+            return;
+        }
+        double growth = forecast.getGrowthBytesPerHour();
+        String text = (growth >= 0 ? "+" : "−") + formatBytes(Math.abs(growth)) + "/h";
+        String color = "#aaa";
+        // whichever runs out first, bytes or inodes
+        double hours = Math.min(forecast.getHoursToFull(), forecast.getInodeHoursToFull());
+        if (!Double.isInfinite(hours)) {
+            text += " · full in " + formatHours(hours) + (forecast.isInodeBound() ? " (inodes)" : "");
+            color = hours < 24 ? "#ff3333" : hours < 24 * 7 ? "#ffcc00" : "#aaa";
+        }
+        label.setText(text);
+        label.setStyle("-fx-font-size: 13px; -fx-text-fill: " + color + ";");
+
+        String details = String.format("trend over the last %.1f h", forecast.getSpanHours());
+        if (!Double.isNaN(forecast.getChange24h())) {
+            double change = forecast.getChange24h();
+            details += "\nlast 24 h: " + (change >= 0 ? "+" : "−") + formatBytes(Math.abs(change));
+        }
+        if (disk.hasInodes()) {
+            double inodeGrowth = forecast.getInodeGrowthPerHour();
+            details += String.format("\ninodes: %,d of %,d used, %s%,.0f/h", disk.getUsedInodes(),
+                    disk.getTotalInodes(), inodeGrowth >= 0 ? "+" : "−", Math.abs(inodeGrowth));
+        }
+        if (label.getTooltip() == null) {
+            label.setTooltip(new Tooltip());
+        }
+        label.getTooltip().setText(details);
+    }
+
+    private static String formatHours(double hours) {
+        if (hours < 1) {
+            return String.format("%.0f min", hours * 60);
+        }
+        if (hours < 48) {
+            long minutes = Math.round(hours * 60);
+            return String.format("%d h %02d min", minutes / 60, minutes % 60);
+        }
+        return String.format("%.1f days", hours / 24);
+    }
+
+    private static String formatBytes(double bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.0f KB", bytes / 1024);
+        }
+        if (bytes < 1024.0 * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024 * 1024));
+        }
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
     }
 
     private HBox createExpandedPanel(DiskInfo disk) {
@@ -268,6 +587,27 @@ public class DiskPageController {
         addStatRow(statsBox, "Total Space:", disk.getFormattedTotal(), "#ffffff");
         addStatRow(statsBox, "Used Space:", disk.getFormattedUsed(), isLowSpace ? "#ff3333" : "#ffcc00");
         addStatRow(statsBox, "Free Space:", disk.getFormattedFree(), isLowSpace ? "#ff3333" : "#00ff9d");
+        if (disk.hasInodes()) {
+            addStatRow(statsBox, "Inodes:", String.format("%,d / %,d (%.1f%%)", disk.getUsedInodes(),
+                    disk.getTotalInodes(), disk.getInodeUsagePercent()),
+                    disk.getInodeUsagePercent() >= 90 ? "#ff3333" : "#ffffff");
+        }
+        if (disk.getOptions() != null && !disk.getOptions().isEmpty()) {
+            addStatRow(statsBox, "Options:", disk.getOptions(), "#888");
+        }
+
+        Button analyzeButton = new Button("Analyze Space");
+        analyzeButton.setStyle("-fx-font-size: 12px; -fx-background-color: " + (isLowSpace ? "#ff3333" : "#00f2ff")
+                + "; -fx-text-fill: black; -fx-cursor: hand; -fx-background-radius: 12;");
+        analyzeButton.setOnAction(e -> analyze(disk.getMountPoint()));
+
+        Button benchmarkButton = new Button("Benchmark");
+        benchmarkButton.setStyle("-fx-font-size: 12px; -fx-background-color: #333; -fx-text-fill: #ddd; -fx-cursor: hand; -fx-background-radius: 12;");
+        benchmarkButton.setOnAction(e -> benchmark(disk));
+
+        HBox actions = new HBox(10, analyzeButton, benchmarkButton);
+        actions.setAlignment(Pos.CENTER_LEFT);
+        statsBox.getChildren().add(actions);
 
         // pie chart using JavaFX PieChart
         VBox chartSection = createPieChart(disk);
@@ -0,0 +1,266 @@
+package org.example.ui.disk;
+
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import org.example.core.disk.DirectoryNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * squarified treemap of one directory level
+ * click a block to open it, right click or Up to go back. partial scans
+ * can be pushed as often as they arrive, drill-down opens once the scan is done
+ */
+public class TreemapView extends VBox {
+
+    private static final double HEIGHT = 320;
+    private static final String[] PALETTE = {
+            "#0b7285", "#5f3dc4", "#c2255c", "#2b8a3e", "#e67700", "#1864ab", "#862e9c", "#a61e4d", "#5c940d", "#d9480f"
+    };
+    private static final Color FILES_COLOR = Color.web("#495057");
+    private static final Color BACKGROUND = Color.web("#14161f");
+    private static final Font LABEL_FONT = Font.font(11);
+
+    private final Label pathLabel = new Label();
+    private final Label hoverLabel = new Label();
+    private final Button upButton = new Button("Up");
+    private final Pane canvasPane = new Pane();
+    private final Canvas canvas = new Canvas(0, HEIGHT);
+
+    private final Deque<DirectoryNode> trail = new ArrayDeque<>();
+    private DirectoryNode shown;
+    private boolean browsable = false;
+
+    // laid out blocks, index matches the node list
+    private final List<DirectoryNode> blockNodes = new ArrayList<>();
+    private double[] blocks = new double[0];
+
+    public TreemapView() {
+        this.setSpacing(6);
+
+        pathLabel.setStyle("-fx-font-size: 12px; -fx-font-weight: bold; -fx-text-fill: #00f2ff;");
+        hoverLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #aaa;");
+        upButton.setStyle("-fx-font-size: 11px; -fx-background-color: #333; -fx-text-fill: #ddd; -fx-cursor: hand; -fx-background-radius: 12;");
+        upButton.setDisable(true);
+        upButton.setOnAction(e -> goUp());
+        HBox.setHgrow(pathLabel, Priority.ALWAYS);
+        pathLabel.setMaxWidth(Double.MAX_VALUE);
+        HBox toolbar = new HBox(10, upButton, pathLabel);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+
+        canvasPane.setMinHeight(HEIGHT);
+        canvasPane.setPrefHeight(HEIGHT);
+        canvasPane.setMinWidth(0);
+        canvasPane.getChildren().add(canvas);
+        canvas.widthProperty().bind(canvasPane.widthProperty());
+        canvas.widthProperty().addListener((obs, oldW, newW) -> draw());
+
+        canvas.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.SECONDARY) {
+                goUp();
+                return;
+            }
+            DirectoryNode hit = hitTest(e.getX(), e.getY());
+            if (browsable && hit != null && hit.hasChildren()) {
+                trail.push(shown);
+                show(hit);
+            }
+        });
+        canvas.setOnMouseMoved(e -> {
+            DirectoryNode hit = hitTest(e.getX(), e.getY());
+            hoverLabel.setText(hit != null
+                    ? hit.getPath() + "  ·  " + formatBytes(hit.getTotalBytes()) + "  ·  " + hit.getTotalFiles() + " files"
+                    : "");
+        });
+        canvas.setOnMouseExited(e -> hoverLabel.setText(""));
+
+        this.getChildren().addAll(toolbar, canvasPane, hoverLabel);
+    }
+
+    /**
+     * running totals while a scan is going, replaces whatever is shown
+     */
+    public void showPartial(DirectoryNode partial) {
+        browsable = false;
+        trail.clear();
+        show(partial);
+    }
+
+    public void showResult(DirectoryNode root) {
+        browsable = true;
+        trail.clear();
+        show(root);
+    }
+
+    public void clear() {
+        trail.clear();
+        shown = null;
+        pathLabel.setText("");
+        hoverLabel.setText("");
+        draw();
+    }
+
+    private void goUp() {
+        if (!trail.isEmpty()) {
+            show(trail.pop());
+        }
+    }
+
+    private void show(DirectoryNode node) {
+        shown = node;
+        upButton.setDisable(trail.isEmpty());
+        pathLabel.setText(node.getPath() + "  —  " + formatBytes(node.getTotalBytes()));
+        draw();
+    }
+
+    private void draw() {
+        double width = canvas.getWidth();
+        if (width <= 0) {
+            return;
+        }
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, HEIGHT);
+        blockNodes.clear();
+        if (shown == null || shown.getTotalBytes() <= 0) {
+            blocks = new double[0];
+            return;
+        }
+
+        // children largest first, files directly in this directory as one grey block
+        List<DirectoryNode> items = new ArrayList<>();
+        for (DirectoryNode child : shown.getChildren()) {
+            if (child.getTotalBytes() > 0) {
+                items.add(child);
+            }
+        }
+        if (shown.getOwnBytes() > 0) {
+            items.add(new DirectoryNode(shown.getPath(), "(files)", 0, shown.getOwnBytes(), shown.getOwnFiles(), null));
+            items.sort((a, b) -> Long.compare(b.getTotalBytes(), a.getTotalBytes()));
+        }
+
+        double scale = width * HEIGHT / shown.getTotalBytes();
+        double[] areas = new double[items.size()];
+        for (int i = 0; i < areas.length; i++) {
+            areas[i] = items.get(i).getTotalBytes() * scale;
+        }
+        blocks = new double[items.size() * 4];
+        squarify(areas, 0, 0, width, HEIGHT);
+        blockNodes.addAll(items);
+
+        g.setFont(LABEL_FONT);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.TOP);
+        for (int i = 0; i < items.size(); i++) {
+            DirectoryNode node = items.get(i);
+            double x = blocks[i * 4];
+            double y = blocks[i * 4 + 1];
+            double w = blocks[i * 4 + 2];
+            double h = blocks[i * 4 + 3];
+            g.setFill(node.getPath().equals(shown.getPath()) ? FILES_COLOR : Color.web(PALETTE[i % PALETTE.length]));
+            g.fillRect(x + 1, y + 1, Math.max(0, w - 2), Math.max(0, h - 2));
+            if (w > 50 && h > 30) {
+                g.setFill(Color.WHITE);
+                g.fillText(node.getName(), x + 5, y + 4, w - 10);
+                g.setFill(Color.web("#dddddd"));
+                g.fillText(formatBytes(node.getTotalBytes()), x + 5, y + 18, w - 10);
+            }
+        }
+    }
+
+    // squarified layout (bruls, huizing, van wijk), areas sorted largest first
+    private void squarify(double[] areas, double x, double y, double w, double h) {
+        int start = 0;
+        while (start < areas.length) {
+            double side = Math.min(w, h);
+            int end = start;
+            double rowSum = 0;
+            double worst = Double.MAX_VALUE;
+            while (end < areas.length) {
+                double sum = rowSum + areas[end];
+                double ratio = worstRatio(areas[start], areas[end], sum, side);
+                if (end > start && ratio > worst) {
+                    break;
+                }
+                worst = ratio;
+                rowSum = sum;
+                end++;
+            }
+
+            double thickness = side > 0 ? rowSum / side : 0;
+            double offset = 0;
+            for (int i = start; i < end; i++) {
+                double length = thickness > 0 ? areas[i] / thickness : 0;
+                if (w >= h) {
+                    setBlock(i, x, y + offset, thickness, length);
+                } else {
+                    setBlock(i, x + offset, y, length, thickness);
+                }
+                offset += length;
+            }
+            if (w >= h) {
+                x += thickness;
+                w -= thickness;
+            } else {
+                y += thickness;
+                h -= thickness;
+            }
+            start = end;
+        }
+    }
+
+    private static double worstRatio(double largest, double smallest, double sum, double side) {
+        double side2 = side * side;
+        double sum2 = sum * sum;
+        if (smallest <= 0 || sum2 <= 0) {
+            return Double.MAX_VALUE;
+        }
+        return Math.max(side2 * largest / sum2, sum2 / (side2 * smallest));
+    }
+
+    private void setBlock(int i, double x, double y, double w, double h) {
+        blocks[i * 4] = x;
+        blocks[i * 4 + 1] = y;
+        blocks[i * 4 + 2] = w;
+        blocks[i * 4 + 3] = h;
+    }
+
+    private DirectoryNode hitTest(double px, double py) {
+        for (int i = 0; i < blockNodes.size(); i++) {
+            double x = blocks[i * 4];
+            double y = blocks[i * 4 + 1];
+            if (px >= x && py >= y && px < x + blocks[i * 4 + 2] && py < y + blocks[i * 4 + 3]) {
+                return blockNodes.get(i);
+            }
+        }
+        return null;
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        if (bytes < 1024L * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        }
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+}
@@ -0,0 +1,346 @@
+package org.example.ui.network;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import org.example.core.network.NetworkInterfaceStats;
+import org.example.core.settings.AppSettings;
+import org.example.core.settings.SettingsChangeListener;
+import org.example.core.settings.SettingsManager;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.SnapshotListener;
+import org.example.monitoring.network.NetworkMonitoringService;
+import org.example.ui.network.manager.NetworkChartManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NetworkPageController {
+
+    private static final String CARD_STYLE = "-fx-background-color: rgba(255,255,255,0.03); -fx-background-radius: 12; -fx-cursor: hand;";
+    private static final String SELECTED_CARD_STYLE = "-fx-background-color: rgba(0,242,255,0.08); -fx-background-radius: 12; "
+            + "-fx-border-color: rgba(0,242,255,0.4); -fx-border-radius: 12; -fx-cursor: hand;";
+
+    @FXML
+    private Label totalRxLabel;
+    @FXML
+    private Label totalTxLabel;
+    @FXML
+    private Label interfaceCountLabel;
+    @FXML
+    private Label totalErrorsLabel;
+
+    @FXML
+    private Label chartTitleLabel;
+    @FXML
+    private LineChart<Number, Number> networkChart;
+    @FXML
+    private NumberAxis xAxis;
+    @FXML
+    private NumberAxis yAxis;
+
+    @FXML
+    private VBox interfacesContainer;
+
+    private SamplingScheduler sampler;
+    private NetworkMonitoringService networkService;
+    private NetworkChartManager chartManager;
+
+    // cards by interface name, in the order the service lists them
+    private Map<String, InterfaceCard> cards = new LinkedHashMap<>();
+
+    // counters are read by the sampler every tick, live only
+    private final SnapshotListener snapshotListener = new SnapshotListener() {
+        @Override
+        public void onSnapshot(SystemSnapshot snapshot) {
+            if (sampler.isReplaying()) {
+                return;
+            }
+            List<NetworkInterfaceStats> stats = networkService.getLatest();
+            long timestamp = snapshot.getTimestamp();
+            Platform.runLater(() -> {
+                refresh(stats);
+                for (NetworkInterfaceStats s : stats) {
+                    chartManager.update(s, timestamp);
+                }
+            });
+        }
+    };
+
+    @FXML
+    public void initialize() {
+        sampler = SamplingScheduler.getInstance();
+        networkService = sampler.getNetworkService();
+        chartManager = new NetworkChartManager(networkChart, xAxis, yAxis, networkService);
+
+        applySettings(SettingsManager.getInstance().getSettings());
+
+        List<NetworkInterfaceStats> stats = networkService.getLatest();
+        if (stats.isEmpty()) {
+            // first visit before the sampler ran, the rates fill in from the next tick
+            stats = networkService.sample(System.currentTimeMillis());
+        }
+        buildInterfaceList(stats);
+        refresh(stats);
+
+        startMonitoring();
+        SettingsChangeListener.getInstance().addListener(this::applySettings);
+    }
+
+    public void startMonitoring() {
+        AppSettings settings = SettingsManager.getInstance().getSettings();
+        sampler.start(settings.getCpuRefreshInterval());
+        sampler.addListener(snapshotListener);
+    }
+
+    public void stopMonitoring() {
+        sampler.removeListener(snapshotListener);
+    }
+
+    private void applySettings(AppSettings settings) {
+        if (chartManager != null) {
+            chartManager.updateSettings(settings);
+        }
+    }
+
+    private void refresh(List<NetworkInterfaceStats> stats) {
+        // an interface came or went, rebuild the cards
+        if (!sameInterfaces(stats)) {
+            buildInterfaceList(stats);
+        }
+
+        double rx = 0;
+        double tx = 0;
+        long errors = 0;
+        int up = 0;
+        for (NetworkInterfaceStats s : stats) {
+            rx += s.getRxBytesPerSec();
+            tx += s.getTxBytesPerSec();
+            errors += s.getRxErrors() + s.getTxErrors();
+            if (s.isUp()) {
+                up++;
+            }
+            InterfaceCard card = cards.get(s.getName());
+            if (card != null) {
+                card.update(s);
+            }
+        }
+        totalRxLabel.setText(formatRate(rx));
+        totalTxLabel.setText(formatRate(tx));
+        interfaceCountLabel.setText(up + " / " + stats.size());
+        totalErrorsLabel.setText(String.format("%,d", errors));
+        totalErrorsLabel.setStyle(errors > 0 ? "-fx-text-fill: #ff5555;" : "");
+    }
+
+    private boolean sameInterfaces(List<NetworkInterfaceStats> stats) {
+        if (stats.size() != cards.size()) {
+            return false;
+        }
+        int i = 0;
+        List<String> names = new ArrayList<>(cards.keySet());
+        for (NetworkInterfaceStats s : stats) {
+            if (!s.getName().equals(names.get(i++))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void buildInterfaceList(List<NetworkInterfaceStats> stats) {
+        if (interfacesContainer.getChildren().size() > 1) {
+            interfacesContainer.getChildren().subList(1, interfacesContainer.getChildren().size()).clear();
+        }
+        cards.clear();
+
+        for (NetworkInterfaceStats s : stats) {
+            InterfaceCard card = new InterfaceCard(s);
+            cards.put(s.getName(), card);
+            interfacesContainer.getChildren().add(card.root);
+        }
+
+        if (stats.isEmpty()) {
+            Label none = new Label("No network interfaces found");
+            none.setStyle("-fx-font-size: 13px; -fx-text-fill: #777;");
+            interfacesContainer.getChildren().add(none);
+        }
+
+        // keep the charted interface if it is still there, else the busiest one that is up
+        String selected = chartManager.getInterfaceName();
+        if (selected == null || !cards.containsKey(selected)) {
+            select(pickDefault(stats));
+        } else {
+            markSelected(selected);
+        }
+    }
+
+    private static String pickDefault(List<NetworkInterfaceStats> stats) {
+        NetworkInterfaceStats best = null;
+        for (NetworkInterfaceStats s : stats) {
+            if (best == null || (s.isUp() && !best.isUp())
+                    || (s.isUp() == best.isUp() && s.getRxTotalBytes() + s.getTxTotalBytes()
+                            > best.getRxTotalBytes() + best.getTxTotalBytes())) {
+                best = s;
+            }
+        }
+        return best != null ? best.getName() : null;
+    }
+
+    private void select(String name) {
+        chartManager.show(name);
+        chartTitleLabel.setText(name != null ? "📈 THROUGHPUT · " + name : "📈 THROUGHPUT");
+        markSelected(name);
+    }
+
+    private void markSelected(String name) {
+        for (Map.Entry<String, InterfaceCard> entry : cards.entrySet()) {
+            entry.getValue().root.setStyle(entry.getKey().equals(name) ? SELECTED_CARD_STYLE : CARD_STYLE);
+        }
+    }
+
+    static String formatRate(double bytesPerSec) {
+        if (bytesPerSec >= 1024.0 * 1024 * 1024) {
+            return String.format("%.2f GB/s", bytesPerSec / (1024.0 * 1024 * 1024));
+        } else if (bytesPerSec >= 1024.0 * 1024) {
+            return String.format("%.2f MB/s", bytesPerSec / (1024.0 * 1024));
+        } else if (bytesPerSec >= 1024) {
+            return String.format("%.1f KB/s", bytesPerSec / 1024);
+        }
+        return String.format("%.0f B/s", bytesPerSec);
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes >= 1024L * 1024 * 1024) {
+            return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+        } else if (bytes >= 1024L * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        } else if (bytes >= 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return bytes + " B";
+    }
+
+    static String formatSpeed(long bitsPerSec) {
+        if (bitsPerSec <= 0) {
+            return "unknown speed";
+        } else if (bitsPerSec >= 1_000_000_000L) {
+            return String.format("%.0f Gbit/s", bitsPerSec / 1e9);
+        }
+        return String.format("%.0f Mbit/s", bitsPerSec / 1e6);
+    }
+
+    private static Label valueLabel(String color) {
+        Label label = new Label("-");
+        label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: " + color + ";");
+        return label;
+    }
+
+    private static VBox column(String title, Label value) {
+        Label titleLabel = new Label(title);
+        titleLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #777;");
+        VBox box = new VBox(2, titleLabel, value);
+        box.setAlignment(Pos.CENTER_LEFT);
+        box.setMinWidth(110);
+        return box;
+    }
+
+    // one interface's card, labels are updated in place every tick
+    private class InterfaceCard {
+        final VBox root = new VBox(10);
+        final Label statusLabel = new Label();
+        final Label speedLabel = new Label();
+        final Label rxLabel = valueLabel("#00ff9d");
+        final Label txLabel = valueLabel("#ffb800");
+        final Label packetsLabel = valueLabel("#e0e0e0");
+        final Label totalsLabel = valueLabel("#e0e0e0");
+        final Label errorsLabel = valueLabel("#e0e0e0");
+        final ProgressBar utilizationBar = new ProgressBar(0);
+        final Label utilizationLabel = new Label();
+        final Label addressLabel = new Label();
+
+        InterfaceCard(NetworkInterfaceStats s) {
+            root.setPadding(new Insets(15, 20, 15, 20));
+            root.setStyle(CARD_STYLE);
+            root.setOnMouseClicked(e -> select(s.getName()));
+
+            HBox header = new HBox(12);
+            header.setAlignment(Pos.CENTER_LEFT);
+            Label nameLabel = new Label(s.getName());
+            nameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #00f2ff;");
+            Label displayLabel = new Label(s.getDisplayName() != null && !s.getDisplayName().equals(s.getName())
+                    ? s.getDisplayName() : "");
+            displayLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #777;");
+            HBox.setHgrow(displayLabel, Priority.ALWAYS);
+            displayLabel.setMaxWidth(Double.MAX_VALUE);
+            speedLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #aaa;");
+            header.getChildren().addAll(nameLabel, displayLabel, speedLabel, statusLabel);
+
+            HBox rates = new HBox(20,
+                    column("Download", rxLabel),
+                    column("Upload", txLabel),
+                    column("Packets in / out", packetsLabel),
+                    column("Received / Sent", totalsLabel),
+                    column("Errors / Drops", errorsLabel));
+            rates.setAlignment(Pos.CENTER_LEFT);
+
+            HBox utilization = new HBox(10);
+            utilization.setAlignment(Pos.CENTER_LEFT);
+            utilizationBar.setPrefHeight(8);
+            utilizationBar.setMaxWidth(Double.MAX_VALUE);
+            HBox.setHgrow(utilizationBar, Priority.ALWAYS);
+            utilizationLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #aaa;");
+            utilizationLabel.setMinWidth(110);
+            utilization.getChildren().addAll(utilizationBar, utilizationLabel);
+
+            addressLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #777;");
+            addressLabel.setWrapText(true);
+
+            root.getChildren().addAll(header, rates, utilization, addressLabel);
+            update(s);
+        }
+
+        void update(NetworkInterfaceStats s) {
+            statusLabel.setText(s.isUp() ? "● UP" : "● DOWN");
+            statusLabel.setStyle("-fx-font-size: 12px; -fx-font-weight: bold; -fx-text-fill: "
+                    + (s.isUp() ? "#00ff9d" : "#ff5555") + ";");
+            speedLabel.setText(formatSpeed(s.getSpeedBitsPerSec()));
+
+            rxLabel.setText(formatRate(s.getRxBytesPerSec()));
+            txLabel.setText(formatRate(s.getTxBytesPerSec()));
+            packetsLabel.setText(String.format("%.0f / %.0f /s", s.getRxPacketsPerSec(), s.getTxPacketsPerSec()));
+            totalsLabel.setText(formatBytes(s.getRxTotalBytes()) + " / " + formatBytes(s.getTxTotalBytes()));
+
+            long errors = s.getRxErrors() + s.getTxErrors();
+            errorsLabel.setText(String.format("%,d / %,d", errors, s.getRxDrops()));
+            // red only while errors or drops are still climbing
+            boolean rising = s.getRxErrorsPerSec() + s.getTxErrorsPerSec() + s.getRxDropsPerSec() > 0;
+            errorsLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: "
+                    + (rising ? "#ff5555" : "#e0e0e0") + ";");
+
+            double utilization = s.getLinkUtilization();
+            boolean known = utilization >= 0;
+            utilizationBar.setVisible(known);
+            utilizationBar.setManaged(known);
+            if (known) {
+                utilizationBar.setProgress(utilization);
+                utilizationLabel.setText(String.format("%.1f%% of link", utilization * 100));
+            } else {
+                utilizationLabel.setText("link speed not reported");
+            }
+
+            String mac = s.getMacAddress() != null && !s.getMacAddress().isEmpty() ? "MAC " + s.getMacAddress() : "";
+            String addresses = s.getAddresses() != null && !s.getAddresses().isEmpty() ? s.getAddresses() : "no address";
+            addressLabel.setText(mac.isEmpty() ? addresses : addresses + "  ·  " + mac);
+        }
+    }
+}
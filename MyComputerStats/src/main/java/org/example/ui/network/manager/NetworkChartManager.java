@@ -0,0 +1,129 @@
+package org.example.ui.network.manager;
+
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import org.example.core.network.NetworkInterfaceStats;
+import org.example.core.settings.AppSettings;
+import org.example.monitoring.network.NetworkMonitoringService;
+
+public class NetworkChartManager {
+
+    private static final double KB = 1024.0;
+
+    private final LineChart<Number, Number> chart;
+    private final NumberAxis xAxis;
+    private final NumberAxis yAxis;
+    private final NetworkMonitoringService networkService;
+
+    private XYChart.Series<Number, Number> rxSeries = new XYChart.Series<>();
+    private XYChart.Series<Number, Number> txSeries = new XYChart.Series<>();
+
+    private String interfaceName;
+    private long startTime = 0;
+    private int maxDataPoints = 60;
+
+    public NetworkChartManager(LineChart<Number, Number> chart, NumberAxis xAxis, NumberAxis yAxis,
+            NetworkMonitoringService networkService) {
+        this.chart = chart;
+        this.xAxis = xAxis;
+        this.yAxis = yAxis;
+        this.networkService = networkService;
+
+        initialize();
+    }
+
+    private void initialize() {
+        rxSeries.setName("Download (KB/s)");
+        txSeries.setName("Upload (KB/s)");
+        chart.getData().add(rxSeries);
+        chart.getData().add(txSeries);
+        chart.getStyleClass().add("chart-network");
+
+        xAxis.setTickLabelFormatter(new javafx.util.StringConverter<Number>() {
+            @Override
+            public String toString(Number n) {
+                return String.valueOf(n.intValue());
+            }
+
+            @Override
+            public Number fromString(String s) {
+                return Integer.parseInt(s);
+            }
+        });
+
+        yAxis.setLabel("KB/s");
+        yAxis.setAutoRanging(true);
+        yAxis.setForceZeroInRange(true);
+        yAxis.setStyle("-fx-tick-label-fill: #00f2ff;");
+
+        xAxis.setLabel("Time (s)");
+        xAxis.setStyle("-fx-tick-label-fill: #00f2ff;");
+    }
+
+    public void updateSettings(AppSettings settings) {
+        this.maxDataPoints = settings.getChartHistorySeconds();
+        xAxis.setUpperBound(maxDataPoints);
+    }
+
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    /**
+     * switches the chart to another interface, filled from the service's history
+     */
+    public void show(String name) {
+        reset();
+        interfaceName = name;
+        if (name == null) {
+            return;
+        }
+        long[] times = networkService.getHistoryTimes(name);
+        double[] rx = networkService.getHistory(name, NetworkMonitoringService.RX_BYTES);
+        double[] tx = networkService.getHistory(name, NetworkMonitoringService.TX_BYTES);
+        int count = Math.min(times.length, Math.min(rx.length, tx.length));
+        for (int i = 0; i < count; i++) {
+            add(times[i], rx[i], tx[i]);
+        }
+    }
+
+    public void update(NetworkInterfaceStats stats, long timestamp) {
+        if (!stats.getName().equals(interfaceName)) {
+            return;
+        }
+        add(timestamp, stats.getRxBytesPerSec(), stats.getTxBytesPerSec());
+    }
+
+    private void add(long timestamp, double rxBytesPerSec, double txBytesPerSec) {
+        if (startTime == 0 || timestamp < startTime) {
+            rxSeries.getData().clear();
+            txSeries.getData().clear();
+            startTime = timestamp;
+            xAxis.setAutoRanging(false);
+        }
+
+        double elapsedSeconds = (timestamp - startTime) / 1000.0;
+        rxSeries.getData().add(new XYChart.Data<>(elapsedSeconds, rxBytesPerSec / KB));
+        txSeries.getData().add(new XYChart.Data<>(elapsedSeconds, txBytesPerSec / KB));
+
+        xAxis.setLowerBound(Math.max(0, elapsedSeconds - maxDataPoints));
+        xAxis.setUpperBound(Math.max(elapsedSeconds, maxDataPoints));
+
+        trimOldData(rxSeries, elapsedSeconds - maxDataPoints);
+        trimOldData(txSeries, elapsedSeconds - maxDataPoints);
+    }
+
+    private void trimOldData(XYChart.Series<Number, Number> series, double threshold) {
+        var data = series.getData();
+        while (!data.isEmpty() && data.get(0).getXValue().doubleValue() < threshold) {
+            data.remove(0);
+        }
+    }
+
+    public void reset() {
+        rxSeries.getData().clear();
+        txSeries.getData().clear();
+        startTime = 0;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.ui.ram;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.GridPane;
+import org.example.core.memory.NumaNodeInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * one row per numa node: memory use, cpu load of the node's cpus and the
+ * allocation counters. rows are built once per node count and only their
+ * text changes afterwards
+ */
+public class NumaNodePanel extends GridPane {
+
+    private static final String[] HEADERS = {
+            "Node", "Memory", "Used", "CPU", "Hit/s", "Miss/s", "Foreign/s", "Local"
+    };
+
+    private final List<Row> rows = new ArrayList<>();
+
+    public NumaNodePanel() {
+        this.setHgap(20);
+        this.setVgap(8);
+        this.setAlignment(Pos.CENTER);
+        this.setPadding(new Insets(5, 10, 5, 10));
+
+        for (int c = 0; c < HEADERS.length; c++) {
+            Label header = new Label(HEADERS[c]);
+            header.getStyleClass().add("info-label");
+            header.setStyle("-fx-font-weight: bold;");
+            this.add(header, c, 0);
+        }
+    }
+
+    public void update(List<NumaNodeInfo> nodes) {
+        if (rows.size() != nodes.size()) {
+            rebuild(nodes.size());
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            rows.get(i).update(nodes.get(i));
+        }
+    }
+
+    private void rebuild(int count) {
+        for (Row row : rows) {
+            this.getChildren().removeAll(row.cells());
+        }
+        rows.clear();
+        for (int i = 0; i < count; i++) {
+            Row row = new Row();
+            int r = i + 1;
+            this.add(row.name, 0, r);
+            this.add(row.memory, 1, r);
+            this.add(row.usage, 2, r);
+            this.add(row.cpu, 3, r);
+            this.add(row.hits, 4, r);
+            this.add(row.misses, 5, r);
+            this.add(row.foreign, 6, r);
+            this.add(row.local, 7, r);
+            rows.add(row);
+        }
+    }
+
+    private static Label valueLabel(String color) {
+        Label label = new Label();
+        label.getStyleClass().add("value-label");
+        label.setStyle("-fx-font-size: 13px; -fx-text-fill: " + color + ";");
+        return label;
+    }
+
+    private static String formatGb(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024 * 1024));
+    }
+
+    private static String formatRate(double perSec) {
+        if (perSec >= 1_000_000) {
+            return String.format("%.1fM", perSec / 1_000_000);
+        }
+        if (perSec >= 1_000) {
+            return String.format("%.1fk", perSec / 1_000);
+        }
+        return String.format("%.0f", perSec);
+    }
+
+    private static final class Row {
+        final Label name = valueLabel("#00f2ff");
+        final Label memory = valueLabel("white");
+        final ProgressBar usage = new ProgressBar(0);
+        final Label cpu = valueLabel("#00ff9d");
+        final Label hits = valueLabel("white");
+        final Label misses = valueLabel("#ffb800");
+        final Label foreign = valueLabel("#ffb800");
+        final Label local = valueLabel("#00ff9d");
+
+        Row() {
+            usage.setPrefWidth(120);
+            usage.getStyleClass().add("progress-bar");
+        }
+
+        List<Node> cells() {
+            return List.of(name, memory, usage, cpu, hits, misses, foreign, local);
+        }
+
+        void update(NumaNodeInfo node) {
+            name.setText("Node " + node.getId());
+            memory.setText(formatGb(node.getUsedBytes()) + " / " + formatGb(node.getTotalBytes()) + " GB");
+            usage.setProgress(node.getUsagePercent() / 100.0);
+            if (!node.hasCpus()) {
+                cpu.setText("no cpus");
+            } else if (node.getCpuLoad() < 0) {
+                cpu.setText(node.getCpuCount() + " cpus");
+            } else {
+                cpu.setText(String.format("%.0f%% • %d cpus", node.getCpuLoad() * 100, node.getCpuCount()));
+            }
+            hits.setText(formatRate(node.getHitRate()));
+            misses.setText(formatRate(node.getMissRate()));
+            foreign.setText(formatRate(node.getForeignRate()));
+            local.setText(String.format("%.1f%%", node.getLocalRatio() * 100));
+        }
+    }
+}
@@ -1,19 +1,23 @@
 package org.example.ui.ram;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.StackedAreaChart;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
-import javafx.util.Duration;
+import org.example.core.memory.MemoryBreakdown;
 import org.example.core.memory.RamInfo;
 import org.example.core.settings.AppSettings;
 import org.example.core.settings.SettingsChangeListener;
 import org.example.core.settings.SettingsManager;
+import org.example.core.snapshot.SystemSnapshot;
+import org.example.monitoring.SamplingScheduler;
+import org.example.monitoring.SnapshotListener;
 import org.example.monitoring.memory.RamMonitoringService;
+import org.example.ui.PressureLabels;
+import org.example.ui.ram.manager.RamBreakdownChartManager;
 import org.example.ui.ram.manager.RamChartManager;
 import org.example.ui.ram.model.RamSessionStatistics;
 
@@ -35,6 +39,18 @@ public class RamPageController {
     @FXML
     private ProgressBar usageBar;
 
+    @FXML
+    private javafx.scene.layout.HBox pressureBox;
+    @FXML
+    private Label memoryPressureLabel, ioPressureLabel;
+
+    @FXML
+    private javafx.scene.layout.VBox numaCard;
+    @FXML
+    private javafx.scene.layout.VBox numaContainer;
+    @FXML
+    private Label numaNoteLabel;
+
     @FXML
     private LineChart<Number, Number> ramChart;
     @FXML
@@ -44,6 +60,17 @@ public class RamPageController {
     @FXML
     private javafx.scene.control.ToggleButton chartModeUsage;
 
+    @FXML
+    private javafx.scene.layout.VBox breakdownCard;
+    @FXML
+    private StackedAreaChart<Number, Number> breakdownChart;
+    @FXML
+    private NumberAxis breakdownXAxis;
+    @FXML
+    private NumberAxis breakdownYAxis;
+    @FXML
+    private Label dirtyLabel, writebackLabel, mappedLabel, slabLabel, hugePagesLabel, thpLabel;
+
     @FXML
     private Label avgUsageLabel;
     @FXML
@@ -58,52 +85,87 @@ public class RamPageController {
     private Label minUsageLabel, avgUsageDetailLabel, maxUsageLabel;
     @FXML
     private Label minMBLabel, avgMBDetailLabel, maxMBLabel;
+    @FXML
+    private Label p50UsageLabel, p95UsageLabel, p99UsageLabel;
+    @FXML
+    private Label p50MBLabel, p95MBLabel, p99MBLabel;
+    @FXML
+    private Label stdDevUsageLabel, trendUsageLabel, stdDevMBLabel, trendMBLabel;
 
     private RamChartManager chartManager;
+    private RamBreakdownChartManager breakdownManager;
+    private SamplingScheduler sampler;
     private RamMonitoringService ramService;
     private RamSessionStatistics sessionStats = new RamSessionStatistics();
-    private Timeline timeline;
+
+    private NumaNodePanel numaPanel;
+
+    private boolean staticInfoPending = false;
+
+    // snapshots arrive on the sampler thread
+    private final SnapshotListener snapshotListener = new SnapshotListener() {
+        @Override
+        public void onSnapshot(SystemSnapshot snapshot) {
+            Platform.runLater(() -> {
+                updateDynamicInfo(snapshot.getRam(), snapshot.getTimestamp());
+                updatePressure(snapshot);
+            });
+        }
+
+        @Override
+        public void onTimelineReset() {
+            // replay started, seeked or ended, history no longer lines up
+            Platform.runLater(() -> {
+                handleResetStats();
+                staticInfoPending = true;
+            });
+        }
+    };
 
     @FXML
     public void initialize() {
-        ramService = new RamMonitoringService();
+        sampler = SamplingScheduler.getInstance();
+        ramService = sampler.getRamService();
 
         RamInfo info = ramService.readRamInfo();
         long totalRamBytes = info.getTotalBytes();
 
         chartManager = new RamChartManager(ramChart, xAxis, yAxis, chartModeUsage, totalRamBytes);
+        breakdownManager = new RamBreakdownChartManager(breakdownChart, breakdownXAxis, breakdownYAxis, totalRamBytes);
 
         AppSettings settings = SettingsManager.getInstance().getSettings();
         applySettings(settings);
 
+        if (ramService.isNumaAvailable()) {
+            numaPanel = new NumaNodePanel();
+            numaContainer.getChildren().add(numaPanel);
+            numaCard.setVisible(true);
+            numaCard.setManaged(true);
+        }
+
         updateStaticInfo(info);
-        updateDynamicInfo(info);
+        if (sampler.isReplaying()) {
+            // a live sample would land inside the recorded session's stats, wait for the next replayed frame
+            staticInfoPending = true;
+        } else {
+            updateDynamicInfo(info, System.currentTimeMillis());
+        }
 
         startMonitoring();
         SettingsChangeListener.getInstance().addListener(this::onSettingsChanged);
     }
 
     public void startMonitoring() {
-        if (timeline != null && timeline.getStatus() == Animation.Status.RUNNING) {
-            return;
-        }
-
         AppSettings settings = SettingsManager.getInstance().getSettings();
-        double refreshInterval = settings.getCpuRefreshInterval();
-
-        timeline = new Timeline(
-                new KeyFrame(Duration.seconds(refreshInterval), event -> {
-                    RamInfo updated = ramService.readRamInfo();
-                    updateDynamicInfo(updated);
-                }));
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.play();
+        sampler.start(settings.getCpuRefreshInterval());
+        // numa counters are only read while this page is showing them
+        ramService.setNumaSampling(numaPanel != null);
+        sampler.addListener(snapshotListener);
     }
 
     public void stopMonitoring() {
-        if (timeline != null) {
-            timeline.stop();
-        }
+        sampler.removeListener(snapshotListener);
+        ramService.setNumaSampling(false);
     }
 
     @FXML
@@ -120,25 +182,24 @@ public class RamPageController {
         if (chartManager != null) {
             chartManager.reset();
         }
+        if (breakdownManager != null) {
+            breakdownManager.reset();
+        }
         updateSessionStatsUI();
     }
 
     private void onSettingsChanged(AppSettings settings) {
+        // the sampler picks up the new interval itself
         applySettings(settings);
-        restartMonitoring();
     }
 
     private void applySettings(AppSettings settings) {
         if (chartManager != null) {
             chartManager.updateSettings(settings);
         }
-    }
-
-    private void restartMonitoring() {
-        if (timeline != null) {
-            timeline.stop();
+        if (breakdownManager != null) {
+            breakdownManager.updateSettings(settings);
         }
-        startMonitoring();
     }
 
     private void updateStaticInfo(RamInfo info) {
@@ -149,20 +210,71 @@ public class RamPageController {
         memorySpeedLabel.setText(speed > 0 ? speed + " MHz" : "N/A");
     }
 
-    private void updateDynamicInfo(RamInfo info) {
+    private void updateDynamicInfo(RamInfo info, long timestamp) {
+        if (staticInfoPending) {
+            updateStaticInfo(info);
+            staticInfoPending = false;
+        }
+
         usedMemoryLabel.setText(info.getFormattedUsed());
         availableMemoryLabel.setText(info.getFormattedAvailable());
         usagePercentLabel.setText(String.format("%.1f%%", info.getUsagePercent()));
         usageBar.setProgress(info.getUsagePercent() / 100.0);
 
         if (chartManager != null) {
-            chartManager.update(info);
+            chartManager.update(info, timestamp);
         }
+        updateBreakdown(info, timestamp);
+        updateNuma(info);
 
-        sessionStats.update(info);
+        sessionStats.update(info, timestamp);
         updateSessionStatsUI();
     }
 
+    private void updatePressure(SystemSnapshot snapshot) {
+        boolean available = snapshot.getMemoryPressure() != null || snapshot.getIoPressure() != null;
+        if (pressureBox.isVisible() != available) {
+            pressureBox.setVisible(available);
+            pressureBox.setManaged(available);
+        }
+        PressureLabels.show(memoryPressureLabel, "Memory", snapshot.getMemoryPressure());
+        PressureLabels.show(ioPressureLabel, "IO", snapshot.getIoPressure());
+    }
+
+    private void updateBreakdown(RamInfo info, long timestamp) {
+        // older recordings and non-linux systems have no breakdown
+        boolean available = info.hasBreakdown();
+        if (breakdownCard.isVisible() != available) {
+            breakdownCard.setVisible(available);
+            breakdownCard.setManaged(available);
+        }
+        if (!available) {
+            return;
+        }
+
+        MemoryBreakdown b = info.getBreakdown();
+        breakdownManager.update(info, timestamp);
+        dirtyLabel.setText(formatBytes(b.getDirty()));
+        writebackLabel.setText(formatBytes(b.getWriteback()));
+        mappedLabel.setText(formatBytes(b.getMapped()));
+        slabLabel.setText(formatBytes(b.getSlab()));
+        hugePagesLabel.setText((b.getHugePagesTotal() - b.getHugePagesFree()) + " / " + b.getHugePagesTotal());
+        thpLabel.setText(formatBytes(b.getAnonHugePages()));
+    }
+
+    private void updateNuma(RamInfo info) {
+        if (numaPanel == null) {
+            return;
+        }
+        if (info.getNumaNodes().isEmpty()) {
+            // recordings carry no numa data
+            numaNoteLabel.setText(sampler.isReplaying() ? "Not available while replaying" : "Waiting for data…");
+            return;
+        }
+        numaNoteLabel.setText("Hit/Miss/Foreign: pages allocated per second • Local: share of allocations kept on the node");
+        numaPanel.update(info.getNumaNodes());
+    }
+
     private void updateSessionStatsUI() {
         avgUsageLabel.setText(String.format("%.1f%%", sessionStats.getAvgUsagePercent()));
         sampleCountLabel.setText(String.valueOf(sessionStats.getSampleCount()));
@@ -174,5 +286,28 @@ public class RamPageController {
         minMBLabel.setText(String.format("%.2f GB", sessionStats.getMinUsedMB() / 1024.0));
         avgMBDetailLabel.setText(String.format("%.2f GB", sessionStats.getAvgUsedMB() / 1024.0));
         maxMBLabel.setText(String.format("%.2f GB", sessionStats.getMaxUsedMB() / 1024.0));
+
+        p50UsageLabel.setText(String.format("%.1f%%", sessionStats.getUsagePercentile(0.50)));
+        p95UsageLabel.setText(String.format("%.1f%%", sessionStats.getUsagePercentile(0.95)));
+        p99UsageLabel.setText(String.format("%.1f%%", sessionStats.getUsagePercentile(0.99)));
+
+        p50MBLabel.setText(String.format("%.2f GB", sessionStats.getUsedMBPercentile(0.50) / 1024.0));
+        p95MBLabel.setText(String.format("%.2f GB", sessionStats.getUsedMBPercentile(0.95) / 1024.0));
+        p99MBLabel.setText(String.format("%.2f GB", sessionStats.getUsedMBPercentile(0.99) / 1024.0));
+
+        stdDevUsageLabel.setText(String.format("%.1f%%", sessionStats.getUsageStdDev()));
+        stdDevMBLabel.setText(String.format("%.2f GB", sessionStats.getUsedMBStdDev() / 1024.0));
+        trendUsageLabel.setText(String.format("%+.2f%%/min", sessionStats.getUsageTrend() * 60));
+        trendMBLabel.setText(String.format("%+.3f GB/min", sessionStats.getUsedMBTrend() * 60 / 1024.0));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024 * 1024) {
+            return String.format("%.0f KB", bytes / 1024.0);
+        }
+        if (bytes < 1024L * 1024 * 1024) {
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        }
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
     }
 }
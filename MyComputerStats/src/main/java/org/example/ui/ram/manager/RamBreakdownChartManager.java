@@ -0,0 +1,119 @@
+package org.example.ui.ram.manager;
+
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.StackedAreaChart;
+import javafx.scene.chart.XYChart;
+import org.example.core.memory.MemoryBreakdown;
+import org.example.core.memory.RamInfo;
+import org.example.core.settings.AppSettings;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * stacked history of what the used memory is made of
+ * only disjoint parts are stacked (cache without shmem, anon without thp),
+ * the overlapping figures are shown as numbers next to the chart
+ */
+public class RamBreakdownChartManager {
+
+    private static final double GB = 1024.0 * 1024 * 1024;
+
+    // bottom to top, colours come from .chart-memory in main.css
+    private enum Part {
+        ANON("Anon", MemoryBreakdown::getAnonSmallPages),
+        THP("THP", MemoryBreakdown::getAnonHugePages),
+        PAGE_CACHE("Page Cache", MemoryBreakdown::getPageCacheOnly),
+        SHMEM("Shmem", MemoryBreakdown::getShmem),
+        BUFFERS("Buffers", MemoryBreakdown::getBuffers),
+        SLAB_RECLAIMABLE("Slab (reclaimable)", MemoryBreakdown::getSlabReclaimable),
+        SLAB_UNRECLAIMABLE("Slab (unreclaimable)", MemoryBreakdown::getSlabUnreclaimable),
+        HUGETLB("HugePages", MemoryBreakdown::getHugePagesBytes);
+
+        final String label;
+        final ToLongFunction<MemoryBreakdown> bytes;
+
+        Part(String label, ToLongFunction<MemoryBreakdown> bytes) {
+            this.label = label;
+            this.bytes = bytes;
+        }
+    }
+
+    private final StackedAreaChart<Number, Number> chart;
+    private final NumberAxis xAxis;
+    private final NumberAxis yAxis;
+    // in Part order, which is also the chart-memory color order
+    private final Map<Part, XYChart.Series<Number, Number>> series = new EnumMap<>(Part.class);
+
+    private long startTime = 0;
+    private int maxDataPoints = 60;
+
+    public RamBreakdownChartManager(StackedAreaChart<Number, Number> chart, NumberAxis xAxis, NumberAxis yAxis,
+            long totalRamBytes) {
+        this.chart = chart;
+        this.xAxis = xAxis;
+        this.yAxis = yAxis;
+
+        for (Part part : Part.values()) {
+            XYChart.Series<Number, Number> s = new XYChart.Series<>();
+            s.setName(part.label);
+            series.put(part, s);
+            chart.getData().add(s);
+        }
+        chart.getStyleClass().add("chart-memory");
+
+        double totalGB = Math.ceil(totalRamBytes / GB);
+        yAxis.setLabel("GB");
+        yAxis.setAutoRanging(false);
+        yAxis.setLowerBound(0);
+        yAxis.setUpperBound(Math.max(1, totalGB));
+        yAxis.setTickUnit(Math.max(1, totalGB) / 4);
+
+        xAxis.setLabel("Time (s)");
+        xAxis.setAutoRanging(false);
+    }
+
+    public void updateSettings(AppSettings settings) {
+        this.maxDataPoints = settings.getChartHistorySeconds();
+        xAxis.setUpperBound(maxDataPoints);
+    }
+
+    public void update(RamInfo info, long timestamp) {
+        MemoryBreakdown breakdown = info.getBreakdown();
+        if (breakdown == null) {
+            return;
+        }
+        if (startTime == 0 || timestamp < startTime) {
+            reset();
+            startTime = timestamp;
+        }
+
+        double elapsedSeconds = (timestamp - startTime) / 1000.0;
+        for (Part part : Part.values()) {
+            double gb = part.bytes.applyAsLong(breakdown) / GB;
+            series.get(part).getData().add(new XYChart.Data<>(elapsedSeconds, gb));
+        }
+
+        xAxis.setLowerBound(Math.max(0, elapsedSeconds - maxDataPoints));
+        xAxis.setUpperBound(Math.max(elapsedSeconds, maxDataPoints));
+
+        trimOldData(elapsedSeconds - maxDataPoints);
+    }
+
+    private void trimOldData(double threshold) {
+        for (XYChart.Series<Number, Number> s : series.values()) {
+            var data = s.getData();
+            while (!data.isEmpty() && data.get(0).getXValue().doubleValue() < threshold) {
+                data.remove(0);
+            }
+        }
+    }
+
+    public void reset() {
+        for (XYChart.Series<Number, Number> s : series.values()) {
+            s.getData().clear();
+        }
+        startTime = 0;
+    }
+}
@@ -71,13 +71,15 @@ public class RamChartManager {
         xAxis.setUpperBound(maxDataPoints);
     }
 
-    public void update(RamInfo info) {
-        if (startTime == 0) {
-            startTime = System.currentTimeMillis();
+    // x values come from the sample timestamp so replayed sessions keep their timing
+    public void update(RamInfo info, long timestamp) {
+        if (startTime == 0 || timestamp < startTime) {
+            reset();
+            startTime = timestamp;
             xAxis.setAutoRanging(false);
         }
 
-        double elapsedSeconds = (System.currentTimeMillis() - startTime) / 1000.0;
+        double elapsedSeconds = (timestamp - startTime) / 1000.0;
 
         double usedGB = info.getUsedBytes() / (1024.0 * 1024 * 1024);
         usageSeries.getData().add(new XYChart.Data<>(elapsedSeconds, usedGB));
@@ -1,99 +1,129 @@
 package org.example.ui.ram.model;
 
 import org.example.core.memory.RamInfo;
+import org.example.core.stats.QuantileSketch;
+import org.example.core.stats.RunningStats;
+import org.example.core.stats.WindowedSlope;
 
 public class RamSessionStatistics {
 
-    private double totalUsagePercent = 0;
-    private double totalSwapPercent = 0;
-    private double totalUsedMB = 0;
-    private int sampleCount = 0;
+    private static final double TREND_WINDOW_SECONDS = 60;
+    // enough for 60 s at the fastest 0.1 s sampling
+    private static final int TREND_CAPACITY = 600;
 
-    private double minUsagePercent = Double.MAX_VALUE;
-    private double maxUsagePercent = 0;
-    private double minSwapPercent = Double.MAX_VALUE;
-    private double maxSwapPercent = 0;
-    private double minUsedMB = Double.MAX_VALUE;
-    private double maxUsedMB = 0;
+    // mean / variance / min / max per metric
+    private final RunningStats usageStats = new RunningStats();
+    private final RunningStats swapStats = new RunningStats();
+    private final RunningStats usedMBStats = new RunningStats();
 
-    public void update(RamInfo info) {
-        sampleCount++;
+    // growth over the last minute, leaks show up here before they show in the max
+    private final WindowedSlope usageTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
+    private final WindowedSlope usedMBTrend = new WindowedSlope(TREND_WINDOW_SECONDS, TREND_CAPACITY);
 
+    // percentile sketches, 1% relative error
+    private final QuantileSketch usageSketch = new QuantileSketch(0.1, 100, 0.01);
+    private final QuantileSketch swapSketch = new QuantileSketch(0.1, 100, 0.01);
+    private final QuantileSketch usedMBSketch = new QuantileSketch(1, 16 * 1024 * 1024, 0.01);
+
+    public void update(RamInfo info, long timestamp) {
         double usagePercent = info.getUsagePercent();
         double swapPercent = info.getSwapUsagePercent();
         double usedMB = info.getUsedBytes() / (1024.0 * 1024);
 
-        totalUsagePercent += usagePercent;
-        totalSwapPercent += swapPercent;
-        totalUsedMB += usedMB;
-
-        if (usagePercent < minUsagePercent)
-            minUsagePercent = usagePercent;
-        if (usagePercent > maxUsagePercent)
-            maxUsagePercent = usagePercent;
+        usageStats.add(usagePercent);
+        swapStats.add(swapPercent);
+        usedMBStats.add(usedMB);
 
-        if (swapPercent < minSwapPercent)
-            minSwapPercent = swapPercent;
-        if (swapPercent > maxSwapPercent)
-            maxSwapPercent = swapPercent;
+        usageTrend.add(timestamp, usagePercent);
+        usedMBTrend.add(timestamp, usedMB);
 
-        if (usedMB < minUsedMB)
-            minUsedMB = usedMB;
-        if (usedMB > maxUsedMB)
-            maxUsedMB = usedMB;
+        usageSketch.add(usagePercent);
+        swapSketch.add(swapPercent);
+        usedMBSketch.add(usedMB);
     }
 
     public void reset() {
-        totalUsagePercent = 0;
-        totalSwapPercent = 0;
-        totalUsedMB = 0;
-        sampleCount = 0;
+        usageStats.reset();
+        swapStats.reset();
+        usedMBStats.reset();
+
+        usageTrend.reset();
+        usedMBTrend.reset();
 
-        minUsagePercent = Double.MAX_VALUE;
-        maxUsagePercent = 0;
-        minSwapPercent = Double.MAX_VALUE;
-        maxSwapPercent = 0;
-        minUsedMB = Double.MAX_VALUE;
-        maxUsedMB = 0;
+        usageSketch.reset();
+        swapSketch.reset();
+        usedMBSketch.reset();
     }
 
     public int getSampleCount() {
-        return sampleCount;
+        return (int) usageStats.getCount();
     }
 
     public double getAvgUsagePercent() {
-        return sampleCount == 0 ? 0 : totalUsagePercent / sampleCount;
+        return usageStats.getMean();
     }
 
     public double getMinUsagePercent() {
-        return minUsagePercent == Double.MAX_VALUE ? 0 : minUsagePercent;
+        return usageStats.getMin();
     }
 
     public double getMaxUsagePercent() {
-        return maxUsagePercent;
+        return usageStats.getMax();
+    }
+
+    public double getUsageStdDev() {
+        return usageStats.getStdDev();
+    }
+
+    // percentage points per second
+    public double getUsageTrend() {
+        return usageTrend.getSlope();
     }
 
     public double getAvgSwapPercent() {
-        return sampleCount == 0 ? 0 : totalSwapPercent / sampleCount;
+        return swapStats.getMean();
     }
 
     public double getMinSwapPercent() {
-        return minSwapPercent == Double.MAX_VALUE ? 0 : minSwapPercent;
+        return swapStats.getMin();
     }
 
     public double getMaxSwapPercent() {
-        return maxSwapPercent;
+        return swapStats.getMax();
     }
 
     public double getAvgUsedMB() {
-        return sampleCount == 0 ? 0 : totalUsedMB / sampleCount;
+        return usedMBStats.getMean();
     }
 
     public double getMinUsedMB() {
-        return minUsedMB == Double.MAX_VALUE ? 0 : minUsedMB;
+        return usedMBStats.getMin();
     }
 
     public double getMaxUsedMB() {
-        return maxUsedMB;
+        return usedMBStats.getMax();
+    }
+
+    public double getUsedMBStdDev() {
+        return usedMBStats.getStdDev();
+    }
+
+    // MB per second
+    public double getUsedMBTrend() {
+        return usedMBTrend.getSlope();
+    }
+
+    // percentiles, q in 0..1
+
+    public double getUsagePercentile(double q) {
+        return usageSketch.quantile(q);
+    }
+
+    public double getSwapPercentile(double q) {
+        return swapSketch.quantile(q);
+    }
+
+    public double getUsedMBPercentile(double q) {
+        return usedMBSketch.quantile(q);
     }
 }
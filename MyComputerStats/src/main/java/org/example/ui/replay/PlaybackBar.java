@@ -0,0 +1,120 @@
+package org.example.ui.replay;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import org.example.monitoring.recording.SessionPlayer;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * transport controls for a session replay
+ * play/pause, a seek slider over the whole recording and a speed picker
+ */
+public class PlaybackBar extends HBox {
+
+    private static final DateTimeFormatter CLOCK = DateTimeFormatter.ofPattern("HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+    private static final String BUTTON_STYLE =
+            "-fx-background-color: rgba(255,255,255,0.1); -fx-text-fill: #00d4ff; -fx-font-size: 13px; -fx-cursor: hand;";
+
+    private final SessionPlayer player;
+    private final Button playButton = new Button("▶");
+    private final Slider slider = new Slider();
+    private final Label timeLabel = new Label();
+    private final ComboBox<String> speedCombo = new ComboBox<>();
+
+    // set while the player moves the slider, so that does not count as a seek
+    private boolean updatingSlider = false;
+
+    public PlaybackBar(SessionPlayer player, Runnable onClose) {
+        this.player = player;
+
+        this.setSpacing(12);
+        this.setAlignment(Pos.CENTER_LEFT);
+        this.setPadding(new Insets(8, 40, 8, 40));
+        this.setStyle("-fx-background-color: rgba(0,212,255,0.08); -fx-border-color: rgba(0,212,255,0.3); -fx-border-width: 1 0 0 0;");
+
+        Label title = new Label("⏯ " + player.getFile().getFileName());
+        title.setStyle("-fx-text-fill: #00d4ff; -fx-font-weight: bold;");
+
+        playButton.setStyle(BUTTON_STYLE);
+        playButton.setMinWidth(40);
+        playButton.setOnAction(e -> togglePlay());
+
+        long duration = player.getEndTimestamp() - player.getStartTimestamp();
+        slider.setMin(0);
+        slider.setMax(Math.max(1, duration / 1000.0));
+        HBox.setHgrow(slider, Priority.ALWAYS);
+        slider.valueChangingProperty().addListener((obs, was, changing) -> {
+            if (!changing) {
+                seekToSlider();
+            }
+        });
+        slider.valueProperty().addListener((obs, oldV, newV) -> {
+            // clicks on the track jump without a drag
+            if (!updatingSlider && !slider.isValueChanging()) {
+                seekToSlider();
+            }
+            updateTimeLabel((long) (player.getStartTimestamp() + newV.doubleValue() * 1000));
+        });
+
+        timeLabel.setStyle("-fx-text-fill: #ccc; -fx-font-family: monospace;");
+        timeLabel.setMinWidth(140);
+
+        speedCombo.getItems().addAll("0.5x", "1x", "2x", "4x", "8x", "16x", "32x");
+        speedCombo.setValue("1x");
+        speedCombo.setPrefWidth(80);
+        speedCombo.setOnAction(e -> {
+            String value = speedCombo.getValue();
+            player.setSpeed(Double.parseDouble(value.substring(0, value.length() - 1)));
+        });
+
+        Button closeButton = new Button("✕ Live");
+        closeButton.setStyle(BUTTON_STYLE);
+        closeButton.setOnAction(e -> onClose.run());
+
+        player.setPositionListener(ts -> Platform.runLater(() -> showPosition(ts)));
+        player.setEndListener(() -> Platform.runLater(() -> playButton.setText("▶")));
+
+        this.getChildren().addAll(title, playButton, slider, timeLabel, speedCombo, closeButton);
+        updateTimeLabel(player.getStartTimestamp());
+    }
+
+    private void togglePlay() {
+        if (player.isPlaying()) {
+            player.pause();
+            playButton.setText("▶");
+        } else {
+            player.play();
+            playButton.setText("⏸");
+        }
+    }
+
+    private void seekToSlider() {
+        player.seek((long) (player.getStartTimestamp() + slider.getValue() * 1000));
+    }
+
+    private void showPosition(long timestamp) {
+        if (slider.isValueChanging()) {
+            return;
+        }
+        updatingSlider = true;
+        slider.setValue((timestamp - player.getStartTimestamp()) / 1000.0);
+        updatingSlider = false;
+    }
+
+    private void updateTimeLabel(long timestamp) {
+        long elapsed = Math.max(0, (timestamp - player.getStartTimestamp()) / 1000);
+        timeLabel.setText(String.format("%s  +%d:%02d:%02d", CLOCK.format(Instant.ofEpochMilli(timestamp)),
+                elapsed / 3600, (elapsed % 3600) / 60, elapsed % 60));
+    }
+}
@@ -19,6 +19,12 @@ public class SettingsPageController {
     @FXML private ComboBox<String> temperatureUnitCombo;
     @FXML private ComboBox<String> themeCombo;
     @FXML private CheckBox alwaysOnTopCheckbox;
+    @FXML private CheckBox metricsEnabledCheckbox;
+    @FXML private Spinner<Integer> metricsPortSpinner;
+    @FXML private ComboBox<String> recordingFormatCombo;
+    @FXML private CheckBox recordingGzipCheckbox;
+    @FXML private Spinner<Integer> recordingRotateMbSpinner;
+    @FXML private Spinner<Integer> recordingRotateMinutesSpinner;
 
     private SettingsManager settingsManager;
 
@@ -33,6 +39,9 @@ public class SettingsPageController {
     private void initializeSpinners() {
         cpuRefreshSpinner.setValueFactory(new SpinnerValueFactory.DoubleSpinnerValueFactory(0.3, 10.0, 0.5, 0.1));
         chartHistorySpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(30, 300, 60));
+        metricsPortSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1024, 65535, 9464));
+        recordingRotateMbSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 4096, 64));
+        recordingRotateMinutesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 1440, 60));
     }
 
     private void initializeComboBoxes() {
@@ -41,6 +50,9 @@ public class SettingsPageController {
 
         themeCombo.getItems().addAll("Dark", "Light");
         themeCombo.setValue("Dark");
+
+        recordingFormatCombo.getItems().addAll("JSONL", "CSV");
+        recordingFormatCombo.setValue("JSONL");
     }
 
     private void loadCurrentSettings() {
@@ -51,6 +63,12 @@ public class SettingsPageController {
         temperatureUnitCombo.setValue(settings.getTemperatureUnit());
         themeCombo.setValue(settings.getTheme());
         alwaysOnTopCheckbox.setSelected(settings.isAlwaysOnTop());
+        metricsEnabledCheckbox.setSelected(settings.isMetricsEnabled());
+        metricsPortSpinner.getValueFactory().setValue(settings.getMetricsPort());
+        recordingFormatCombo.setValue(settings.getRecordingFormat());
+        recordingGzipCheckbox.setSelected(settings.isRecordingGzip());
+        recordingRotateMbSpinner.getValueFactory().setValue(settings.getRecordingRotateMb());
+        recordingRotateMinutesSpinner.getValueFactory().setValue(settings.getRecordingRotateMinutes());
     }
 
     @FXML
@@ -62,6 +80,12 @@ public class SettingsPageController {
         settings.setTemperatureUnit(temperatureUnitCombo.getValue());
         settings.setTheme(themeCombo.getValue());
         settings.setAlwaysOnTop(alwaysOnTopCheckbox.isSelected());
+        settings.setMetricsEnabled(metricsEnabledCheckbox.isSelected());
+        settings.setMetricsPort(metricsPortSpinner.getValue());
+        settings.setRecordingFormat(recordingFormatCombo.getValue());
+        settings.setRecordingGzip(recordingGzipCheckbox.isSelected());
+        settings.setRecordingRotateMb(recordingRotateMbSpinner.getValue());
+        settings.setRecordingRotateMinutes(recordingRotateMinutesSpinner.getValue());
 
         settingsManager.saveSettings();
 
@@ -84,6 +108,12 @@ public class SettingsPageController {
         temperatureUnitCombo.setValue(defaults.getTemperatureUnit());
         themeCombo.setValue(defaults.getTheme());
         alwaysOnTopCheckbox.setSelected(defaults.isAlwaysOnTop());
+        metricsEnabledCheckbox.setSelected(defaults.isMetricsEnabled());
+        metricsPortSpinner.getValueFactory().setValue(defaults.getMetricsPort());
+        recordingFormatCombo.setValue(defaults.getRecordingFormat());
+        recordingGzipCheckbox.setSelected(defaults.isRecordingGzip());
+        recordingRotateMbSpinner.getValueFactory().setValue(defaults.getRecordingRotateMb());
+        recordingRotateMinutesSpinner.getValueFactory().setValue(defaults.getRecordingRotateMinutes());
 
         Alert alert = new Alert(AlertType.INFORMATION);
         alert.setTitle("Reset to Defaults");
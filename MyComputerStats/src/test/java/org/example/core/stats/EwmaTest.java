@@ -0,0 +1,69 @@
+package org.example.core.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EwmaTest {
+
+    @Test
+    void stepIsHalvedAfterOneHalfLife() {
+        Ewma ewma = new Ewma(Ewma.alphaForHalfLife(10));
+        ewma.update(0);
+        for (int i = 0; i < 10; i++) {
+            ewma.update(1);
+        }
+        assertEquals(0.5, ewma.get(0), 1e-12);
+
+        for (int i = 0; i < 10; i++) {
+            ewma.update(1);
+        }
+        assertEquals(0.75, ewma.get(0), 1e-12);
+    }
+
+    @Test
+    void convergesToConstantInputOverMillionsOfSamples() {
+        Ewma ewma = new Ewma(Ewma.alphaForHalfLife(2), Ewma.alphaForHalfLife(600));
+        ewma.update(1e9);
+        for (int i = 0; i < 2_000_000; i++) {
+            ewma.update(42.5);
+        }
+        assertEquals(42.5, ewma.get(0), 1e-9);
+        assertEquals(42.5, ewma.get(1), 1e-9);
+    }
+
+    @Test
+    void fastAlphaFollowsBeforeSlowOne() {
+        Ewma ewma = new Ewma(Ewma.alphaForHalfLife(2), Ewma.alphaForHalfLife(30));
+        ewma.update(0);
+        for (int i = 0; i < 5; i++) {
+            ewma.update(100);
+        }
+        assertTrue(ewma.get(0) > ewma.get(1));
+    }
+
+    @Test
+    void firstSamplePrimesAndNaNIsIgnored() {
+        Ewma ewma = new Ewma(0.1);
+        assertFalse(ewma.isPrimed());
+        ewma.update(Double.NaN);
+        assertFalse(ewma.isPrimed());
+
+        ewma.update(80);
+        assertTrue(ewma.isPrimed());
+        assertEquals(80, ewma.get(0));
+
+        ewma.update(Double.NaN);
+        assertEquals(80, ewma.get(0));
+    }
+
+    @Test
+    void rejectsAlphaOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new Ewma());
+        assertThrows(IllegalArgumentException.class, () -> new Ewma(0));
+        assertThrows(IllegalArgumentException.class, () -> new Ewma(1.5));
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.core.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1.0};
+
+    // latency-like spread, several decades wide
+    private static double[] logNormal(long seed, int n) {
+        Random random = new Random(seed);
+        double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = Math.exp(3 + random.nextGaussian() * 1.5);
+        }
+        return data;
+    }
+
+    // same rank rule as the sketch: the ceil(q * n)-th smallest value
+    private static double exactQuantile(double[] sorted, double q) {
+        int rank = (int) Math.max(1, Math.ceil(q * sorted.length));
+        return sorted[rank - 1];
+    }
+
+    @Test
+    void estimatesStayWithinRelativeAccuracy() {
+        double[] data = logNormal(11, 1_000_000);
+        QuantileSketch sketch = new QuantileSketch(1e-3, 1e9, ACCURACY);
+        for (double v : data) {
+            sketch.add(v);
+        }
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+
+        for (double q : QUANTILES) {
+            double exact = exactQuantile(sorted, q);
+            assertEquals(exact, sketch.quantile(q), exact * ACCURACY, "q=" + q);
+        }
+        assertEquals(sorted[0], sketch.getMin());
+        assertEquals(sorted[sorted.length - 1], sketch.getMax());
+    }
+
+    @Test
+    void mergeMatchesSingleSketch() {
+        double[] data = logNormal(5, 200_000);
+        QuantileSketch whole = new QuantileSketch(1e-3, 1e9, ACCURACY);
+        for (double v : data) {
+            whole.add(v);
+        }
+
+        // four uneven parts, like per-core sketches rolled into the package
+        int[] bounds = {0, 1, 50_000, 50_001, 200_000};
+        QuantileSketch merged = whole.copyLayout();
+        for (int p = 0; p + 1 < bounds.length; p++) {
+            QuantileSketch part = whole.copyLayout();
+            for (int i = bounds[p]; i < bounds[p + 1]; i++) {
+                part.add(data[i]);
+            }
+            merged.merge(part);
+        }
+        merged.merge(whole.copyLayout());
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMin(), merged.getMin());
+        assertEquals(whole.getMax(), merged.getMax());
+        assertEquals(whole.getMean(), merged.getMean(), whole.getMean() * 1e-12);
+        for (double q : QUANTILES) {
+            assertEquals(whole.quantile(q), merged.quantile(q), "q=" + q);
+        }
+        assertArrayEquals(whole.histogram(32), merged.histogram(32));
+    }
+
+    @Test
+    void emptySketchReportsZeros() {
+        QuantileSketch sketch = new QuantileSketch(0.1, 100, ACCURACY);
+        assertEquals(0, sketch.getCount());
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(0, sketch.quantile(0.99));
+        assertEquals(0, sketch.getMin());
+        assertEquals(0, sketch.getMax());
+        assertEquals(0, sketch.getMean());
+        assertArrayEquals(new long[8], sketch.histogram(8));
+    }
+
+    @Test
+    void singleValueIsEveryQuantile() {
+        QuantileSketch sketch = new QuantileSketch(0.1, 100, ACCURACY);
+        sketch.add(42.0);
+        for (double q : QUANTILES) {
+            assertEquals(42.0, sketch.quantile(q));
+        }
+        assertEquals(42.0, sketch.quantile(0));
+        long[] histogram = sketch.histogram(8);
+        assertEquals(1, Arrays.stream(histogram).sum());
+    }
+
+    @Test
+    void valuesBelowRangeAreCountedAtTheMinimum() {
+        QuantileSketch sketch = new QuantileSketch(1, 100, ACCURACY);
+        for (int i = 0; i < 10; i++) {
+            sketch.add(0);
+        }
+        for (int i = 0; i < 10; i++) {
+            sketch.add(50);
+        }
+        sketch.add(Double.NaN);
+
+        assertEquals(20, sketch.getCount());
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(50, sketch.quantile(0.95), 50 * ACCURACY);
+        assertEquals(20, Arrays.stream(sketch.histogram(4)).sum());
+    }
+
+    @Test
+    void resetEmptiesTheSketch() {
+        QuantileSketch sketch = new QuantileSketch(0.1, 100, ACCURACY);
+        sketch.add(3);
+        sketch.add(7);
+        sketch.reset();
+        assertEquals(0, sketch.getCount());
+        assertEquals(0, sketch.quantile(0.5));
+    }
+
+    @Test
+    void rejectsBadRangesAndMismatchedLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0, 100, ACCURACY));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(10, 1, ACCURACY));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(1, 100, 1));
+
+        QuantileSketch a = new QuantileSketch(1, 100, ACCURACY);
+        QuantileSketch b = new QuantileSketch(1, 1000, ACCURACY);
+        assertThrows(IllegalArgumentException.class, () -> a.merge(b));
+    }
+}
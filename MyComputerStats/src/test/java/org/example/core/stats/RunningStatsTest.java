@@ -0,0 +1,118 @@
+package org.example.core.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RunningStatsTest {
+
+    private static final int SAMPLES = 5_000_000;
+    private static final double OFFSET = 1e9;
+
+    // noise of a few units on top of a large baseline, like a counter or a timestamp
+    private static double[] offsetSamples(long seed) {
+        Random random = new Random(seed);
+        double[] data = new double[SAMPLES];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = OFFSET + random.nextGaussian() * 3;
+        }
+        return data;
+    }
+
+    private static double twoPassMean(double[] data, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += data[i] - OFFSET;
+        }
+        return OFFSET + sum / (to - from);
+    }
+
+    private static double twoPassVariance(double[] data, int from, int to) {
+        double mean = twoPassMean(data, from, to);
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            double d = data[i] - mean;
+            sum += d * d;
+        }
+        return sum / (to - from - 1);
+    }
+
+    @Test
+    void meanAndVarianceStayAccurateWithLargeOffset() {
+        double[] data = offsetSamples(42);
+        RunningStats stats = new RunningStats();
+        for (double v : data) {
+            stats.add(v);
+        }
+
+        double mean = twoPassMean(data, 0, data.length);
+        double variance = twoPassVariance(data, 0, data.length);
+
+        assertEquals(SAMPLES, stats.getCount());
+        // the mean itself can only be as exact as doubles near 1e9 allow
+        assertEquals(mean, stats.getMean(), OFFSET * 1e-12);
+        assertEquals(variance, stats.getVariance(), variance * 1e-6);
+        assertEquals(9.0, stats.getVariance(), 0.05);
+    }
+
+    @Test
+    void minAndMaxTrackExtremes() {
+        RunningStats stats = new RunningStats();
+        stats.add(5);
+        stats.add(-2);
+        stats.add(Double.NaN);
+        stats.add(11);
+
+        assertEquals(3, stats.getCount());
+        assertEquals(-2, stats.getMin());
+        assertEquals(11, stats.getMax());
+    }
+
+    @Test
+    void mergeMatchesSinglePass() {
+        double[] data = offsetSamples(7);
+        RunningStats whole = new RunningStats();
+        for (double v : data) {
+            whole.add(v);
+        }
+
+        // uneven parts, as per-core stats would be
+        int[] bounds = {0, 17, 1_000_000, 1_000_001, 3_333_333, SAMPLES};
+        RunningStats merged = new RunningStats();
+        for (int p = 0; p + 1 < bounds.length; p++) {
+            RunningStats part = new RunningStats();
+            for (int i = bounds[p]; i < bounds[p + 1]; i++) {
+                part.add(data[i]);
+            }
+            merged.merge(part);
+        }
+
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMean(), merged.getMean(), OFFSET * 1e-12);
+        assertEquals(whole.getVariance(), merged.getVariance(), whole.getVariance() * 1e-6);
+        assertEquals(whole.getMin(), merged.getMin());
+        assertEquals(whole.getMax(), merged.getMax());
+    }
+
+    @Test
+    void mergeWithEmptyIsIdentity() {
+        RunningStats stats = new RunningStats();
+        stats.add(1);
+        stats.add(3);
+
+        stats.merge(new RunningStats());
+        assertEquals(2, stats.getCount());
+        assertEquals(2, stats.getMean());
+        assertEquals(2, stats.getVariance());
+
+        RunningStats empty = new RunningStats();
+        empty.merge(stats);
+        assertEquals(2, empty.getCount());
+        assertEquals(2, empty.getMean());
+        assertEquals(2, empty.getVariance());
+        assertEquals(1, empty.getMin());
+        assertEquals(3, empty.getMax());
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.core.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WindowedSlopeTest {
+
+    // epoch millis around 2024, where squaring raw timestamps would lose everything
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void recoversSlopeOfKnownLineWithLargeTimestamps() {
+        WindowedSlope slope = new WindowedSlope(10, 200);
+        for (int i = 0; i < 100; i++) {
+            long t = START + i * 100L;
+            slope.add(t, 1e6 + 3.5 * (t - START) / 1000.0);
+        }
+        assertEquals(3.5, slope.getSlope(), 1e-9);
+    }
+
+    @Test
+    void staysAccurateOverMillionsOfSamples() {
+        WindowedSlope slope = new WindowedSlope(5, 64);
+        for (int i = 0; i < 3_000_000; i++) {
+            long t = START + i * 100L;
+            slope.add(t, -0.25 * (t - START) / 1000.0);
+        }
+        assertEquals(-0.25, slope.getSlope(), 1e-9);
+    }
+
+    @Test
+    void onlySamplesInsideTheWindowCount() {
+        WindowedSlope slope = new WindowedSlope(5, 1000);
+        long t = START;
+        // a steep ramp that has left the window
+        for (int i = 0; i < 100; i++, t += 100) {
+            slope.add(t, i * 10.0);
+        }
+        // then flat for longer than the window
+        for (int i = 0; i < 100; i++, t += 100) {
+            slope.add(t, 7);
+        }
+        assertEquals(0, slope.getSlope(), 1e-12);
+    }
+
+    @Test
+    void timeGoingBackwardsStartsOver() {
+        WindowedSlope slope = new WindowedSlope(10, 100);
+        for (int i = 0; i < 20; i++) {
+            slope.add(START + i * 100L, i);
+        }
+        slope.add(START - 60_000, 5);
+        assertEquals(0, slope.getSlope());
+
+        slope.add(START - 59_000, 7);
+        assertEquals(2, slope.getSlope(), 1e-12);
+    }
+
+    @Test
+    void needsTwoSamples() {
+        WindowedSlope slope = new WindowedSlope(10, 10);
+        assertEquals(0, slope.getSlope());
+        slope.add(START, 1);
+        assertEquals(0, slope.getSlope());
+    }
+}